@@ -0,0 +1,155 @@
+package edu.grinnell.csc207.benchmarks;
+
+import edu.grinnell.csc207.sorting.Sorter;
+import edu.grinnell.csc207.sorting.StringSorter;
+import edu.grinnell.csc207.workloads.Workload;
+import edu.grinnell.csc207.workloads.WorkloadGenerator;
+
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the comparator-based sorters on arrays of Integers and
+ * Strings. Each call copies the input into a working array and sorts it, so
+ * every call sorts the same input; the copy is the same for every sorter.
+ *
+ * <p>The quadratic sorters (InsertionSorter and SelectionSorter) and
+ * StringSorter, which only sorts Strings, are not in the default list of
+ * sorters. Run them with, for example,
+ * {@code -p sorter=InsertionSorter -p size=10,1000}.
+ *
+ * @author David William Stroud
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ObjectSortBenchmark {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /**
+   * The seed of the workloads, so that every run sorts the same input.
+   */
+  private static final long SEED = 207;
+
+  // +------------+--------------------------------------------------
+  // | Parameters |
+  // +------------+
+
+  /**
+   * The simple name of the sorter class in edu.grinnell.csc207.sorting.
+   */
+  @Param({"MergeSorter", "NaturalMergeSorter", "Quicksorter", "DualPivotQuicksorter",
+      "PdqSorter", "HeapSorter", "StroudDavidSort", "ParallelMergeSorter",
+      "ParallelStroudDavidSort", "ParallelSampleSorter"})
+  public String sorter;
+
+  /**
+   * The type of element, Integer or String.
+   */
+  @Param({"Integer", "String"})
+  public String type;
+
+  /**
+   * The number of elements.
+   */
+  @Param({"10", "1000", "100000", "10000000"})
+  public int size;
+
+  /**
+   * The shape of the input.
+   */
+  @Param
+  public Workload shape;
+
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * The sorter being measured.
+   */
+  private Sorter<Object> engine;
+
+  /**
+   * The unsorted input.
+   */
+  private Object[] source;
+
+  /**
+   * The array that is sorted.
+   */
+  private Object[] values;
+
+  // +-------+-------------------------------------------------------
+  // | Setup |
+  // +-------+
+
+  /**
+   * Create the sorter and the input.
+   *
+   * @throws ReflectiveOperationException
+   *   if the sorter cannot be created.
+   */
+  @Setup(Level.Trial)
+  @SuppressWarnings("unchecked")
+  public void setup() throws ReflectiveOperationException {
+    int[] keys = new WorkloadGenerator(ObjectSortBenchmark.SEED).ints(this.shape, this.size);
+    // The arrays have the real element type, which StringSorter needs.
+    this.source = this.type.equals("String") ? new String[this.size] : new Integer[this.size];
+    for (int i = 0; i < this.size; i++) {
+      // Flipping the sign bit and zero-padding keeps the Strings in the same
+      // order as the keys.
+      this.source[i] = this.type.equals("String")
+          ? String.format("key-%010d", Integer.toUnsignedLong(keys[i] ^ Integer.MIN_VALUE))
+          : Integer.valueOf(keys[i]);
+    } // for
+    this.values = this.source.clone();
+
+    if (this.sorter.equals("StringSorter")) {
+      if (!this.type.equals("String")) {
+        throw new IllegalStateException("StringSorter only sorts Strings");
+      } // if
+      Sorter<?> strings = new StringSorter();
+      this.engine = (Sorter<Object>) strings;
+    } else {
+      Comparator<Comparable<Object>> order = Comparator.naturalOrder();
+      this.engine = (Sorter<Object>) Class.forName("edu.grinnell.csc207.sorting." + this.sorter)
+          .getConstructor(Comparator.class)
+          .newInstance(order);
+    } // if-else
+  } // setup()
+
+  // +------------+--------------------------------------------------
+  // | Benchmarks |
+  // +------------+
+
+  /**
+   * Sort a fresh copy of the input.
+   *
+   * @return the sorted array, so that the work is not optimized away.
+   */
+  @Benchmark
+  public Object[] sort() {
+    System.arraycopy(this.source, 0, this.values, 0, this.size);
+    this.engine.sort(this.values);
+    return this.values;
+  } // sort()
+} // class ObjectSortBenchmark
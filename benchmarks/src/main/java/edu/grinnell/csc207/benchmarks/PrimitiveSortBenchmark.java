@@ -0,0 +1,177 @@
+package edu.grinnell.csc207.benchmarks;
+
+import edu.grinnell.csc207.sorting.DoubleSorter;
+import edu.grinnell.csc207.sorting.IntSorter;
+import edu.grinnell.csc207.sorting.LongSorter;
+import edu.grinnell.csc207.workloads.Workload;
+import edu.grinnell.csc207.workloads.WorkloadGenerator;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the primitive sorters on arrays of ints, longs and doubles,
+ * with Arrays.sort as a baseline. Each call copies the input into a working
+ * array and sorts it, as in ObjectSortBenchmark.
+ *
+ * @author David William Stroud
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class PrimitiveSortBenchmark {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /**
+   * The seed of the workloads, so that every run sorts the same input.
+   */
+  private static final long SEED = 207;
+
+  // +------------+--------------------------------------------------
+  // | Parameters |
+  // +------------+
+
+  /**
+   * The simple name of the sorter class in edu.grinnell.csc207.sorting, or
+   * Arrays for java.util.Arrays.sort.
+   */
+  @Param({"PrimitiveStroudDavidSort", "PrimitiveQuicksorter", "PrimitiveMergeSorter",
+      "RadixSorter", "Arrays"})
+  public String sorter;
+
+  /**
+   * The type of element: int, long or double.
+   */
+  @Param({"int", "long", "double"})
+  public String type;
+
+  /**
+   * The number of elements.
+   */
+  @Param({"10", "1000", "100000", "10000000"})
+  public int size;
+
+  /**
+   * The shape of the input.
+   */
+  @Param
+  public Workload shape;
+
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * The sorter being measured, or null for Arrays.sort.
+   */
+  private Object engine;
+
+  /**
+   * The unsorted input, an int[], long[] or double[].
+   */
+  private Object source;
+
+  /**
+   * The array that is sorted, of the same type as source.
+   */
+  private Object values;
+
+  // +-------+-------------------------------------------------------
+  // | Setup |
+  // +-------+
+
+  /**
+   * Create the sorter and the input.
+   *
+   * @throws ReflectiveOperationException
+   *   if the sorter cannot be created.
+   */
+  @Setup(Level.Trial)
+  public void setup() throws ReflectiveOperationException {
+    int[] keys = new WorkloadGenerator(PrimitiveSortBenchmark.SEED).ints(this.shape, this.size);
+    switch (this.type) {
+      case "int":
+        this.source = keys;
+        this.values = keys.clone();
+        break;
+      case "long":
+        // Spread the keys over the whole range, so radix sort sees all 64 bits.
+        long[] longs = new long[this.size];
+        for (int i = 0; i < this.size; i++) {
+          longs[i] = (long) keys[i] << Integer.SIZE | Integer.toUnsignedLong(keys[i]);
+        } // for
+        this.source = longs;
+        this.values = longs.clone();
+        break;
+      case "double":
+        double[] doubles = new double[this.size];
+        for (int i = 0; i < this.size; i++) {
+          doubles[i] = keys[i] / 1024.0;
+        } // for
+        this.source = doubles;
+        this.values = doubles.clone();
+        break;
+      default:
+        throw new IllegalStateException("unknown type " + this.type);
+    } // switch
+
+    if (!this.sorter.equals("Arrays")) {
+      this.engine = Class.forName("edu.grinnell.csc207.sorting." + this.sorter)
+          .getConstructor()
+          .newInstance();
+    } // if
+  } // setup()
+
+  // +------------+--------------------------------------------------
+  // | Benchmarks |
+  // +------------+
+
+  /**
+   * Sort a fresh copy of the input.
+   *
+   * @return the sorted array, so that the work is not optimized away.
+   */
+  @Benchmark
+  public Object sort() {
+    System.arraycopy(this.source, 0, this.values, 0, this.size);
+    if (this.values instanceof int[] ints) {
+      if (this.engine == null) {
+        Arrays.sort(ints);
+      } else {
+        ((IntSorter) this.engine).sort(ints);
+      } // if-else
+    } else if (this.values instanceof long[] longs) {
+      if (this.engine == null) {
+        Arrays.sort(longs);
+      } else {
+        ((LongSorter) this.engine).sort(longs);
+      } // if-else
+    } else {
+      double[] doubles = (double[]) this.values;
+      if (this.engine == null) {
+        Arrays.sort(doubles);
+      } else {
+        ((DoubleSorter) this.engine).sort(doubles);
+      } // if-else
+    } // if-else
+    return this.values;
+  } // sort()
+} // class PrimitiveSortBenchmark
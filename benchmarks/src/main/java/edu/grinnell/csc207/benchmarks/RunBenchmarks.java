@@ -0,0 +1,51 @@
+package edu.grinnell.csc207.benchmarks;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Run the benchmarks with the GC profiler, so that allocation rates and
+ * collection counts are reported alongside the times. Every option of the
+ * standard JMH command line is accepted, so, for example,
+ * {@code ObjectSortBenchmark -p size=100000 -p shape=RANDOM} runs only some
+ * of the benchmarks.
+ *
+ * @author David William Stroud
+ */
+public class RunBenchmarks {
+  /**
+   * Run the benchmarks.
+   *
+   * @param args
+   *   Command-line arguments, as for org.openjdk.jmh.Main.
+   *
+   * @throws CommandLineOptionException
+   *   if the arguments cannot be parsed.
+   * @throws RunnerException
+   *   if the benchmarks cannot be run.
+   * @throws IOException
+   *   if JMH cannot print what it was asked to list.
+   */
+  public static void main(String[] args)
+      throws CommandLineOptionException, RunnerException, IOException {
+    CommandLineOptions commandLine = new CommandLineOptions(args);
+    if (commandLine.shouldHelp() || commandLine.shouldList()
+        || commandLine.shouldListProfilers() || commandLine.shouldListResultFormats()) {
+      // JMH's own main knows how to print these.
+      org.openjdk.jmh.Main.main(args);
+      return;
+    } // if
+    Options options = new OptionsBuilder()
+        .parent(commandLine)
+        .addProfiler(GCProfiler.class)
+        .build();
+    new Runner(options).run();
+  } // main(String[])
+} // class RunBenchmarks
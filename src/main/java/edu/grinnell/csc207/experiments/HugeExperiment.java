@@ -1,13 +1,20 @@
 package edu.grinnell.csc207.experiments;
 
+import edu.grinnell.csc207.sorting.DualPivotQuicksorter;
+import edu.grinnell.csc207.sorting.IntSorter;
+import edu.grinnell.csc207.sorting.PdqSorter;
+import edu.grinnell.csc207.sorting.PrimitiveStroudDavidSort;
 import edu.grinnell.csc207.sorting.Quicksorter;
 import edu.grinnell.csc207.sorting.Sorter;
 import edu.grinnell.csc207.sorting.StroudDavidSort;
 import edu.grinnell.csc207.util.SimpleTimer;
+import edu.grinnell.csc207.util.TimingStats;
+import edu.grinnell.csc207.workloads.Workload;
+import edu.grinnell.csc207.workloads.WorkloadGenerator;
 
 import java.io.PrintWriter;
 import java.util.Arrays;
-import java.util.Random;
+import java.util.List;
 
 /**
  * An experiment to benchmark the performance of StroudDavid sort.
@@ -20,51 +27,80 @@ public class HugeExperiment {
    * that fills the array.
    */
   private static final long SEED = 1234567;
+  /**
+   * This makes the arrays that are sorted.
+   */
+  private static final WorkloadGenerator WORKLOADS = new WorkloadGenerator(HugeExperiment.SEED);
   /**
    * This is the length of the array.
    */
   private static final int HUGE_SIZE = 2_000_000;
+  /**
+   * This is the number of times each sorter is timed after warming up.
+   */
+  private static final int SAMPLES = 5;
 
   /**
-   * This is the first sorter that needs to be benchmarked.
+   * These are the sorters that need to be benchmarked, in the order in which
+   * they are run.
    */
-  private static final Sorter<Integer> SORTER1 = new StroudDavidSort<>(Integer::compareTo);
+  private static final List<Sorter<Integer>> SORTERS = List.of(
+      new StroudDavidSort<>(Integer::compareTo),
+      new Quicksorter<>(Integer::compareTo),
+      new DualPivotQuicksorter<>(Integer::compareTo),
+      new PdqSorter<>(Integer::compareTo));
   /**
-   * This is the second sorter that needs to be benchmarked.
+   * This is the sorter used for the unboxed version of the random experiment.
    */
-  private static final Sorter<Integer> SORTER2 = new Quicksorter<>(Integer::compareTo);
+  private static final IntSorter PRIMITIVE_SORTER = new PrimitiveStroudDavidSort();
 
   /**
    * Times a Sorter on an array.
    * @param sorter The sorter to time.
    * @param original The array that the sorter should sort.
-   * @return The number of milliseconds it took for the sorter to sort the array.
+   * @return The number of nanoseconds it took for the sorter to sort the array.
    */
   private static long time(Sorter<Integer> sorter, Integer[] original) {
     Integer[] copy = Arrays.copyOf(original, original.length);
 
     SimpleTimer timer = new SimpleTimer();
     sorter.sort(copy);
-    return timer.stop();
+    return timer.stopNanos();
   } // time(Sorter<Integer>, Integer[])
 
   /**
-   * Times SORTER1 and SORTER2 on an array.
+   * Times an IntSorter on an array.
+   * @param sorter The sorter to time.
+   * @param original The array that the sorter should sort.
+   * @return The number of nanoseconds it took for the sorter to sort the array.
+   */
+  private static long time(IntSorter sorter, int[] original) {
+    int[] copy = Arrays.copyOf(original, original.length);
+
+    SimpleTimer timer = new SimpleTimer();
+    sorter.sort(copy);
+    return timer.stopNanos();
+  } // time(IntSorter, int[])
+
+  /**
+   * Times each of the SORTERS on an array.
    * @param pen The PrintWriter to use when outputting information.
    * @param huge The array that the sorter should sort.
    */
   private static void timeSorters(PrintWriter pen, Integer[] huge) {
-    // We warm up the CPU here.
-    HugeExperiment.time(HugeExperiment.SORTER1, huge);
-    HugeExperiment.time(HugeExperiment.SORTER1, huge);
-
-    pen.printf("First sorter time: %dms\n", HugeExperiment.time(HugeExperiment.SORTER1, huge));
-
-    // And here.
-    HugeExperiment.time(HugeExperiment.SORTER2, huge);
-    HugeExperiment.time(HugeExperiment.SORTER2, huge);
-    pen.printf("Second sorter time: %dms\n\n\n", HugeExperiment.time(HugeExperiment.SORTER2, huge));
-  } // timeSorter(Integer[])
+    for (Sorter<Integer> sorter : HugeExperiment.SORTERS) {
+      // We warm up the CPU here.
+      HugeExperiment.time(sorter, huge);
+      HugeExperiment.time(sorter, huge);
+
+      TimingStats stats = new TimingStats();
+      for (int i = 0; i < HugeExperiment.SAMPLES; i++) {
+        stats.record(HugeExperiment.time(sorter, huge), huge.length);
+      } // for
+      pen.printf("%s time: %s\n", sorter.getClass().getSimpleName(), stats);
+    } // for
+    pen.print("\n\n");
+  } // timeSorters(PrintWriter, Integer[])
 
   /**
    * Times the sorting algorithms on a random array.
@@ -73,13 +109,8 @@ public class HugeExperiment {
   public static void experimentRandom(PrintWriter pen) {
     pen.print("-- Experiment 1: Random Array --\n\n");
 
-    Integer[] huge = new Integer[HugeExperiment.HUGE_SIZE];
-    Random rng = new Random(HugeExperiment.SEED);
-    for (int i = 0; i < huge.length; i++) {
-      huge[i] = rng.nextInt();
-    } // for
-
-    HugeExperiment.timeSorters(pen, huge);
+    HugeExperiment.timeSorters(pen,
+        HugeExperiment.WORKLOADS.integers(Workload.RANDOM, HugeExperiment.HUGE_SIZE));
   } // experimentRandom(PrintWriter)
 
   /**
@@ -89,12 +120,8 @@ public class HugeExperiment {
   public static void experimentSorted(PrintWriter pen) {
     pen.print("-- Experiment 2: Sorted Array --\n\n");
 
-    Integer[] huge = new Integer[HugeExperiment.HUGE_SIZE];
-    for (int i = 0; i < huge.length; i++) {
-      huge[i] = (i / 2) - (huge.length / 4);
-    } // for
-
-    HugeExperiment.timeSorters(pen, huge);
+    HugeExperiment.timeSorters(pen,
+        HugeExperiment.WORKLOADS.integers(Workload.SORTED, HugeExperiment.HUGE_SIZE));
   } // experimentSorted(PrintWriter)
 
   /**
@@ -104,18 +131,29 @@ public class HugeExperiment {
   public static void experimentNearlySorted(PrintWriter pen) {
     pen.print("-- Experiment 3: Nearly Sorted Array --\n\n");
 
-    Integer[] huge = new Integer[HugeExperiment.HUGE_SIZE];
-    for (int i = 0; i < huge.length; i++) {
-      huge[i] = (i / 2) - (huge.length / 4);
-    } // for
+    HugeExperiment.timeSorters(pen,
+        HugeExperiment.WORKLOADS.integers(Workload.PERTURBED, HugeExperiment.HUGE_SIZE));
+  } // experimentNearlySorted(PrintWriter)
 
-    Random rng = new Random(HugeExperiment.SEED);
-    for (int i = 0; i < huge.length / 1_000; i++) {
-      huge[rng.nextInt(0, huge.length)] = rng.nextInt();
-    } // for
+  /**
+   * Times PRIMITIVE_SORTER on the same values as experimentRandom, but without boxing them.
+   * @param pen The PrintWriter to use when printing output.
+   */
+  public static void experimentRandomPrimitive(PrintWriter pen) {
+    pen.print("-- Experiment 4: Random Array of Primitives --\n\n");
 
-    HugeExperiment.timeSorters(pen, huge);
-  } // experimentNearlySorted(PrintWriter)
+    int[] huge = HugeExperiment.WORKLOADS.ints(Workload.RANDOM, HugeExperiment.HUGE_SIZE);
+
+    // We warm up the CPU here.
+    HugeExperiment.time(HugeExperiment.PRIMITIVE_SORTER, huge);
+    HugeExperiment.time(HugeExperiment.PRIMITIVE_SORTER, huge);
+
+    TimingStats stats = new TimingStats();
+    for (int i = 0; i < HugeExperiment.SAMPLES; i++) {
+      stats.record(HugeExperiment.time(HugeExperiment.PRIMITIVE_SORTER, huge), huge.length);
+    } // for
+    pen.printf("Primitive sorter time: %s\n\n\n", stats);
+  } // experimentRandomPrimitive(PrintWriter)
 
   /**
    * Executes the experiments in this bundle.
@@ -127,6 +165,7 @@ public class HugeExperiment {
     HugeExperiment.experimentRandom(pen);
     HugeExperiment.experimentSorted(pen);
     HugeExperiment.experimentNearlySorted(pen);
+    HugeExperiment.experimentRandomPrimitive(pen);
 
     pen.close();
   } // main(String[])
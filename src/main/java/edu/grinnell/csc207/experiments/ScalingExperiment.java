@@ -0,0 +1,107 @@
+package edu.grinnell.csc207.experiments;
+
+import edu.grinnell.csc207.sorting.ParallelSampleSorter;
+import edu.grinnell.csc207.sorting.ParallelStroudDavidSort;
+import edu.grinnell.csc207.sorting.Sorter;
+import edu.grinnell.csc207.util.SimpleTimer;
+import edu.grinnell.csc207.util.TimingStats;
+import edu.grinnell.csc207.workloads.Workload;
+import edu.grinnell.csc207.workloads.WorkloadGenerator;
+
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * An experiment to measure how the parallel sorters speed up as they are
+ * given more threads.
+ *
+ * @author David William Stroud
+ */
+public class ScalingExperiment {
+  /**
+   * This is the seed used for the random number generator
+   * that fills the array.
+   */
+  private static final long SEED = 1234567;
+
+  /**
+   * This is the length of the array.
+   */
+  private static final int HUGE_SIZE = 8_000_000;
+
+  /**
+   * This is the number of times each sorter is timed after warming up.
+   */
+  private static final int SAMPLES = 5;
+
+  /**
+   * Times a Sorter on an array.
+   * @param sorter The sorter to time.
+   * @param original The array that the sorter should sort.
+   * @return The number of nanoseconds it took for the sorter to sort the array.
+   */
+  private static long time(Sorter<Integer> sorter, Integer[] original) {
+    Integer[] copy = Arrays.copyOf(original, original.length);
+
+    SimpleTimer timer = new SimpleTimer();
+    sorter.sort(copy);
+    return timer.stopNanos();
+  } // time(Sorter<Integer>, Integer[])
+
+  /**
+   * Times a sorter with 1, 2, 4, ... threads, up to the number of
+   * processors, and prints the median and fastest times with the median's
+   * speedup over one thread.
+   * @param pen The PrintWriter to use when printing output.
+   * @param huge The array that the sorter should sort.
+   * @param make Makes the sorter that runs in a given pool.
+   */
+  private static void timeScaling(PrintWriter pen, Integer[] huge,
+      Function<ForkJoinPool, Sorter<Integer>> make) {
+    int processors = Runtime.getRuntime().availableProcessors();
+    long single = 0;
+    for (int threads = 1; threads <= processors; threads *= 2) {
+      ForkJoinPool pool = new ForkJoinPool(threads);
+      Sorter<Integer> sorter = make.apply(pool);
+
+      // We warm up the CPU here.
+      ScalingExperiment.time(sorter, huge);
+      ScalingExperiment.time(sorter, huge);
+
+      TimingStats stats = new TimingStats();
+      for (int i = 0; i < ScalingExperiment.SAMPLES; i++) {
+        stats.record(ScalingExperiment.time(sorter, huge), huge.length);
+      } // for
+      long time = stats.median();
+      if (threads == 1) {
+        single = time;
+      } // if
+      pen.printf("%s, %d threads: median %s, min %s (%.2fx)\n",
+          sorter.getClass().getSimpleName(), threads, TimingStats.format(time),
+          TimingStats.format(stats.min()), (double) single / Math.max(time, 1));
+      pool.shutdown();
+    } // for
+    pen.print("\n\n");
+  } // timeScaling(PrintWriter, Integer[], Function)
+
+  /**
+   * Executes the experiment.
+   * @param args Command-line arguments, which are ignored.
+   */
+  public static void main(String[] args) {
+    PrintWriter pen = new PrintWriter(System.out, true);
+    pen.print("-- Scaling: Random Array --\n\n");
+
+    Integer[] huge = new WorkloadGenerator(ScalingExperiment.SEED)
+        .integers(Workload.RANDOM, ScalingExperiment.HUGE_SIZE);
+
+    ScalingExperiment.timeScaling(pen, huge, (pool) -> new ParallelSampleSorter<>(
+        Integer::compareTo, pool, ParallelSampleSorter.DEFAULT_CUTOFF));
+    ScalingExperiment.timeScaling(pen, huge, (pool) -> new ParallelStroudDavidSort<>(
+        Integer::compareTo, pool, ParallelStroudDavidSort.DEFAULT_CUTOFF));
+
+    pen.close();
+  } // main(String[])
+} // class ScalingExperiment
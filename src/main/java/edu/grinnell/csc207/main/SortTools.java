@@ -1,7 +1,13 @@
 package edu.grinnell.csc207.main;
 
+import edu.grinnell.csc207.sorting.BatchSorter;
 import edu.grinnell.csc207.sorting.Sorter;
+import edu.grinnell.csc207.sorting.StringSorter;
+import edu.grinnell.csc207.util.ArrayUtils;
 import edu.grinnell.csc207.util.SimpleTimer;
+import edu.grinnell.csc207.util.TimingStats;
+import edu.grinnell.csc207.workloads.Workload;
+import edu.grinnell.csc207.workloads.WorkloadGenerator;
 
 import java.util.Arrays;
 import java.util.Comparator;
@@ -19,6 +25,11 @@ public class SortTools {
   // | Constants |
   // +-----------+
 
+  /**
+   * The seed of our randomness, so that every run sorts the same arrays.
+   */
+  static final long SEED = 207;
+
   /**
    * What is long enough for the basic test?
    */
@@ -34,6 +45,38 @@ public class SortTools {
    */
   static final long ROUNDS = 10;
 
+  /**
+   * The number of times each size is sorted when timing a sorter.
+   */
+  static final int TIME_SAMPLES = 5;
+
+  /**
+   * The number of arrays in a batch.
+   */
+  static final int BATCH_ARRAYS = 200000;
+
+  /**
+   * The largest array in a batch.
+   */
+  static final int BATCH_MAX_SIZE = 64;
+
+  /**
+   * The number of times each batch is sorted. Only the fastest time is
+   * reported, so that the first round's compilation does not count.
+   */
+  static final int BATCH_ROUNDS = 3;
+
+  /**
+   * The number of strings in the string race.
+   */
+  static final int STRING_COUNT = 200000;
+
+  /**
+   * Path segments for the URLs in the string race.
+   */
+  static final String[] URL_SEGMENTS =
+      new String[] {"api", "v2", "users", "orders", "items", "search", "static", "images"};
+
   // +--------+------------------------------------------------------
   // | Fields |
   // +--------+
@@ -43,6 +86,11 @@ public class SortTools {
    */
   static Random rand;
 
+  /**
+   * The maker of the arrays that are timed.
+   */
+  static WorkloadGenerator workloads;
+
   /**
    * Prefixes for our sorters.
    */
@@ -61,7 +109,8 @@ public class SortTools {
    *   Command-line arguments. See the help document for details.
    */
   public static void main(String[] args) {
-    rand = new Random();
+    rand = new Random(SEED);
+    workloads = new WorkloadGenerator(SEED);
     // Ensure that we have enough arguments.
     if (args.length < 2) {
       help();
@@ -103,6 +152,12 @@ public class SortTools {
       case "compete":
         compete(sorters, pen);
         break;
+      case "batch":
+        batch(sorters, pen);
+        break;
+      case "strings":
+        strings(sorters, pen);
+        break;
       default:
         System.err.println("Invalid command: '" + args[0] + "'");
         help();
@@ -229,8 +284,9 @@ public class SortTools {
   } // test(Sorter, PrintWriter)
 
   /**
-   * Time a sorter on a series of random arrays until it takes
-   * more than MIN_USEFUL_TIME milliseconds.
+   * Time a sorter on a series of random arrays until its median time
+   * is more than MIN_USEFUL_TIME milliseconds. Each size is sorted
+   * TIME_SAMPLES times, on the same array each time.
    *
    * @param s
    *   The sorter we're testing.
@@ -247,18 +303,21 @@ public class SortTools {
 
     if (pen != null) {
       pen.println("Timing of " + s.getClass().getName());
-      pen.println("\tSize\tTime (in milliseconds)");
+      pen.println("\tSize\tTimes");
     } // if pen
 
     do {
-      Integer[] sorted = sampleSortedArray(size);
-      Integer[] source = Arrays.copyOf(sorted, size);
-      permute(source);
-      SimpleTimer st = new SimpleTimer();
-      s.sort(source);
-      time = st.elapsed();
+      Integer[] original = workloads.integers(Workload.RANDOM, size);
+      TimingStats stats = new TimingStats();
+      for (int sample = 0; sample < TIME_SAMPLES; sample++) {
+        Integer[] source = Arrays.copyOf(original, size);
+        SimpleTimer st = new SimpleTimer();
+        s.sort(source);
+        stats.record(st.stopNanos(), size);
+      } // for
+      time = stats.median() / 1_000_000;
       if (pen != null) {
-        pen.printf("\t%d\t%d\n", size, time);
+        pen.printf("\t%d\t%s\n", size, stats);
       } // if pen
       size = size * 2 + rand.nextInt(10);
     } while ((time < MIN_USEFUL_TIME) && (size < Integer.MAX_VALUE / 4));
@@ -314,9 +373,9 @@ public class SortTools {
     // int size = (int) (sum / count);
 
     // Set up the times
-    long[] times = new long[sorters.length];
+    TimingStats[] times = new TimingStats[sorters.length];
     for (int i = 0; i < sorters.length; i++) {
-      times[i] = 0;
+      times[i] = new TimingStats();
     } // for
 
     // Run the rounds of the competition
@@ -324,30 +383,10 @@ public class SortTools {
       int tmpsize = (3 * size) / 4 + rand.nextInt(size / 2);
 
       // Generate the array
-      Integer[] original = sampleSortedArray(tmpsize);
-      String type;
-      switch (rand.nextInt(7)) {
-        case 0:
-          type = "sorted";
-          break;
-        case 1:
-          type = "reverse sorted";
-          reverse(original);
-          break;
-        case 2:
-          type = "slightly randomized";
-          permute(original, tmpsize / 10);
-          break;
-        case 3:
-          type = "slightly randomized reverse sorted";
-          reverse(original);
-          permute(original, tmpsize / 10);
-          break;
-        default:
-          type = "randomized";
-          permute(original);
-          break;
-      } // switch
+      Workload[] shapes = Workload.values();
+      Workload shape = shapes[rand.nextInt(shapes.length)];
+      Integer[] original = workloads.integers(shape, tmpsize);
+      String type = shape.toString().toLowerCase().replace('_', ' ');
 
       if (pen != null) {
         pen.printf("\nRound %d (%s, size %d)\n", round, type, tmpsize);
@@ -360,10 +399,11 @@ public class SortTools {
           // Sort and time
           SimpleTimer st = new SimpleTimer();
           sorters[i].sort(source);
-          long time = st.elapsed();
-          times[i] += time;
+          long time = st.stopNanos();
+          times[i].record(time, tmpsize);
           if (pen != null) {
-            pen.println("  " + sorters[i].getClass().getName() + ": " + time);
+            pen.println("  " + sorters[i].getClass().getName() + ": "
+                + TimingStats.format(time));
           } // if pen
         } // if ok
       } // for i
@@ -378,10 +418,12 @@ public class SortTools {
     for (int i = 0; i < sorters.length; i++) {
       if (ok[i]) {
         if (pen != null) {
-          pen.println(sorters[i].getClass().getName() + ": " + times[i]);
+          pen.println(sorters[i].getClass().getName() + ": "
+              + TimingStats.format(times[i].total()));
+          pen.println("  " + times[i]);
         } // if pen
-        if (times[i] < bestTime) {
-          bestTime = times[i];
+        if (times[i].total() < bestTime) {
+          bestTime = times[i].total();
           bestSorter = sorters[i];
         } // if
       } // if (ok[i])
@@ -395,6 +437,86 @@ public class SortTools {
     return bestSorter;
   } // compete(Sorter[])
 
+  /**
+   * Compare sorting a batch of small arrays one at a time with each
+   * sorter against sorting the whole batch with a BatchSorter, reporting
+   * the best throughput of each.
+   *
+   * @param sorters
+   *   The sorters to compare with the batch sorter.
+   * @param pen
+   *   Where to print the results.
+   */
+  static void batch(Sorter[] sorters, PrintWriter pen) {
+    Comparator<Comparable> order = (x, y) -> x.compareTo(y);
+    Integer[][] original = new Integer[BATCH_ARRAYS][];
+    long values = 0;
+    for (int i = 0; i < BATCH_ARRAYS; i++) {
+      original[i] = sampleSortedArray(1 + rand.nextInt(BATCH_MAX_SIZE));
+      permute(original[i]);
+      values += original[i].length;
+    } // for
+    pen.printf("Batch of %d arrays (%d values, at most %d each)\n", BATCH_ARRAYS, values,
+        BATCH_MAX_SIZE);
+    pen.println("\tSorter\tBest time\tArrays per second\tTimes");
+
+    for (Sorter sorter : sorters) {
+      TimingStats stats = new TimingStats();
+      for (int round = 0; round < BATCH_ROUNDS; round++) {
+        Integer[][] batch = copyBatch(original);
+        SimpleTimer st = new SimpleTimer();
+        for (Integer[] arr : batch) {
+          sorter.sort(arr);
+        } // for
+        stats.record(st.stopNanos(), values);
+      } // for
+      printThroughput(pen, sorter.getClass().getName(), stats);
+    } // for
+
+    BatchSorter<Comparable> batchSorter = new BatchSorter<>(order);
+    TimingStats stats = new TimingStats();
+    for (int round = 0; round < BATCH_ROUNDS; round++) {
+      Integer[][] batch = copyBatch(original);
+      SimpleTimer st = new SimpleTimer();
+      batchSorter.sort(batch);
+      stats.record(st.stopNanos(), values);
+    } // for
+    printThroughput(pen, BatchSorter.class.getName(), stats);
+  } // batch(Sorter[], PrintWriter)
+
+  /**
+   * Race each sorter against a StringSorter on URLs with long shared
+   * prefixes, checking that each one sorts them correctly.
+   *
+   * @param sorters
+   *   The comparator-based sorters to race.
+   * @param pen
+   *   Where to print the results.
+   */
+  static void strings(Sorter[] sorters, PrintWriter pen) {
+    String[] original = sampleUrls(STRING_COUNT);
+    String[] expected = original.clone();
+    Arrays.sort(expected);
+    pen.printf("Sorting %d URLs\n", STRING_COUNT);
+    pen.println("\tSorter\tBest time\tTimes");
+
+    Sorter[] all = Arrays.copyOf(sorters, sorters.length + 1);
+    all[sorters.length] = new StringSorter();
+    for (Sorter sorter : all) {
+      TimingStats stats = new TimingStats();
+      boolean ok = true;
+      for (int round = 0; round < BATCH_ROUNDS; round++) {
+        String[] values = original.clone();
+        SimpleTimer st = new SimpleTimer();
+        sorter.sort(values);
+        stats.record(st.stopNanos(), STRING_COUNT);
+        ok = ok && Arrays.equals(expected, values);
+      } // for
+      pen.printf("\t%s\t%s\t%s%s\n", sorter.getClass().getName(),
+          TimingStats.format(stats.min()), stats, ok ? "" : "\tFAILED");
+    } // for
+  } // strings(Sorter[], PrintWriter)
+
   // +-----------+---------------------------------------------------
   // | Utilities |
   // +-----------+
@@ -404,7 +526,7 @@ public class SortTools {
    */
   static void help() {
     System.err.println("Usage: java SortTools COMMAND SortClass1 ... SortClassn");
-    System.err.println("  Commands: time, test, compete\n");
+    System.err.println("  Commands: time, test, compete, batch, strings\n");
   } // help()
 
   /**
@@ -471,38 +593,70 @@ public class SortTools {
   } // sampleSortedArray
 
   /**
-   * Permute an array.
+   * Create URLs that share long prefixes, as the keys of a web cache
+   * might.
    *
-   * I recall a colleague telling me that this is not a great way to
-   * permute an array.  But I also recall an article by Knuth suggesting
-   * that this does randomly arrange things.  In any case, it's good
-   * enough for our purposes.
+   * @param count
+   *   The number of URLs.
    *
-   * @param arr
-   *   The array to permute.
+   * @return the URLs, in random order.
    */
-  static void permute(Object[] arr) {
-    for (int i = 0; i < arr.length; i++) {
-      swap(arr, i, rand.nextInt(arr.length));
+  static String[] sampleUrls(int count) {
+    String[] urls = new String[count];
+    for (int i = 0; i < count; i++) {
+      StringBuilder url = new StringBuilder("https://www.example.com");
+      int depth = 2 + rand.nextInt(3);
+      for (int j = 0; j < depth; j++) {
+        url.append('/').append(URL_SEGMENTS[rand.nextInt(URL_SEGMENTS.length)]);
+      } // for
+      url.append('/').append(rand.nextInt(count));
+      urls[i] = url.toString();
     } // for
-  } // permute(Object[])
+    return urls;
+  } // sampleUrls(int)
 
   /**
-   * Permute an array by swapping n random pairs.
+   * Copy each array in a batch.
    *
-   * Or perhaps this is the one that's less correct, even if
-   * n is arr.length.
+   * @param batch
+   *   The batch to copy.
+   *
+   * @return the copy.
+   */
+  static Integer[][] copyBatch(Integer[][] batch) {
+    Integer[][] result = new Integer[batch.length][];
+    for (int i = 0; i < batch.length; i++) {
+      result[i] = batch[i].clone();
+    } // for
+    return result;
+  } // copyBatch(Integer[][])
+
+  /**
+   * Print the best time taken to sort a batch, the resulting throughput,
+   * and the distribution of the times.
+   *
+   * @param pen
+   *   Where to print.
+   * @param name
+   *   The name of the sorter.
+   * @param stats
+   *   The time taken in each round.
+   */
+  static void printThroughput(PrintWriter pen, String name, TimingStats stats) {
+    long best = stats.min();
+    pen.printf("\t%s\t%s\t%.0f\t%s\n", name, TimingStats.format(best),
+        BATCH_ARRAYS * 1e9 / Math.max(best, 1), stats);
+  } // printThroughput(PrintWriter, String, TimingStats)
+
+  /**
+   * Permute an array, with every permutation equally likely.
    *
    * @param arr
    *   The array to permute.
-   * @param n
-   *   The number of pairs to swap.
    */
-  static void permute(Object[] arr, int n) {
-    for (int i = 0; i < n; i++) {
-      swap(arr, rand.nextInt(arr.length), rand.nextInt(arr.length));
-    } // for
-  } // permute(Object[], int)
+  static void permute(Object[] arr) {
+    ArrayUtils.permute(arr, rand);
+  } // permute(Object[])
 
   /**
    * Reverse an array.
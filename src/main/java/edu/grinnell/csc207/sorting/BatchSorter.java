@@ -0,0 +1,395 @@
+package edu.grinnell.csc207.sorting;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntFunction;
+
+/**
+ * Something that sorts a large batch of small arrays. Sorting each array
+ * with an ordinary sorter spends most of its time on per-call overhead:
+ * choosing pivots, checking for sorted runs, and recursing, all for a
+ * few dozen values. A batch sorter instead
+ *
+ * <ol>
+ *   <li>groups the arrays by size, so that the small arrays are sorted one
+ *     after another by the same simple loop,</li>
+ *   <li>sorts each small array with insertion sort, and only hands larger
+ *     arrays to StroudDavid sort, and</li>
+ *   <li>splits the batch into tasks of about the same number of values and
+ *     runs them in a fork/join pool.</li>
+ * </ol>
+ *
+ * <p>The arrays may be separate arrays or ranges of one backing array.
+ *
+ * @param <T>
+ *   The types of values that are sorted.
+ *
+ * @author David William Stroud
+ */
+public class BatchSorter<T> {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /**
+   * The largest array sorted with insertion sort.
+   */
+  public static final int SMALL_ARRAY_LIMIT = 64;
+
+  /**
+   * The default number of values below which a group of arrays is sorted
+   * as one task.
+   */
+  public static final int DEFAULT_GRAIN = 1 << 13;
+
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * The way in which elements are ordered.
+   */
+  Comparator<? super T> order;
+
+  /**
+   * The sorter for arrays too large for the small-array kernel.
+   */
+  StroudDavidSort<T> large;
+
+  /**
+   * The pool in which the tasks run.
+   */
+  ForkJoinPool pool;
+
+  /**
+   * The number of values below which a group of arrays is sorted as one
+   * task.
+   */
+  int grain;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a batch sorter using a particular comparator and the common pool.
+   *
+   * @param comparator
+   *   The order in which elements in each array should be ordered after
+   *   sorting.
+   */
+  public BatchSorter(Comparator<? super T> comparator) {
+    this(comparator, ForkJoinPool.commonPool(), BatchSorter.DEFAULT_GRAIN);
+  } // BatchSorter(Comparator)
+
+  /**
+   * Create a batch sorter using a particular comparator and pool.
+   *
+   * @param comparator
+   *   The order in which elements in each array should be ordered after
+   *   sorting.
+   * @param forkJoinPool
+   *   The pool in which to run the tasks.
+   * @param taskGrain
+   *   The number of values below which a group of arrays is sorted as one
+   *   task. Must be positive.
+   */
+  public BatchSorter(Comparator<? super T> comparator, ForkJoinPool forkJoinPool,
+      int taskGrain) {
+    if (taskGrain < 1) {
+      throw new IllegalArgumentException("grain must be positive, not " + taskGrain);
+    } // if
+    this.order = comparator;
+    this.large = new StroudDavidSort<>(comparator);
+    this.pool = forkJoinPool;
+    this.grain = taskGrain;
+  } // BatchSorter(Comparator, ForkJoinPool, int)
+
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Sort a slice of an array with insertion sort. For a few dozen values
+   * this beats any algorithm that needs to choose pivots or recurse.
+   *
+   * @param values The array.
+   * @param from The first index of the slice, inclusive.
+   * @param to The last index of the slice, exclusive.
+   */
+  void insertionSortSlice(T[] values, int from, int to) {
+    for (int i = from + 1; i < to; i++) {
+      T value = values[i];
+      int index = i - 1;
+      while (index >= from && this.order.compare(values[index], value) > 0) {
+        values[index + 1] = values[index];
+        index--;
+      } // while
+      values[index + 1] = value;
+    } // for
+  } // insertionSortSlice(T[], int, int)
+
+  /**
+   * Sort one slice with whichever algorithm suits its size. Large slices
+   * are sorted directly, so that they do not each record a sort event.
+   *
+   * @param values The array.
+   * @param from The first index of the slice, inclusive.
+   * @param to The last index of the slice, exclusive.
+   * @param bounds Room for the bounds of a partition, from the thread's
+   *   SortWorkspace.
+   */
+  void sortSlice(T[] values, int from, int to, int[] bounds) {
+    if (to - from <= BatchSorter.SMALL_ARRAY_LIMIT) {
+      this.insertionSortSlice(values, from, to);
+    } else {
+      this.large.sortSlice(values, from, to, HeapSorter.depthBudget(to - from), 0, bounds);
+    } // if-else
+  } // sortSlice(T[], int, int, int[])
+
+  /**
+   * Sort every slice in a batch. The small slices are sorted first and the
+   * large ones after, each in their original order, and prefix sums of
+   * their sizes let tasks split the batch into halves with about the same
+   * number of values.
+   *
+   * <p>The groups are deliberately coarse. Putting every size in a group of
+   * its own sends each task jumping around the heap, and on a batch that
+   * does not fit in the cache that costs more than the kernel saves.
+   *
+   * @param arrays The array that holds each slice.
+   * @param starts The first index of each slice, inclusive.
+   * @param ends The last index of each slice, exclusive.
+   */
+  private void sortAll(IntFunction<T[]> arrays, int[] starts, int[] ends) {
+    int count = starts.length;
+
+    // Put the small slices before the large ones.
+    int[] jobs = new int[count];
+    int small = 0;
+    for (int i = 0; i < count; i++) {
+      if (ends[i] - starts[i] <= BatchSorter.SMALL_ARRAY_LIMIT) {
+        jobs[small++] = i;
+      } // if
+    } // for
+    int next = small;
+    for (int i = 0; i < count; i++) {
+      if (ends[i] - starts[i] > BatchSorter.SMALL_ARRAY_LIMIT) {
+        jobs[next++] = i;
+      } // if
+    } // for
+
+    // work[j] is the number of values in jobs 0 through j - 1.
+    long[] work = new long[count + 1];
+    for (int j = 0; j < count; j++) {
+      work[j + 1] = work[j] + (ends[jobs[j]] - starts[jobs[j]]);
+    } // for
+
+    if (work[count] <= this.grain || this.pool.getParallelism() < 2) {
+      SortWorkspace workspace = SortWorkspace.acquire();
+      try {
+        for (int job : jobs) {
+          this.sortSlice(arrays.apply(job), starts[job], ends[job], workspace.bounds());
+        } // for
+      } finally {
+        workspace.release();
+      } // try/finally
+    } else {
+      this.pool.invoke(new BatchTask(arrays, starts, ends, jobs, work, 0, count));
+    } // if-else
+  } // sortAll(IntFunction<T[]>, int[], int[])
+
+  // +---------+-----------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Sort each of a batch of arrays in place.
+   *
+   * @param arrays
+   *   the arrays to sort. No array may appear twice.
+   *
+   * @post
+   *   For every array a in arrays, and for all i, 0 &lt; i &lt; a.length,
+   *   order.compare(a[i-1], a[i]) &lt;= 0
+   */
+  public void sort(T[][] arrays) {
+    int[] starts = new int[arrays.length];
+    int[] ends = new int[arrays.length];
+    for (int i = 0; i < arrays.length; i++) {
+      ends[i] = arrays[i].length;
+    } // for
+    this.sortAll((i) -> arrays[i], starts, ends);
+  } // sort(T[][])
+
+  /**
+   * Sort each of a batch of ranges of one array in place, leaving the rest
+   * of the array alone.
+   *
+   * @param values
+   *   the array that holds the ranges.
+   * @param starts
+   *   the first index of each range, inclusive.
+   * @param ends
+   *   the last index of each range, exclusive.
+   *
+   * @throws IllegalArgumentException
+   *   if starts and ends have different lengths.
+   * @throws IndexOutOfBoundsException
+   *   if a range does not fit in values.
+   *
+   * @pre
+   *   No two ranges overlap.
+   */
+  public void sort(T[] values, int[] starts, int[] ends) {
+    if (starts.length != ends.length) {
+      throw new IllegalArgumentException("got " + starts.length + " starts but "
+          + ends.length + " ends");
+    } // if
+    for (int i = 0; i < starts.length; i++) {
+      Objects.checkFromToIndex(starts[i], ends[i], values.length);
+    } // for
+    this.sortAll((i) -> values, starts, ends);
+  } // sort(T[], int[], int[])
+
+  /**
+   * Sort each of a batch of adjacent ranges of one array in place. Range i
+   * runs from offsets[i], inclusive, to offsets[i + 1], exclusive, as when
+   * many small arrays have been packed into one.
+   *
+   * @param values
+   *   the array that holds the ranges.
+   * @param offsets
+   *   where each range starts, followed by where the last one ends.
+   *
+   * @throws IndexOutOfBoundsException
+   *   if the offsets are not in order or do not fit in values.
+   */
+  public void sort(T[] values, int[] offsets) {
+    if (offsets.length < 2) {
+      return;
+    } // if
+    this.sort(values, Arrays.copyOf(offsets, offsets.length - 1),
+        Arrays.copyOfRange(offsets, 1, offsets.length));
+  } // sort(T[], int[])
+
+  // +---------------+-----------------------------------------------
+  // | Inner Classes |
+  // +---------------+
+
+  /**
+   * A task that sorts some of the jobs in a batch, splitting them in half
+   * by number of values until each task has about grain values or one job.
+   */
+  private class BatchTask extends RecursiveAction {
+    /**
+     * The version of the serialized form.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The array that holds each slice.
+     */
+    private final IntFunction<T[]> arrays;
+
+    /**
+     * The first index of each slice, inclusive.
+     */
+    private final int[] starts;
+
+    /**
+     * The last index of each slice, exclusive.
+     */
+    private final int[] ends;
+
+    /**
+     * The slices, in order of size.
+     */
+    private final int[] jobs;
+
+    /**
+     * The number of values before each job.
+     */
+    private final long[] work;
+
+    /**
+     * The first job, inclusive.
+     */
+    private final int lo;
+
+    /**
+     * The last job, exclusive.
+     */
+    private final int hi;
+
+    /**
+     * Create a task for some jobs.
+     *
+     * @param source The array that holds each slice.
+     * @param from The first index of each slice.
+     * @param to The last index of each slice.
+     * @param order The slices, in order of size.
+     * @param sums The number of values before each job.
+     * @param lb The first job, inclusive.
+     * @param ub The last job, exclusive.
+     */
+    BatchTask(IntFunction<T[]> source, int[] from, int[] to, int[] order, long[] sums,
+        int lb, int ub) {
+      this.arrays = source;
+      this.starts = from;
+      this.ends = to;
+      this.jobs = order;
+      this.work = sums;
+      this.lo = lb;
+      this.hi = ub;
+    } // BatchTask(IntFunction, int[], int[], int[], long[], int, int)
+
+    /**
+     * Sort the jobs, splitting them if there are too many values.
+     */
+    @Override
+    protected void compute() {
+      if (this.hi - this.lo > 1
+          && this.work[this.hi] - this.work[this.lo] > BatchSorter.this.grain) {
+        // Find the job where half of the values have been sorted.
+        long half = (this.work[this.lo] + this.work[this.hi]) / 2;
+        int left = this.lo + 1;
+        int right = this.hi - 1;
+        while (left < right) {
+          int mid = (left + right) >>> 1;
+          if (this.work[mid] < half) {
+            left = mid + 1;
+          } else {
+            right = mid;
+          } // if-else
+        } // while
+        RecursiveAction.invokeAll(this.part(this.lo, left), this.part(left, this.hi));
+      } else {
+        SortWorkspace workspace = SortWorkspace.acquire();
+        try {
+          for (int j = this.lo; j < this.hi; j++) {
+            int job = this.jobs[j];
+            BatchSorter.this.sortSlice(this.arrays.apply(job), this.starts[job], this.ends[job],
+                workspace.bounds());
+          } // for
+        } finally {
+          workspace.release();
+        } // try/finally
+      } // if-else
+    } // compute()
+
+    /**
+     * Make a task for some of this task's jobs.
+     *
+     * @param lb The first job, inclusive.
+     * @param ub The last job, exclusive.
+     * @return the task.
+     */
+    private BatchTask part(int lb, int ub) {
+      return new BatchTask(this.arrays, this.starts, this.ends, this.jobs, this.work, lb, ub);
+    } // part(int, int)
+  } // class BatchTask
+} // class BatchSorter
@@ -0,0 +1,416 @@
+package edu.grinnell.csc207.sorting;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+/**
+ * Something that sorts fixed-width binary records in place inside a
+ * ByteBuffer, which may be direct or memory-mapped, so the records never
+ * become Java objects. Records are ordered by a key at a fixed offset in
+ * each record, compared as unsigned bytes (so big-endian unsigned integers
+ * and ASCII strings sort as expected).
+ *
+ * <p>The algorithm is StroudDavid sort moving raw bytes: a three-way
+ * Quicksort with the same pivot heuristics, insertion sort for small
+ * probably-sorted slices, and heapsort once the partitions have come out
+ * lopsided too often. Keys are compared eight bytes at a time.
+ *
+ * <p>A ByteBuffer holds at most 2 GB, so larger files must be mapped and
+ * sorted in pieces and then merged.
+ *
+ * @author David William Stroud
+ */
+public class ByteBufferSorter {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /**
+   * The minimum length of a slice required to apply any heuristics.
+   */
+  private static final int MIN_FOR_HEURISTICS = 15;
+
+  /**
+   * The maximum length of a slice that may be sorted with insertion sort.
+   */
+  private static final int MAX_FOR_INSERTION_SORT = 20;
+
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * The number of bytes in each record.
+   */
+  int recordSize;
+
+  /**
+   * The offset of the key within each record.
+   */
+  int keyOffset;
+
+  /**
+   * The number of bytes in each key.
+   */
+  int keyWidth;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a sorter for records of a particular layout.
+   *
+   * @param bytesPerRecord
+   *   The number of bytes in each record.
+   * @param offset
+   *   The offset of the key within each record.
+   * @param width
+   *   The number of bytes in each key.
+   */
+  public ByteBufferSorter(int bytesPerRecord, int offset, int width) {
+    if (bytesPerRecord < 1) {
+      throw new IllegalArgumentException("record size must be positive, not " + bytesPerRecord);
+    } // if
+    Objects.checkFromIndexSize(offset, width, bytesPerRecord);
+    this.recordSize = bytesPerRecord;
+    this.keyOffset = offset;
+    this.keyWidth = width;
+  } // ByteBufferSorter(int, int, int)
+
+  // +---------+-----------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Sort the records between a buffer's position and its limit. The
+   * buffer's position, limit and byte order are unchanged.
+   *
+   * @param buffer
+   *   the buffer to sort.
+   *
+   * @throws IllegalArgumentException
+   *   if the bytes between the position and the limit are not a whole
+   *   number of records.
+   */
+  public void sort(ByteBuffer buffer) {
+    int bytes = buffer.remaining();
+    if (bytes % this.recordSize != 0) {
+      throw new IllegalArgumentException(bytes + " bytes is not a whole number of "
+          + this.recordSize + "-byte records");
+    } // if
+    this.sort(buffer, 0, bytes / this.recordSize);
+  } // sort(ByteBuffer)
+
+  /**
+   * Sort some of the records after a buffer's position, leaving the rest
+   * alone. The buffer's position, limit and byte order are unchanged.
+   *
+   * @param buffer
+   *   the buffer holding the records, the first of which is at its position.
+   * @param from
+   *   the first record to sort, inclusive.
+   * @param to
+   *   the last record to sort, exclusive.
+   *
+   * @throws IndexOutOfBoundsException
+   *   if from &lt; 0, from &gt; to, or record to - 1 extends past the limit.
+   */
+  public void sort(ByteBuffer buffer, int from, int to) {
+    Objects.checkFromToIndex(from, to, buffer.remaining() / this.recordSize);
+    // Compare longs in big-endian order, whatever order the caller uses.
+    ByteBuffer records = buffer.slice().order(ByteOrder.BIG_ENDIAN);
+    new Pass(records).sortSlice(from, to, HeapSorter.depthBudget(to - from));
+  } // sort(ByteBuffer, int, int)
+
+  // +---------------+-----------------------------------------------
+  // | Inner Classes |
+  // +---------------+
+
+  /**
+   * The state of one sort: the records and some scratch space.
+   */
+  private final class Pass {
+    /**
+     * The records, starting at index 0.
+     */
+    private final ByteBuffer records;
+
+    /**
+     * A copy of the pivot's key.
+     */
+    private final ByteBuffer pivot;
+
+    /**
+     * Scratch space for one record.
+     */
+    private final byte[] held;
+
+    /**
+     * The held record, as a buffer, so that its key can be compared.
+     */
+    private final ByteBuffer heldRecord;
+
+    /**
+     * More scratch space for one record.
+     */
+    private final byte[] moving;
+
+    /**
+     * Receives the bounds of each partition.
+     */
+    private final int[] bounds = new int[2];
+
+    /**
+     * Set up to sort some records.
+     *
+     * @param buffer The records, starting at index 0, in big-endian order.
+     */
+    Pass(ByteBuffer buffer) {
+      int size = ByteBufferSorter.this.recordSize;
+      this.records = buffer;
+      this.pivot = ByteBuffer.allocate(ByteBufferSorter.this.keyWidth);
+      this.held = new byte[size];
+      this.heldRecord = ByteBuffer.wrap(this.held);
+      this.moving = new byte[size];
+    } // Pass(ByteBuffer)
+
+    /**
+     * Compare two keys as unsigned bytes.
+     *
+     * @param x The buffer holding one key.
+     * @param xAt The index of that key.
+     * @param y The buffer holding the other key.
+     * @param yAt The index of that key.
+     * @return negative, zero or positive as the first key is less than,
+     *   equal to, or greater than the second.
+     */
+    private int compareKeys(ByteBuffer x, int xAt, ByteBuffer y, int yAt) {
+      int width = ByteBufferSorter.this.keyWidth;
+      int i = 0;
+      for (; i + Long.BYTES <= width; i += Long.BYTES) {
+        long xs = x.getLong(xAt + i);
+        long ys = y.getLong(yAt + i);
+        if (xs != ys) {
+          return Long.compareUnsigned(xs, ys);
+        } // if
+      } // for
+      for (; i < width; i++) {
+        int comparison = Byte.toUnsignedInt(x.get(xAt + i)) - Byte.toUnsignedInt(y.get(yAt + i));
+        if (comparison != 0) {
+          return comparison;
+        } // if
+      } // for
+      return 0;
+    } // compareKeys(ByteBuffer, int, ByteBuffer, int)
+
+    /**
+     * Compare the keys of two records.
+     *
+     * @param i The index of one record.
+     * @param j The index of the other record.
+     * @return negative, zero or positive as record i's key is less than,
+     *   equal to, or greater than record j's.
+     */
+    private int compare(int i, int j) {
+      int size = ByteBufferSorter.this.recordSize;
+      int offset = ByteBufferSorter.this.keyOffset;
+      return this.compareKeys(this.records, i * size + offset, this.records, j * size + offset);
+    } // compare(int, int)
+
+    /**
+     * Compare a record's key to the pivot.
+     *
+     * @param i The index of the record.
+     * @return negative, zero or positive as record i's key is less than,
+     *   equal to, or greater than the pivot.
+     */
+    private int compareToPivot(int i) {
+      int at = i * ByteBufferSorter.this.recordSize + ByteBufferSorter.this.keyOffset;
+      return this.compareKeys(this.records, at, this.pivot, 0);
+    } // compareToPivot(int)
+
+    /**
+     * Remember a record's key as the pivot.
+     *
+     * @param i The index of the record.
+     */
+    private void setPivot(int i) {
+      int at = i * ByteBufferSorter.this.recordSize + ByteBufferSorter.this.keyOffset;
+      this.pivot.put(0, this.records, at, ByteBufferSorter.this.keyWidth);
+    } // setPivot(int)
+
+    /**
+     * Swap two records.
+     *
+     * @param i The index of one record.
+     * @param j The index of the other record.
+     */
+    private void swap(int i, int j) {
+      int size = ByteBufferSorter.this.recordSize;
+      this.records.get(i * size, this.held);
+      this.records.get(j * size, this.moving);
+      this.records.put(i * size, this.moving);
+      this.records.put(j * size, this.held);
+    } // swap(int, int)
+
+    /**
+     * Sorts a slice of the records using insertion sort.
+     *
+     * @param start The first record to sort, inclusive.
+     * @param end The last record to sort, exclusive.
+     */
+    private void insertionSortSlice(int start, int end) {
+      int size = ByteBufferSorter.this.recordSize;
+      for (int unprocessedStart = start + 1; unprocessedStart < end; unprocessedStart++) {
+        if (this.compare(unprocessedStart - 1, unprocessedStart) <= 0) {
+          continue;
+        } // if
+        // Hold the record aside and shift larger records right until its place is free.
+        this.records.get(unprocessedStart * size, this.held);
+        int keyAt = ByteBufferSorter.this.keyOffset;
+        int index = unprocessedStart - 1;
+        while (index >= start
+            && this.compareKeys(this.heldRecord, keyAt, this.records, index * size + keyAt) < 0) {
+          this.records.get(index * size, this.moving);
+          this.records.put((index + 1) * size, this.moving);
+          index--;
+        } // while
+        this.records.put((index + 1) * size, this.held);
+      } // for
+    } // insertionSortSlice(int, int)
+
+    /**
+     * Moves a record down a max-heap until neither of its children is larger.
+     *
+     * @param base The index of the root of the heap.
+     * @param parent The position in the heap of the record to move.
+     * @param size The number of records in the heap.
+     */
+    private void siftDown(int base, int parent, int size) {
+      int child = 2 * parent + 1;
+      while (child < size) {
+        if (child + 1 < size && this.compare(base + child, base + child + 1) < 0) {
+          child++;
+        } // if
+        if (this.compare(base + parent, base + child) >= 0) {
+          break;
+        } // if
+        this.swap(base + parent, base + child);
+        parent = child;
+        child = 2 * parent + 1;
+      } // while
+    } // siftDown(int, int, int)
+
+    /**
+     * Sorts a slice of the records using heapsort.
+     *
+     * @param start The first record to sort, inclusive.
+     * @param end The last record to sort, exclusive.
+     */
+    private void heapSortSlice(int start, int end) {
+      int size = end - start;
+      for (int parent = size / 2 - 1; parent >= 0; parent--) {
+        this.siftDown(start, parent, size);
+      } // for
+      for (int last = size - 1; last > 0; last--) {
+        this.swap(start, start + last);
+        this.siftDown(start, 0, last);
+      } // for
+    } // heapSortSlice(int, int)
+
+    /**
+     * Partitions a slice of the records around a pivot using StroudDavid
+     * sort's heuristics. Small or probably-sorted slices are sorted directly
+     * instead of being partitioned.
+     *
+     * @param start The first record to partition, inclusive.
+     * @param end The last record to partition, exclusive.
+     * @param bounds Receives the start of the "equal to" section and the
+     *   start of the "greater than" section.
+     * @return true if the slice was partitioned, and false if it is already sorted.
+     */
+    private boolean partitionSlice(int start, int end, int[] bounds) {
+      int size = end - start;
+      if (size == 2) {
+        if (this.compare(start, start + 1) > 0) {
+          this.swap(start, start + 1);
+        } // if
+        return false;
+      } // if
+      if (size < 2) {
+        return false;
+      } // if
+
+      int low = start;
+      int mid = (start + end) >>> 1;
+      int high = end - 1;
+      int pivotIndex;
+      if (size < ByteBufferSorter.MIN_FOR_HEURISTICS) {
+        pivotIndex = mid;
+      } else if (this.compare(low, mid) <= 0) {
+        if (this.compare(mid, high) <= 0) {
+          // As in StroudDavidSort, three sorted samples are suspicious.
+          int candidate = (int) ((3L * start + end) / 4);
+          if (size < ByteBufferSorter.MAX_FOR_INSERTION_SORT
+              && this.compare(low, candidate) <= 0 && this.compare(candidate, mid) <= 0) {
+            this.insertionSortSlice(start, end);
+            return false;
+          } // if
+        } // if
+        pivotIndex = mid;
+      } else if (this.compare(mid, high) >= 0) {
+        pivotIndex = mid;
+      } else {
+        pivotIndex = (this.compare(low, high) <= 0) ? low : high;
+      } // if-else
+      this.setPivot(pivotIndex);
+
+      int startEqual = start;
+      int startGt = end;
+      for (int index = start; index < startGt;) {
+        int comparison = this.compareToPivot(index);
+        if (comparison < 0) {
+          this.swap(startEqual++, index++);
+        } else if (comparison > 0) {
+          this.swap(--startGt, index);
+        } else {
+          index++;
+        } // if-else
+      } // for
+
+      bounds[0] = startEqual;
+      bounds[1] = startGt;
+      return true;
+    } // partitionSlice(int, int, int[])
+
+    /**
+     * Sorts a slice of the records. This recurses on the smaller section and
+     * loops on the larger one, and heapsorts once the depth budget runs out.
+     *
+     * @param start The first record to sort, inclusive.
+     * @param end The last record to sort, exclusive.
+     * @param depth The number of partitioning levels left before falling back on heapsort.
+     */
+    void sortSlice(int start, int end, int depth) {
+      // The bounds are read before recursing, which overwrites them.
+      while (depth > 0 && this.partitionSlice(start, end, this.bounds)) {
+        depth--;
+        int startEqual = this.bounds[0];
+        int startGt = this.bounds[1];
+        if ((startEqual - start) < (end - startGt)) {
+          this.sortSlice(start, startEqual, depth);
+          start = startGt;
+        } else {
+          this.sortSlice(startGt, end, depth);
+          end = startEqual;
+        } // if-else
+      } // while
+
+      if (depth == 0) {
+        this.heapSortSlice(start, end);
+      } // if
+    } // sortSlice(int, int, int)
+  } // class Pass
+} // class ByteBufferSorter
@@ -0,0 +1,22 @@
+package edu.grinnell.csc207.sorting;
+
+/**
+ * Things that know how to sort arrays of doubles without boxing them.
+ * As with Double.compare, -0.0 sorts before 0.0 and NaN sorts after
+ * every other value.
+ *
+ * @author David William Stroud
+ */
+public interface DoubleSorter {
+  /**
+   * Sort an array of doubles in place.
+   *
+   * @param values
+   *   an array to sort.
+   *
+   * @post
+   *   For all i, 0 &lt; i &lt; values.length,
+   *     Double.compare(values[i-1], values[i]) &lt;= 0
+   */
+  public void sort(double[] values);
+} // interface DoubleSorter
@@ -0,0 +1,318 @@
+package edu.grinnell.csc207.sorting;
+
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * Something that sorts using dual-pivot Quicksort. Each slice is split into
+ * three sections (less than the first pivot, between the pivots, and greater
+ * than the second pivot), which moves elements fewer times per level than
+ * single-pivot Quicksort. The pivots are the second and fourth of five
+ * sorted samples. When the pivots are equal, the slice is split into less
+ * than, equal to, and greater than sections instead, so runs of equal keys
+ * are never sorted again. As in Quicksorter, slices whose partitions keep
+ * coming out lopsided are heapsorted.
+ *
+ * @param <T>
+ *   The types of values that are sorted.
+ *
+ * @author David William Stroud
+ */
+
+public class DualPivotQuicksorter<T> implements Sorter<T> {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /**
+   * Slices shorter than this are sorted with insertion sort.
+   */
+  private static final int INSERTION_SORT_THRESHOLD = 27;
+
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * The way in which elements are ordered.
+   */
+  Comparator<? super T> order;
+
+  /**
+   * The sorter used for slices whose partitions keep coming out lopsided.
+   */
+  HeapSorter<T> fallback;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a sorter using a particular comparator.
+   *
+   * @param comparator
+   *   The order in which elements in the array should be ordered
+   *   after sorting.
+   */
+  public DualPivotQuicksorter(Comparator<? super T> comparator) {
+    this.order = comparator;
+    this.fallback = new HeapSorter<>(comparator);
+  } // DualPivotQuicksorter(Comparator)
+
+  // +---------+-----------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Swap two elements of an array.
+   * @param values The array.
+   * @param i The index of one element.
+   * @param j The index of the other element.
+   */
+  private static <T> void swap(T[] values, int i, int j) {
+    T tmp = values[i];
+    values[i] = values[j];
+    values[j] = tmp;
+  } // swap(T[], int, int)
+
+  /**
+   * Swap two elements of an array if they are out of order.
+   * @param values The array.
+   * @param i The index of the element that should be smaller.
+   * @param j The index of the element that should be larger.
+   * @return true if the elements were swapped.
+   */
+  private boolean sortPair(T[] values, int i, int j) {
+    if (this.order.compare(values[j], values[i]) < 0) {
+      DualPivotQuicksorter.swap(values, i, j);
+      return true;
+    } // if
+    return false;
+  } // sortPair(T[], int, int)
+
+  /**
+   * Sorts a slice of an array in place using insertion sort.
+   * @param values The full array to sort.
+   * @param start The first index to sort, inclusive.
+   * @param end The last index to sort, exclusive.
+   */
+  private void insertionSortSlice(T[] values, int start, int end) {
+    for (int unprocessedStart = start + 1; unprocessedStart < end; unprocessedStart++) {
+      T value = values[unprocessedStart];
+      int index = unprocessedStart - 1;
+      while (index >= start && this.order.compare(value, values[index]) < 0) {
+        values[index + 1] = values[index];
+        index--;
+      } // while
+      values[index + 1] = value;
+    } // for
+  } // insertionSortSlice(T[], int, int)
+
+  /**
+   * Sorts a slice of an array in place.
+   * @param values The full array to sort.
+   * @param start The first index to sort, inclusive.
+   * @param end The last index to sort, exclusive.
+   * @param depth The number of partitioning levels left before falling back on heapsort.
+   */
+  private void sortSlice(T[] values, int start, int end, int depth) {
+    int length = end - start;
+    if (length < DualPivotQuicksorter.INSERTION_SORT_THRESHOLD) {
+      this.insertionSortSlice(values, start, end);
+      return;
+    } // if
+    if (depth == 0) {
+      this.fallback.sortSlice(values, start, end);
+      return;
+    } // if
+    depth--;
+
+    // Sort five evenly spaced samples around the middle.
+    int left = start;
+    int right = end - 1;
+    int seventh = (length >> 3) + (length >> 6) + 1;
+    int e3 = (left + right) >>> 1;
+    int e2 = e3 - seventh;
+    int e1 = e2 - seventh;
+    int e4 = e3 + seventh;
+    int e5 = e4 + seventh;
+    this.sortPair(values, e1, e2);
+    if (this.sortPair(values, e2, e3)) {
+      this.sortPair(values, e1, e2);
+    } // if
+    if (this.sortPair(values, e3, e4) && this.sortPair(values, e2, e3)) {
+      this.sortPair(values, e1, e2);
+    } // if
+    if (this.sortPair(values, e4, e5) && this.sortPair(values, e3, e4)
+        && this.sortPair(values, e2, e3)) {
+      this.sortPair(values, e1, e2);
+    } // if
+
+    if (this.order.compare(values[e2], values[e4]) == 0) {
+      this.sortSliceSinglePivot(values, start, end, values[e3], depth);
+      return;
+    } // if
+
+    T pivot1 = values[e2];
+    T pivot2 = values[e4];
+    // The pivots' places are filled by the ends of the slice, and the pivots
+    // will be swapped into their final places after partitioning.
+    values[e2] = values[left];
+    values[e4] = values[right];
+
+    // The sorted samples at e1 and e5 keep these loops inside the slice.
+    int less = left + 1;
+    while (this.order.compare(values[less], pivot1) < 0) {
+      less++;
+    } // while
+    int great = right - 1;
+    while (this.order.compare(values[great], pivot2) > 0) {
+      great--;
+    } // while
+
+    // Invariants:
+    //   values[left + 1 .. less) < pivot1
+    //   pivot1 <= values[less .. k) <= pivot2
+    //   values(great .. right - 1] > pivot2
+    outer:
+    for (int k = less; k <= great; k++) {
+      T value = values[k];
+      if (this.order.compare(value, pivot1) < 0) {
+        values[k] = values[less];
+        values[less] = value;
+        less++;
+      } else if (this.order.compare(value, pivot2) > 0) {
+        while (this.order.compare(values[great], pivot2) > 0) {
+          if (great == k) {
+            great--;
+            break outer;
+          } // if
+          great--;
+        } // while
+        if (this.order.compare(values[great], pivot1) < 0) {
+          values[k] = values[less];
+          values[less] = values[great];
+          less++;
+        } else {
+          values[k] = values[great];
+        } // if-else
+        values[great] = value;
+        great--;
+      } // if-else
+    } // for
+
+    values[left] = values[less - 1];
+    values[less - 1] = pivot1;
+    values[right] = values[great + 1];
+    values[great + 1] = pivot2;
+
+    this.sortSlice(values, left, less - 1, depth);
+    this.sortSlice(values, great + 2, right + 1, depth);
+
+    if (less < e1 && e5 < great) {
+      // The middle section is suspiciously large, so it probably has many
+      // elements equal to the pivots. Move those to the ends of the section,
+      // where they are already in place.
+      while (this.order.compare(values[less], pivot1) == 0) {
+        less++;
+      } // while
+      while (this.order.compare(values[great], pivot2) == 0) {
+        great--;
+      } // while
+
+      center:
+      for (int k = less; k <= great; k++) {
+        T value = values[k];
+        if (this.order.compare(value, pivot1) == 0) {
+          values[k] = values[less];
+          values[less] = value;
+          less++;
+        } else if (this.order.compare(value, pivot2) == 0) {
+          while (this.order.compare(values[great], pivot2) == 0) {
+            if (great == k) {
+              great--;
+              break center;
+            } // if
+            great--;
+          } // while
+          if (this.order.compare(values[great], pivot1) == 0) {
+            values[k] = values[less];
+            values[less] = values[great];
+            less++;
+          } else {
+            values[k] = values[great];
+          } // if-else
+          values[great] = value;
+          great--;
+        } // if-else
+      } // for
+    } // if
+
+    this.sortSlice(values, less, great + 1, depth);
+  } // sortSlice(T[], int, int, int)
+
+  /**
+   * Sorts a slice of an array in place by partitioning it into elements less
+   * than, equal to, and greater than a single pivot.
+   * @param values The full array to sort.
+   * @param start The first index to sort, inclusive.
+   * @param end The last index to sort, exclusive.
+   * @param pivot The pivot.
+   * @param depth The number of partitioning levels left before falling back on heapsort.
+   */
+  private void sortSliceSinglePivot(T[] values, int start, int end, T pivot, int depth) {
+    int startEqual = start;
+    int startGt = end;
+    for (int index = start; index < startGt;) {
+      int comparison = this.order.compare(values[index], pivot);
+      if (comparison < 0) {
+        DualPivotQuicksorter.swap(values, startEqual++, index++);
+      } else if (comparison > 0) {
+        DualPivotQuicksorter.swap(values, --startGt, index);
+      } else {
+        index++;
+      } // if-else
+    } // for
+
+    this.sortSlice(values, start, startEqual, depth);
+    this.sortSlice(values, startGt, end, depth);
+  } // sortSliceSinglePivot(T[], int, int, T, int)
+
+  /**
+   * Sort an array in place using dual-pivot Quicksort.
+   *
+   * @param values
+   *   an array to sort.
+   *
+   * @post
+   *   The array has been sorted according to some order (often
+   *   one given to the constructor).
+   * @post
+   *   For all i, 0 &lt; i &lt; values.length,
+   *     order.compare(values[i-1], values[i]) &lt;= 0
+   */
+  @Override
+  public void sort(T[] values) {
+    this.sort(values, 0, values.length);
+  } // sort(T[])
+
+  /**
+   * Sort part of an array in place using dual-pivot Quicksort, leaving the rest of it alone.
+   *
+   * @param values
+   *   an array, part of which is to be sorted.
+   * @param from
+   *   the first index to sort, inclusive.
+   * @param to
+   *   the last index to sort, exclusive.
+   */
+  @Override
+  public void sort(T[] values, int from, int to) {
+    Objects.checkFromToIndex(from, to, values.length);
+    SortEvent event = SortEvent.start();
+    this.sortSlice(values, from, to, HeapSorter.depthBudget(to - from));
+    if (event != null) {
+      event.finish(this, values.getClass().getComponentType(), to - from);
+    } // if
+  } // sort(T[], int, int)
+} // class DualPivotQuicksorter
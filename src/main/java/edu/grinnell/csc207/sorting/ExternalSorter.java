@@ -0,0 +1,756 @@
+package edu.grinnell.csc207.sorting;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * Something that sorts more values than fit in memory. The values are read
+ * in chunks of a fixed number of records; each chunk is sorted with an
+ * ordinary Sorter and written to a temporary file as a sorted run, and the
+ * runs are then merged with a LoserTreeMerger into the output.
+ *
+ * <p>The memory budget is parallelRuns * chunkSize records, plus the I/O
+ * buffers. At most parallelRuns chunks exist at once, and with an executor,
+ * chunks are sorted and written on the executor while the next chunk is
+ * read. During the merge, each run is read ahead on its own thread, so
+ * decoding the next block of a run overlaps with merging the current one.
+ * A reader holds at most BLOCKS_PER_READER blocks, so the fan-in and the
+ * block size are chosen from the budget: as many runs as the budget allows,
+ * up to MAX_FAN_IN, are merged at once, each read in blocks of up to
+ * READ_AHEAD_BLOCK records, so the merge also stays within the budget.
+ * Only a budget of fewer than 2 * BLOCKS_PER_READER records is exceeded,
+ * since at least two runs must be merged at once, a record at a time.
+ *
+ * <p>When two values are equal, the one from the earlier run comes first,
+ * so the sort is stable whenever the chunk sorter is.
+ *
+ * @param <T>
+ *   The types of values that are sorted.
+ *
+ * @author David William Stroud
+ */
+public class ExternalSorter<T> {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /**
+   * The largest number of runs merged at once. If there are more runs than
+   * the fan-in, groups of them are first merged into longer runs.
+   */
+  public static final int MAX_FAN_IN = 64;
+
+  /**
+   * The most blocks a run's reader holds: the one being merged, two that
+   * have been read ahead, and one being decoded.
+   */
+  static final int BLOCKS_PER_READER = 4;
+
+  /**
+   * The smallest block worth merging more runs for. Below this, fewer runs
+   * are merged at once so that the blocks can be larger.
+   */
+  private static final int MIN_READ_AHEAD_BLOCK = 64;
+
+  /**
+   * The size, in bytes, of the buffer on each file.
+   */
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  /**
+   * The largest number of records in each block that is read ahead.
+   */
+  private static final int READ_AHEAD_BLOCK = 1024;
+
+  /**
+   * The block that marks the end of a run.
+   */
+  private static final Object[] END = new Object[0];
+
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * The way in which elements are ordered.
+   */
+  Comparator<? super T> order;
+
+  /**
+   * The sorter for each chunk.
+   */
+  Sorter<T> sorter;
+
+  /**
+   * The way to make a chunk of the given size.
+   */
+  IntFunction<T[]> newChunk;
+
+  /**
+   * The codec used to write runs and read them back.
+   */
+  RecordCodec<T> codec;
+
+  /**
+   * The number of records in each chunk.
+   */
+  int chunkSize;
+
+  /**
+   * The executor on which chunks are sorted and written, or null to sort
+   * them on the calling thread.
+   */
+  ExecutorService executor;
+
+  /**
+   * The largest number of chunks that may be in memory at once.
+   */
+  int parallelRuns;
+
+  /**
+   * The directory for the runs, or null for the default temporary directory.
+   */
+  Path tempDir;
+
+  /**
+   * The largest number of runs merged at once.
+   */
+  int fanIn;
+
+  /**
+   * The number of records in each block that is read ahead.
+   */
+  int blockSize;
+
+  /**
+   * The merger for the runs.
+   */
+  LoserTreeMerger<T> merger;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a sorter that sorts each chunk on the calling thread with a
+   * NaturalMergeSorter, and writes runs to the default temporary directory.
+   *
+   * @param comparator
+   *   The order in which elements should be ordered after sorting.
+   * @param recordCodec
+   *   The codec used to write runs and read them back.
+   * @param recordsPerChunk
+   *   The number of records in each chunk.
+   */
+  @SuppressWarnings("unchecked")
+  public ExternalSorter(Comparator<? super T> comparator, RecordCodec<T> recordCodec,
+      int recordsPerChunk) {
+    // NaturalMergeSorter works on any array, so the chunks can be Object[].
+    this(comparator, new NaturalMergeSorter<>(comparator), (size) -> (T[]) new Object[size],
+        recordCodec, recordsPerChunk, null, 1, null);
+  } // ExternalSorter(Comparator, RecordCodec, int)
+
+  /**
+   * Create a sorter with every setting given.
+   *
+   * @param comparator
+   *   The order in which elements should be ordered after sorting.
+   * @param chunkSorter
+   *   The sorter for each chunk. It must sort by the same comparator, and
+   *   it may be used by several threads at once.
+   * @param chunkMaker
+   *   The way to make a chunk of the given size, such as String[]::new. The
+   *   chunks are passed to chunkSorter, so they must be arrays of a type it
+   *   accepts.
+   * @param recordCodec
+   *   The codec used to write runs and read them back.
+   * @param recordsPerChunk
+   *   The number of records in each chunk.
+   * @param runExecutor
+   *   The executor on which chunks are sorted and written, or null to sort
+   *   them on the calling thread.
+   * @param maxChunks
+   *   The largest number of chunks that may be in memory at once.
+   * @param directory
+   *   The directory for the runs, or null for the default temporary directory.
+   */
+  public ExternalSorter(Comparator<? super T> comparator, Sorter<T> chunkSorter,
+      IntFunction<T[]> chunkMaker, RecordCodec<T> recordCodec, int recordsPerChunk,
+      ExecutorService runExecutor, int maxChunks, Path directory) {
+    if (recordsPerChunk < 1) {
+      throw new IllegalArgumentException("chunk size must be positive, not " + recordsPerChunk);
+    } // if
+    if (maxChunks < 1) {
+      throw new IllegalArgumentException("parallel runs must be positive, not " + maxChunks);
+    } // if
+    this.order = comparator;
+    this.sorter = chunkSorter;
+    this.newChunk = chunkMaker;
+    this.codec = recordCodec;
+    this.chunkSize = recordsPerChunk;
+    this.executor = runExecutor;
+    this.parallelRuns = maxChunks;
+    this.tempDir = directory;
+    this.merger = new LoserTreeMerger<>(comparator);
+    long budget = (long) recordsPerChunk * maxChunks;
+    this.fanIn = (int) Math.max(2, Math.min(ExternalSorter.MAX_FAN_IN,
+        budget / (BLOCKS_PER_READER * MIN_READ_AHEAD_BLOCK)));
+    this.blockSize = (int) Math.max(1, Math.min(READ_AHEAD_BLOCK,
+        budget / ((long) this.fanIn * BLOCKS_PER_READER)));
+  } // ExternalSorter(Comparator, Sorter, IntFunction, RecordCodec, int, ExecutorService, int, Path)
+
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Open a file for buffered writing through a channel.
+   *
+   * @param path The file to write.
+   * @return a stream that writes the file.
+   * @throws IOException if the file cannot be opened.
+   */
+  static DataOutputStream openOutput(Path path) throws IOException {
+    FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    return new DataOutputStream(
+        new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE));
+  } // openOutput(Path)
+
+  /**
+   * Open a file for buffered reading through a channel.
+   *
+   * @param path The file to read.
+   * @return a stream that reads the file.
+   * @throws IOException if the file cannot be opened.
+   */
+  static DataInputStream openInput(Path path) throws IOException {
+    FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+    return new DataInputStream(
+        new BufferedInputStream(Channels.newInputStream(channel), BUFFER_SIZE));
+  } // openInput(Path)
+
+  /**
+   * Sort a chunk and write it to a new temporary file.
+   *
+   * @param chunk The chunk, which may have unused space at the end.
+   * @param size The number of records in the chunk.
+   * @param temporaries The list of temporary files, to which the new file is added.
+   * @return the run.
+   * @throws IOException if the run cannot be written.
+   */
+  private Run sortAndSpill(T[] chunk, int size, List<Path> temporaries) throws IOException {
+    this.sorter.sort(chunk, 0, size);
+    Run run = this.newRun(temporaries);
+    try (DataOutputStream out = ExternalSorter.openOutput(run.path)) {
+      for (int i = 0; i < size; i++) {
+        this.codec.write(chunk[i], out);
+      } // for
+    } // try
+    run.count = size;
+    return run;
+  } // sortAndSpill(T[], int, List<Path>)
+
+  /**
+   * Create an empty run in a new temporary file.
+   *
+   * @param temporaries The list of temporary files, to which the new file is added.
+   * @return the run.
+   * @throws IOException if the file cannot be created.
+   */
+  private Run newRun(List<Path> temporaries) throws IOException {
+    Path path = (this.tempDir == null)
+        ? Files.createTempFile("sort-run", ".tmp")
+        : Files.createTempFile(this.tempDir, "sort-run", ".tmp");
+    temporaries.add(path);
+    return new Run(path);
+  } // newRun(List<Path>)
+
+  /**
+   * Read the input in chunks and turn each chunk into a sorted run.
+   *
+   * @param input The values to sort.
+   * @param temporaries The list of temporary files, to which the runs are added.
+   * @return the runs, in input order.
+   * @throws IOException if a run cannot be written.
+   */
+  private List<Run> makeRuns(Iterator<? extends T> input, List<Path> temporaries)
+      throws IOException {
+    List<Run> runs = new ArrayList<>();
+    if (this.executor == null) {
+      while (input.hasNext()) {
+        T[] chunk = this.newChunk.apply(this.chunkSize);
+        runs.add(this.sortAndSpill(chunk, this.fill(chunk, input), temporaries));
+      } // while
+      return runs;
+    } // if
+
+    List<Future<Run>> pending = new ArrayList<>();
+    Semaphore permits = new Semaphore(this.parallelRuns);
+    AtomicBoolean abandoned = new AtomicBoolean();
+    boolean done = false;
+    try {
+      while (input.hasNext()) {
+        // Wait until there is room for another chunk before reading it.
+        permits.acquire();
+        T[] chunk = this.newChunk.apply(this.chunkSize);
+        int size = this.fill(chunk, input);
+        pending.add(this.executor.submit(() -> {
+          try {
+            return abandoned.get() ? null : this.sortAndSpill(chunk, size, temporaries);
+          } finally {
+            permits.release();
+          } // try/finally
+        }));
+      } // while
+      for (Future<Run> run : pending) {
+        runs.add(run.get());
+      } // for
+      done = true;
+      return runs;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("interrupted while making runs");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      } // if
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      } // if
+      throw new IllegalStateException(e.getCause());
+    } finally {
+      if (!done) {
+        // Tasks that have not started skip their chunks, but one that is
+        // running may still create a run, so we wait for it before the
+        // caller deletes the temporary files.
+        abandoned.set(true);
+        ExternalSorter.awaitAll(pending);
+      } // if
+    } // try/catch/finally
+  } // makeRuns(Iterator, List<Path>)
+
+  /**
+   * Wait for some tasks to finish, however they finish. If the thread is
+   * interrupted while waiting, it keeps waiting and is interrupted again
+   * afterwards.
+   *
+   * @param tasks The tasks.
+   */
+  private static void awaitAll(List<? extends Future<?>> tasks) {
+    boolean interrupted = Thread.interrupted();
+    for (Future<?> task : tasks) {
+      boolean finished = false;
+      while (!finished) {
+        try {
+          task.get();
+          finished = true;
+        } catch (InterruptedException e) {
+          interrupted = true;
+        } catch (ExecutionException | CancellationException e) {
+          finished = true;
+        } // try/catch
+      } // while
+    } // for
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    } // if
+  } // awaitAll(List)
+
+  /**
+   * Fill a chunk from the input.
+   *
+   * @param chunk The chunk to fill.
+   * @param input The values to sort.
+   * @return the number of values read, which is less than the size of the
+   *   chunk only if the input ran out.
+   */
+  private int fill(T[] chunk, Iterator<? extends T> input) {
+    int size = 0;
+    while (size < chunk.length && input.hasNext()) {
+      chunk[size++] = input.next();
+    } // while
+    return size;
+  } // fill(T[], Iterator)
+
+  /**
+   * Merge some runs, passing the values in order to a sink.
+   *
+   * @param runs The runs to merge, in input order.
+   * @param output The sink for the merged values.
+   * @throws IOException if a run cannot be read or the sink fails.
+   */
+  private void merge(List<Run> runs, RecordSink<T> output) throws IOException {
+    ExecutorService readAhead = Executors.newCachedThreadPool((task) -> {
+      Thread thread = new Thread(task, "external-sort-read-ahead");
+      thread.setDaemon(true);
+      return thread;
+    });
+    List<RunReader> readers = new ArrayList<>(runs.size());
+    try {
+      for (Run run : runs) {
+        readers.add(new RunReader(run, readAhead));
+      } // for
+      // Among equal values, the merger takes the one from the earlier run first.
+      Iterator<T> merged = this.merger.merge(readers);
+      while (merged.hasNext()) {
+        output.accept(merged.next());
+      } // while
+    } catch (UncheckedIOException e) {
+      // A run could not be read.
+      throw e.getCause();
+    } finally {
+      for (RunReader reader : readers) {
+        reader.close();
+      } // for
+      readAhead.shutdownNow();
+    } // try/finally
+  } // merge(List<Run>, RecordSink<T>)
+
+  /**
+   * Merge groups of runs into longer runs until there are few enough to merge
+   * at once.
+   *
+   * @param runs The runs, in input order.
+   * @param temporaries The list of temporary files, to which new runs are added.
+   * @return at most fanIn runs, in input order.
+   * @throws IOException if a run cannot be read or written.
+   */
+  private List<Run> reduceRuns(List<Run> runs, List<Path> temporaries) throws IOException {
+    while (runs.size() > this.fanIn) {
+      List<Run> merged = new ArrayList<>();
+      for (int i = 0; i < runs.size(); i += this.fanIn) {
+        List<Run> group = runs.subList(i, Math.min(i + this.fanIn, runs.size()));
+        Run run = this.newRun(temporaries);
+        try (DataOutputStream out = ExternalSorter.openOutput(run.path)) {
+          this.merge(group, (value) -> {
+            this.codec.write(value, out);
+            run.count++;
+          });
+        } // try
+        for (Run done : group) {
+          Files.deleteIfExists(done.path);
+        } // for
+        merged.add(run);
+      } // for
+      runs = merged;
+    } // while
+    return runs;
+  } // reduceRuns(List<Run>, List<Path>)
+
+  /**
+   * Sort values onto a sink.
+   *
+   * @param input The values to sort.
+   * @param output The sink for the sorted values.
+   * @throws IOException if a run cannot be read or written, or the sink fails.
+   */
+  private void sortInto(Iterator<? extends T> input, RecordSink<T> output) throws IOException {
+    List<Path> temporaries = Collections.synchronizedList(new ArrayList<>());
+    try {
+      List<Run> runs = this.makeRuns(input, temporaries);
+      this.merge(this.reduceRuns(runs, temporaries), output);
+    } finally {
+      synchronized (temporaries) {
+        for (Path path : temporaries) {
+          Files.deleteIfExists(path);
+        } // for
+      } // synchronized
+    } // try/finally
+  } // sortInto(Iterator, RecordSink<T>)
+
+  // +---------+-----------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Sort the values from an iterator, passing them in order to a consumer.
+   *
+   * @param input
+   *   The values to sort.
+   * @param output
+   *   The consumer for the sorted values.
+   *
+   * @throws IOException
+   *   if a run cannot be written or read back.
+   */
+  public void sort(Iterator<? extends T> input, Consumer<? super T> output) throws IOException {
+    this.sortInto(input, output::accept);
+  } // sort(Iterator, Consumer)
+
+  /**
+   * Sort a file of records written with the codec into another such file.
+   *
+   * @param input
+   *   The file to sort.
+   * @param output
+   *   The file to write the sorted records to. It may be the same as input.
+   *
+   * @throws IOException
+   *   if either file or a run cannot be read or written.
+   */
+  public void sort(Path input, Path output) throws IOException {
+    Path sorted = (this.tempDir == null)
+        ? Files.createTempFile("sort-output", ".tmp")
+        : Files.createTempFile(this.tempDir, "sort-output", ".tmp");
+    try {
+      try (DataInputStream in = ExternalSorter.openInput(input);
+          DataOutputStream out = ExternalSorter.openOutput(sorted)) {
+        this.sortInto(new RecordIterator(in), (value) -> this.codec.write(value, out));
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      } // try/catch
+      Files.move(sorted, output, StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      Files.deleteIfExists(sorted);
+    } // try/finally
+  } // sort(Path, Path)
+
+  // +---------------+-----------------------------------------------
+  // | Inner Classes |
+  // +---------------+
+
+  /**
+   * Something that accepts values and may fail with an IOException.
+   *
+   * @param <T>
+   *   The type of values accepted.
+   */
+  @FunctionalInterface
+  private interface RecordSink<T> {
+    /**
+     * Accept one value.
+     *
+     * @param value The value.
+     * @throws IOException if the value cannot be written.
+     */
+    void accept(T value) throws IOException;
+  } // interface RecordSink<T>
+
+  /**
+   * A sorted run in a temporary file.
+   */
+  private static final class Run {
+    /**
+     * The file holding the run.
+     */
+    final Path path;
+
+    /**
+     * The number of records in the run.
+     */
+    long count;
+
+    /**
+     * Create an empty run.
+     *
+     * @param file The file holding the run.
+     */
+    Run(Path file) {
+      this.path = file;
+    } // Run(Path)
+  } // class Run
+
+  /**
+   * An iterator over the records in a stream, which ends when the stream does.
+   */
+  private class RecordIterator implements Iterator<T> {
+    /**
+     * The stream of records.
+     */
+    private final DataInputStream in;
+
+    /**
+     * Create an iterator over a stream of records.
+     *
+     * @param stream The stream. It must support mark and reset.
+     */
+    RecordIterator(DataInputStream stream) {
+      this.in = stream;
+    } // RecordIterator(DataInputStream)
+
+    /**
+     * Determine whether there is another record.
+     *
+     * @return true if the stream has more bytes.
+     */
+    @Override
+    public boolean hasNext() {
+      try {
+        this.in.mark(1);
+        boolean more = this.in.read() != -1;
+        this.in.reset();
+        return more;
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      } // try/catch
+    } // hasNext()
+
+    /**
+     * Read the next record.
+     *
+     * @return the record.
+     */
+    @Override
+    public T next() {
+      if (!this.hasNext()) {
+        throw new NoSuchElementException();
+      } // if
+      try {
+        return ExternalSorter.this.codec.read(this.in);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      } // try/catch
+    } // next()
+  } // class RecordIterator
+
+  /**
+   * Reads the records of a run. A task on another thread decodes the run
+   * into blocks of blockSize records, staying up to two blocks ahead of the
+   * merge.
+   */
+  private class RunReader implements Iterator<T> {
+    /**
+     * The blocks that have been read ahead.
+     */
+    private final BlockingQueue<Object[]> blocks = new ArrayBlockingQueue<>(2);
+
+    /**
+     * The task that reads ahead.
+     */
+    private final Future<?> producer;
+
+    /**
+     * The reason the task stopped early, if it did.
+     */
+    private volatile Exception failure;
+
+    /**
+     * The block being merged.
+     */
+    private Object[] block;
+
+    /**
+     * The position in block of the next record.
+     */
+    private int position;
+
+    /**
+     * Start reading a run.
+     *
+     * @param run The run.
+     * @param readAhead The executor on which to read ahead.
+     */
+    RunReader(Run run, ExecutorService readAhead) {
+      this.producer = readAhead.submit(() -> this.readBlocks(run));
+    } // RunReader(Run, ExecutorService)
+
+    /**
+     * Decode a run into blocks, ending with END.
+     *
+     * @param run The run.
+     */
+    private void readBlocks(Run run) {
+      try {
+        try (DataInputStream in = ExternalSorter.openInput(run.path)) {
+          long remaining = run.count;
+          while (remaining > 0) {
+            Object[] next = new Object[(int) Math.min(remaining, ExternalSorter.this.blockSize)];
+            for (int i = 0; i < next.length; i++) {
+              next[i] = ExternalSorter.this.codec.read(in);
+            } // for
+            remaining -= next.length;
+            this.blocks.put(next);
+          } // while
+        } catch (IOException | RuntimeException e) {
+          this.failure = e;
+        } // try/catch
+        this.blocks.put(END);
+      } catch (InterruptedException e) {
+        // The merge was abandoned, so nobody is waiting for the rest.
+      } // try/catch
+    } // readBlocks(Run)
+
+    /**
+     * Determine whether the run has another record, waiting for the next
+     * block if need be.
+     *
+     * @return true if there is another record.
+     * @throws UncheckedIOException if the run could not be read.
+     */
+    @Override
+    public boolean hasNext() {
+      if (this.block == END) {
+        return false;
+      } // if
+      if (this.block != null && this.position < this.block.length) {
+        return true;
+      } // if
+      try {
+        this.block = this.blocks.take();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new UncheckedIOException(new InterruptedIOException("interrupted while merging"));
+      } // try/catch
+      this.position = 0;
+      if (this.block == END) {
+        if (this.failure instanceof IOException) {
+          throw new UncheckedIOException((IOException) this.failure);
+        } else if (this.failure != null) {
+          throw (RuntimeException) this.failure;
+        } // if-else
+        return false;
+      } // if
+      return true;
+    } // hasNext()
+
+    /**
+     * Consume the next record.
+     *
+     * @return the record.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+      if (!this.hasNext()) {
+        throw new NoSuchElementException();
+      } // if
+      return (T) this.block[this.position++];
+    } // next()
+
+    /**
+     * Stop reading ahead.
+     */
+    void close() {
+      this.producer.cancel(true);
+    } // close()
+  } // class RunReader
+} // class ExternalSorter
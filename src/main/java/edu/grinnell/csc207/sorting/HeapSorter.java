@@ -0,0 +1,146 @@
+package edu.grinnell.csc207.sorting;
+
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * Something that sorts using heapsort. Heapsort is never faster than a good
+ * Quicksort, but it always takes O(n log n) time and needs no extra memory,
+ * so the Quicksort-based sorters fall back on it when their partitions keep
+ * coming out lopsided.
+ *
+ * @param <T>
+ *   The types of values that are sorted.
+ *
+ * @author David William Stroud
+ */
+
+public class HeapSorter<T> implements Sorter<T> {
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * The way in which elements are ordered.
+   */
+  Comparator<? super T> order;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a sorter using a particular comparator.
+   *
+   * @param comparator
+   *   The order in which elements in the array should be ordered
+   *   after sorting.
+   */
+  public HeapSorter(Comparator<? super T> comparator) {
+    this.order = comparator;
+  } // HeapSorter(Comparator)
+
+  // +----------------+----------------------------------------------
+  // | Static Methods |
+  // +----------------+
+
+  /**
+   * Determine how many levels of partitioning a Quicksort-based sorter should
+   * allow before it gives up and heapsorts what is left. This is twice the
+   * depth of a perfectly balanced partitioning.
+   *
+   * @param size
+   *   The number of elements being sorted.
+   *
+   * @return the depth budget.
+   */
+  static int depthBudget(int size) {
+    return 2 * (Integer.SIZE - Integer.numberOfLeadingZeros(size));
+  } // depthBudget(int)
+
+  // +---------+-----------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Moves a value down a max-heap until neither of its children is larger.
+   * @param values The array holding the heap.
+   * @param base The index of the root of the heap.
+   * @param parent The position in the heap of the value to move.
+   * @param size The number of values in the heap.
+   */
+  private void siftDown(T[] values, int base, int parent, int size) {
+    T value = values[base + parent];
+    int child = 2 * parent + 1;
+    while (child < size) {
+      if (child + 1 < size
+          && this.order.compare(values[base + child], values[base + child + 1]) < 0) {
+        child++;
+      } // if
+      if (this.order.compare(value, values[base + child]) >= 0) {
+        break;
+      } // if
+      values[base + parent] = values[base + child];
+      parent = child;
+      child = 2 * parent + 1;
+    } // while
+    values[base + parent] = value;
+  } // siftDown(T[], int, int, int)
+
+  /**
+   * Sorts a slice of an array in place.
+   * @param values The full array to sort.
+   * @param start The first index to sort, inclusive.
+   * @param end The last index to sort, exclusive.
+   */
+  void sortSlice(T[] values, int start, int end) {
+    int size = end - start;
+    for (int parent = size / 2 - 1; parent >= 0; parent--) {
+      this.siftDown(values, start, parent, size);
+    } // for
+    for (int last = size - 1; last > 0; last--) {
+      T largest = values[start];
+      values[start] = values[start + last];
+      values[start + last] = largest;
+      this.siftDown(values, start, 0, last);
+    } // for
+  } // sortSlice(T[], int, int)
+
+  /**
+   * Sort an array in place using heapsort.
+   *
+   * @param values
+   *   an array to sort.
+   *
+   * @post
+   *   The array has been sorted according to some order (often
+   *   one given to the constructor).
+   * @post
+   *   For all i, 0 &lt; i &lt; values.length,
+   *     order.compare(values[i-1], values[i]) &lt;= 0
+   */
+  @Override
+  public void sort(T[] values) {
+    this.sort(values, 0, values.length);
+  } // sort(T[])
+
+  /**
+   * Sort part of an array in place using heapsort, leaving the rest of it alone.
+   *
+   * @param values
+   *   an array, part of which is to be sorted.
+   * @param from
+   *   the first index to sort, inclusive.
+   * @param to
+   *   the last index to sort, exclusive.
+   */
+  @Override
+  public void sort(T[] values, int from, int to) {
+    Objects.checkFromToIndex(from, to, values.length);
+    SortEvent event = SortEvent.start();
+    this.sortSlice(values, from, to);
+    if (event != null) {
+      event.finish(this, values.getClass().getComponentType(), to - from);
+    } // if
+  } // sort(T[], int, int)
+} // class HeapSorter
@@ -1,6 +1,7 @@
 package edu.grinnell.csc207.sorting;
 
 import java.util.Comparator;
+import java.util.Objects;
 
 /**
  * Something that sorts using insertion sort.
@@ -44,18 +45,19 @@ public class InsertionSorter<T> implements Sorter<T> {
   /**
    * Inserts a value into its proper place in the section before it.
    * @param values The array to modify.
+   * @param start The first index of the section, inclusive.
    * @param toInsert The index of the value to insert.
    */
-  private void insert(T[] values, int toInsert) {
+  private void insert(T[] values, int start, int toInsert) {
     T value = values[toInsert];
-    for (int index = toInsert - 1; index >= 0; index--) {
+    for (int index = toInsert - 1; index >= start; index--) {
       if (this.order.compare(value, values[index]) >= 0) {
         break;
       } // if
       values[index + 1] = values[index];
       values[index] = value;
     } // for
-  } // insert(T[], int)
+  } // insert(T[], int, int)
 
   /**
    * Sort an array in place using insertion sort.
@@ -72,9 +74,29 @@ public class InsertionSorter<T> implements Sorter<T> {
    */
   @Override
   public void sort(T[] values) {
-    // We can start at index 1, since the first iteration of insertion sort will do nothing.
-    for (int unprocessedStart = 1; unprocessedStart < values.length; unprocessedStart++) {
-      this.insert(values, unprocessedStart);
-    } // for
+    this.sort(values, 0, values.length);
   } // sort(T[])
+
+  /**
+   * Sort part of an array in place using insertion sort, leaving the rest of it alone.
+   *
+   * @param values
+   *   an array, part of which is to be sorted.
+   * @param from
+   *   the first index to sort, inclusive.
+   * @param to
+   *   the last index to sort, exclusive.
+   */
+  @Override
+  public void sort(T[] values, int from, int to) {
+    Objects.checkFromToIndex(from, to, values.length);
+    SortEvent event = SortEvent.start();
+    // We can start at from + 1, since the first iteration of insertion sort will do nothing.
+    for (int unprocessedStart = from + 1; unprocessedStart < to; unprocessedStart++) {
+      this.insert(values, from, unprocessedStart);
+    } // for
+    if (event != null) {
+      event.finish(this, values.getClass().getComponentType(), to - from);
+    } // if
+  } // sort(T[], int, int)
 } // class InsertionSorter
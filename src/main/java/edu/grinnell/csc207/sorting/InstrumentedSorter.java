@@ -0,0 +1,143 @@
+package edu.grinnell.csc207.sorting;
+
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A sorter that counts the work another sorter does. Every comparison and
+ * every sort is counted, and the time of each sort is added up. When the
+ * other sorter is a StroudDavidSort, Quicksorter or MergeSorter, its
+ * element moves, recursion depth and fallbacks to insertion sort and
+ * heapsort are counted as well.
+ *
+ * <p>The counts go to a SortMetrics, which may be shared by several
+ * instrumented sorters and registered with JMX. Only instrumented sorters
+ * pay for the counting; other sorters of the same classes are unaffected.
+ *
+ * @param <T>
+ *   The types of values that are sorted.
+ *
+ * @author David William Stroud
+ */
+public class InstrumentedSorter<T> implements Sorter<T> {
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * The sorter that does the work.
+   */
+  Sorter<T> engine;
+
+  /**
+   * Where the work is counted.
+   */
+  SortMetrics metrics;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a sorter that counts its work in new metrics.
+   *
+   * @param comparator
+   *   The order in which elements in the array should be ordered
+   *   after sorting.
+   * @param makeEngine
+   *   Creates the sorter that does the work from a comparator, for
+   *   example StroudDavidSort::new.
+   */
+  public InstrumentedSorter(Comparator<? super T> comparator,
+      Function<Comparator<? super T>, ? extends Sorter<T>> makeEngine) {
+    this(comparator, makeEngine, new SortMetrics());
+  } // InstrumentedSorter(Comparator, Function)
+
+  /**
+   * Create a sorter that counts its work in existing metrics.
+   *
+   * @param comparator
+   *   The order in which elements in the array should be ordered
+   *   after sorting.
+   * @param makeEngine
+   *   Creates the sorter that does the work from a comparator, for
+   *   example StroudDavidSort::new.
+   * @param counts
+   *   Where to count the work.
+   */
+  public InstrumentedSorter(Comparator<? super T> comparator,
+      Function<Comparator<? super T>, ? extends Sorter<T>> makeEngine, SortMetrics counts) {
+    this.metrics = Objects.requireNonNull(counts);
+    Comparator<T> counting = (x, y) -> {
+      counts.comparisons.increment();
+      return comparator.compare(x, y);
+    };
+    this.engine = makeEngine.apply(counting);
+    if (this.engine instanceof StroudDavidSort<T> sds) {
+      sds.metrics = counts;
+    } else if (this.engine instanceof Quicksorter<T> quick) {
+      quick.metrics = counts;
+    } else if (this.engine instanceof MergeSorter<T> merge) {
+      merge.metrics = counts;
+    } // if-else
+  } // InstrumentedSorter(Comparator, Function, SortMetrics)
+
+  // +---------+-----------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Get the metrics in which this sorter counts its work.
+   *
+   * @return the metrics.
+   */
+  public SortMetrics metrics() {
+    return this.metrics;
+  } // metrics()
+
+  /**
+   * Sort an array in place, counting the work.
+   *
+   * @param values
+   *   an array to sort.
+   *
+   * @post
+   *   The array has been sorted according to the comparator given to
+   *   the constructor.
+   */
+  @Override
+  public void sort(T[] values) {
+    long start = System.nanoTime();
+    this.engine.sort(values);
+    this.metrics.sorted(values.length, System.nanoTime() - start);
+  } // sort(T[])
+
+  /**
+   * Sort part of an array in place, counting the work and leaving the rest
+   * of the array alone.
+   *
+   * @param values
+   *   an array, part of which is to be sorted.
+   * @param from
+   *   the first index to sort, inclusive.
+   * @param to
+   *   the last index to sort, exclusive.
+   */
+  @Override
+  public void sort(T[] values, int from, int to) {
+    long start = System.nanoTime();
+    this.engine.sort(values, from, to);
+    this.metrics.sorted(to - from, System.nanoTime() - start);
+  } // sort(T[], int, int)
+
+  /**
+   * Summarize the work counted so far.
+   *
+   * @return the name of the sorter that does the work and its counts.
+   */
+  @Override
+  public String toString() {
+    return this.engine.getClass().getSimpleName() + ": " + this.metrics;
+  } // toString()
+} // class InstrumentedSorter<T>
@@ -0,0 +1,20 @@
+package edu.grinnell.csc207.sorting;
+
+/**
+ * Things that know how to sort arrays of ints without boxing them.
+ *
+ * @author David William Stroud
+ */
+public interface IntSorter {
+  /**
+   * Sort an array of ints in place.
+   *
+   * @param values
+   *   an array to sort.
+   *
+   * @post
+   *   For all i, 0 &lt; i &lt; values.length,
+   *     Integer.compare(values[i-1], values[i]) &lt;= 0
+   */
+  public void sort(int[] values);
+} // interface IntSorter
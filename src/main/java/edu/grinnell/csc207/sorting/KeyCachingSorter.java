@@ -0,0 +1,337 @@
+package edu.grinnell.csc207.sorting;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Something that sorts by a key that is expensive to compute. Each element's
+ * key is computed once, the elements are sorted together with their keys by
+ * another sorter, and then the elements are written back in order. A sort
+ * therefore computes n keys rather than O(n log n) of them.
+ *
+ * <p>For int, long and double keys, use the static factory methods, which
+ * keep the keys in primitive arrays instead of boxing them.
+ *
+ * <p>A sort records no SortEvent of its own. The sorter for the keys
+ * records it, so each sort appears in a recording once.
+ *
+ * @param <T>
+ *   The types of values that are sorted.
+ * @param <K>
+ *   The type of the keys.
+ *
+ * @author David William Stroud
+ */
+public class KeyCachingSorter<T, K> implements Sorter<T> {
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * Computes the key of each element.
+   */
+  Function<? super T, ? extends K> key;
+
+  /**
+   * The sorter that sorts the elements together with their keys.
+   */
+  Sorter<Keyed<T, K>> engine;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a sorter that orders elements by a key. Elements with equal keys
+   * keep their relative order.
+   *
+   * @param extractor
+   *   Computes the key of each element. It is called once per element.
+   * @param keyOrder
+   *   The order of the keys.
+   */
+  public KeyCachingSorter(Function<? super T, ? extends K> extractor,
+      Comparator<? super K> keyOrder) {
+    this(extractor, keyOrder, NaturalMergeSorter::new);
+  } // KeyCachingSorter(Function, Comparator)
+
+  /**
+   * Create a sorter that orders elements by a key, using a particular sorter
+   * for the keyed elements.
+   *
+   * @param extractor
+   *   Computes the key of each element. It is called once per element.
+   * @param keyOrder
+   *   The order of the keys.
+   * @param makeEngine
+   *   Creates the sorter for the keyed elements from a comparator, for
+   *   example StroudDavidSort::new.
+   */
+  public KeyCachingSorter(Function<? super T, ? extends K> extractor,
+      Comparator<? super K> keyOrder,
+      Function<Comparator<Keyed<T, K>>, ? extends Sorter<Keyed<T, K>>> makeEngine) {
+    this.key = extractor;
+    this.engine = makeEngine.apply((x, y) -> keyOrder.compare(x.key, y.key));
+  } // KeyCachingSorter(Function, Comparator, Function)
+
+  // +----------------+----------------------------------------------
+  // | Static Methods |
+  // +----------------+
+
+  /**
+   * Create a sorter that orders elements by an int key, smallest first.
+   * The keys are kept in an int array and sorted along with the elements by
+   * radix sort, so elements with equal keys keep their relative order.
+   *
+   * @param <T>
+   *   The types of values that are sorted.
+   * @param extractor
+   *   Computes the key of each element. It is called once per element.
+   *
+   * @return the sorter.
+   */
+  public static <T> Sorter<T> byIntKey(ToIntFunction<? super T> extractor) {
+    return RadixSorter.byIntKey(extractor);
+  } // byIntKey(ToIntFunction)
+
+  /**
+   * Create a sorter that orders elements by an int key, smallest first,
+   * using a particular primitive sorter. Each key is packed into a long with
+   * its element's index, so the keys are sorted as plain longs. Since the
+   * index breaks ties, elements with equal keys keep their relative order
+   * whichever sorter is used.
+   *
+   * @param <T>
+   *   The types of values that are sorted.
+   * @param extractor
+   *   Computes the key of each element. It is called once per element.
+   * @param longSorter
+   *   The sorter for the packed keys.
+   *
+   * @return the sorter.
+   */
+  public static <T> Sorter<T> byIntKey(ToIntFunction<? super T> extractor,
+      LongSorter longSorter) {
+    return new PackedIntKeySorter<>(extractor, longSorter);
+  } // byIntKey(ToIntFunction, LongSorter)
+
+  /**
+   * Create a sorter that orders elements by a long key, smallest first.
+   * The keys are kept in a long array and sorted along with the elements by
+   * radix sort, so elements with equal keys keep their relative order.
+   *
+   * @param <T>
+   *   The types of values that are sorted.
+   * @param extractor
+   *   Computes the key of each element. It is called once per element.
+   *
+   * @return the sorter.
+   */
+  public static <T> Sorter<T> byLongKey(ToLongFunction<? super T> extractor) {
+    return RadixSorter.byLongKey(extractor);
+  } // byLongKey(ToLongFunction)
+
+  /**
+   * Create a sorter that orders elements by a double key in the order of
+   * Double.compare. The keys are kept in a long array and sorted along with
+   * the elements by radix sort, so elements with equal keys keep their
+   * relative order.
+   *
+   * @param <T>
+   *   The types of values that are sorted.
+   * @param extractor
+   *   Computes the key of each element. It is called once per element.
+   *
+   * @return the sorter.
+   */
+  public static <T> Sorter<T> byDoubleKey(ToDoubleFunction<? super T> extractor) {
+    // The sortable bits are ordered as unsigned longs, and flipping their sign
+    // bit orders them as the signed longs that byLongKey expects.
+    return RadixSorter.byLongKey(
+        (value) -> RadixSorter.sortableBits(extractor.applyAsDouble(value)) ^ Long.MIN_VALUE);
+  } // byDoubleKey(ToDoubleFunction)
+
+  /**
+   * Put the elements of a slice of an array in the order given by the low
+   * 32 bits of some sorted packed keys.
+   *
+   * @param <T>
+   *   The types of values in the array.
+   * @param values
+   *   The array to rearrange.
+   * @param from
+   *   The first index of the slice.
+   * @param packed
+   *   Sorted keys whose low 32 bits are indices into the slice.
+   */
+  private static <T> void permute(T[] values, int from, long[] packed) {
+    T[] original = Arrays.copyOfRange(values, from, from + packed.length);
+    for (int i = 0; i < packed.length; i++) {
+      values[from + i] = original[(int) packed[i]];
+    } // for
+  } // permute(T[], int, long[])
+
+  // +---------+-----------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Sort an array in place by key.
+   *
+   * @param values
+   *   an array to sort.
+   *
+   * @post
+   *   For all i, 0 &lt; i &lt; values.length,
+   *     keyOrder.compare(key(values[i-1]), key(values[i])) &lt;= 0
+   */
+  @Override
+  public void sort(T[] values) {
+    this.sort(values, 0, values.length);
+  } // sort(T[])
+
+  /**
+   * Sort part of an array in place by key, leaving the rest of it alone.
+   * Keys are computed only for the elements of the slice.
+   *
+   * @param values
+   *   an array, part of which is to be sorted.
+   * @param from
+   *   the first index to sort, inclusive.
+   * @param to
+   *   the last index to sort, exclusive.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public void sort(T[] values, int from, int to) {
+    Objects.checkFromToIndex(from, to, values.length);
+    Keyed<T, K>[] keyed = (Keyed<T, K>[]) new Keyed<?, ?>[to - from];
+    for (int i = 0; i < keyed.length; i++) {
+      keyed[i] = new Keyed<>(values[from + i], this.key.apply(values[from + i]));
+    } // for
+    this.engine.sort(keyed);
+    for (int i = 0; i < keyed.length; i++) {
+      values[from + i] = keyed[i].value;
+    } // for
+  } // sort(T[], int, int)
+
+  // +---------------+-----------------------------------------------
+  // | Inner Classes |
+  // +---------------+
+
+  /**
+   * A sorter that packs each element's int key into a long with the
+   * element's index and sorts the packed keys with a primitive sorter.
+   *
+   * @param <T>
+   *   The types of values that are sorted.
+   */
+  private static final class PackedIntKeySorter<T> implements Sorter<T> {
+    /**
+     * Computes the key of each element.
+     */
+    private final ToIntFunction<? super T> key;
+
+    /**
+     * The sorter for the packed keys.
+     */
+    private final LongSorter longSorter;
+
+    /**
+     * Create a sorter.
+     *
+     * @param extractor Computes the key of each element.
+     * @param sorter The sorter for the packed keys.
+     */
+    PackedIntKeySorter(ToIntFunction<? super T> extractor, LongSorter sorter) {
+      this.key = extractor;
+      this.longSorter = sorter;
+    } // PackedIntKeySorter(ToIntFunction, LongSorter)
+
+    /**
+     * Sort an array in place by key.
+     *
+     * @param values
+     *   an array to sort.
+     */
+    @Override
+    public void sort(T[] values) {
+      this.sort(values, 0, values.length);
+    } // sort(T[])
+
+    /**
+     * Sort part of an array in place by key, leaving the rest of it alone.
+     *
+     * @param values
+     *   an array, part of which is to be sorted.
+     * @param from
+     *   the first index to sort, inclusive.
+     * @param to
+     *   the last index to sort, exclusive.
+     */
+    @Override
+    public void sort(T[] values, int from, int to) {
+      Objects.checkFromToIndex(from, to, values.length);
+      long[] packed = new long[to - from];
+      for (int i = 0; i < packed.length; i++) {
+        packed[i] = ((long) this.key.applyAsInt(values[from + i]) << Integer.SIZE) | i;
+      } // for
+      this.longSorter.sort(packed);
+      KeyCachingSorter.permute(values, from, packed);
+    } // sort(T[], int, int)
+  } // class PackedIntKeySorter
+
+  /**
+   * An element together with its key.
+   *
+   * @param <T>
+   *   The type of the element.
+   * @param <K>
+   *   The type of the key.
+   */
+  public static final class Keyed<T, K> {
+    /**
+     * The element.
+     */
+    final T value;
+
+    /**
+     * The element's key.
+     */
+    final K key;
+
+    /**
+     * Pair an element with its key.
+     *
+     * @param element The element.
+     * @param elementKey The element's key.
+     */
+    Keyed(T element, K elementKey) {
+      this.value = element;
+      this.key = elementKey;
+    } // Keyed(T, K)
+
+    /**
+     * Get the element's key.
+     *
+     * @return the key.
+     */
+    public K key() {
+      return this.key;
+    } // key()
+
+    /**
+     * Get the element.
+     *
+     * @return the element.
+     */
+    public T value() {
+      return this.value;
+    } // value()
+  } // class Keyed
+} // class KeyCachingSorter
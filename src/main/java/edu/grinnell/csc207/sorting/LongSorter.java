@@ -0,0 +1,20 @@
+package edu.grinnell.csc207.sorting;
+
+/**
+ * Things that know how to sort arrays of longs without boxing them.
+ *
+ * @author David William Stroud
+ */
+public interface LongSorter {
+  /**
+   * Sort an array of longs in place.
+   *
+   * @param values
+   *   an array to sort.
+   *
+   * @post
+   *   For all i, 0 &lt; i &lt; values.length,
+   *     Long.compare(values[i-1], values[i]) &lt;= 0
+   */
+  public void sort(long[] values);
+} // interface LongSorter
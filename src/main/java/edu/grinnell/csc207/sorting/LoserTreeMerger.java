@@ -0,0 +1,351 @@
+package edu.grinnell.csc207.sorting;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Something that merges any number of sorted runs with a loser tree
+ * (a tournament tree that remembers the loser of each match). Taking the
+ * smallest value and refilling from its run replays only the matches on
+ * one path from a leaf to the root, so merging n values from k runs takes
+ * about n log2 k comparisons, fewer than a binary heap needs.
+ *
+ * <p>When values from different runs are equal, the one from the earlier
+ * run comes first, so merging the results of a stable sort is stable.
+ *
+ * @param <T>
+ *   The types of values that are merged.
+ *
+ * @author David William Stroud
+ */
+public class LoserTreeMerger<T> {
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * The way in which elements are ordered.
+   */
+  Comparator<? super T> order;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a merger using a particular comparator.
+   *
+   * @param comparator
+   *   The order in which the runs are sorted.
+   */
+  public LoserTreeMerger(Comparator<? super T> comparator) {
+    this.order = comparator;
+  } // LoserTreeMerger(Comparator)
+
+  // +---------+-----------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Merge sorted arrays into a new array.
+   *
+   * @param runs
+   *   the sorted arrays.
+   *
+   * @return an array of the same type holding all of their values, sorted.
+   */
+  @SuppressWarnings("unchecked")
+  public T[] merge(T[][] runs) {
+    int total = 0;
+    for (T[] run : runs) {
+      total += run.length;
+    } // for
+    T[] output = (T[]) Array.newInstance(runs.getClass().getComponentType().getComponentType(),
+        total);
+    this.merge(Arrays.asList(runs), output, 0);
+    return output;
+  } // merge(T[][])
+
+  /**
+   * Merge sorted arrays into part of an existing array.
+   *
+   * @param runs
+   *   the sorted arrays.
+   * @param output
+   *   the array to merge into. It must not be one of the runs.
+   * @param at
+   *   the index in output at which to place the smallest value.
+   *
+   * @throws IndexOutOfBoundsException
+   *   if output does not have room for all of the values after at.
+   */
+  public void merge(List<? extends T[]> runs, T[] output, int at) {
+    int k = runs.size();
+    int total = 0;
+    for (T[] run : runs) {
+      total += run.length;
+    } // for
+    Objects.checkFromIndexSize(at, total, output.length);
+
+    int[] positions = new int[k];
+    Tree tree = new Tree(k);
+    for (int i = 0; i < k; i++) {
+      T[] run = runs.get(i);
+      if (run.length > 0) {
+        tree.heads[i] = run[0];
+      } else {
+        tree.done[i] = true;
+      } // if-else
+    } // for
+    tree.build();
+
+    for (int end = at + total; at < end; at++) {
+      int winner = tree.winner();
+      output[at] = tree.head(winner);
+      T[] run = runs.get(winner);
+      if (++positions[winner] < run.length) {
+        tree.heads[winner] = run[positions[winner]];
+      } else {
+        tree.heads[winner] = null;
+        tree.done[winner] = true;
+      } // if-else
+      tree.replay(winner);
+    } // for
+  } // merge(List<? extends T[]>, T[], int)
+
+  /**
+   * Merge sorted iterators lazily. Each run is read only as far as needed
+   * to produce the values asked for.
+   *
+   * @param runs
+   *   the sorted iterators.
+   *
+   * @return an iterator over all of their values, sorted.
+   */
+  public Iterator<T> merge(List<? extends Iterator<? extends T>> runs) {
+    return new MergeIterator(runs);
+  } // merge(List<? extends Iterator>)
+
+  /**
+   * Merge sorted iterators, passing the values in order to a consumer.
+   *
+   * @param runs
+   *   the sorted iterators.
+   * @param output
+   *   the consumer for the merged values.
+   */
+  public void merge(List<? extends Iterator<? extends T>> runs, Consumer<? super T> output) {
+    this.merge(runs).forEachRemaining(output);
+  } // merge(List<? extends Iterator>, Consumer)
+
+  // +---------------+-----------------------------------------------
+  // | Inner Classes |
+  // +---------------+
+
+  /**
+   * A loser tree over the heads of k runs. Run i's leaf is node k + i, and
+   * nodes 1 through k - 1 each hold the run that lost the match there, so
+   * every node has two children whether or not k is a power of two. Node 0
+   * holds the overall winner.
+   */
+  private class Tree {
+    /**
+     * The number of runs.
+     */
+    final int k;
+
+    /**
+     * The current value of each run.
+     */
+    final Object[] heads;
+
+    /**
+     * Which runs have run out. A finished run loses every match.
+     */
+    final boolean[] done;
+
+    /**
+     * The loser of each match, and the winner in entry 0.
+     */
+    final int[] losers;
+
+    /**
+     * Create a tree over k runs. The caller fills in heads and done and
+     * then calls build.
+     *
+     * @param runs The number of runs.
+     */
+    Tree(int runs) {
+      this.k = runs;
+      this.heads = new Object[runs];
+      this.done = new boolean[runs];
+      this.losers = new int[Math.max(runs, 1)];
+    } // Tree(int)
+
+    /**
+     * Get the current value of a run.
+     *
+     * @param run The run.
+     * @return the value.
+     */
+    @SuppressWarnings("unchecked")
+    T head(int run) {
+      return (T) this.heads[run];
+    } // head(int)
+
+    /**
+     * Determine whether one run's value comes before another's.
+     *
+     * @param x One run.
+     * @param y Another run.
+     * @return true if x's value should be output first.
+     */
+    boolean beats(int x, int y) {
+      if (this.done[x]) {
+        return false;
+      } // if
+      if (this.done[y]) {
+        return true;
+      } // if
+      int comparison = LoserTreeMerger.this.order.compare(this.head(x), this.head(y));
+      return (comparison < 0) || (comparison == 0 && x < y);
+    } // beats(int, int)
+
+    /**
+     * Play every match.
+     */
+    void build() {
+      if (this.k == 0) {
+        return;
+      } // if
+      // winners[node] is the winner of the subtree at node.
+      int[] winners = new int[this.k];
+      for (int node = this.k - 1; node >= 1; node--) {
+        int left = this.winnerAt(2 * node, winners);
+        int right = this.winnerAt(2 * node + 1, winners);
+        if (this.beats(right, left)) {
+          winners[node] = right;
+          this.losers[node] = left;
+        } else {
+          winners[node] = left;
+          this.losers[node] = right;
+        } // if-else
+      } // for
+      this.losers[0] = (this.k == 1) ? 0 : winners[1];
+    } // build()
+
+    /**
+     * Find the winner of the subtree at a node while building.
+     *
+     * @param node The node.
+     * @param winners The winners of the internal nodes built so far.
+     * @return the winning run.
+     */
+    private int winnerAt(int node, int[] winners) {
+      return (node >= this.k) ? node - this.k : winners[node];
+    } // winnerAt(int, int[])
+
+    /**
+     * Get the run whose value comes next.
+     *
+     * @return the run, which is finished only if every run is.
+     */
+    int winner() {
+      return this.losers[0];
+    } // winner()
+
+    /**
+     * Replay the matches above a run after its value has changed.
+     *
+     * @param run The run, which must be the previous winner.
+     */
+    void replay(int run) {
+      int winner = run;
+      for (int node = (run + this.k) / 2; node > 0; node /= 2) {
+        if (this.beats(this.losers[node], winner)) {
+          int loser = winner;
+          winner = this.losers[node];
+          this.losers[node] = loser;
+        } // if
+      } // for
+      this.losers[0] = winner;
+    } // replay(int)
+  } // class Tree
+
+  /**
+   * An iterator that merges sorted iterators.
+   */
+  private class MergeIterator implements Iterator<T> {
+    /**
+     * The runs.
+     */
+    private final List<? extends Iterator<? extends T>> runs;
+
+    /**
+     * The tree over the runs' current values.
+     */
+    private final Tree tree;
+
+    /**
+     * Start merging some runs.
+     *
+     * @param sources The runs.
+     */
+    MergeIterator(List<? extends Iterator<? extends T>> sources) {
+      this.runs = sources;
+      this.tree = new Tree(sources.size());
+      for (int i = 0; i < this.tree.k; i++) {
+        this.advance(i);
+      } // for
+      this.tree.build();
+    } // MergeIterator(List<? extends Iterator>)
+
+    /**
+     * Move a run on to its next value.
+     *
+     * @param run The run.
+     */
+    private void advance(int run) {
+      Iterator<? extends T> source = this.runs.get(run);
+      if (source.hasNext()) {
+        this.tree.heads[run] = source.next();
+      } else {
+        this.tree.heads[run] = null;
+        this.tree.done[run] = true;
+      } // if-else
+    } // advance(int)
+
+    /**
+     * Determine whether any run has values left.
+     *
+     * @return true if there is another value.
+     */
+    @Override
+    public boolean hasNext() {
+      return this.tree.k > 0 && !this.tree.done[this.tree.winner()];
+    } // hasNext()
+
+    /**
+     * Get the next value.
+     *
+     * @return the smallest value left in any run.
+     */
+    @Override
+    public T next() {
+      if (!this.hasNext()) {
+        throw new NoSuchElementException();
+      } // if
+      int winner = this.tree.winner();
+      T value = this.tree.head(winner);
+      this.advance(winner);
+      this.tree.replay(winner);
+      return value;
+    } // next()
+  } // class MergeIterator
+} // class LoserTreeMerger
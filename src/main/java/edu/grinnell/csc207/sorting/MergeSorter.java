@@ -1,7 +1,7 @@
 package edu.grinnell.csc207.sorting;
 
-import java.util.Arrays;
 import java.util.Comparator;
+import java.util.Objects;
 
 /**
  * Something that sorts using merge sort.
@@ -23,6 +23,11 @@ public class MergeSorter<T> implements Sorter<T> {
    */
   Comparator<? super T> order;
 
+  /**
+   * Where to count the work done, or null if it is not counted.
+   */
+  SortMetrics metrics;
+
   // +--------------+------------------------------------------------
   // | Constructors |
   // +--------------+
@@ -43,19 +48,20 @@ public class MergeSorter<T> implements Sorter<T> {
   // +---------+
 
   /**
-   * Merges two sorted sub-arrays into one.
+   * Merges two adjacent sorted runs of one array into another.
    * @param values The input array to use.
-   * @param output The output array to use.
-   *               The sorted values will be placed at the indices [start, end).
-   * @param start The first index of the first sub-array, inclusive.
-   * @param middle The end of the first sub-array, exclusive, and the
+   * @param start The first index of the first run, inclusive.
+   * @param middle The end of the first run, exclusive, and the
    *               start of the second, inclusive.
-   * @param end The end of the second sub-array, exclusive.
+   * @param end The end of the second run, exclusive.
+   * @param output The output array to use.
+   * @param at The index in output at which to place the smallest value.
    */
-  private void merge(T[] values, T[] output, int start, int middle, int end) {
+  private void merge(T[] values, int start, int middle, int end, T[] output, int at) {
     int atFirst = start;
     int atSecond = middle;
-    for (int index = start; index < end; index++) {
+    int last = at + (end - start);
+    for (int index = at; index < last; index++) {
       if (atFirst == middle) {
         output[index] = values[atSecond++];
       } else if (atSecond == end) {
@@ -68,38 +74,40 @@ public class MergeSorter<T> implements Sorter<T> {
         } // if-else
       } // if-else
     } // for
-  } // merge(T[], T[])
+  } // merge(T[], int, int, int, T[], int)
 
   /**
-   * Sorts a slice of an array out of place.
-   * @param values The full array to sort.
-   * @param start The first index to sort, inclusive.
-   * @param end The last index to sort, exclusive.
+   * Sorts a slice of one array into a slice of another. Both slices must
+   * start out holding the same values; the values slice is used as scratch
+   * space, so its order afterwards is unspecified.
+   * @param values The array to sort from.
+   * @param start The first index to sort in values, inclusive.
    * @param output The array to be used for output.
+   * @param outStart The index in output at which to place the smallest value.
+   * @param size The number of values to sort.
    */
-  private void sortSlice(T[] values, int start, int end, T[] output) {
-    if ((end - start) < 2) {
-      // The slice has fewer than two elements, so it is sorted.
-      System.arraycopy(
-              values,
-              start,
-              output,
-              start,
-              end - start
-      );
+  void sortSlice(T[] values, int start, T[] output, int outStart, int size) {
+    if (size < 2) {
+      // The slice has fewer than two elements, so it is sorted (and output
+      // already holds the same values).
       return;
     } // if
 
-    int middle = start / 2 + end / 2;
-    if ((start % 2) == 1 && (end % 2) == 1) {
-      // We need to make an adjustment if they are both odd.
-      middle++;
-    } // if
-    this.sortSlice(output, start, middle, values);
-    this.sortSlice(output, middle, end, values);
+    int half = size / 2;
+    // Each half is sorted into values, using output as scratch.
+    this.sortSlice(output, outStart, values, start, half);
+    this.sortSlice(output, outStart + half, values, start + half, size - half);
 
-    this.merge(values, output, start, middle, end);
-  } // sortSlice(T[], int, int)
+    SortPassEvent pass = SortPassEvent.start(size);
+    this.merge(values, start, start + half, start + size, output, outStart);
+    if (pass != null) {
+      pass.finish(this, "merge");
+    } // if
+    SortMetrics counts = this.metrics;
+    if (counts != null) {
+      counts.moved(size);
+    } // if
+  } // sortSlice(T[], int, T[], int, int)
 
   /**
    * Sort an array in place using merge sort.
@@ -116,7 +124,60 @@ public class MergeSorter<T> implements Sorter<T> {
    */
   @Override
   public void sort(T[] values) {
-    T[] valuesCopy = Arrays.copyOf(values, values.length);
-    this.sortSlice(valuesCopy, 0, values.length, values);
+    this.sort(values, 0, values.length);
   } // sort(T[])
+
+  /**
+   * Sort part of an array in place using merge sort, leaving the rest of it
+   * alone. The scratch space comes from the thread's SortWorkspace.
+   *
+   * @param values
+   *   an array, part of which is to be sorted.
+   * @param from
+   *   the first index to sort, inclusive.
+   * @param to
+   *   the last index to sort, exclusive.
+   */
+  @Override
+  public void sort(T[] values, int from, int to) {
+    SortWorkspace workspace = SortWorkspace.acquire();
+    try {
+      this.sort(values, from, to, workspace);
+    } finally {
+      workspace.release();
+    } // try/finally
+  } // sort(T[], int, int)
+
+  /**
+   * Sort part of an array in place using merge sort, taking the scratch
+   * space from a workspace. The scratch space is only as large as the
+   * slice, and it is left holding references to the values until the
+   * workspace is cleared.
+   *
+   * @param values
+   *   an array, part of which is to be sorted.
+   * @param from
+   *   the first index to sort, inclusive.
+   * @param to
+   *   the last index to sort, exclusive.
+   * @param workspace
+   *   where to find scratch space.
+   */
+  public void sort(T[] values, int from, int to, SortWorkspace workspace) {
+    Objects.checkFromToIndex(from, to, values.length);
+    SortEvent event = SortEvent.start();
+    T[] scratch = workspace.objects(to - from);
+    System.arraycopy(values, from, scratch, 0, to - from);
+    this.sortSlice(scratch, 0, values, from, to - from);
+    SortMetrics counts = this.metrics;
+    if (counts != null && (to - from) >= 2) {
+      // The slice is halved until the pieces have one element, and the copy
+      // into scratch moved each element once more.
+      counts.moved(to - from);
+      counts.reached(Integer.SIZE - Integer.numberOfLeadingZeros(to - from - 1));
+    } // if
+    if (event != null) {
+      event.finish(this, values.getClass().getComponentType(), to - from);
+    } // if
+  } // sort(T[], int, int, SortWorkspace)
 } // class MergeSorter
@@ -0,0 +1,724 @@
+package edu.grinnell.csc207.sorting;
+
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * Something that sorts using a run-adaptive natural merge sort. Existing
+ * ascending runs are used as they are, strictly descending runs are reversed,
+ * and short runs are extended with binary insertion sort. Runs are kept on a
+ * stack whose lengths stay roughly balanced, and merges switch to galloping
+ * mode when one run keeps winning. Sorted and nearly sorted arrays therefore
+ * take close to linear time. The sort is stable.
+ *
+ * <p>This is TimSort, after Tim Peters, who designed it for Python's
+ * {@code list.sort} (see {@code Objects/listsort.txt} in the CPython
+ * sources). Its structure follows the JDK's port, {@code java.util.TimSort}
+ * by Josh Bloch (Copyright 2009 Google Inc., Copyright 2009, 2013, Oracle),
+ * from which it takes MIN_MERGE, MIN_GALLOP, the run stack's size and
+ * invariants, and the shape of mergeCollapse, gallopLeft, gallopRight,
+ * mergeLo and mergeHi. That file is licensed under the GNU General Public
+ * License, version 2, with the Classpath Exception.
+ *
+ * @param <T>
+ *   The types of values that are sorted.
+ *
+ * @author David William Stroud
+ */
+
+public class NaturalMergeSorter<T> implements Sorter<T> {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /**
+   * Slices shorter than this are sorted with binary insertion sort alone.
+   * Longer slices use runs of at least half this length.
+   */
+  private static final int MIN_MERGE = 32;
+
+  /**
+   * How many times in a row one run must win before a merge starts galloping.
+   */
+  private static final int MIN_GALLOP = 7;
+
+  /**
+   * The most runs that can be pending at once. Because pending run lengths
+   * grow at least as fast as the Fibonacci numbers, this is enough for any
+   * array.
+   */
+  private static final int MAX_PENDING_RUNS = 49;
+
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * The way in which elements are ordered.
+   */
+  Comparator<? super T> order;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a sorter using a particular comparator.
+   *
+   * @param comparator
+   *   The order in which elements in the array should be ordered
+   *   after sorting.
+   */
+  public NaturalMergeSorter(Comparator<? super T> comparator) {
+    this.order = comparator;
+  } // NaturalMergeSorter(Comparator)
+
+  // +---------+-----------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Sort an array in place using natural merge sort.
+   *
+   * @param values
+   *   an array to sort.
+   *
+   * @post
+   *   The array has been sorted according to some order (often
+   *   one given to the constructor).
+   * @post
+   *   For all i, 0 &lt; i &lt; values.length,
+   *     order.compare(values[i-1], values[i]) &lt;= 0
+   */
+  @Override
+  public void sort(T[] values) {
+    this.sort(values, 0, values.length);
+  } // sort(T[])
+
+  /**
+   * Sort part of an array in place using natural merge sort, leaving the rest of it alone.
+   *
+   * @param values
+   *   an array, part of which is to be sorted.
+   * @param from
+   *   the first index to sort, inclusive.
+   * @param to
+   *   the last index to sort, exclusive.
+   */
+  @Override
+  public void sort(T[] values, int from, int to) {
+    Objects.checkFromToIndex(from, to, values.length);
+    SortEvent event = SortEvent.start();
+    this.sortSlice(values, from, to);
+    if (event != null) {
+      event.finish(this, values.getClass().getComponentType(), to - from);
+    } // if
+  } // sort(T[], int, int)
+
+  /**
+   * Sorts a slice of an array in place.
+   *
+   * @param values The full array to sort.
+   * @param start The first index to sort, inclusive.
+   * @param end The last index to sort, exclusive.
+   */
+  void sortSlice(T[] values, int start, int end) {
+    int remaining = end - start;
+    if (remaining < 2) {
+      return;
+    } // if
+
+    if (remaining < NaturalMergeSorter.MIN_MERGE) {
+      int runLength = this.makeAscendingRun(values, start, end);
+      this.binaryInsertionSort(values, start, end, start + runLength);
+      return;
+    } // if
+
+    SortWorkspace workspace = SortWorkspace.acquire();
+    try {
+      Merger merger = new Merger(values, workspace);
+      int minRun = NaturalMergeSorter.minRunLength(remaining);
+      int lo = start;
+      while (remaining != 0) {
+        int runLength = this.makeAscendingRun(values, lo, end);
+        if (runLength < minRun) {
+          // Extend short runs so that we never merge many tiny runs.
+          int forced = Math.min(remaining, minRun);
+          this.binaryInsertionSort(values, lo, lo + forced, lo + runLength);
+          runLength = forced;
+        } // if
+        merger.pushRun(lo, runLength);
+        merger.mergeCollapse();
+        lo += runLength;
+        remaining -= runLength;
+      } // while
+      merger.mergeForceCollapse();
+    } finally {
+      workspace.release();
+    } // try/finally
+  } // sortSlice(T[], int, int)
+
+  /**
+   * Find the run that begins at start. If it is strictly descending, reverse
+   * it. (Only strictly descending runs are reversed, so that stability is kept.)
+   *
+   * @param values The array.
+   * @param start The first index of the run.
+   * @param end The end of the slice, exclusive. Must be greater than start.
+   *
+   * @return The length of the run, which is now ascending.
+   */
+  private int makeAscendingRun(T[] values, int start, int end) {
+    int runEnd = start + 1;
+    if (runEnd == end) {
+      return 1;
+    } // if
+
+    if (this.order.compare(values[runEnd++], values[start]) < 0) {
+      while (runEnd < end && this.order.compare(values[runEnd], values[runEnd - 1]) < 0) {
+        runEnd++;
+      } // while
+      for (int lo = start, hi = runEnd - 1; lo < hi; lo++, hi--) {
+        T value = values[lo];
+        values[lo] = values[hi];
+        values[hi] = value;
+      } // for
+    } else {
+      while (runEnd < end && this.order.compare(values[runEnd], values[runEnd - 1]) >= 0) {
+        runEnd++;
+      } // while
+    } // if-else
+    return runEnd - start;
+  } // makeAscendingRun(T[], int, int)
+
+  /**
+   * Sorts a slice of an array with binary insertion sort, given that a prefix
+   * of the slice is already sorted.
+   *
+   * @param values The array.
+   * @param start The first index of the slice, inclusive.
+   * @param end The last index of the slice, exclusive.
+   * @param sortedEnd The end of the sorted prefix, exclusive.
+   */
+  private void binaryInsertionSort(T[] values, int start, int end, int sortedEnd) {
+    for (int next = Math.max(sortedEnd, start + 1); next < end; next++) {
+      T value = values[next];
+      int lo = start;
+      int hi = next;
+      while (lo < hi) {
+        int mid = (lo + hi) >>> 1;
+        // Equal values go to the right of existing ones, which keeps the sort stable.
+        if (this.order.compare(value, values[mid]) < 0) {
+          hi = mid;
+        } else {
+          lo = mid + 1;
+        } // if-else
+      } // while
+      System.arraycopy(values, lo, values, lo + 1, next - lo);
+      values[lo] = value;
+    } // for
+  } // binaryInsertionSort(T[], int, int, int)
+
+  /**
+   * Compute the minimum run length for a slice. The result is between
+   * MIN_MERGE / 2 and MIN_MERGE, chosen so that the number of runs is
+   * close to a power of two, which keeps the final merges balanced.
+   *
+   * @param length The length of the slice.
+   *
+   * @return The minimum run length.
+   */
+  private static int minRunLength(int length) {
+    int extra = 0;
+    while (length >= NaturalMergeSorter.MIN_MERGE) {
+      extra |= (length & 1);
+      length >>= 1;
+    } // while
+    return length + extra;
+  } // minRunLength(int)
+
+  /**
+   * Find where to insert a key into a sorted range, to the left of any equal
+   * values. The search gallops outward from a hint before binary searching.
+   *
+   * @param key The key to insert.
+   * @param values The array holding the range.
+   * @param base The first index of the range.
+   * @param length The length of the range. Must be positive.
+   * @param hint The offset within the range at which to start searching.
+   *
+   * @return The offset k such that values[base + k - 1] &lt; key &lt;= values[base + k].
+   */
+  private int gallopLeft(T key, T[] values, int base, int length, int hint) {
+    int lastOffset = 0;
+    int offset = 1;
+    if (this.order.compare(key, values[base + hint]) > 0) {
+      // Gallop right until values[base + hint + lastOffset] < key <= values[base + hint + offset].
+      int maxOffset = length - hint;
+      while (offset < maxOffset && this.order.compare(key, values[base + hint + offset]) > 0) {
+        lastOffset = offset;
+        offset = (offset << 1) + 1;
+        if (offset <= 0) {
+          // The offset overflowed.
+          offset = maxOffset;
+        } // if
+      } // while
+      offset = Math.min(offset, maxOffset);
+      lastOffset += hint;
+      offset += hint;
+    } else {
+      // Gallop left until values[base + hint - offset] < key <= values[base + hint - lastOffset].
+      int maxOffset = hint + 1;
+      while (offset < maxOffset && this.order.compare(key, values[base + hint - offset]) <= 0) {
+        lastOffset = offset;
+        offset = (offset << 1) + 1;
+        if (offset <= 0) {
+          offset = maxOffset;
+        } // if
+      } // while
+      offset = Math.min(offset, maxOffset);
+      int oldLast = lastOffset;
+      lastOffset = hint - offset;
+      offset = hint - oldLast;
+    } // if-else
+
+    // Now values[base + lastOffset] < key <= values[base + offset], so binary search.
+    lastOffset++;
+    while (lastOffset < offset) {
+      int mid = lastOffset + ((offset - lastOffset) >>> 1);
+      if (this.order.compare(key, values[base + mid]) > 0) {
+        lastOffset = mid + 1;
+      } else {
+        offset = mid;
+      } // if-else
+    } // while
+    return offset;
+  } // gallopLeft(T, T[], int, int, int)
+
+  /**
+   * Find where to insert a key into a sorted range, to the right of any equal
+   * values. The search gallops outward from a hint before binary searching.
+   *
+   * @param key The key to insert.
+   * @param values The array holding the range.
+   * @param base The first index of the range.
+   * @param length The length of the range. Must be positive.
+   * @param hint The offset within the range at which to start searching.
+   *
+   * @return The offset k such that values[base + k - 1] &lt;= key &lt; values[base + k].
+   */
+  private int gallopRight(T key, T[] values, int base, int length, int hint) {
+    int lastOffset = 0;
+    int offset = 1;
+    if (this.order.compare(key, values[base + hint]) < 0) {
+      // Gallop left until values[base + hint - offset] <= key < values[base + hint - lastOffset].
+      int maxOffset = hint + 1;
+      while (offset < maxOffset && this.order.compare(key, values[base + hint - offset]) < 0) {
+        lastOffset = offset;
+        offset = (offset << 1) + 1;
+        if (offset <= 0) {
+          offset = maxOffset;
+        } // if
+      } // while
+      offset = Math.min(offset, maxOffset);
+      int oldLast = lastOffset;
+      lastOffset = hint - offset;
+      offset = hint - oldLast;
+    } else {
+      // Gallop right until values[base + hint + lastOffset] <= key < values[base + hint + offset].
+      int maxOffset = length - hint;
+      while (offset < maxOffset && this.order.compare(key, values[base + hint + offset]) >= 0) {
+        lastOffset = offset;
+        offset = (offset << 1) + 1;
+        if (offset <= 0) {
+          offset = maxOffset;
+        } // if
+      } // while
+      offset = Math.min(offset, maxOffset);
+      lastOffset += hint;
+      offset += hint;
+    } // if-else
+
+    // Now values[base + lastOffset] <= key < values[base + offset], so binary search.
+    lastOffset++;
+    while (lastOffset < offset) {
+      int mid = lastOffset + ((offset - lastOffset) >>> 1);
+      if (this.order.compare(key, values[base + mid]) < 0) {
+        offset = mid;
+      } else {
+        lastOffset = mid + 1;
+      } // if-else
+    } // while
+    return offset;
+  } // gallopRight(T, T[], int, int, int)
+
+  // +---------------+-----------------------------------------------
+  // | Inner Classes |
+  // +---------------+
+
+  /**
+   * The state of one sort: the stack of pending runs and the temporary array
+   * used for merging. A new one is made for each sort, so a single sorter can
+   * be used by several threads at once, and the temporary array comes from
+   * the sorting thread's SortWorkspace.
+   */
+  private class Merger {
+    /**
+     * The array being sorted.
+     */
+    private final T[] values;
+
+    /**
+     * Where the temporary storage for merges comes from.
+     */
+    private final SortWorkspace workspace;
+
+    /**
+     * The current galloping threshold. It drops while galloping pays off and
+     * rises when it does not.
+     */
+    private int minGallop = NaturalMergeSorter.MIN_GALLOP;
+
+    /**
+     * The starting index of each pending run.
+     */
+    private final int[] runBase = new int[NaturalMergeSorter.MAX_PENDING_RUNS];
+
+    /**
+     * The length of each pending run.
+     */
+    private final int[] runLength = new int[NaturalMergeSorter.MAX_PENDING_RUNS];
+
+    /**
+     * The number of pending runs.
+     */
+    private int pending = 0;
+
+    /**
+     * Create the state for sorting part of an array.
+     *
+     * @param arr The array being sorted.
+     * @param scratch Where to find temporary storage for merges.
+     */
+    Merger(T[] arr, SortWorkspace scratch) {
+      this.values = arr;
+      this.workspace = scratch;
+    } // Merger(T[], SortWorkspace)
+
+    /**
+     * Push a run onto the stack of pending runs.
+     *
+     * @param base The first index of the run.
+     * @param length The length of the run.
+     */
+    void pushRun(int base, int length) {
+      this.runBase[this.pending] = base;
+      this.runLength[this.pending] = length;
+      this.pending++;
+    } // pushRun(int, int)
+
+    /**
+     * Merge pending runs until, for the top few runs A, B and C (C on top),
+     * A &gt; B + C and B &gt; C. This keeps the stack shallow and the
+     * merges balanced.
+     */
+    void mergeCollapse() {
+      int[] len = this.runLength;
+      while (this.pending > 1) {
+        int n = this.pending - 2;
+        if ((n > 0 && len[n - 1] <= len[n] + len[n + 1])
+            || (n > 1 && len[n - 2] <= len[n] + len[n - 1])) {
+          if (len[n - 1] < len[n + 1]) {
+            n--;
+          } // if
+        } else if (len[n] > len[n + 1]) {
+          // The invariant holds.
+          return;
+        } // if-else
+        this.mergeAt(n);
+      } // while
+    } // mergeCollapse()
+
+    /**
+     * Merge all pending runs into one.
+     */
+    void mergeForceCollapse() {
+      while (this.pending > 1) {
+        int n = this.pending - 2;
+        if (n > 0 && this.runLength[n - 1] < this.runLength[n + 1]) {
+          n--;
+        } // if
+        this.mergeAt(n);
+      } // while
+    } // mergeForceCollapse()
+
+    /**
+     * Merge the pending runs at positions i and i + 1 of the stack.
+     *
+     * @param i The position of the first run. Must be the second or third from the top.
+     */
+    private void mergeAt(int i) {
+      T[] arr = this.values;
+      int base1 = this.runBase[i];
+      int len1 = this.runLength[i];
+      int base2 = this.runBase[i + 1];
+      int len2 = this.runLength[i + 1];
+
+      this.runLength[i] = len1 + len2;
+      if (i == this.pending - 3) {
+        this.runBase[i + 1] = this.runBase[i + 2];
+        this.runLength[i + 1] = this.runLength[i + 2];
+      } // if
+      this.pending--;
+
+      // Values at the start of run 1 that are no larger than run 2's first
+      // value are already in place.
+      NaturalMergeSorter<T> sorter = NaturalMergeSorter.this;
+      int skip = sorter.gallopRight(arr[base2], arr, base1, len1, 0);
+      base1 += skip;
+      len1 -= skip;
+      if (len1 == 0) {
+        return;
+      } // if
+
+      // So are values at the end of run 2 that are no smaller than run 1's last value.
+      len2 = sorter.gallopLeft(arr[base1 + len1 - 1], arr, base2, len2, len2 - 1);
+      if (len2 == 0) {
+        return;
+      } // if
+
+      if (len1 <= len2) {
+        this.mergeLo(base1, len1, base2, len2);
+      } else {
+        this.mergeHi(base1, len1, base2, len2);
+      } // if-else
+    } // mergeAt(int)
+
+    /**
+     * Get a temporary array with room for at least some number of values.
+     * The workspace grows it geometrically, so a sort reallocates it only a
+     * few times, and later sorts on the same thread reuse it.
+     *
+     * @param capacity The number of values needed.
+     *
+     * @return The temporary array.
+     */
+    private T[] ensureCapacity(int capacity) {
+      return this.workspace.objects(capacity);
+    } // ensureCapacity(int)
+
+    /**
+     * Merge two adjacent runs, working from the left. Run 1 is copied to
+     * temporary storage, so this should be used when run 1 is the shorter one.
+     * The first value of run 2 must be smaller than the first value of run 1,
+     * and the last value of run 1 must be larger than every value of run 2.
+     *
+     * @param base1 The first index of run 1.
+     * @param len1 The length of run 1.
+     * @param base2 The first index of run 2, which is base1 + len1.
+     * @param len2 The length of run 2.
+     */
+    private void mergeLo(int base1, int len1, int base2, int len2) {
+      T[] arr = this.values;
+      T[] scratch = this.ensureCapacity(len1);
+      Comparator<? super T> order = NaturalMergeSorter.this.order;
+      NaturalMergeSorter<T> sorter = NaturalMergeSorter.this;
+      System.arraycopy(arr, base1, scratch, 0, len1);
+
+      int cursor1 = 0;
+      int cursor2 = base2;
+      int dest = base1;
+
+      arr[dest++] = arr[cursor2++];
+      if (--len2 == 0) {
+        System.arraycopy(scratch, cursor1, arr, dest, len1);
+        return;
+      } // if
+      if (len1 == 1) {
+        System.arraycopy(arr, cursor2, arr, dest, len2);
+        arr[dest + len2] = scratch[cursor1];
+        return;
+      } // if
+
+      int gallop = this.minGallop;
+      outer:
+      while (true) {
+        // Merge one value at a time until one run wins gallop times in a row.
+        int count1 = 0;
+        int count2 = 0;
+        do {
+          if (order.compare(arr[cursor2], scratch[cursor1]) < 0) {
+            arr[dest++] = arr[cursor2++];
+            count2++;
+            count1 = 0;
+            if (--len2 == 0) {
+              break outer;
+            } // if
+          } else {
+            arr[dest++] = scratch[cursor1++];
+            count1++;
+            count2 = 0;
+            if (--len1 == 1) {
+              break outer;
+            } // if
+          } // if-else
+        } while ((count1 | count2) < gallop);
+
+        // Gallop: copy whole stretches of one run at a time until that stops paying off.
+        do {
+          count1 = sorter.gallopRight(arr[cursor2], scratch, cursor1, len1, 0);
+          if (count1 != 0) {
+            System.arraycopy(scratch, cursor1, arr, dest, count1);
+            dest += count1;
+            cursor1 += count1;
+            len1 -= count1;
+            if (len1 <= 1) {
+              break outer;
+            } // if
+          } // if
+          arr[dest++] = arr[cursor2++];
+          if (--len2 == 0) {
+            break outer;
+          } // if
+
+          count2 = sorter.gallopLeft(scratch[cursor1], arr, cursor2, len2, 0);
+          if (count2 != 0) {
+            System.arraycopy(arr, cursor2, arr, dest, count2);
+            dest += count2;
+            cursor2 += count2;
+            len2 -= count2;
+            if (len2 == 0) {
+              break outer;
+            } // if
+          } // if
+          arr[dest++] = scratch[cursor1++];
+          if (--len1 == 1) {
+            break outer;
+          } // if
+          gallop--;
+        } while (count1 >= NaturalMergeSorter.MIN_GALLOP
+            || count2 >= NaturalMergeSorter.MIN_GALLOP);
+        gallop = Math.max(gallop, 0) + 2;
+      } // while
+      this.minGallop = Math.max(gallop, 1);
+
+      if (len1 == 1) {
+        System.arraycopy(arr, cursor2, arr, dest, len2);
+        arr[dest + len2] = scratch[cursor1];
+      } else if (len1 == 0) {
+        throw new IllegalArgumentException("Comparison method violates its general contract");
+      } else {
+        System.arraycopy(scratch, cursor1, arr, dest, len1);
+      } // if-else
+    } // mergeLo(int, int, int, int)
+
+    /**
+     * Merge two adjacent runs, working from the right. Run 2 is copied to
+     * temporary storage, so this should be used when run 2 is the shorter one.
+     * The first value of run 2 must be smaller than the first value of run 1,
+     * and the last value of run 1 must be larger than every value of run 2.
+     *
+     * @param base1 The first index of run 1.
+     * @param len1 The length of run 1.
+     * @param base2 The first index of run 2, which is base1 + len1.
+     * @param len2 The length of run 2.
+     */
+    private void mergeHi(int base1, int len1, int base2, int len2) {
+      T[] arr = this.values;
+      T[] scratch = this.ensureCapacity(len2);
+      Comparator<? super T> order = NaturalMergeSorter.this.order;
+      NaturalMergeSorter<T> sorter = NaturalMergeSorter.this;
+      System.arraycopy(arr, base2, scratch, 0, len2);
+
+      int cursor1 = base1 + len1 - 1;
+      int cursor2 = len2 - 1;
+      int dest = base2 + len2 - 1;
+
+      arr[dest--] = arr[cursor1--];
+      if (--len1 == 0) {
+        System.arraycopy(scratch, 0, arr, dest - (len2 - 1), len2);
+        return;
+      } // if
+      if (len2 == 1) {
+        dest -= len1;
+        cursor1 -= len1;
+        System.arraycopy(arr, cursor1 + 1, arr, dest + 1, len1);
+        arr[dest] = scratch[cursor2];
+        return;
+      } // if
+
+      int gallop = this.minGallop;
+      outer:
+      while (true) {
+        // Merge one value at a time until one run wins gallop times in a row.
+        int count1 = 0;
+        int count2 = 0;
+        do {
+          if (order.compare(scratch[cursor2], arr[cursor1]) < 0) {
+            arr[dest--] = arr[cursor1--];
+            count1++;
+            count2 = 0;
+            if (--len1 == 0) {
+              break outer;
+            } // if
+          } else {
+            arr[dest--] = scratch[cursor2--];
+            count2++;
+            count1 = 0;
+            if (--len2 == 1) {
+              break outer;
+            } // if
+          } // if-else
+        } while ((count1 | count2) < gallop);
+
+        // Gallop: copy whole stretches of one run at a time until that stops paying off.
+        do {
+          count1 = len1 - sorter.gallopRight(scratch[cursor2], arr, base1, len1, len1 - 1);
+          if (count1 != 0) {
+            dest -= count1;
+            cursor1 -= count1;
+            len1 -= count1;
+            System.arraycopy(arr, cursor1 + 1, arr, dest + 1, count1);
+            if (len1 == 0) {
+              break outer;
+            } // if
+          } // if
+          arr[dest--] = scratch[cursor2--];
+          if (--len2 == 1) {
+            break outer;
+          } // if
+
+          count2 = len2 - sorter.gallopLeft(arr[cursor1], scratch, 0, len2, len2 - 1);
+          if (count2 != 0) {
+            dest -= count2;
+            cursor2 -= count2;
+            len2 -= count2;
+            System.arraycopy(scratch, cursor2 + 1, arr, dest + 1, count2);
+            if (len2 <= 1) {
+              break outer;
+            } // if
+          } // if
+          arr[dest--] = arr[cursor1--];
+          if (--len1 == 0) {
+            break outer;
+          } // if
+          gallop--;
+        } while (count1 >= NaturalMergeSorter.MIN_GALLOP
+            || count2 >= NaturalMergeSorter.MIN_GALLOP);
+        gallop = Math.max(gallop, 0) + 2;
+      } // while
+      this.minGallop = Math.max(gallop, 1);
+
+      if (len2 == 1) {
+        dest -= len1;
+        cursor1 -= len1;
+        System.arraycopy(arr, cursor1 + 1, arr, dest + 1, len1);
+        arr[dest] = scratch[cursor2];
+      } else if (len2 == 0) {
+        throw new IllegalArgumentException("Comparison method violates its general contract");
+      } else {
+        System.arraycopy(scratch, 0, arr, dest - (len2 - 1), len2);
+      } // if-else
+    } // mergeHi(int, int, int, int)
+  } // class Merger
+} // class NaturalMergeSorter
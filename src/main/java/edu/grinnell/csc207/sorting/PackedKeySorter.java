@@ -0,0 +1,486 @@
+package edu.grinnell.csc207.sorting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Something that sorts by several small integral fields at once, as a
+ * comparator built with Comparator.comparing(a).thenComparing(b) would,
+ * but without calling a comparator at all. Each field is declared with the
+ * number of bits it needs and its direction, and the fields are packed
+ * into one long per element, most significant field first, so that the
+ * unsigned order of the packed keys is the order of the elements. The
+ * elements are then radix sorted by their packed keys.
+ *
+ * <p>Fields that do not all fit in 64 bits are packed into several longs,
+ * and the elements are radix sorted by each long in turn, the least
+ * significant first. Since radix sort is stable, elements whose fields are
+ * all equal keep their relative order.
+ *
+ * <p>Sorters are made with a Builder:
+ *
+ * <pre>
+ *   Sorter&lt;Order&gt; sorter = new PackedKeySorter.Builder&lt;Order&gt;()
+ *       .ascendingEnum(Order::status, Status.class)
+ *       .descending(Order::priority, 0, 9)
+ *       .ascending(Order::customer, 20)
+ *       .build();
+ * </pre>
+ *
+ * @param <T>
+ *   The types of values that are sorted.
+ *
+ * @author David William Stroud
+ */
+public class PackedKeySorter<T> implements Sorter<T> {
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * The fields packed into each long, most significant long first.
+   */
+  Field<T>[][] words;
+
+  /**
+   * The sorter for the packed keys.
+   */
+  RadixSorter radix;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a sorter for some packed fields. Use a Builder instead.
+   *
+   * @param packedWords
+   *   The fields packed into each long, most significant long first.
+   */
+  PackedKeySorter(Field<T>[][] packedWords) {
+    this.words = packedWords;
+    this.radix = new RadixSorter();
+  } // PackedKeySorter(Field[][])
+
+  // +---------+-----------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Sort an array in place by its packed keys.
+   *
+   * @param values
+   *   an array to sort.
+   *
+   * @throws IllegalArgumentException
+   *   if a field of some element does not fit in the bits declared for it,
+   *   in which case the array is left as it was.
+   *
+   * @post
+   *   The array has been sorted by the declared fields, and elements
+   *   whose fields are all equal are in their original order.
+   */
+  @Override
+  public void sort(T[] values) {
+    this.sort(values, 0, values.length);
+  } // sort(T[])
+
+  /**
+   * Sort part of an array in place by its packed keys, leaving the rest of
+   * it alone.
+   *
+   * @param values
+   *   an array, part of which is to be sorted.
+   * @param from
+   *   the first index to sort, inclusive.
+   * @param to
+   *   the last index to sort, exclusive.
+   *
+   * @throws IllegalArgumentException
+   *   if a field of some element does not fit in the bits declared for it,
+   *   in which case the array is left as it was.
+   */
+  @Override
+  public void sort(T[] values, int from, int to) {
+    Objects.checkFromToIndex(from, to, values.length);
+    SortEvent event = SortEvent.start();
+    int size = to - from;
+    // Every field is extracted and checked before anything moves, so a
+    // field that does not fit leaves the array as it was.
+    long[][] keys = new long[this.words.length][size];
+    for (int i = 0; i < size; i++) {
+      T value = values[from + i];
+      for (int w = 0; w < this.words.length; w++) {
+        long key = 0;
+        for (Field<T> field : this.words[w]) {
+          key |= field.pack(value);
+        } // for
+        keys[w][i] = key;
+      } // for
+    } // for
+    if (this.words.length == 1) {
+      // The keys and their elements are sorted side by side, so a slice is
+      // sorted as a copy unless it is the whole array.
+      Object[] items = (size == values.length) ? values : Arrays.copyOfRange(values, from, to);
+      this.radix.sortUnsigned(keys[0], items);
+      if (items != values) {
+        System.arraycopy(items, 0, values, from, size);
+      } // if
+    } else {
+      this.sortByWords(values, from, keys);
+    } // if-else
+    if (event != null) {
+      event.finish(this, values.getClass().getComponentType(), size);
+    } // if
+  } // sort(T[], int, int)
+
+  /**
+   * Sort a slice by keys of several longs each. The indices of the elements
+   * are sorted by each long in turn, so that the next long's keys can be put
+   * in their order.
+   *
+   * @param values The array, part of which is to be sorted.
+   * @param from The first index to sort, inclusive.
+   * @param keys The keys of the slice's elements, one array per long.
+   */
+  private void sortByWords(T[] values, int from, long[][] keys) {
+    int size = keys[0].length;
+    int[] order = new int[size];
+    for (int i = 0; i < size; i++) {
+      order[i] = i;
+    } // for
+    long[] pass = keys[this.words.length - 1];
+    for (int w = this.words.length - 1; w >= 0; w--) {
+      if (w < this.words.length - 1) {
+        for (int i = 0; i < size; i++) {
+          pass[i] = keys[w][order[i]];
+        } // for
+      } // if
+      this.radix.sortIndices(pass, order);
+    } // for
+    Object[] sorted = new Object[size];
+    for (int i = 0; i < size; i++) {
+      sorted[i] = values[from + order[i]];
+    } // for
+    System.arraycopy(sorted, 0, values, from, size);
+  } // sortByWords(T[], int, long[][])
+
+  // +---------------+-----------------------------------------------
+  // | Inner Classes |
+  // +---------------+
+
+  /**
+   * One field of the key, with its place in a packed long.
+   *
+   * @param <T>
+   *   The types of values the field belongs to.
+   */
+  static final class Field<T> {
+    /**
+     * Where the field was declared, counting from zero, for error messages.
+     */
+    final int position;
+
+    /**
+     * Extracts the field.
+     */
+    final ToLongFunction<? super T> extractor;
+
+    /**
+     * The smallest value the field may have.
+     */
+    final long min;
+
+    /**
+     * The number of bits the field takes.
+     */
+    final int bits;
+
+    /**
+     * Whether larger values come first.
+     */
+    final boolean descending;
+
+    /**
+     * The number of bits below the field in its long.
+     */
+    int shift;
+
+    /**
+     * Declare a field.
+     *
+     * @param index Where the field was declared.
+     * @param field Extracts the field.
+     * @param smallest The smallest value the field may have.
+     * @param width The number of bits the field takes.
+     * @param reversed Whether larger values come first.
+     */
+    Field(int index, ToLongFunction<? super T> field, long smallest, int width,
+        boolean reversed) {
+      this.position = index;
+      this.extractor = field;
+      this.min = smallest;
+      this.bits = width;
+      this.descending = reversed;
+    } // Field(int, ToLongFunction, long, int, boolean)
+
+    /**
+     * Get a mask of the field's bits, before shifting.
+     *
+     * @return the mask.
+     */
+    long mask() {
+      return (this.bits == Long.SIZE) ? -1L : (1L << this.bits) - 1;
+    } // mask()
+
+    /**
+     * Get the field's bits for a value, in their place in the packed long.
+     *
+     * @param value The value.
+     * @return the field's bits, shifted into place.
+     *
+     * @throws IllegalArgumentException if the field does not fit.
+     */
+    long pack(T value) {
+      long field = this.extractor.applyAsLong(value);
+      long offset = field - this.min;
+      long mask = this.mask();
+      if (Long.compareUnsigned(offset, mask) > 0) {
+        throw new IllegalArgumentException("field " + this.position + " is " + field
+            + ", which does not fit in " + this.bits + " bits starting at " + this.min);
+      } // if
+      if (this.descending) {
+        offset ^= mask;
+      } // if
+      return offset << this.shift;
+    } // pack(T)
+
+    /**
+     * Compare two values by this field alone.
+     *
+     * @param x One value.
+     * @param y Another value.
+     * @return a negative number, zero, or a positive number, as x comes
+     *   before, with, or after y.
+     */
+    int compare(T x, T y) {
+      // Fields are packed as their unsigned offsets from min, which only
+      // differs from comparing the fields when a 64-bit field wraps around.
+      int result = Long.compareUnsigned(this.extractor.applyAsLong(x) - this.min,
+          this.extractor.applyAsLong(y) - this.min);
+      return this.descending ? -result : result;
+    } // compare(T, T)
+  } // class Field
+
+  /**
+   * Something that declares the fields of a packed key, most significant
+   * first, and builds a sorter for them.
+   *
+   * @param <T>
+   *   The types of values that are sorted.
+   */
+  public static final class Builder<T> {
+    /**
+     * The fields declared so far.
+     */
+    private final List<Field<T>> fields = new ArrayList<>();
+
+    /**
+     * Start declaring a key with no fields.
+     */
+    public Builder() {
+    } // Builder()
+
+    /**
+     * Add a field.
+     *
+     * @param field Extracts the field.
+     * @param min The smallest value the field may have.
+     * @param bits The number of bits the field takes.
+     * @param descending Whether larger values come first.
+     * @return this builder.
+     */
+    private Builder<T> add(ToLongFunction<? super T> field, long min, int bits,
+        boolean descending) {
+      if (bits < 1 || bits > Long.SIZE) {
+        throw new IllegalArgumentException("a field takes 1 to 64 bits, not " + bits);
+      } // if
+      this.fields.add(new Field<>(this.fields.size(), field, min, bits, descending));
+      return this;
+    } // add(ToLongFunction, long, int, boolean)
+
+    /**
+     * Find the number of bits needed for every value from min to max.
+     *
+     * @param min The smallest value.
+     * @param max The largest value.
+     * @return the number of bits.
+     */
+    private static int bitsFor(long min, long max) {
+      if (max < min) {
+        throw new IllegalArgumentException("max " + max + " is less than min " + min);
+      } // if
+      return Math.max(Long.SIZE - Long.numberOfLeadingZeros(max - min), 1);
+    } // bitsFor(long, long)
+
+    /**
+     * Add a field whose values run from 0 to 2^bits - 1, smallest first.
+     *
+     * @param field
+     *   Extracts the field. It is called once per element per sort.
+     * @param bits
+     *   The number of bits the field takes.
+     *
+     * @return this builder.
+     */
+    public Builder<T> ascending(ToLongFunction<? super T> field, int bits) {
+      return this.add(field, 0, bits, false);
+    } // ascending(ToLongFunction, int)
+
+    /**
+     * Add a field whose values run from 0 to 2^bits - 1, largest first.
+     *
+     * @param field
+     *   Extracts the field. It is called once per element per sort.
+     * @param bits
+     *   The number of bits the field takes.
+     *
+     * @return this builder.
+     */
+    public Builder<T> descending(ToLongFunction<? super T> field, int bits) {
+      return this.add(field, 0, bits, true);
+    } // descending(ToLongFunction, int)
+
+    /**
+     * Add a field whose values run from min to max, smallest first. The
+     * field takes only as many bits as that range needs.
+     *
+     * @param field
+     *   Extracts the field. It is called once per element per sort.
+     * @param min
+     *   The smallest value the field may have.
+     * @param max
+     *   The largest value the field may have.
+     *
+     * @return this builder.
+     */
+    public Builder<T> ascending(ToLongFunction<? super T> field, long min, long max) {
+      return this.add(field, min, Builder.bitsFor(min, max), false);
+    } // ascending(ToLongFunction, long, long)
+
+    /**
+     * Add a field whose values run from min to max, largest first. The
+     * field takes only as many bits as that range needs.
+     *
+     * @param field
+     *   Extracts the field. It is called once per element per sort.
+     * @param min
+     *   The smallest value the field may have.
+     * @param max
+     *   The largest value the field may have.
+     *
+     * @return this builder.
+     */
+    public Builder<T> descending(ToLongFunction<? super T> field, long min, long max) {
+      return this.add(field, min, Builder.bitsFor(min, max), true);
+    } // descending(ToLongFunction, long, long)
+
+    /**
+     * Add an enum field, in the order the constants are declared.
+     *
+     * @param <E>
+     *   The type of the enum.
+     * @param field
+     *   Extracts the field, which must not be null.
+     * @param type
+     *   The class of the enum.
+     *
+     * @return this builder.
+     */
+    public <E extends Enum<E>> Builder<T> ascendingEnum(Function<? super T, ? extends E> field,
+        Class<E> type) {
+      return this.ascending((value) -> field.apply(value).ordinal(), 0,
+          Math.max(type.getEnumConstants().length - 1, 0));
+    } // ascendingEnum(Function, Class)
+
+    /**
+     * Add an enum field, in the reverse of the order the constants are
+     * declared.
+     *
+     * @param <E>
+     *   The type of the enum.
+     * @param field
+     *   Extracts the field, which must not be null.
+     * @param type
+     *   The class of the enum.
+     *
+     * @return this builder.
+     */
+    public <E extends Enum<E>> Builder<T> descendingEnum(Function<? super T, ? extends E> field,
+        Class<E> type) {
+      return this.descending((value) -> field.apply(value).ordinal(), 0,
+          Math.max(type.getEnumConstants().length - 1, 0));
+    } // descendingEnum(Function, Class)
+
+    /**
+     * Get a comparator that orders values the same way as the sorter. It
+     * is useful for checking the sorter, and for sorting where packed keys
+     * cannot be used.
+     *
+     * @return the comparator.
+     */
+    public Comparator<T> comparator() {
+      List<Field<T>> declared = new ArrayList<>(this.fields);
+      return (x, y) -> {
+        for (Field<T> field : declared) {
+          int result = field.compare(x, y);
+          if (result != 0) {
+            return result;
+          } // if
+        } // for
+        return 0;
+      };
+    } // comparator()
+
+    /**
+     * Build a sorter for the fields declared so far. Fields are packed into
+     * a long in order until the next one does not fit, and then into the
+     * next long, so a field never spans two longs.
+     *
+     * @return the sorter.
+     *
+     * @throws IllegalStateException
+     *   if no fields have been declared.
+     */
+    @SuppressWarnings("unchecked")
+    public PackedKeySorter<T> build() {
+      if (this.fields.isEmpty()) {
+        throw new IllegalStateException("no fields have been declared");
+      } // if
+      List<Field<T>[]> words = new ArrayList<>();
+      List<Field<T>> word = new ArrayList<>();
+      int used = 0;
+      for (Field<T> declared : this.fields) {
+        if (used + declared.bits > Long.SIZE) {
+          words.add((Field<T>[]) word.toArray(new Field<?>[0]));
+          word = new ArrayList<>();
+          used = 0;
+        } // if
+        // Fill each long from the top, so unused bits are low and radix sort
+        // can skip them.
+        Field<T> field = new Field<>(declared.position, declared.extractor, declared.min,
+            declared.bits, declared.descending);
+        used += field.bits;
+        field.shift = Long.SIZE - used;
+        word.add(field);
+      } // for
+      words.add((Field<T>[]) word.toArray(new Field<?>[0]));
+      return new PackedKeySorter<>((Field<T>[][]) words.toArray(new Field<?>[0][]));
+    } // build()
+  } // class Builder
+} // class PackedKeySorter
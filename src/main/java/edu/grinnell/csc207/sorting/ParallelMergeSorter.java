@@ -0,0 +1,394 @@
+package edu.grinnell.csc207.sorting;
+
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Something that sorts using a parallel merge sort. The two halves of each
+ * slice are sorted as separate tasks, and large merges are themselves split
+ * into independent sub-merges, so the final merge is not a serial bottleneck.
+ * Like MergeSorter, this sort is stable.
+ *
+ * @param <T>
+ *   The types of values that are sorted.
+ *
+ * @author David William Stroud
+ */
+
+public class ParallelMergeSorter<T> implements Sorter<T> {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /**
+   * The default size below which slices are sorted and merged sequentially.
+   */
+  public static final int DEFAULT_CUTOFF = 8192;
+
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * The way in which elements are ordered.
+   */
+  Comparator<? super T> order;
+
+  /**
+   * The sequential sorter used for small slices.
+   */
+  MergeSorter<T> sequential;
+
+  /**
+   * The pool in which the sorting tasks run.
+   */
+  ForkJoinPool pool;
+
+  /**
+   * The size below which slices are sorted and merged sequentially.
+   */
+  int cutoff;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a sorter using a particular comparator and the common pool.
+   *
+   * @param comparator
+   *   The order in which elements in the array should be ordered
+   *   after sorting.
+   */
+  public ParallelMergeSorter(Comparator<? super T> comparator) {
+    this(comparator, ForkJoinPool.commonPool(), ParallelMergeSorter.DEFAULT_CUTOFF);
+  } // ParallelMergeSorter(Comparator)
+
+  /**
+   * Create a sorter using a particular comparator and pool.
+   *
+   * @param comparator
+   *   The order in which elements in the array should be ordered
+   *   after sorting.
+   * @param forkJoinPool
+   *   The pool in which to run the sorting tasks.
+   * @param sequentialCutoff
+   *   The size below which slices are sorted and merged sequentially.
+   *   Must be at least two.
+   */
+  public ParallelMergeSorter(Comparator<? super T> comparator, ForkJoinPool forkJoinPool,
+      int sequentialCutoff) {
+    if (sequentialCutoff < 2) {
+      throw new IllegalArgumentException("cutoff must be at least 2, not " + sequentialCutoff);
+    } // if
+    this.order = comparator;
+    this.sequential = new MergeSorter<>(comparator);
+    this.pool = forkJoinPool;
+    this.cutoff = sequentialCutoff;
+  } // ParallelMergeSorter(Comparator, ForkJoinPool, int)
+
+  // +---------+-----------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Merges two sorted runs into a region of another array. When two values are
+   * equal, the one from the first run is placed first.
+   *
+   * @param values The array holding both runs.
+   * @param lo1 The start of the first run, inclusive.
+   * @param hi1 The end of the first run, exclusive.
+   * @param lo2 The start of the second run, inclusive.
+   * @param hi2 The end of the second run, exclusive.
+   * @param output The array to merge into.
+   * @param at The index in output at which to place the smallest value.
+   */
+  void merge(T[] values, int lo1, int hi1, int lo2, int hi2, T[] output, int at) {
+    while (lo1 < hi1 && lo2 < hi2) {
+      if (this.order.compare(values[lo1], values[lo2]) <= 0) {
+        output[at++] = values[lo1++];
+      } else {
+        output[at++] = values[lo2++];
+      } // if-else
+    } // while
+    System.arraycopy(values, lo1, output, at, hi1 - lo1);
+    System.arraycopy(values, lo2, output, at + (hi1 - lo1), hi2 - lo2);
+  } // merge(T[], int, int, int, int, T[], int)
+
+  /**
+   * Finds the first index in a sorted run whose value is not less than a key.
+   *
+   * @param values The array holding the run.
+   * @param lo The start of the run, inclusive.
+   * @param hi The end of the run, exclusive.
+   * @param key The value to look for.
+   * @return The first index i in [lo, hi) with values[i] &gt;= key, or hi.
+   */
+  int lowerBound(T[] values, int lo, int hi, T key) {
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (this.order.compare(values[mid], key) < 0) {
+        lo = mid + 1;
+      } else {
+        hi = mid;
+      } // if-else
+    } // while
+    return lo;
+  } // lowerBound(T[], int, int, T)
+
+  /**
+   * Finds the first index in a sorted run whose value is greater than a key.
+   *
+   * @param values The array holding the run.
+   * @param lo The start of the run, inclusive.
+   * @param hi The end of the run, exclusive.
+   * @param key The value to look for.
+   * @return The first index i in [lo, hi) with values[i] &gt; key, or hi.
+   */
+  int upperBound(T[] values, int lo, int hi, T key) {
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (this.order.compare(values[mid], key) <= 0) {
+        lo = mid + 1;
+      } else {
+        hi = mid;
+      } // if-else
+    } // while
+    return lo;
+  } // upperBound(T[], int, int, T)
+
+  /**
+   * Sort an array in place using parallel merge sort.
+   *
+   * @param values
+   *   an array to sort.
+   *
+   * @post
+   *   The array has been sorted according to some order (often
+   *   one given to the constructor).
+   * @post
+   *   For all i, 0 &lt; i &lt; values.length,
+   *     order.compare(values[i-1], values[i]) &lt;= 0
+   */
+  @Override
+  public void sort(T[] values) {
+    this.sort(values, 0, values.length);
+  } // sort(T[])
+
+  /**
+   * Sort part of an array in place using parallel merge sort, leaving the
+   * rest of it alone. The scratch space is only as large as the slice, and
+   * comes from the calling thread's SortWorkspace.
+   *
+   * @param values
+   *   an array, part of which is to be sorted.
+   * @param from
+   *   the first index to sort, inclusive.
+   * @param to
+   *   the last index to sort, exclusive.
+   */
+  @Override
+  public void sort(T[] values, int from, int to) {
+    Objects.checkFromToIndex(from, to, values.length);
+    SortEvent event = SortEvent.start();
+    SortWorkspace workspace = SortWorkspace.acquire();
+    try {
+      // The workers only read and write the scratch space, and the caller
+      // waits for them, so the caller's workspace can lend it to them.
+      T[] scratch = workspace.objects(to - from);
+      System.arraycopy(values, from, scratch, 0, to - from);
+      if ((to - from) < this.cutoff) {
+        this.sequential.sortSlice(scratch, 0, values, from, to - from);
+      } else {
+        this.pool.invoke(new SortTask(scratch, 0, values, from, to - from));
+      } // if-else
+    } finally {
+      workspace.release();
+    } // try/finally
+    if (event != null) {
+      event.finish(this, values.getClass().getComponentType(), to - from);
+    } // if
+  } // sort(T[], int, int)
+
+  // +---------------+-----------------------------------------------
+  // | Inner Classes |
+  // +---------------+
+
+  /**
+   * A task that sorts a slice of one array into a slice of another. Both
+   * slices must hold the same values.
+   */
+  private class SortTask extends RecursiveAction {
+    /**
+     * The version of the serialized form.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The array to sort from (also used as scratch space).
+     */
+    private final T[] values;
+
+    /**
+     * The first index to sort in values, inclusive.
+     */
+    private final int start;
+
+    /**
+     * The array that receives the sorted values.
+     */
+    private final T[] output;
+
+    /**
+     * The index in output at which to place the smallest value.
+     */
+    private final int at;
+
+    /**
+     * The number of values to sort.
+     */
+    private final int size;
+
+    /**
+     * Create a task that sorts a slice.
+     *
+     * @param arr The array to sort from.
+     * @param lb The first index to sort in arr, inclusive.
+     * @param out The array that receives the sorted values.
+     * @param outStart The index in out at which to place the smallest value.
+     * @param count The number of values to sort.
+     */
+    SortTask(T[] arr, int lb, T[] out, int outStart, int count) {
+      this.values = arr;
+      this.start = lb;
+      this.output = out;
+      this.at = outStart;
+      this.size = count;
+    } // SortTask(T[], int, T[], int, int)
+
+    /**
+     * Sort the slice, splitting it into subtasks if it is large enough.
+     */
+    @Override
+    protected void compute() {
+      if (this.size < ParallelMergeSorter.this.cutoff) {
+        ParallelMergeSorter.this.sequential.sortSlice(this.values, this.start,
+            this.output, this.at, this.size);
+        return;
+      } // if
+
+      int half = this.size / 2;
+      // As in MergeSorter, each half is sorted into values, using output as scratch.
+      RecursiveAction.invokeAll(
+          new SortTask(this.output, this.at, this.values, this.start, half),
+          new SortTask(this.output, this.at + half, this.values, this.start + half,
+              this.size - half));
+      new MergeTask(this.values, this.start, this.start + half, this.start + half,
+          this.start + this.size, this.output, this.at).compute();
+    } // compute()
+  } // class SortTask
+
+  /**
+   * A task that merges two sorted runs, splitting the merge into two
+   * independent sub-merges if it is large enough.
+   */
+  private class MergeTask extends RecursiveAction {
+    /**
+     * The version of the serialized form.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The array holding both runs.
+     */
+    private final T[] values;
+
+    /**
+     * The start of the first run, inclusive.
+     */
+    private final int lo1;
+
+    /**
+     * The end of the first run, exclusive.
+     */
+    private final int hi1;
+
+    /**
+     * The start of the second run, inclusive.
+     */
+    private final int lo2;
+
+    /**
+     * The end of the second run, exclusive.
+     */
+    private final int hi2;
+
+    /**
+     * The array to merge into.
+     */
+    private final T[] output;
+
+    /**
+     * The index in output at which to place the smallest value.
+     */
+    private final int at;
+
+    /**
+     * Create a task that merges two runs.
+     *
+     * @param arr The array holding both runs.
+     * @param start1 The start of the first run, inclusive.
+     * @param end1 The end of the first run, exclusive.
+     * @param start2 The start of the second run, inclusive.
+     * @param end2 The end of the second run, exclusive.
+     * @param out The array to merge into.
+     * @param outStart The index in out at which to place the smallest value.
+     */
+    MergeTask(T[] arr, int start1, int end1, int start2, int end2, T[] out, int outStart) {
+      this.values = arr;
+      this.lo1 = start1;
+      this.hi1 = end1;
+      this.lo2 = start2;
+      this.hi2 = end2;
+      this.output = out;
+      this.at = outStart;
+    } // MergeTask(T[], int, int, int, int, T[], int)
+
+    /**
+     * Merge the runs.
+     */
+    @Override
+    protected void compute() {
+      ParallelMergeSorter<T> sorter = ParallelMergeSorter.this;
+      int size1 = this.hi1 - this.lo1;
+      int size2 = this.hi2 - this.lo2;
+      // A merge with an empty run is a copy, and if neither run has two values,
+      // splitting at a midpoint may hand one subtask this whole merge again.
+      if ((size1 + size2) < sorter.cutoff || Math.min(size1, size2) == 0
+          || Math.max(size1, size2) < 2) {
+        sorter.merge(this.values, this.lo1, this.hi1, this.lo2, this.hi2, this.output, this.at);
+        return;
+      } // if
+
+      // Split the larger run at its midpoint and find the matching split point in
+      // the other run. The bounds are chosen so that, among equal values, those from
+      // the first run still land before those from the second run.
+      int split1;
+      int split2;
+      if (size1 >= size2) {
+        split1 = (this.lo1 + this.hi1) >>> 1;
+        split2 = sorter.lowerBound(this.values, this.lo2, this.hi2, this.values[split1]);
+      } else {
+        split2 = (this.lo2 + this.hi2) >>> 1;
+        split1 = sorter.upperBound(this.values, this.lo1, this.hi1, this.values[split2]);
+      } // if-else
+      int splitAt = this.at + (split1 - this.lo1) + (split2 - this.lo2);
+
+      RecursiveAction.invokeAll(
+          new MergeTask(this.values, this.lo1, split1, this.lo2, split2, this.output, this.at),
+          new MergeTask(this.values, split1, this.hi1, split2, this.hi2, this.output, splitAt));
+    } // compute()
+  } // class MergeTask
+} // class ParallelMergeSorter
@@ -0,0 +1,374 @@
+package edu.grinnell.csc207.sorting;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Something that sorts using a parallel sample sort. Unlike a parallel
+ * Quicksort, no step looks at every element on one thread:
+ *
+ * <ol>
+ *   <li>A random sample of the array is sorted, and evenly spaced values
+ *     from it become the splitters between buckets.</li>
+ *   <li>The array is cut into blocks, and each block's elements are
+ *     classified into buckets (by binary search over the splitters) as a
+ *     separate task.</li>
+ *   <li>The per-block bucket counts give each block's place in each bucket,
+ *     so each block scatters its elements into a scratch array
+ *     independently.</li>
+ *   <li>Each bucket is sorted with StroudDavid sort as a separate task, and
+ *     copied back.</li>
+ * </ol>
+ *
+ * <p>Elements equal to a splitter get a bucket of their own, which needs no
+ * sorting, so many duplicates do not make one bucket huge.
+ *
+ * @param <T>
+ *   The types of values that are sorted.
+ *
+ * @author David William Stroud
+ */
+public class ParallelSampleSorter<T> implements Sorter<T> {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /**
+   * The default size below which arrays are sorted sequentially.
+   */
+  public static final int DEFAULT_CUTOFF = 1 << 14;
+
+  /**
+   * The number of buckets for each thread in the pool, so that a few slow
+   * buckets do not hold up the whole sort.
+   */
+  private static final int BUCKETS_PER_THREAD = 4;
+
+  /**
+   * The number of samples taken for each splitter.
+   */
+  private static final int OVERSAMPLING = 16;
+
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * The way in which elements are ordered.
+   */
+  Comparator<? super T> order;
+
+  /**
+   * The sorter for the sample, the buckets, and small arrays.
+   */
+  StroudDavidSort<T> sequential;
+
+  /**
+   * The pool in which the tasks run.
+   */
+  ForkJoinPool pool;
+
+  /**
+   * The size below which arrays are sorted sequentially.
+   */
+  int cutoff;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a sorter using a particular comparator and the common pool.
+   *
+   * @param comparator
+   *   The order in which elements in the array should be ordered
+   *   after sorting.
+   */
+  public ParallelSampleSorter(Comparator<? super T> comparator) {
+    this(comparator, ForkJoinPool.commonPool(), ParallelSampleSorter.DEFAULT_CUTOFF);
+  } // ParallelSampleSorter(Comparator)
+
+  /**
+   * Create a sorter using a particular comparator and pool.
+   *
+   * @param comparator
+   *   The order in which elements in the array should be ordered
+   *   after sorting.
+   * @param forkJoinPool
+   *   The pool in which to run the tasks.
+   * @param sequentialCutoff
+   *   The size below which arrays are sorted sequentially. Must be at
+   *   least two.
+   */
+  public ParallelSampleSorter(Comparator<? super T> comparator, ForkJoinPool forkJoinPool,
+      int sequentialCutoff) {
+    if (sequentialCutoff < 2) {
+      throw new IllegalArgumentException("cutoff must be at least 2, not " + sequentialCutoff);
+    } // if
+    this.order = comparator;
+    this.sequential = new StroudDavidSort<>(comparator);
+    this.pool = forkJoinPool;
+    this.cutoff = sequentialCutoff;
+  } // ParallelSampleSorter(Comparator, ForkJoinPool, int)
+
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Choose the splitters from a random sample of a slice.
+   *
+   * @param values The array.
+   * @param from The first index of the slice, inclusive.
+   * @param to The last index of the slice, exclusive.
+   * @param buckets The number of buckets wanted.
+   * @return the splitters, sorted, with no two equal.
+   */
+  @SuppressWarnings("unchecked")
+  private T[] chooseSplitters(T[] values, int from, int to, int buckets) {
+    // A fixed seed keeps the sort repeatable.
+    SplittableRandom random = new SplittableRandom(to - from);
+    T[] sample = (T[]) new Object[buckets * ParallelSampleSorter.OVERSAMPLING];
+    for (int i = 0; i < sample.length; i++) {
+      sample[i] = values[random.nextInt(from, to)];
+    } // for
+    this.sortSequentially(sample, 0, sample.length);
+
+    T[] splitters = (T[]) new Object[buckets - 1];
+    int count = 0;
+    for (int i = 1; i < buckets; i++) {
+      T candidate = sample[i * ParallelSampleSorter.OVERSAMPLING];
+      if (count == 0 || this.order.compare(splitters[count - 1], candidate) < 0) {
+        splitters[count++] = candidate;
+      } // if
+    } // for
+    return Arrays.copyOf(splitters, count);
+  } // chooseSplitters(T[], int, int, int)
+
+  /**
+   * Sort a slice with StroudDavid sort, without recording it as a sort of
+   * its own, since it is only part of this sorter's sort.
+   *
+   * @param values The array.
+   * @param from The first index of the slice, inclusive.
+   * @param to The last index of the slice, exclusive.
+   */
+  private void sortSequentially(T[] values, int from, int to) {
+    SortWorkspace workspace = SortWorkspace.acquire();
+    try {
+      this.sequential.sortSlice(values, from, to, HeapSorter.depthBudget(to - from), 0,
+          workspace.bounds());
+    } finally {
+      workspace.release();
+    } // try/finally
+  } // sortSequentially(T[], int, int)
+
+  /**
+   * Find the bucket for a value. With s splitters there are 2s + 1 buckets:
+   * bucket 2i holds the values between splitters i - 1 and i, and bucket
+   * 2i + 1 holds the values equal to splitter i.
+   *
+   * @param splitters The splitters.
+   * @param value The value.
+   * @return the bucket.
+   */
+  private int classify(T[] splitters, T value) {
+    int lo = 0;
+    int hi = splitters.length;
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (this.order.compare(splitters[mid], value) < 0) {
+        lo = mid + 1;
+      } else {
+        hi = mid;
+      } // if-else
+    } // while
+    if (lo < splitters.length && this.order.compare(splitters[lo], value) == 0) {
+      return 2 * lo + 1;
+    } // if
+    return 2 * lo;
+  } // classify(T[], T)
+
+  // +---------+-----------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Sort an array in place using parallel sample sort.
+   *
+   * @param values
+   *   an array to sort.
+   *
+   * @post
+   *   The array has been sorted according to some order (often
+   *   one given to the constructor).
+   * @post
+   *   For all i, 0 &lt; i &lt; values.length,
+   *     order.compare(values[i-1], values[i]) &lt;= 0
+   */
+  @Override
+  public void sort(T[] values) {
+    this.sort(values, 0, values.length);
+  } // sort(T[])
+
+  /**
+   * Sort part of an array in place using parallel sample sort, leaving the
+   * rest of it alone.
+   *
+   * @param values
+   *   an array, part of which is to be sorted.
+   * @param from
+   *   the first index to sort, inclusive.
+   * @param to
+   *   the last index to sort, exclusive.
+   */
+  @Override
+  public void sort(T[] values, int from, int to) {
+    Objects.checkFromToIndex(from, to, values.length);
+    SortEvent event = SortEvent.start();
+    if ((to - from) < this.cutoff || this.pool.getParallelism() < 2) {
+      this.sortSequentially(values, from, to);
+    } else {
+      this.sortBuckets(values, from, to);
+    } // if-else
+    if (event != null) {
+      event.finish(this, values.getClass().getComponentType(), to - from);
+    } // if
+  } // sort(T[], int, int)
+
+  /**
+   * Sort a slice by classifying it into buckets and sorting the buckets in
+   * parallel. The scratch space comes from the calling thread's
+   * SortWorkspace, which the workers share while the caller waits.
+   *
+   * @param values The array.
+   * @param from The first index of the slice, inclusive.
+   * @param to The last index of the slice, exclusive.
+   */
+  private void sortBuckets(T[] values, int from, int to) {
+    int size = to - from;
+    int threads = this.pool.getParallelism();
+    T[] splitters = this.chooseSplitters(values, from, to,
+        threads * ParallelSampleSorter.BUCKETS_PER_THREAD);
+    int buckets = 2 * splitters.length + 1;
+
+    // Classify each block's elements, remembering each element's bucket.
+    int blocks = Math.min(threads * ParallelSampleSorter.BUCKETS_PER_THREAD,
+        Math.max(size / (this.cutoff / 2 + 1), 1));
+    int blockSize = (size + blocks - 1) / blocks;
+    SortWorkspace workspace = SortWorkspace.acquire();
+    try {
+      int[] bucketOf = workspace.ints(size);
+      int[][] counts = new int[blocks][buckets];
+      this.pool.invoke(new ForEachTask(0, blocks, (block) -> {
+        int start = from + block * blockSize;
+        int end = Math.min(start + blockSize, to);
+        int[] blockCounts = counts[block];
+        for (int i = start; i < end; i++) {
+          int bucket = this.classify(splitters, values[i]);
+          bucketOf[i - from] = bucket;
+          blockCounts[bucket]++;
+        } // for
+      }));
+
+      // Turn the counts into where each block's part of each bucket starts.
+      int[] bucketStarts = new int[buckets + 1];
+      int total = 0;
+      for (int bucket = 0; bucket < buckets; bucket++) {
+        bucketStarts[bucket] = total;
+        for (int block = 0; block < blocks; block++) {
+          int count = counts[block][bucket];
+          counts[block][bucket] = total;
+          total += count;
+        } // for
+      } // for
+      bucketStarts[buckets] = total;
+
+      // Scatter each block into the scratch array.
+      T[] scratch = workspace.objects(size);
+      this.pool.invoke(new ForEachTask(0, blocks, (block) -> {
+        int start = from + block * blockSize;
+        int end = Math.min(start + blockSize, to);
+        int[] next = counts[block];
+        for (int i = start; i < end; i++) {
+          scratch[next[bucketOf[i - from]]++] = values[i];
+        } // for
+      }));
+
+      // Sort each bucket and copy it back. Buckets of values equal to a
+      // splitter are already sorted.
+      this.pool.invoke(new ForEachTask(0, buckets, (bucket) -> {
+        int start = bucketStarts[bucket];
+        int end = bucketStarts[bucket + 1];
+        if (bucket % 2 == 0) {
+          this.sortSequentially(scratch, start, end);
+        } // if
+        System.arraycopy(scratch, start, values, from + start, end - start);
+      }));
+    } finally {
+      workspace.release();
+    } // try/finally
+  } // sortBuckets(T[], int, int)
+
+  // +---------------+-----------------------------------------------
+  // | Inner Classes |
+  // +---------------+
+
+  /**
+   * A task that runs an action for each index in a range, splitting the
+   * range in half until each task has one index.
+   */
+  private static class ForEachTask extends RecursiveAction {
+    /**
+     * The version of the serialized form.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The first index, inclusive.
+     */
+    private final int lo;
+
+    /**
+     * The last index, exclusive.
+     */
+    private final int hi;
+
+    /**
+     * The action to run for each index.
+     */
+    private final IntConsumer action;
+
+    /**
+     * Create a task for a range of indices.
+     *
+     * @param lb The first index, inclusive.
+     * @param ub The last index, exclusive.
+     * @param body The action to run for each index.
+     */
+    ForEachTask(int lb, int ub, IntConsumer body) {
+      this.lo = lb;
+      this.hi = ub;
+      this.action = body;
+    } // ForEachTask(int, int, IntConsumer)
+
+    /**
+     * Run the action, splitting the range if it has more than one index.
+     */
+    @Override
+    protected void compute() {
+      if (this.hi - this.lo == 1) {
+        this.action.accept(this.lo);
+      } else if (this.hi - this.lo > 1) {
+        int mid = (this.lo + this.hi) >>> 1;
+        RecursiveAction.invokeAll(new ForEachTask(this.lo, mid, this.action),
+            new ForEachTask(mid, this.hi, this.action));
+      } // if-else
+    } // compute()
+  } // class ForEachTask
+} // class ParallelSampleSorter
@@ -0,0 +1,195 @@
+package edu.grinnell.csc207.sorting;
+
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A parallel version of StroudDavid sort. Each partition step is the same as in
+ * StroudDavidSort, but the two resulting sections are sorted as separate tasks on a
+ * ForkJoinPool. Slices below a cutoff are sorted sequentially, so small slices keep
+ * StroudDavid sort's insertion-sort and two-element fast paths. As in StroudDavidSort,
+ * slices whose partitions keep coming out lopsided are heapsorted.
+ *
+ * @param <T> The type one wants to sort.
+ *
+ * @author David William Stroud
+ */
+public class ParallelStroudDavidSort<T> implements Sorter<T> {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /**
+   * The default size below which slices are sorted sequentially.
+   */
+  public static final int DEFAULT_CUTOFF = 8192;
+
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * The sequential sorter used for partitioning and for small slices.
+   */
+  private final StroudDavidSort<T> sequential;
+
+  /**
+   * The pool in which the sorting tasks run.
+   */
+  private final ForkJoinPool pool;
+
+  /**
+   * The size below which slices are sorted sequentially.
+   */
+  private final int cutoff;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Creates a Sorter that uses parallel StroudDavid sort in the common pool.
+   *
+   * @param comparator The comparator to use in this Sorter.
+   */
+  public ParallelStroudDavidSort(Comparator<? super T> comparator) {
+    this(comparator, ForkJoinPool.commonPool(), ParallelStroudDavidSort.DEFAULT_CUTOFF);
+  } // ParallelStroudDavidSort(Comparator<? super T>)
+
+  /**
+   * Creates a Sorter that uses parallel StroudDavid sort in a particular pool.
+   *
+   * @param comparator       The comparator to use in this Sorter.
+   * @param forkJoinPool     The pool in which to run the sorting tasks.
+   * @param sequentialCutoff The size below which slices are sorted sequentially.
+   *                         Must be at least two.
+   */
+  public ParallelStroudDavidSort(Comparator<? super T> comparator, ForkJoinPool forkJoinPool,
+      int sequentialCutoff) {
+    if (sequentialCutoff < 2) {
+      throw new IllegalArgumentException("cutoff must be at least 2, not " + sequentialCutoff);
+    } // if
+    this.sequential = new StroudDavidSort<>(comparator);
+    this.pool = forkJoinPool;
+    this.cutoff = sequentialCutoff;
+  } // ParallelStroudDavidSort(Comparator<? super T>, ForkJoinPool, int)
+
+  // +---------+-----------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Sort an array in place using parallel StroudDavid sort.
+   *
+   * @param values an array to sort.
+   * @post The array has been sorted according to some order (often
+   * one given to the constructor).
+   * @post For all i, 0 &lt; i &lt; values.length,
+   * order.compare(values[i-1], values[i]) &lt;= 0
+   */
+  @Override
+  public void sort(T[] values) {
+    this.sort(values, 0, values.length);
+  } // sort(T[])
+
+  /**
+   * Sort part of an array in place using parallel StroudDavid sort, leaving
+   * the rest of it alone.
+   *
+   * @param values an array, part of which is to be sorted.
+   * @param from   the first index to sort, inclusive.
+   * @param to     the last index to sort, exclusive.
+   */
+  @Override
+  public void sort(T[] values, int from, int to) {
+    Objects.checkFromToIndex(from, to, values.length);
+    SortEvent event = SortEvent.start();
+    int depth = HeapSorter.depthBudget(to - from);
+    if ((to - from) < this.cutoff) {
+      // There is no point in paying for a task when we would sort sequentially anyway.
+      // The slice is sorted directly, so that the event is this sorter's alone.
+      SortWorkspace workspace = SortWorkspace.acquire();
+      try {
+        this.sequential.sortSlice(values, from, to, depth, 0, workspace.bounds());
+      } finally {
+        workspace.release();
+      } // try/finally
+    } else {
+      this.pool.invoke(new SliceTask(values, from, to, depth));
+    } // if-else
+    if (event != null) {
+      event.finish(this, values.getClass().getComponentType(), to - from);
+    } // if
+  } // sort(T[], int, int)
+
+  // +---------------+-----------------------------------------------
+  // | Inner Classes |
+  // +---------------+
+
+  /**
+   * A task that sorts one slice of an array.
+   */
+  private class SliceTask extends RecursiveAction {
+    /**
+     * The version of the serialized form.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The full array to sort.
+     */
+    private final T[] values;
+
+    /**
+     * The first index to sort, inclusive.
+     */
+    private final int start;
+
+    /**
+     * The last index to sort, exclusive.
+     */
+    private final int end;
+
+    /**
+     * The number of partitioning levels left before falling back on heapsort.
+     */
+    private final int depth;
+
+    /**
+     * Creates a task that sorts a slice of an array.
+     *
+     * @param arr    The full array to sort.
+     * @param lb     The first index to sort, inclusive.
+     * @param ub     The last index to sort, exclusive.
+     * @param levels The number of partitioning levels left before falling back on heapsort.
+     */
+    SliceTask(T[] arr, int lb, int ub, int levels) {
+      this.values = arr;
+      this.start = lb;
+      this.end = ub;
+      this.depth = levels;
+    } // SliceTask(T[], int, int, int)
+
+    /**
+     * Sorts the slice, splitting it into subtasks if it is large enough.
+     */
+    @Override
+    protected void compute() {
+      StroudDavidSort<T> seq = ParallelStroudDavidSort.this.sequential;
+      int[] bounds = new int[2];
+      if ((this.end - this.start) < ParallelStroudDavidSort.this.cutoff || this.depth == 0) {
+        seq.sortSlice(this.values, this.start, this.end, this.depth, 0, bounds);
+        return;
+      } // if
+
+      if (!seq.partitionSlice(this.values, this.start, this.end, bounds)) {
+        return;
+      } // if
+      RecursiveAction.invokeAll(
+          new SliceTask(this.values, this.start, bounds[0], this.depth - 1),
+          new SliceTask(this.values, bounds[1], this.end, this.depth - 1));
+    } // compute()
+  } // class SliceTask
+} // class ParallelStroudDavidSort<T>
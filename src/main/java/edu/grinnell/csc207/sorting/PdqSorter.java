@@ -0,0 +1,400 @@
+package edu.grinnell.csc207.sorting;
+
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * Something that sorts using pattern-defeating Quicksort (pdqsort), after
+ * Orson Peters. It is a Quicksort that adapts to the shape of its input:
+ *
+ * <ul>
+ *   <li>Pivots are the median of three elements, or the pseudomedian of nine
+ *     (the "ninther") for large slices.</li>
+ *   <li>When a partition step moves nothing, the slice was probably already
+ *     sorted, so it tries an insertion sort that gives up after a few moves.</li>
+ *   <li>When a partition comes out badly unbalanced, it swaps a few elements
+ *     around to break up whatever pattern caused it, and after too many bad
+ *     partitions it heapsorts the slice.</li>
+ *   <li>When the pivot equals the element just before the slice (the previous
+ *     pivot), every element equal to it is moved left at once and never
+ *     looked at again, so many duplicates take linear time.</li>
+ * </ul>
+ *
+ * @param <T>
+ *   The types of values that are sorted.
+ *
+ * @author David William Stroud
+ */
+
+public class PdqSorter<T> implements Sorter<T> {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /**
+   * Slices shorter than this are sorted with insertion sort.
+   */
+  private static final int INSERTION_SORT_THRESHOLD = 24;
+
+  /**
+   * Slices longer than this use the ninther as the pivot.
+   */
+  private static final int NINTHER_THRESHOLD = 128;
+
+  /**
+   * The number of moves after which a partial insertion sort gives up.
+   */
+  private static final int PARTIAL_INSERTION_SORT_LIMIT = 8;
+
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * The way in which elements are ordered.
+   */
+  Comparator<? super T> order;
+
+  /**
+   * The sorter used once there have been too many bad partitions.
+   */
+  HeapSorter<T> fallback;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a sorter using a particular comparator.
+   *
+   * @param comparator
+   *   The order in which elements in the array should be ordered
+   *   after sorting.
+   */
+  public PdqSorter(Comparator<? super T> comparator) {
+    this.order = comparator;
+    this.fallback = new HeapSorter<>(comparator);
+  } // PdqSorter(Comparator)
+
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Determine whether one value is strictly less than another.
+   * @param x One value.
+   * @param y Another value.
+   * @return true if x comes strictly before y.
+   */
+  private boolean less(T x, T y) {
+    return this.order.compare(x, y) < 0;
+  } // less(T, T)
+
+  /**
+   * Swap two elements of an array.
+   * @param values The array.
+   * @param i The index of one element.
+   * @param j The index of the other element.
+   */
+  private static <T> void swap(T[] values, int i, int j) {
+    T tmp = values[i];
+    values[i] = values[j];
+    values[j] = tmp;
+  } // swap(T[], int, int)
+
+  /**
+   * Sort three elements of an array in place.
+   * @param values The array.
+   * @param a The index that should receive the smallest element.
+   * @param b The index that should receive the middle element.
+   * @param c The index that should receive the largest element.
+   */
+  private void sort3(T[] values, int a, int b, int c) {
+    if (this.less(values[b], values[a])) {
+      PdqSorter.swap(values, a, b);
+    } // if
+    if (this.less(values[c], values[b])) {
+      PdqSorter.swap(values, b, c);
+    } // if
+    if (this.less(values[b], values[a])) {
+      PdqSorter.swap(values, a, b);
+    } // if
+  } // sort3(T[], int, int, int)
+
+  /**
+   * Sorts a slice of an array in place using insertion sort.
+   * @param values The full array to sort.
+   * @param start The first index to sort, inclusive.
+   * @param end The last index to sort, exclusive.
+   * @param guarded false if values[start - 1] is known to be no larger than
+   *   anything in the slice, so the inner loop need not check for the start.
+   */
+  private void insertionSortSlice(T[] values, int start, int end, boolean guarded) {
+    for (int current = start + 1; current < end; current++) {
+      T value = values[current];
+      if (this.less(value, values[current - 1])) {
+        int sift = current;
+        do {
+          values[sift] = values[sift - 1];
+          sift--;
+        } while ((!guarded || sift != start) && this.less(value, values[sift - 1]));
+        values[sift] = value;
+      } // if
+    } // for
+  } // insertionSortSlice(T[], int, int, boolean)
+
+  /**
+   * Attempts to sort a slice of an array with insertion sort, giving up if too
+   * many elements have to be moved.
+   * @param values The full array to sort.
+   * @param start The first index to sort, inclusive.
+   * @param end The last index to sort, exclusive.
+   * @return true if the slice was sorted, and false if we gave up.
+   */
+  private boolean partialInsertionSortSlice(T[] values, int start, int end) {
+    int moved = 0;
+    for (int current = start + 1; current < end; current++) {
+      if (moved > PdqSorter.PARTIAL_INSERTION_SORT_LIMIT) {
+        return false;
+      } // if
+      T value = values[current];
+      if (this.less(value, values[current - 1])) {
+        int sift = current;
+        do {
+          values[sift] = values[sift - 1];
+          sift--;
+        } while (sift != start && this.less(value, values[sift - 1]));
+        values[sift] = value;
+        moved += current - sift;
+      } // if
+    } // for
+    return true;
+  } // partialInsertionSortSlice(T[], int, int)
+
+  /**
+   * Partitions a slice around its first element, putting elements equal to
+   * the pivot on the right. There must be an element no smaller than the
+   * pivot after it in the slice.
+   * @param values The full array.
+   * @param start The first index of the slice, which holds the pivot.
+   * @param end The last index of the slice, exclusive.
+   * @return The final index of the pivot, or its bitwise complement if the
+   *   slice was already partitioned (nothing had to be swapped).
+   */
+  private int partitionRight(T[] values, int start, int end) {
+    T pivot = values[start];
+    int first = start + 1;
+    int last = end;
+
+    // Find the first element no smaller than the pivot. The median-of-three
+    // choice guarantees there is one.
+    while (this.less(values[first], pivot)) {
+      first++;
+    } // while
+
+    // Find the last element smaller than the pivot. If there was none before
+    // first, we must guard against running past first.
+    if (first - 1 == start) {
+      do {
+        last--;
+      } while (first < last && !this.less(values[last], pivot));
+    } else {
+      do {
+        last--;
+      } while (!this.less(values[last], pivot));
+    } // if-else
+
+    boolean alreadyPartitioned = first >= last;
+
+    // Swap pairs of misplaced elements. The pairs found above keep the loops
+    // from running off either end.
+    while (first < last) {
+      PdqSorter.swap(values, first, last);
+      do {
+        first++;
+      } while (this.less(values[first], pivot));
+      do {
+        last--;
+      } while (!this.less(values[last], pivot));
+    } // while
+
+    int pivotIndex = first - 1;
+    values[start] = values[pivotIndex];
+    values[pivotIndex] = pivot;
+    return alreadyPartitioned ? ~pivotIndex : pivotIndex;
+  } // partitionRight(T[], int, int)
+
+  /**
+   * Partitions a slice around its first element, putting elements equal to
+   * the pivot on the left. Used when the pivot equals the element before the
+   * slice, in which case nothing in the slice is smaller than the pivot.
+   * @param values The full array.
+   * @param start The first index of the slice, which holds the pivot.
+   * @param end The last index of the slice, exclusive.
+   * @return The final index of the pivot.
+   */
+  private int partitionLeft(T[] values, int start, int end) {
+    T pivot = values[start];
+    int first = start;
+    int last = end;
+
+    do {
+      last--;
+    } while (this.less(pivot, values[last]));
+
+    if (last + 1 == end) {
+      do {
+        first++;
+      } while (first < last && !this.less(pivot, values[first]));
+    } else {
+      do {
+        first++;
+      } while (!this.less(pivot, values[first]));
+    } // if-else
+
+    while (first < last) {
+      PdqSorter.swap(values, first, last);
+      do {
+        last--;
+      } while (this.less(pivot, values[last]));
+      do {
+        first++;
+      } while (!this.less(pivot, values[first]));
+    } // while
+
+    values[start] = values[last];
+    values[last] = pivot;
+    return last;
+  } // partitionLeft(T[], int, int)
+
+  /**
+   * Swap some elements of a badly partitioned section to break up any
+   * pattern that made the partition bad.
+   * @param values The full array.
+   * @param start The first index of the section, inclusive.
+   * @param end The last index of the section, exclusive.
+   */
+  private static <T> void breakPatterns(T[] values, int start, int end) {
+    int size = end - start;
+    if (size < PdqSorter.INSERTION_SORT_THRESHOLD) {
+      return;
+    } // if
+    int quarter = size / 4;
+    PdqSorter.swap(values, start, start + quarter);
+    PdqSorter.swap(values, end - 1, end - quarter);
+    if (size > PdqSorter.NINTHER_THRESHOLD) {
+      PdqSorter.swap(values, start + 1, start + quarter + 1);
+      PdqSorter.swap(values, start + 2, start + quarter + 2);
+      PdqSorter.swap(values, end - 2, end - quarter - 1);
+      PdqSorter.swap(values, end - 3, end - quarter - 2);
+    } // if
+  } // breakPatterns(T[], int, int)
+
+  // +---------+-----------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Sorts a slice of an array in place.
+   * @param values The full array to sort.
+   * @param start The first index to sort, inclusive.
+   * @param end The last index to sort, exclusive.
+   * @param badAllowed The number of badly unbalanced partitions allowed
+   *   before falling back on heapsort.
+   * @param leftmost true if the slice starts the part of the array being sorted,
+   *   so there is no earlier pivot to act as a sentinel.
+   */
+  private void sortSlice(T[] values, int start, int end, int badAllowed, boolean leftmost) {
+    while (true) {
+      int size = end - start;
+      if (size < PdqSorter.INSERTION_SORT_THRESHOLD) {
+        this.insertionSortSlice(values, start, end, leftmost);
+        return;
+      } // if
+
+      // Move the chosen pivot to values[start].
+      int half = size / 2;
+      if (size > PdqSorter.NINTHER_THRESHOLD) {
+        this.sort3(values, start, start + half, end - 1);
+        this.sort3(values, start + 1, start + half - 1, end - 2);
+        this.sort3(values, start + 2, start + half + 1, end - 3);
+        this.sort3(values, start + half - 1, start + half, start + half + 1);
+        PdqSorter.swap(values, start, start + half);
+      } else {
+        this.sort3(values, start + half, start, end - 1);
+      } // if-else
+
+      // Nothing in the slice is smaller than the previous pivot, values[start - 1].
+      // If the new pivot equals it, the slice has many duplicates, so we put
+      // everything equal to the pivot on the left and never look at it again.
+      if (!leftmost && !this.less(values[start - 1], values[start])) {
+        start = this.partitionLeft(values, start, end) + 1;
+        continue;
+      } // if
+
+      int result = this.partitionRight(values, start, end);
+      boolean alreadyPartitioned = result < 0;
+      int pivotIndex = alreadyPartitioned ? ~result : result;
+
+      int leftSize = pivotIndex - start;
+      int rightSize = end - (pivotIndex + 1);
+      if (leftSize < size / 8 || rightSize < size / 8) {
+        badAllowed--;
+        if (badAllowed == 0) {
+          this.fallback.sortSlice(values, start, end);
+          return;
+        } // if
+        PdqSorter.breakPatterns(values, start, pivotIndex);
+        PdqSorter.breakPatterns(values, pivotIndex + 1, end);
+      } else if (alreadyPartitioned
+          && this.partialInsertionSortSlice(values, start, pivotIndex)
+          && this.partialInsertionSortSlice(values, pivotIndex + 1, end)) {
+        // The slice was balanced and nearly sorted, and now it is sorted.
+        return;
+      } // if-else
+
+      this.sortSlice(values, start, pivotIndex, badAllowed, leftmost);
+      start = pivotIndex + 1;
+      leftmost = false;
+    } // while
+  } // sortSlice(T[], int, int, int, boolean)
+
+  /**
+   * Sort an array in place using pdqsort.
+   *
+   * @param values
+   *   an array to sort.
+   *
+   * @post
+   *   The array has been sorted according to some order (often
+   *   one given to the constructor).
+   * @post
+   *   For all i, 0 &lt; i &lt; values.length,
+   *     order.compare(values[i-1], values[i]) &lt;= 0
+   */
+  @Override
+  public void sort(T[] values) {
+    this.sort(values, 0, values.length);
+  } // sort(T[])
+
+  /**
+   * Sort part of an array in place using pdqsort, leaving the rest of it alone.
+   *
+   * @param values
+   *   an array, part of which is to be sorted.
+   * @param from
+   *   the first index to sort, inclusive.
+   * @param to
+   *   the last index to sort, exclusive.
+   */
+  @Override
+  public void sort(T[] values, int from, int to) {
+    Objects.checkFromToIndex(from, to, values.length);
+    SortEvent event = SortEvent.start();
+    int log2 = Integer.SIZE - 1 - Integer.numberOfLeadingZeros(Math.max(to - from, 1));
+    this.sortSlice(values, from, to, Math.max(log2, 1), true);
+    if (event != null) {
+      event.finish(this, values.getClass().getComponentType(), to - from);
+    } // if
+  } // sort(T[], int, int)
+} // class PdqSorter
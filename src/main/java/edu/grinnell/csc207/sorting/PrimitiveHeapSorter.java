@@ -0,0 +1,221 @@
+package edu.grinnell.csc207.sorting;
+
+/**
+ * Something that sorts arrays of primitive values using heapsort. Like
+ * HeapSorter, this is never faster than a good Quicksort, but it always
+ * takes O(n log n) time and needs no extra memory, so the primitive
+ * Quicksort-based sorters fall back on it when their partitions keep
+ * coming out lopsided.
+ *
+ * @author David William Stroud
+ */
+
+public class PrimitiveHeapSorter implements IntSorter, LongSorter, DoubleSorter {
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a sorter.
+   */
+  public PrimitiveHeapSorter() {
+  } // PrimitiveHeapSorter()
+
+  // +-------+-------------------------------------------------------
+  // | int[] |
+  // +-------+
+
+  /**
+   * Sort an array of ints in place using heapsort.
+   *
+   * @param values
+   *   an array to sort.
+   *
+   * @post
+   *   For all i, 0 &lt; i &lt; values.length,
+   *     Integer.compare(values[i-1], values[i]) &lt;= 0
+   */
+  @Override
+  public void sort(int[] values) {
+    SortEvent event = SortEvent.start();
+    PrimitiveHeapSorter.sortSlice(values, 0, values.length);
+    if (event != null) {
+      event.finish(this, int.class, values.length);
+    } // if
+  } // sort(int[])
+
+  /**
+   * Moves a value down a max-heap until neither of its children is larger.
+   * @param values The array holding the heap.
+   * @param base The index of the root of the heap.
+   * @param parent The position in the heap of the value to move.
+   * @param size The number of values in the heap.
+   */
+  private static void siftDown(int[] values, int base, int parent, int size) {
+    int value = values[base + parent];
+    int child = 2 * parent + 1;
+    while (child < size) {
+      if (child + 1 < size && values[base + child] < values[base + child + 1]) {
+        child++;
+      } // if
+      if (value >= values[base + child]) {
+        break;
+      } // if
+      values[base + parent] = values[base + child];
+      parent = child;
+      child = 2 * parent + 1;
+    } // while
+    values[base + parent] = value;
+  } // siftDown(int[], int, int, int)
+
+  /**
+   * Sorts a slice of an array in place.
+   * @param values The full array to sort.
+   * @param start The first index to sort, inclusive.
+   * @param end The last index to sort, exclusive.
+   */
+  static void sortSlice(int[] values, int start, int end) {
+    int size = end - start;
+    for (int parent = size / 2 - 1; parent >= 0; parent--) {
+      PrimitiveHeapSorter.siftDown(values, start, parent, size);
+    } // for
+    for (int last = size - 1; last > 0; last--) {
+      int largest = values[start];
+      values[start] = values[start + last];
+      values[start + last] = largest;
+      PrimitiveHeapSorter.siftDown(values, start, 0, last);
+    } // for
+  } // sortSlice(int[], int, int)
+
+  // +--------+------------------------------------------------------
+  // | long[] |
+  // +--------+
+
+  /**
+   * Sort an array of longs in place using heapsort.
+   *
+   * @param values
+   *   an array to sort.
+   *
+   * @post
+   *   For all i, 0 &lt; i &lt; values.length,
+   *     Long.compare(values[i-1], values[i]) &lt;= 0
+   */
+  @Override
+  public void sort(long[] values) {
+    SortEvent event = SortEvent.start();
+    PrimitiveHeapSorter.sortSlice(values, 0, values.length);
+    if (event != null) {
+      event.finish(this, long.class, values.length);
+    } // if
+  } // sort(long[])
+
+  /**
+   * Moves a value down a max-heap until neither of its children is larger.
+   * @param values The array holding the heap.
+   * @param base The index of the root of the heap.
+   * @param parent The position in the heap of the value to move.
+   * @param size The number of values in the heap.
+   */
+  private static void siftDown(long[] values, int base, int parent, int size) {
+    long value = values[base + parent];
+    int child = 2 * parent + 1;
+    while (child < size) {
+      if (child + 1 < size && values[base + child] < values[base + child + 1]) {
+        child++;
+      } // if
+      if (value >= values[base + child]) {
+        break;
+      } // if
+      values[base + parent] = values[base + child];
+      parent = child;
+      child = 2 * parent + 1;
+    } // while
+    values[base + parent] = value;
+  } // siftDown(long[], int, int, int)
+
+  /**
+   * Sorts a slice of an array in place.
+   * @param values The full array to sort.
+   * @param start The first index to sort, inclusive.
+   * @param end The last index to sort, exclusive.
+   */
+  static void sortSlice(long[] values, int start, int end) {
+    int size = end - start;
+    for (int parent = size / 2 - 1; parent >= 0; parent--) {
+      PrimitiveHeapSorter.siftDown(values, start, parent, size);
+    } // for
+    for (int last = size - 1; last > 0; last--) {
+      long largest = values[start];
+      values[start] = values[start + last];
+      values[start + last] = largest;
+      PrimitiveHeapSorter.siftDown(values, start, 0, last);
+    } // for
+  } // sortSlice(long[], int, int)
+
+  // +----------+----------------------------------------------------
+  // | double[] |
+  // +----------+
+
+  /**
+   * Sort an array of doubles in place using heapsort.
+   *
+   * @param values
+   *   an array to sort.
+   *
+   * @post
+   *   For all i, 0 &lt; i &lt; values.length,
+   *     Double.compare(values[i-1], values[i]) &lt;= 0
+   */
+  @Override
+  public void sort(double[] values) {
+    SortEvent event = SortEvent.start();
+    PrimitiveHeapSorter.sortSlice(values, 0, values.length);
+    if (event != null) {
+      event.finish(this, double.class, values.length);
+    } // if
+  } // sort(double[])
+
+  /**
+   * Moves a value down a max-heap until neither of its children is larger.
+   * @param values The array holding the heap.
+   * @param base The index of the root of the heap.
+   * @param parent The position in the heap of the value to move.
+   * @param size The number of values in the heap.
+   */
+  private static void siftDown(double[] values, int base, int parent, int size) {
+    double value = values[base + parent];
+    int child = 2 * parent + 1;
+    while (child < size) {
+      if (child + 1 < size && Double.compare(values[base + child], values[base + child + 1]) < 0) {
+        child++;
+      } // if
+      if (Double.compare(value, values[base + child]) >= 0) {
+        break;
+      } // if
+      values[base + parent] = values[base + child];
+      parent = child;
+      child = 2 * parent + 1;
+    } // while
+    values[base + parent] = value;
+  } // siftDown(double[], int, int, int)
+
+  /**
+   * Sorts a slice of an array in place.
+   * @param values The full array to sort.
+   * @param start The first index to sort, inclusive.
+   * @param end The last index to sort, exclusive.
+   */
+  static void sortSlice(double[] values, int start, int end) {
+    int size = end - start;
+    for (int parent = size / 2 - 1; parent >= 0; parent--) {
+      PrimitiveHeapSorter.siftDown(values, start, parent, size);
+    } // for
+    for (int last = size - 1; last > 0; last--) {
+      double largest = values[start];
+      values[start] = values[start + last];
+      values[start + last] = largest;
+      PrimitiveHeapSorter.siftDown(values, start, 0, last);
+    } // for
+  } // sortSlice(double[], int, int)
+} // class PrimitiveHeapSorter
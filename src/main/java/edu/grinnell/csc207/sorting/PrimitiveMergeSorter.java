@@ -0,0 +1,250 @@
+package edu.grinnell.csc207.sorting;
+
+/**
+ * Something that sorts arrays of primitive values using merge sort.
+ *
+ * @author David William Stroud
+ */
+
+public class PrimitiveMergeSorter implements IntSorter, LongSorter, DoubleSorter {
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a sorter.
+   */
+  public PrimitiveMergeSorter() {
+  } // PrimitiveMergeSorter()
+
+  // +-------+-------------------------------------------------------
+  // | int[] |
+  // +-------+
+
+  /**
+   * Sort an array of ints in place using merge sort.
+   *
+   * @param values
+   *   an array to sort.
+   *
+   * @post
+   *   For all i, 0 &lt; i &lt; values.length,
+   *     Integer.compare(values[i-1], values[i]) &lt;= 0
+   */
+  @Override
+  public void sort(int[] values) {
+    SortEvent event = SortEvent.start();
+    SortWorkspace workspace = SortWorkspace.acquire();
+    try {
+      int[] valuesCopy = workspace.ints(values.length);
+      System.arraycopy(values, 0, valuesCopy, 0, values.length);
+      PrimitiveMergeSorter.sortSlice(valuesCopy, 0, values.length, values);
+    } finally {
+      workspace.release();
+    } // try/finally
+    if (event != null) {
+      event.finish(this, int.class, values.length);
+    } // if
+  } // sort(int[])
+
+  /**
+   * Merges two sorted sub-arrays into one.
+   * @param values The input array to use.
+   * @param output The output array to use.
+   *               The sorted values will be placed at the indices [start, end).
+   * @param start The first index of the first sub-array, inclusive.
+   * @param middle The end of the first sub-array, exclusive, and the
+   *               start of the second, inclusive.
+   * @param end The end of the second sub-array, exclusive.
+   */
+  private static void merge(int[] values, int[] output, int start, int middle, int end) {
+    int atFirst = start;
+    int atSecond = middle;
+    int index = start;
+    while (atFirst < middle && atSecond < end) {
+      if (values[atFirst] <= values[atSecond]) {
+        output[index++] = values[atFirst++];
+      } else {
+        output[index++] = values[atSecond++];
+      } // if-else
+    } // while
+    System.arraycopy(values, atFirst, output, index, middle - atFirst);
+    System.arraycopy(values, atSecond, output, index + (middle - atFirst), end - atSecond);
+  } // merge(int[], int[], int, int, int)
+
+  /**
+   * Sorts a slice of an array out of place.
+   * @param values The full array to sort. Must hold the same values as output
+   *               in the slice; it is used as scratch space.
+   * @param start The first index to sort, inclusive.
+   * @param end The last index to sort, exclusive.
+   * @param output The array to be used for output.
+   */
+  private static void sortSlice(int[] values, int start, int end, int[] output) {
+    if ((end - start) < 2) {
+      // The slice has fewer than two elements, so it is sorted.
+      System.arraycopy(values, start, output, start, end - start);
+      return;
+    } // if
+
+    int middle = (start + end) >>> 1;
+    PrimitiveMergeSorter.sortSlice(output, start, middle, values);
+    PrimitiveMergeSorter.sortSlice(output, middle, end, values);
+
+    PrimitiveMergeSorter.merge(values, output, start, middle, end);
+  } // sortSlice(int[], int, int, int[])
+
+  // +--------+------------------------------------------------------
+  // | long[] |
+  // +--------+
+
+  /**
+   * Sort an array of longs in place using merge sort.
+   *
+   * @param values
+   *   an array to sort.
+   *
+   * @post
+   *   For all i, 0 &lt; i &lt; values.length,
+   *     Long.compare(values[i-1], values[i]) &lt;= 0
+   */
+  @Override
+  public void sort(long[] values) {
+    SortEvent event = SortEvent.start();
+    SortWorkspace workspace = SortWorkspace.acquire();
+    try {
+      long[] valuesCopy = workspace.longs(values.length);
+      System.arraycopy(values, 0, valuesCopy, 0, values.length);
+      PrimitiveMergeSorter.sortSlice(valuesCopy, 0, values.length, values);
+    } finally {
+      workspace.release();
+    } // try/finally
+    if (event != null) {
+      event.finish(this, long.class, values.length);
+    } // if
+  } // sort(long[])
+
+  /**
+   * Merges two sorted sub-arrays into one.
+   * @param values The input array to use.
+   * @param output The output array to use.
+   *               The sorted values will be placed at the indices [start, end).
+   * @param start The first index of the first sub-array, inclusive.
+   * @param middle The end of the first sub-array, exclusive, and the
+   *               start of the second, inclusive.
+   * @param end The end of the second sub-array, exclusive.
+   */
+  private static void merge(long[] values, long[] output, int start, int middle, int end) {
+    int atFirst = start;
+    int atSecond = middle;
+    int index = start;
+    while (atFirst < middle && atSecond < end) {
+      if (values[atFirst] <= values[atSecond]) {
+        output[index++] = values[atFirst++];
+      } else {
+        output[index++] = values[atSecond++];
+      } // if-else
+    } // while
+    System.arraycopy(values, atFirst, output, index, middle - atFirst);
+    System.arraycopy(values, atSecond, output, index + (middle - atFirst), end - atSecond);
+  } // merge(long[], long[], int, int, int)
+
+  /**
+   * Sorts a slice of an array out of place.
+   * @param values The full array to sort. Must hold the same values as output
+   *               in the slice; it is used as scratch space.
+   * @param start The first index to sort, inclusive.
+   * @param end The last index to sort, exclusive.
+   * @param output The array to be used for output.
+   */
+  private static void sortSlice(long[] values, int start, int end, long[] output) {
+    if ((end - start) < 2) {
+      // The slice has fewer than two elements, so it is sorted.
+      System.arraycopy(values, start, output, start, end - start);
+      return;
+    } // if
+
+    int middle = (start + end) >>> 1;
+    PrimitiveMergeSorter.sortSlice(output, start, middle, values);
+    PrimitiveMergeSorter.sortSlice(output, middle, end, values);
+
+    PrimitiveMergeSorter.merge(values, output, start, middle, end);
+  } // sortSlice(long[], int, int, long[])
+
+  // +----------+----------------------------------------------------
+  // | double[] |
+  // +----------+
+
+  /**
+   * Sort an array of doubles in place using merge sort.
+   *
+   * @param values
+   *   an array to sort.
+   *
+   * @post
+   *   For all i, 0 &lt; i &lt; values.length,
+   *     Double.compare(values[i-1], values[i]) &lt;= 0
+   */
+  @Override
+  public void sort(double[] values) {
+    SortEvent event = SortEvent.start();
+    SortWorkspace workspace = SortWorkspace.acquire();
+    try {
+      double[] valuesCopy = workspace.doubles(values.length);
+      System.arraycopy(values, 0, valuesCopy, 0, values.length);
+      PrimitiveMergeSorter.sortSlice(valuesCopy, 0, values.length, values);
+    } finally {
+      workspace.release();
+    } // try/finally
+    if (event != null) {
+      event.finish(this, double.class, values.length);
+    } // if
+  } // sort(double[])
+
+  /**
+   * Merges two sorted sub-arrays into one.
+   * @param values The input array to use.
+   * @param output The output array to use.
+   *               The sorted values will be placed at the indices [start, end).
+   * @param start The first index of the first sub-array, inclusive.
+   * @param middle The end of the first sub-array, exclusive, and the
+   *               start of the second, inclusive.
+   * @param end The end of the second sub-array, exclusive.
+   */
+  private static void merge(double[] values, double[] output, int start, int middle, int end) {
+    int atFirst = start;
+    int atSecond = middle;
+    int index = start;
+    while (atFirst < middle && atSecond < end) {
+      if (Double.compare(values[atFirst], values[atSecond]) <= 0) {
+        output[index++] = values[atFirst++];
+      } else {
+        output[index++] = values[atSecond++];
+      } // if-else
+    } // while
+    System.arraycopy(values, atFirst, output, index, middle - atFirst);
+    System.arraycopy(values, atSecond, output, index + (middle - atFirst), end - atSecond);
+  } // merge(double[], double[], int, int, int)
+
+  /**
+   * Sorts a slice of an array out of place.
+   * @param values The full array to sort. Must hold the same values as output
+   *               in the slice; it is used as scratch space.
+   * @param start The first index to sort, inclusive.
+   * @param end The last index to sort, exclusive.
+   * @param output The array to be used for output.
+   */
+  private static void sortSlice(double[] values, int start, int end, double[] output) {
+    if ((end - start) < 2) {
+      // The slice has fewer than two elements, so it is sorted.
+      System.arraycopy(values, start, output, start, end - start);
+      return;
+    } // if
+
+    int middle = (start + end) >>> 1;
+    PrimitiveMergeSorter.sortSlice(output, start, middle, values);
+    PrimitiveMergeSorter.sortSlice(output, middle, end, values);
+
+    PrimitiveMergeSorter.merge(values, output, start, middle, end);
+  } // sortSlice(double[], int, int, double[])
+} // class PrimitiveMergeSorter
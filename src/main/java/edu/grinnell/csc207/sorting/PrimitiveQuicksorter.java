@@ -0,0 +1,250 @@
+package edu.grinnell.csc207.sorting;
+
+/**
+ * Something that sorts arrays of primitive values using Quicksort.
+ *
+ * @author David William Stroud
+ */
+
+public class PrimitiveQuicksorter implements IntSorter, LongSorter, DoubleSorter {
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a sorter.
+   */
+  public PrimitiveQuicksorter() {
+  } // PrimitiveQuicksorter()
+
+  // +-------+-------------------------------------------------------
+  // | int[] |
+  // +-------+
+
+  /**
+   * Sort an array of ints in place using Quicksort.
+   *
+   * @param values
+   *   an array to sort.
+   *
+   * @post
+   *   For all i, 0 &lt; i &lt; values.length,
+   *     Integer.compare(values[i-1], values[i]) &lt;= 0
+   */
+  @Override
+  public void sort(int[] values) {
+    SortEvent event = SortEvent.start();
+    PrimitiveQuicksorter.sortSlice(values, 0, values.length, HeapSorter.depthBudget(values.length));
+    if (event != null) {
+      event.finish(this, int.class, values.length);
+    } // if
+  } // sort(int[])
+
+  /**
+   * Sorts a slice of an array in place, partitioning it into elements less
+   * than, equal to, and greater than the middle element. To keep the stack
+   * shallow, this recurses on the smaller section and loops on the larger one.
+   * If the partitions are so lopsided that the depth budget runs out, the rest
+   * of the slice is heapsorted, so the sort never takes more than O(n log n) time.
+   *
+   * @param values The full array to sort.
+   * @param start The first index to sort, inclusive.
+   * @param end The last index to sort, exclusive.
+   * @param depth The number of partitioning levels left before falling back on
+   *   heapsort.
+   */
+  private static void sortSlice(int[] values, int start, int end, int depth) {
+    while (true) {
+      if ((end - start) < 2) {
+        // This slice is already sorted, since it either has
+        // one or zero elements.
+        return;
+      } // if
+
+      if (depth == 0) {
+        PrimitiveHeapSorter.sortSlice(values, start, end);
+        return;
+      } // if
+      depth--;
+
+      int pivot = values[(start + end) >>> 1];
+      int startEqual = start;
+      int startGt = end;
+      for (int index = start; index < startGt;) {
+        int value = values[index];
+        if (value < pivot) {
+          values[index++] = values[startEqual];
+          values[startEqual++] = value;
+        } else if (value > pivot) {
+          values[index] = values[--startGt];
+          values[startGt] = value;
+        } else {
+          // The pivot is equal to the value.
+          index++;
+        } // if-else
+      } // for
+
+      if ((startEqual - start) < (end - startGt)) {
+        PrimitiveQuicksorter.sortSlice(values, start, startEqual, depth);
+        start = startGt;
+      } else {
+        PrimitiveQuicksorter.sortSlice(values, startGt, end, depth);
+        end = startEqual;
+      } // if-else
+    } // while
+  } // sortSlice(int[], int, int, int)
+
+  // +--------+------------------------------------------------------
+  // | long[] |
+  // +--------+
+
+  /**
+   * Sort an array of longs in place using Quicksort.
+   *
+   * @param values
+   *   an array to sort.
+   *
+   * @post
+   *   For all i, 0 &lt; i &lt; values.length,
+   *     Long.compare(values[i-1], values[i]) &lt;= 0
+   */
+  @Override
+  public void sort(long[] values) {
+    SortEvent event = SortEvent.start();
+    PrimitiveQuicksorter.sortSlice(values, 0, values.length, HeapSorter.depthBudget(values.length));
+    if (event != null) {
+      event.finish(this, long.class, values.length);
+    } // if
+  } // sort(long[])
+
+  /**
+   * Sorts a slice of an array in place, partitioning it into elements less
+   * than, equal to, and greater than the middle element. To keep the stack
+   * shallow, this recurses on the smaller section and loops on the larger one.
+   * If the partitions are so lopsided that the depth budget runs out, the rest
+   * of the slice is heapsorted, so the sort never takes more than O(n log n) time.
+   *
+   * @param values The full array to sort.
+   * @param start The first index to sort, inclusive.
+   * @param end The last index to sort, exclusive.
+   * @param depth The number of partitioning levels left before falling back on
+   *   heapsort.
+   */
+  private static void sortSlice(long[] values, int start, int end, int depth) {
+    while (true) {
+      if ((end - start) < 2) {
+        // This slice is already sorted, since it either has
+        // one or zero elements.
+        return;
+      } // if
+
+      if (depth == 0) {
+        PrimitiveHeapSorter.sortSlice(values, start, end);
+        return;
+      } // if
+      depth--;
+
+      long pivot = values[(start + end) >>> 1];
+      int startEqual = start;
+      int startGt = end;
+      for (int index = start; index < startGt;) {
+        long value = values[index];
+        if (value < pivot) {
+          values[index++] = values[startEqual];
+          values[startEqual++] = value;
+        } else if (value > pivot) {
+          values[index] = values[--startGt];
+          values[startGt] = value;
+        } else {
+          // The pivot is equal to the value.
+          index++;
+        } // if-else
+      } // for
+
+      if ((startEqual - start) < (end - startGt)) {
+        PrimitiveQuicksorter.sortSlice(values, start, startEqual, depth);
+        start = startGt;
+      } else {
+        PrimitiveQuicksorter.sortSlice(values, startGt, end, depth);
+        end = startEqual;
+      } // if-else
+    } // while
+  } // sortSlice(long[], int, int, int)
+
+  // +----------+----------------------------------------------------
+  // | double[] |
+  // +----------+
+
+  /**
+   * Sort an array of doubles in place using Quicksort.
+   *
+   * @param values
+   *   an array to sort.
+   *
+   * @post
+   *   For all i, 0 &lt; i &lt; values.length,
+   *     Double.compare(values[i-1], values[i]) &lt;= 0
+   */
+  @Override
+  public void sort(double[] values) {
+    SortEvent event = SortEvent.start();
+    PrimitiveQuicksorter.sortSlice(values, 0, values.length, HeapSorter.depthBudget(values.length));
+    if (event != null) {
+      event.finish(this, double.class, values.length);
+    } // if
+  } // sort(double[])
+
+  /**
+   * Sorts a slice of an array in place, partitioning it into elements less
+   * than, equal to, and greater than the middle element. To keep the stack
+   * shallow, this recurses on the smaller section and loops on the larger one.
+   * If the partitions are so lopsided that the depth budget runs out, the rest
+   * of the slice is heapsorted, so the sort never takes more than O(n log n) time.
+   *
+   * @param values The full array to sort.
+   * @param start The first index to sort, inclusive.
+   * @param end The last index to sort, exclusive.
+   * @param depth The number of partitioning levels left before falling back on
+   *   heapsort.
+   */
+  private static void sortSlice(double[] values, int start, int end, int depth) {
+    while (true) {
+      if ((end - start) < 2) {
+        // This slice is already sorted, since it either has
+        // one or zero elements.
+        return;
+      } // if
+
+      if (depth == 0) {
+        PrimitiveHeapSorter.sortSlice(values, start, end);
+        return;
+      } // if
+      depth--;
+
+      double pivot = values[(start + end) >>> 1];
+      int startEqual = start;
+      int startGt = end;
+      for (int index = start; index < startGt;) {
+        double value = values[index];
+        if (Double.compare(value, pivot) < 0) {
+          values[index++] = values[startEqual];
+          values[startEqual++] = value;
+        } else if (Double.compare(value, pivot) > 0) {
+          values[index] = values[--startGt];
+          values[startGt] = value;
+        } else {
+          // The pivot is equal to the value.
+          index++;
+        } // if-else
+      } // for
+
+      if ((startEqual - start) < (end - startGt)) {
+        PrimitiveQuicksorter.sortSlice(values, start, startEqual, depth);
+        start = startGt;
+      } else {
+        PrimitiveQuicksorter.sortSlice(values, startGt, end, depth);
+        end = startEqual;
+      } // if-else
+    } // while
+  } // sortSlice(double[], int, int, int)
+} // class PrimitiveQuicksorter
@@ -0,0 +1,428 @@
+package edu.grinnell.csc207.sorting;
+
+/**
+ * StroudDavid sort specialized for arrays of primitive values. This uses the
+ * same pivot heuristics and fast paths as StroudDavidSort, but compares the
+ * values directly instead of boxing them and calling a Comparator. When the
+ * first of the three candidate pivots is larger than the middle one, this
+ * takes their median rather than the first, so that reverse-sorted slices
+ * are split evenly.
+ *
+ * @author David William Stroud
+ */
+public class PrimitiveStroudDavidSort implements IntSorter, LongSorter, DoubleSorter {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /**
+   * This integer represents the minimum length of an array required to apply any heuristics.
+   */
+  private static final int MIN_FOR_HEURISTICS = 15;
+
+  /**
+   * This integer represents the maximum length of an array before falling back on insertion sort
+   * becomes impractical.
+   */
+  private static final int MAX_FOR_INSERTION_SORT = 20;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Creates a sorter that uses StroudDavid sort on primitive arrays.
+   */
+  public PrimitiveStroudDavidSort() {
+  } // PrimitiveStroudDavidSort()
+
+  // +-------+-------------------------------------------------------
+  // | int[] |
+  // +-------+
+
+  /**
+   * Sort an array of ints in place using StroudDavid sort.
+   *
+   * @param values an array to sort.
+   * @post For all i, 0 &lt; i &lt; values.length,
+   * Integer.compare(values[i-1], values[i]) &lt;= 0
+   */
+  @Override
+  public void sort(int[] values) {
+    SortEvent event = SortEvent.start();
+    PrimitiveStroudDavidSort.sortSlice(values, 0, values.length,
+        HeapSorter.depthBudget(values.length));
+    if (event != null) {
+      event.finish(this, int.class, values.length);
+    } // if
+  } // sort(int[])
+
+  /**
+   * Sorts a slice of an array in place using insertion sort.
+   *
+   * @param values The full array to sort.
+   * @param start  The first index to sort, inclusive.
+   * @param end    The last index to sort, exclusive.
+   */
+  private static void insertionSortSlice(int[] values, int start, int end) {
+    for (int unprocessedStart = start + 1; unprocessedStart < end; unprocessedStart++) {
+      int value = values[unprocessedStart];
+      int index = unprocessedStart - 1;
+      while (index >= start && value < values[index]) {
+        values[index + 1] = values[index];
+        index--;
+      } // while
+      values[index + 1] = value;
+    } // for
+  } // insertionSortSlice(int[], int, int)
+
+  /**
+   * Sorts a slice of an array in place using StroudDavid sort. To keep the stack
+   * shallow, this recurses on the smaller section and loops on the larger one.
+   * If the partitions are so lopsided that the depth budget runs out, the rest
+   * of the slice is heapsorted, so the sort never takes more than O(n log n) time.
+   *
+   * @param values The full array to sort.
+   * @param start  The first index to sort, inclusive.
+   * @param end    The last index to sort, exclusive.
+   * @param depth  The number of partitioning levels left before falling back on heapsort.
+   */
+  private static void sortSlice(int[] values, int start, int end, int depth) {
+    while (true) {
+      int size = end - start;
+      if (size == 2) {
+        // Optimization: this sort can be done with a single comparison.
+        int first = values[start];
+        int second = values[end - 1];
+        if (first > second) {
+          values[start] = second;
+          values[end - 1] = first;
+        } // if
+        return;
+      } // if
+      if (size < 2) {
+        // Optimization: this slice is already sorted.
+        return;
+      } // if
+
+      if (depth == 0) {
+        PrimitiveHeapSorter.sortSlice(values, start, end);
+        return;
+      } // if
+      depth--;
+
+      int lowPivot = values[start];
+      int midPivot = values[(start + end) >>> 1];
+      int highPivot = values[end - 1];
+
+      int pivot;
+      if (size < PrimitiveStroudDavidSort.MIN_FOR_HEURISTICS) {
+        pivot = midPivot;
+      } else {
+        if (lowPivot <= midPivot) {
+          if (midPivot <= highPivot) {
+            // Heuristic: the pivots are already sorted, so the slice may be too.
+            int candidate = values[start + (size >>> 2)];
+            if (size < PrimitiveStroudDavidSort.MAX_FOR_INSERTION_SORT
+                    && lowPivot <= candidate
+                    && candidate <= midPivot) {
+              PrimitiveStroudDavidSort.insertionSortSlice(values, start, end);
+              return;
+            } // if
+          } // if
+          pivot = midPivot;
+        } else if (midPivot >= highPivot) {
+          // Heuristic: the pivots are in descending order, so the slice may be
+          // reversed. The middle one is their median.
+          pivot = midPivot;
+        } else {
+          pivot = (lowPivot <= highPivot) ? lowPivot : highPivot;
+        } // if-else
+      } // if-else
+
+      int startEqual = start;
+      int startGt = end;
+      for (int index = start; index < startGt;) {
+        int value = values[index];
+        if (value < pivot) {
+          values[index++] = values[startEqual];
+          values[startEqual++] = value;
+        } else if (value > pivot) {
+          values[index] = values[--startGt];
+          values[startGt] = value;
+        } else {
+          // The pivot is equal to the value.
+          index++;
+        } // if-else
+      } // for
+
+      if ((startEqual - start) < (end - startGt)) {
+        PrimitiveStroudDavidSort.sortSlice(values, start, startEqual, depth);
+        start = startGt;
+      } else {
+        PrimitiveStroudDavidSort.sortSlice(values, startGt, end, depth);
+        end = startEqual;
+      } // if-else
+    } // while
+  } // sortSlice(int[], int, int, int)
+
+  // +--------+------------------------------------------------------
+  // | long[] |
+  // +--------+
+
+  /**
+   * Sort an array of longs in place using StroudDavid sort.
+   *
+   * @param values an array to sort.
+   * @post For all i, 0 &lt; i &lt; values.length,
+   * Long.compare(values[i-1], values[i]) &lt;= 0
+   */
+  @Override
+  public void sort(long[] values) {
+    SortEvent event = SortEvent.start();
+    PrimitiveStroudDavidSort.sortSlice(values, 0, values.length,
+        HeapSorter.depthBudget(values.length));
+    if (event != null) {
+      event.finish(this, long.class, values.length);
+    } // if
+  } // sort(long[])
+
+  /**
+   * Sorts a slice of an array in place using insertion sort.
+   *
+   * @param values The full array to sort.
+   * @param start  The first index to sort, inclusive.
+   * @param end    The last index to sort, exclusive.
+   */
+  private static void insertionSortSlice(long[] values, int start, int end) {
+    for (int unprocessedStart = start + 1; unprocessedStart < end; unprocessedStart++) {
+      long value = values[unprocessedStart];
+      int index = unprocessedStart - 1;
+      while (index >= start && value < values[index]) {
+        values[index + 1] = values[index];
+        index--;
+      } // while
+      values[index + 1] = value;
+    } // for
+  } // insertionSortSlice(long[], int, int)
+
+  /**
+   * Sorts a slice of an array in place using StroudDavid sort. To keep the stack
+   * shallow, this recurses on the smaller section and loops on the larger one.
+   * If the partitions are so lopsided that the depth budget runs out, the rest
+   * of the slice is heapsorted, so the sort never takes more than O(n log n) time.
+   *
+   * @param values The full array to sort.
+   * @param start  The first index to sort, inclusive.
+   * @param end    The last index to sort, exclusive.
+   * @param depth  The number of partitioning levels left before falling back on heapsort.
+   */
+  private static void sortSlice(long[] values, int start, int end, int depth) {
+    while (true) {
+      int size = end - start;
+      if (size == 2) {
+        // Optimization: this sort can be done with a single comparison.
+        long first = values[start];
+        long second = values[end - 1];
+        if (first > second) {
+          values[start] = second;
+          values[end - 1] = first;
+        } // if
+        return;
+      } // if
+      if (size < 2) {
+        // Optimization: this slice is already sorted.
+        return;
+      } // if
+
+      if (depth == 0) {
+        PrimitiveHeapSorter.sortSlice(values, start, end);
+        return;
+      } // if
+      depth--;
+
+      long lowPivot = values[start];
+      long midPivot = values[(start + end) >>> 1];
+      long highPivot = values[end - 1];
+
+      long pivot;
+      if (size < PrimitiveStroudDavidSort.MIN_FOR_HEURISTICS) {
+        pivot = midPivot;
+      } else {
+        if (lowPivot <= midPivot) {
+          if (midPivot <= highPivot) {
+            // Heuristic: the pivots are already sorted, so the slice may be too.
+            long candidate = values[start + (size >>> 2)];
+            if (size < PrimitiveStroudDavidSort.MAX_FOR_INSERTION_SORT
+                    && lowPivot <= candidate
+                    && candidate <= midPivot) {
+              PrimitiveStroudDavidSort.insertionSortSlice(values, start, end);
+              return;
+            } // if
+          } // if
+          pivot = midPivot;
+        } else if (midPivot >= highPivot) {
+          // Heuristic: the pivots are in descending order, so the slice may be
+          // reversed. The middle one is their median.
+          pivot = midPivot;
+        } else {
+          pivot = (lowPivot <= highPivot) ? lowPivot : highPivot;
+        } // if-else
+      } // if-else
+
+      int startEqual = start;
+      int startGt = end;
+      for (int index = start; index < startGt;) {
+        long value = values[index];
+        if (value < pivot) {
+          values[index++] = values[startEqual];
+          values[startEqual++] = value;
+        } else if (value > pivot) {
+          values[index] = values[--startGt];
+          values[startGt] = value;
+        } else {
+          // The pivot is equal to the value.
+          index++;
+        } // if-else
+      } // for
+
+      if ((startEqual - start) < (end - startGt)) {
+        PrimitiveStroudDavidSort.sortSlice(values, start, startEqual, depth);
+        start = startGt;
+      } else {
+        PrimitiveStroudDavidSort.sortSlice(values, startGt, end, depth);
+        end = startEqual;
+      } // if-else
+    } // while
+  } // sortSlice(long[], int, int, int)
+
+  // +----------+----------------------------------------------------
+  // | double[] |
+  // +----------+
+
+  /**
+   * Sort an array of doubles in place using StroudDavid sort.
+   *
+   * @param values an array to sort.
+   * @post For all i, 0 &lt; i &lt; values.length,
+   * Double.compare(values[i-1], values[i]) &lt;= 0
+   */
+  @Override
+  public void sort(double[] values) {
+    SortEvent event = SortEvent.start();
+    PrimitiveStroudDavidSort.sortSlice(values, 0, values.length,
+        HeapSorter.depthBudget(values.length));
+    if (event != null) {
+      event.finish(this, double.class, values.length);
+    } // if
+  } // sort(double[])
+
+  /**
+   * Sorts a slice of an array in place using insertion sort.
+   *
+   * @param values The full array to sort.
+   * @param start  The first index to sort, inclusive.
+   * @param end    The last index to sort, exclusive.
+   */
+  private static void insertionSortSlice(double[] values, int start, int end) {
+    for (int unprocessedStart = start + 1; unprocessedStart < end; unprocessedStart++) {
+      double value = values[unprocessedStart];
+      int index = unprocessedStart - 1;
+      while (index >= start && Double.compare(value, values[index]) < 0) {
+        values[index + 1] = values[index];
+        index--;
+      } // while
+      values[index + 1] = value;
+    } // for
+  } // insertionSortSlice(double[], int, int)
+
+  /**
+   * Sorts a slice of an array in place using StroudDavid sort. To keep the stack
+   * shallow, this recurses on the smaller section and loops on the larger one.
+   * If the partitions are so lopsided that the depth budget runs out, the rest
+   * of the slice is heapsorted, so the sort never takes more than O(n log n) time.
+   *
+   * @param values The full array to sort.
+   * @param start  The first index to sort, inclusive.
+   * @param end    The last index to sort, exclusive.
+   * @param depth  The number of partitioning levels left before falling back on heapsort.
+   */
+  private static void sortSlice(double[] values, int start, int end, int depth) {
+    while (true) {
+      int size = end - start;
+      if (size == 2) {
+        // Optimization: this sort can be done with a single comparison.
+        double first = values[start];
+        double second = values[end - 1];
+        if (Double.compare(first, second) > 0) {
+          values[start] = second;
+          values[end - 1] = first;
+        } // if
+        return;
+      } // if
+      if (size < 2) {
+        // Optimization: this slice is already sorted.
+        return;
+      } // if
+
+      if (depth == 0) {
+        PrimitiveHeapSorter.sortSlice(values, start, end);
+        return;
+      } // if
+      depth--;
+
+      double lowPivot = values[start];
+      double midPivot = values[(start + end) >>> 1];
+      double highPivot = values[end - 1];
+
+      double pivot;
+      if (size < PrimitiveStroudDavidSort.MIN_FOR_HEURISTICS) {
+        pivot = midPivot;
+      } else {
+        if (Double.compare(lowPivot, midPivot) <= 0) {
+          if (Double.compare(midPivot, highPivot) <= 0) {
+            // Heuristic: the pivots are already sorted, so the slice may be too.
+            double candidate = values[start + (size >>> 2)];
+            if (size < PrimitiveStroudDavidSort.MAX_FOR_INSERTION_SORT
+                    && Double.compare(lowPivot, candidate) <= 0
+                    && Double.compare(candidate, midPivot) <= 0) {
+              PrimitiveStroudDavidSort.insertionSortSlice(values, start, end);
+              return;
+            } // if
+          } // if
+          pivot = midPivot;
+        } else if (Double.compare(midPivot, highPivot) >= 0) {
+          // Heuristic: the pivots are in descending order, so the slice may be
+          // reversed. The middle one is their median.
+          pivot = midPivot;
+        } else {
+          pivot = (Double.compare(lowPivot, highPivot) <= 0) ? lowPivot : highPivot;
+        } // if-else
+      } // if-else
+
+      int startEqual = start;
+      int startGt = end;
+      for (int index = start; index < startGt;) {
+        double value = values[index];
+        if (Double.compare(value, pivot) < 0) {
+          values[index++] = values[startEqual];
+          values[startEqual++] = value;
+        } else if (Double.compare(value, pivot) > 0) {
+          values[index] = values[--startGt];
+          values[startGt] = value;
+        } else {
+          // The pivot is equal to the value.
+          index++;
+        } // if-else
+      } // for
+
+      if ((startEqual - start) < (end - startGt)) {
+        PrimitiveStroudDavidSort.sortSlice(values, start, startEqual, depth);
+        start = startGt;
+      } else {
+        PrimitiveStroudDavidSort.sortSlice(values, startGt, end, depth);
+        end = startEqual;
+      } // if-else
+    } // while
+  } // sortSlice(double[], int, int, int)
+} // class PrimitiveStroudDavidSort
@@ -1,6 +1,7 @@
 package edu.grinnell.csc207.sorting;
 
 import java.util.Comparator;
+import java.util.Objects;
 
 /**
  * Something that sorts using Quicksort.
@@ -22,6 +23,16 @@ public class Quicksorter<T> implements Sorter<T> {
    */
   Comparator<? super T> order;
 
+  /**
+   * The sorter used for slices whose partitions keep coming out lopsided.
+   */
+  HeapSorter<T> fallback;
+
+  /**
+   * Where to count the work done, or null if it is not counted.
+   */
+  SortMetrics metrics;
+
   // +--------------+------------------------------------------------
   // | Constructors |
   // +--------------+
@@ -35,6 +46,7 @@ public class Quicksorter<T> implements Sorter<T> {
    */
   public Quicksorter(Comparator<? super T> comparator) {
     this.order = comparator;
+    this.fallback = new HeapSorter<>(comparator);
   } // Quicksorter(Comparator)
 
   // +---------+-----------------------------------------------------
@@ -46,13 +58,14 @@ public class Quicksorter<T> implements Sorter<T> {
    * @param values The array to sort.
    * @param start The first index of the sub-array, inclusive.
    * @param end The last index of the sub-array, exclusive.
-   * @return
-   *   An array with two elements:
-   *   the start of the "equal to" section,
+   * @param bounds
+   *   An array of at least two elements, which receives
+   *   the start of the "equal to" section
    *   and the start of the "greater than" section.
    */
-  private int[] partition(T[] values, int start, int end) {
+  private void partition(T[] values, int start, int end, int[] bounds) {
     T pivot = values[start / 2 + end / 2];
+    SortPassEvent pass = SortPassEvent.start(end - start);
     int startEqual = start;
     int startGt = end;
     for (int index = start; index < startGt;) {
@@ -70,28 +83,58 @@ public class Quicksorter<T> implements Sorter<T> {
         index++;
       } // if-else
     } // for
+    if (pass != null) {
+      pass.finish(this, "partition");
+    } // if
 
-    return new int[] {startEqual, startGt};
-  } // partition(T[], int, int)
+    bounds[0] = startEqual;
+    bounds[1] = startGt;
+  } // partition(T[], int, int, int[])
 
   /**
-   * Sorts a slice of an array in place.
+   * Sorts a slice of an array in place. To keep the stack shallow, we recurse
+   * on the smaller section and loop on the larger one. If the partitions are
+   * so lopsided that the depth budget runs out, the rest of the slice is
+   * heapsorted, so the sort never takes more than O(n log n) time.
    * @param values The full array to sort.
    * @param start The first index to sort, inclusive.
    * @param end The last index to sort, exclusive.
+   * @param depth The number of partitioning levels left before falling back on heapsort.
+   * @param level The number of partitioning levels above this slice.
+   * @param bounds Scratch space for partition. Its contents are overwritten.
    */
-  private void sortSlice(T[] values, int start, int end) {
-    if ((end - start) < 2) {
-      // This slice is already sorted, since it either has
-      // one or zero elements.
-      return;
-    } // if
-
-    int[] indices = this.partition(values, start, end);
+  private void sortSlice(T[] values, int start, int end, int depth, int level, int[] bounds) {
+    SortMetrics counts = this.metrics;
+    while ((end - start) >= 2) {
+      if (depth == 0) {
+        if (counts != null) {
+          counts.heapsorts.increment();
+        } // if
+        this.fallback.sortSlice(values, start, end);
+        return;
+      } // if
+      depth--;
+      level++;
 
-    this.sortSlice(values, start, indices[0]);
-    this.sortSlice(values, indices[1], end);
-  } // sortSlice(T[], int, int)
+      this.partition(values, start, end, bounds);
+      // The recursive call overwrites bounds, so we remember them first.
+      int startEqual = bounds[0];
+      int startGt = bounds[1];
+      if (counts != null) {
+        // Every value that is not equal to the pivot was swapped once.
+        counts.moved(2L * ((startEqual - start) + (end - startGt)));
+        counts.reached(level);
+      } // if
+      if ((startEqual - start) < (end - startGt)) {
+        this.sortSlice(values, start, startEqual, depth, level, bounds);
+        start = startGt;
+      } else {
+        this.sortSlice(values, startGt, end, depth, level, bounds);
+        end = startEqual;
+      } // if-else
+    } // while
+    // Any remaining slice has one or zero elements, so it is already sorted.
+  } // sortSlice(T[], int, int, int, int, int[])
 
   /**
    * Sort an array in place using Quicksort.
@@ -108,6 +151,48 @@ public class Quicksorter<T> implements Sorter<T> {
    */
   @Override
   public void sort(T[] values) {
-    this.sortSlice(values, 0, values.length);
+    this.sort(values, 0, values.length);
   } // sort(T[])
+
+  /**
+   * Sort part of an array in place using Quicksort, leaving the rest of it alone.
+   *
+   * @param values
+   *   an array, part of which is to be sorted.
+   * @param from
+   *   the first index to sort, inclusive.
+   * @param to
+   *   the last index to sort, exclusive.
+   */
+  @Override
+  public void sort(T[] values, int from, int to) {
+    SortWorkspace workspace = SortWorkspace.acquire();
+    try {
+      this.sort(values, from, to, workspace);
+    } finally {
+      workspace.release();
+    } // try/finally
+  } // sort(T[], int, int)
+
+  /**
+   * Sort part of an array in place using Quicksort, keeping the partition
+   * bounds in a workspace.
+   *
+   * @param values
+   *   an array, part of which is to be sorted.
+   * @param from
+   *   the first index to sort, inclusive.
+   * @param to
+   *   the last index to sort, exclusive.
+   * @param workspace
+   *   where to find scratch space.
+   */
+  public void sort(T[] values, int from, int to, SortWorkspace workspace) {
+    Objects.checkFromToIndex(from, to, values.length);
+    SortEvent event = SortEvent.start();
+    this.sortSlice(values, from, to, HeapSorter.depthBudget(to - from), 0, workspace.bounds());
+    if (event != null) {
+      event.finish(this, values.getClass().getComponentType(), to - from);
+    } // if
+  } // sort(T[], int, int, SortWorkspace)
 } // class Quicksorter
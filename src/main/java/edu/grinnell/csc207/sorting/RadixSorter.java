@@ -0,0 +1,578 @@
+package edu.grinnell.csc207.sorting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntConsumer;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Something that sorts using least-significant-digit radix sort, one byte per
+ * pass. It sorts int, long and double arrays directly; the factory methods
+ * make sorters that sort arrays of objects by an int or long key. Passes in
+ * which every key has the same byte are skipped. Large inputs count and
+ * scatter each pass in parallel chunks. The sort is stable, so objects with
+ * equal keys keep their relative order.
+ *
+ * @author David William Stroud
+ */
+public class RadixSorter implements IntSorter, LongSorter, DoubleSorter {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /**
+   * The default number of elements at which passes are run in parallel.
+   */
+  public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 18;
+
+  /**
+   * The number of bits sorted in each pass.
+   */
+  private static final int BITS = 8;
+
+  /**
+   * The number of buckets in each pass.
+   */
+  private static final int RADIX = 1 << RadixSorter.BITS;
+
+  /**
+   * The mask that extracts one digit.
+   */
+  private static final int MASK = RadixSorter.RADIX - 1;
+
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * The pool in which parallel passes run, or null to always run sequentially.
+   */
+  private final ForkJoinPool pool;
+
+  /**
+   * The number of elements at which passes are run in parallel.
+   */
+  private final int parallelThreshold;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a sorter for primitive arrays that uses the common pool for
+   * large inputs.
+   */
+  public RadixSorter() {
+    this(ForkJoinPool.commonPool(), RadixSorter.DEFAULT_PARALLEL_THRESHOLD);
+  } // RadixSorter()
+
+  /**
+   * Create a sorter for primitive arrays that uses a particular pool.
+   *
+   * @param forkJoinPool
+   *   The pool in which to run parallel passes, or null to always sort
+   *   sequentially.
+   * @param threshold
+   *   The number of elements at which passes are run in parallel.
+   */
+  public RadixSorter(ForkJoinPool forkJoinPool, int threshold) {
+    this.pool = forkJoinPool;
+    this.parallelThreshold = Math.max(threshold, 1);
+  } // RadixSorter(ForkJoinPool, int)
+
+  // +----------------+----------------------------------------------
+  // | Static Methods |
+  // +----------------+
+
+  /**
+   * Create a sorter that orders objects by an int key, smallest key first.
+   *
+   * @param <T>
+   *   The types of values that are sorted.
+   * @param key
+   *   Extracts the key of each object. It is called once per object.
+   *
+   * @return the sorter.
+   */
+  public static <T> Sorter<T> byIntKey(ToIntFunction<? super T> key) {
+    return RadixSorter.byIntKey(key, ForkJoinPool.commonPool(),
+        RadixSorter.DEFAULT_PARALLEL_THRESHOLD);
+  } // byIntKey(ToIntFunction)
+
+  /**
+   * Create a sorter that orders objects by an int key, smallest key first.
+   *
+   * @param <T>
+   *   The types of values that are sorted.
+   * @param key
+   *   Extracts the key of each object. It is called once per object.
+   * @param forkJoinPool
+   *   The pool in which to run parallel passes, or null.
+   * @param threshold
+   *   The number of elements at which passes are run in parallel.
+   *
+   * @return the sorter.
+   */
+  public static <T> Sorter<T> byIntKey(ToIntFunction<? super T> key,
+      ForkJoinPool forkJoinPool, int threshold) {
+    return new KeySorter<>(new RadixSorter(forkJoinPool, threshold),
+        Objects.requireNonNull(key), null);
+  } // byIntKey(ToIntFunction, ForkJoinPool, int)
+
+  /**
+   * Create a sorter that orders objects by a long key, smallest key first.
+   *
+   * @param <T>
+   *   The types of values that are sorted.
+   * @param key
+   *   Extracts the key of each object. It is called once per object.
+   *
+   * @return the sorter.
+   */
+  public static <T> Sorter<T> byLongKey(ToLongFunction<? super T> key) {
+    return RadixSorter.byLongKey(key, ForkJoinPool.commonPool(),
+        RadixSorter.DEFAULT_PARALLEL_THRESHOLD);
+  } // byLongKey(ToLongFunction)
+
+  /**
+   * Create a sorter that orders objects by a long key, smallest key first.
+   *
+   * @param <T>
+   *   The types of values that are sorted.
+   * @param key
+   *   Extracts the key of each object. It is called once per object.
+   * @param forkJoinPool
+   *   The pool in which to run parallel passes, or null.
+   * @param threshold
+   *   The number of elements at which passes are run in parallel.
+   *
+   * @return the sorter.
+   */
+  public static <T> Sorter<T> byLongKey(ToLongFunction<? super T> key,
+      ForkJoinPool forkJoinPool, int threshold) {
+    return new KeySorter<>(new RadixSorter(forkJoinPool, threshold), null,
+        Objects.requireNonNull(key));
+  } // byLongKey(ToLongFunction, ForkJoinPool, int)
+
+  // +---------+-----------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Sort an array of ints in place.
+   *
+   * @param values
+   *   an array to sort.
+   */
+  @Override
+  public void sort(int[] values) {
+    SortEvent event = SortEvent.start();
+    // Flipping the sign bit makes signed order match unsigned order.
+    for (int i = 0; i < values.length; i++) {
+      values[i] ^= Integer.MIN_VALUE;
+    } // for
+    this.sortUnsigned(values, null);
+    for (int i = 0; i < values.length; i++) {
+      values[i] ^= Integer.MIN_VALUE;
+    } // for
+    if (event != null) {
+      event.finish(this, int.class, values.length);
+    } // if
+  } // sort(int[])
+
+  /**
+   * Sort an array of longs in place.
+   *
+   * @param values
+   *   an array to sort.
+   */
+  @Override
+  public void sort(long[] values) {
+    SortEvent event = SortEvent.start();
+    for (int i = 0; i < values.length; i++) {
+      values[i] ^= Long.MIN_VALUE;
+    } // for
+    this.sortUnsigned(values, null);
+    for (int i = 0; i < values.length; i++) {
+      values[i] ^= Long.MIN_VALUE;
+    } // for
+    if (event != null) {
+      event.finish(this, long.class, values.length);
+    } // if
+  } // sort(long[])
+
+  /**
+   * Sort an array of doubles in place.
+   *
+   * @param values
+   *   an array to sort.
+   */
+  @Override
+  public void sort(double[] values) {
+    SortEvent event = SortEvent.start();
+    long[] keys = new long[values.length];
+    for (int i = 0; i < values.length; i++) {
+      keys[i] = RadixSorter.sortableBits(values[i]);
+    } // for
+    this.sortUnsigned(keys, null);
+    for (int i = 0; i < values.length; i++) {
+      values[i] = RadixSorter.fromSortableBits(keys[i]);
+    } // for
+    if (event != null) {
+      event.finish(this, double.class, values.length);
+    } // if
+  } // sort(double[])
+
+  /**
+   * Convert a double to a long whose unsigned order matches Double.compare.
+   * Negative values have all bits flipped, and other values have only their
+   * sign bit flipped.
+   *
+   * @param value The double to convert.
+   *
+   * @return the sortable bits.
+   */
+  static long sortableBits(double value) {
+    long bits = Double.doubleToLongBits(value);
+    return bits ^ ((bits >> (Long.SIZE - 1)) | Long.MIN_VALUE);
+  } // sortableBits(double)
+
+  /**
+   * Undo sortableBits.
+   *
+   * @param key The sortable bits.
+   *
+   * @return the original double.
+   */
+  static double fromSortableBits(long key) {
+    return Double.longBitsToDouble(key ^ (((~key) >> (Long.SIZE - 1)) | Long.MIN_VALUE));
+  } // fromSortableBits(long)
+
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Determine how many chunks to split an input into.
+   *
+   * @param size The number of elements.
+   *
+   * @return the number of chunks, which is one for sequential sorting.
+   */
+  private int chunksFor(int size) {
+    if (this.pool == null || size < this.parallelThreshold) {
+      return 1;
+    } // if
+    return Math.max(1, Math.min(this.pool.getParallelism(), size / RadixSorter.RADIX));
+  } // chunksFor(int)
+
+  /**
+   * Run a body once for each chunk, in parallel if there is more than one.
+   *
+   * @param chunks The number of chunks.
+   * @param body What to do with each chunk number.
+   */
+  private void forEachChunk(int chunks, IntConsumer body) {
+    if (chunks == 1) {
+      body.accept(0);
+      return;
+    } // if
+    List<ForkJoinTask<?>> tasks = new ArrayList<>(chunks);
+    for (int c = 0; c < chunks; c++) {
+      int chunk = c;
+      tasks.add(ForkJoinTask.adapt(() -> body.accept(chunk)));
+    } // for
+    this.pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+  } // forEachChunk(int, IntConsumer)
+
+  /**
+   * Turn per-chunk digit counts into per-chunk starting offsets, in place.
+   * Chunk c's elements with digit d go after every element with a smaller
+   * digit and after chunk c - 1's elements with digit d, which keeps the
+   * sort stable.
+   *
+   * @param counts The counts, indexed by chunk and then digit.
+   * @param size The total number of elements.
+   *
+   * @return true if every element has the same digit, so the pass can be skipped.
+   */
+  private static boolean toOffsets(int[][] counts, int size) {
+    int offset = 0;
+    for (int digit = 0; digit < RadixSorter.RADIX; digit++) {
+      int total = 0;
+      for (int[] chunk : counts) {
+        total += chunk[digit];
+      } // for
+      if (total == size) {
+        return true;
+      } // if
+      for (int[] chunk : counts) {
+        int count = chunk[digit];
+        chunk[digit] = offset;
+        offset += count;
+      } // for
+    } // for
+    return false;
+  } // toOffsets(int[][], int)
+
+  /**
+   * Sort ints by their unsigned value, moving optional payloads along with them.
+   *
+   * @param keys The keys to sort.
+   * @param items The payloads, with the same length as keys, or null.
+   */
+  void sortUnsigned(int[] keys, Object[] items) {
+    int size = keys.length;
+    int chunks = this.chunksFor(size);
+    int chunkSize = (size + chunks - 1) / chunks;
+    SortWorkspace workspace = SortWorkspace.acquire();
+    try {
+      int[] src = keys;
+      int[] dst = workspace.ints(size);
+      Object[] srcItems = items;
+      Object[] dstItems = (items == null) ? null : workspace.objects(size);
+
+      for (int shift = 0; shift < Integer.SIZE; shift += RadixSorter.BITS) {
+        int pass = shift;
+        int[] from = src;
+        int[] to = dst;
+        Object[] fromItems = srcItems;
+        Object[] toItems = dstItems;
+        int[][] counts = new int[chunks][RadixSorter.RADIX];
+        this.forEachChunk(chunks, (c) -> {
+          int[] count = counts[c];
+          int hi = Math.min(size, (c + 1) * chunkSize);
+          for (int i = c * chunkSize; i < hi; i++) {
+            count[(from[i] >>> pass) & RadixSorter.MASK]++;
+          } // for
+        });
+        if (RadixSorter.toOffsets(counts, size)) {
+          continue;
+        } // if
+        this.forEachChunk(chunks, (c) -> {
+          int[] offsets = counts[c];
+          int hi = Math.min(size, (c + 1) * chunkSize);
+          for (int i = c * chunkSize; i < hi; i++) {
+            int at = offsets[(from[i] >>> pass) & RadixSorter.MASK]++;
+            to[at] = from[i];
+            if (fromItems != null) {
+              toItems[at] = fromItems[i];
+            } // if
+          } // for
+        });
+        src = to;
+        dst = from;
+        srcItems = toItems;
+        dstItems = fromItems;
+      } // for
+
+      if (src != keys) {
+        System.arraycopy(src, 0, keys, 0, size);
+        if (items != null) {
+          System.arraycopy(srcItems, 0, items, 0, size);
+        } // if
+      } // if
+    } finally {
+      workspace.release();
+    } // try/finally
+  } // sortUnsigned(int[], Object[])
+
+  /**
+   * Sort longs by their unsigned value, moving optional payloads along with them.
+   *
+   * @param keys The keys to sort.
+   * @param items The payloads, with the same length as keys, or null.
+   */
+  void sortUnsigned(long[] keys, Object[] items) {
+    this.sortUnsigned(keys, items, null);
+  } // sortUnsigned(long[], Object[])
+
+  /**
+   * Sort longs by their unsigned value, moving indices along with them, so
+   * that the indices say where each key came from.
+   *
+   * @param keys The keys to sort.
+   * @param indices The indices, with the same length as keys.
+   */
+  void sortIndices(long[] keys, int[] indices) {
+    this.sortUnsigned(keys, null, indices);
+  } // sortIndices(long[], int[])
+
+  /**
+   * Sort longs by their unsigned value, moving optional payloads and
+   * indices along with them.
+   *
+   * @param keys The keys to sort.
+   * @param items The payloads, with the same length as keys, or null.
+   * @param indices The indices, with the same length as keys, or null.
+   */
+  private void sortUnsigned(long[] keys, Object[] items, int[] indices) {
+    int size = keys.length;
+    int chunks = this.chunksFor(size);
+    int chunkSize = (size + chunks - 1) / chunks;
+    SortWorkspace workspace = SortWorkspace.acquire();
+    try {
+      long[] src = keys;
+      long[] dst = workspace.longs(size);
+      Object[] srcItems = items;
+      Object[] dstItems = (items == null) ? null : workspace.objects(size);
+      int[] srcIndices = indices;
+      int[] dstIndices = (indices == null) ? null : workspace.ints(size);
+
+      for (int shift = 0; shift < Long.SIZE; shift += RadixSorter.BITS) {
+        int pass = shift;
+        long[] from = src;
+        long[] to = dst;
+        Object[] fromItems = srcItems;
+        Object[] toItems = dstItems;
+        int[] fromIndices = srcIndices;
+        int[] toIndices = dstIndices;
+        int[][] counts = new int[chunks][RadixSorter.RADIX];
+        this.forEachChunk(chunks, (c) -> {
+          int[] count = counts[c];
+          int hi = Math.min(size, (c + 1) * chunkSize);
+          for (int i = c * chunkSize; i < hi; i++) {
+            count[(int) (from[i] >>> pass) & RadixSorter.MASK]++;
+          } // for
+        });
+        if (RadixSorter.toOffsets(counts, size)) {
+          continue;
+        } // if
+        this.forEachChunk(chunks, (c) -> {
+          int[] offsets = counts[c];
+          int hi = Math.min(size, (c + 1) * chunkSize);
+          for (int i = c * chunkSize; i < hi; i++) {
+            int at = offsets[(int) (from[i] >>> pass) & RadixSorter.MASK]++;
+            to[at] = from[i];
+            if (fromItems != null) {
+              toItems[at] = fromItems[i];
+            } // if
+            if (fromIndices != null) {
+              toIndices[at] = fromIndices[i];
+            } // if
+          } // for
+        });
+        src = to;
+        dst = from;
+        srcItems = toItems;
+        dstItems = fromItems;
+        srcIndices = toIndices;
+        dstIndices = fromIndices;
+      } // for
+
+      if (src != keys) {
+        System.arraycopy(src, 0, keys, 0, size);
+        if (items != null) {
+          System.arraycopy(srcItems, 0, items, 0, size);
+        } // if
+        if (indices != null) {
+          System.arraycopy(srcIndices, 0, indices, 0, size);
+        } // if
+      } // if
+    } finally {
+      workspace.release();
+    } // try/finally
+  } // sortUnsigned(long[], Object[], int[])
+
+  // +---------------+-----------------------------------------------
+  // | Inner Classes |
+  // +---------------+
+
+  /**
+   * A sorter that orders objects by an int or long key, using radix sort on
+   * a cached array of keys.
+   *
+   * @param <T>
+   *   The types of values that are sorted.
+   */
+  private static class KeySorter<T> implements Sorter<T> {
+    /**
+     * The sorter that sorts the keys.
+     */
+    private final RadixSorter radix;
+
+    /**
+     * The int key, or null if the key is a long.
+     */
+    private final ToIntFunction<? super T> intKey;
+
+    /**
+     * The long key, or null if the key is an int.
+     */
+    private final ToLongFunction<? super T> longKey;
+
+    /**
+     * Create a sorter. Exactly one of the keys should be non-null.
+     *
+     * @param sorter The sorter that sorts the keys.
+     * @param ints The int key, or null.
+     * @param longs The long key, or null.
+     */
+    KeySorter(RadixSorter sorter, ToIntFunction<? super T> ints,
+        ToLongFunction<? super T> longs) {
+      this.radix = sorter;
+      this.intKey = ints;
+      this.longKey = longs;
+    } // KeySorter(RadixSorter, ToIntFunction, ToLongFunction)
+
+    /**
+     * Sort an array of objects in place by key.
+     *
+     * @param values
+     *   an array to sort.
+     *
+     * @post
+     *   The array has been sorted by key, and objects with equal keys are in
+     *   their original order.
+     */
+    @Override
+    public void sort(T[] values) {
+      this.sort(values, 0, values.length);
+    } // sort(T[])
+
+    /**
+     * Sort part of an array of objects in place by key, leaving the rest of
+     * it alone.
+     *
+     * @param values
+     *   an array, part of which is to be sorted.
+     * @param from
+     *   the first index to sort, inclusive.
+     * @param to
+     *   the last index to sort, exclusive.
+     */
+    @Override
+    public void sort(T[] values, int from, int to) {
+      Objects.checkFromToIndex(from, to, values.length);
+      SortEvent event = SortEvent.start();
+      int size = to - from;
+      // The keys and their objects are sorted side by side, so a slice is
+      // sorted as a copy unless it is the whole array.
+      Object[] items = (size == values.length) ? values : Arrays.copyOfRange(values, from, to);
+      if (this.intKey != null) {
+        int[] keys = new int[size];
+        for (int i = 0; i < size; i++) {
+          keys[i] = this.intKey.applyAsInt(values[from + i]) ^ Integer.MIN_VALUE;
+        } // for
+        this.radix.sortUnsigned(keys, items);
+      } else {
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+          keys[i] = this.longKey.applyAsLong(values[from + i]) ^ Long.MIN_VALUE;
+        } // for
+        this.radix.sortUnsigned(keys, items);
+      } // if-else
+      if (items != values) {
+        System.arraycopy(items, 0, values, from, size);
+      } // if
+      if (event != null) {
+        event.finish(this.radix, values.getClass().getComponentType(), to - from);
+      } // if
+    } // sort(T[], int, int)
+  } // class KeySorter<T>
+} // class RadixSorter
@@ -0,0 +1,42 @@
+package edu.grinnell.csc207.sorting;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Things that know how to write values to a binary stream and read them
+ * back, so that ExternalSorter can spill them to disk.
+ *
+ * @author David William Stroud
+ *
+ * @param <T>
+ *   The type of value that is written and read.
+ */
+public interface RecordCodec<T> {
+  /**
+   * Write one value.
+   *
+   * @param value
+   *   the value to write.
+   * @param out
+   *   where to write it.
+   *
+   * @throws IOException
+   *   if the value cannot be written.
+   */
+  public void write(T value, DataOutput out) throws IOException;
+
+  /**
+   * Read one value written by write.
+   *
+   * @param in
+   *   where to read it from.
+   *
+   * @return the value.
+   *
+   * @throws IOException
+   *   if the value cannot be read.
+   */
+  public T read(DataInput in) throws IOException;
+} // interface RecordCodec<T>
@@ -1,6 +1,7 @@
 package edu.grinnell.csc207.sorting;
 
 import java.util.Comparator;
+import java.util.Objects;
 
 /**
  * Something that sorts using selection sort.
@@ -45,17 +46,18 @@ public class SelectionSorter<T> implements Sorter<T> {
    * Selects the smallest element in a subarray. Assumes that all elements before it are sorted.
    * @param values The array in which to search.
    * @param firstIndex The first index of the sub-array.
+   * @param end The end of the sub-array, exclusive.
    * @return The index of the smallest element in the sub-array.
    */
-  private int select(T[] values, int firstIndex) {
+  private int select(T[] values, int firstIndex, int end) {
     int min = firstIndex - 1;
-    for (int candidate = firstIndex; candidate < values.length; candidate++) {
+    for (int candidate = firstIndex; candidate < end; candidate++) {
       if (this.order.compare(values[min], values[candidate]) > 0) {
         min = candidate;
       } // if
     } // for
     return min;
-  } // select(T[], int)
+  } // select(T[], int, int)
 
   /**
    * Sort an array in place using selection sort.
@@ -72,14 +74,34 @@ public class SelectionSorter<T> implements Sorter<T> {
    */
   @Override
   public void sort(T[] values) {
-    // We only need to go to values.length - 1,
+    this.sort(values, 0, values.length);
+  } // sort(T[])
+
+  /**
+   * Sort part of an array in place using selection sort, leaving the rest of it alone.
+   *
+   * @param values
+   *   an array, part of which is to be sorted.
+   * @param from
+   *   the first index to sort, inclusive.
+   * @param to
+   *   the last index to sort, exclusive.
+   */
+  @Override
+  public void sort(T[] values, int from, int to) {
+    Objects.checkFromToIndex(from, to, values.length);
+    SortEvent event = SortEvent.start();
+    // We only need to go to to - 1,
     // since if there is only one unsorted element at the end,
-    // the array is sorted.
-    for (int unprocessedStart = 0; unprocessedStart < values.length - 1; unprocessedStart++) {
-      int min = this.select(values, unprocessedStart + 1);
+    // the slice is sorted.
+    for (int unprocessedStart = from; unprocessedStart < to - 1; unprocessedStart++) {
+      int min = this.select(values, unprocessedStart + 1, to);
       T oldValue = values[unprocessedStart];
       values[unprocessedStart] = values[min];
       values[min] = oldValue;
     } // for
-  } // sort(T[])
+    if (event != null) {
+      event.finish(this, values.getClass().getComponentType(), to - from);
+    } // if
+  } // sort(T[], int, int)
 } // class SelectionSorter
@@ -0,0 +1,53 @@
+package edu.grinnell.csc207.sorting;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Things that know how to find the smallest few values in a collection
+ * without sorting all of it. To find the largest values instead, order by
+ * the reverse of the usual comparator.
+ *
+ * @author David William Stroud
+ *
+ * @param <T>
+ *   The type of values to select from.
+ */
+public interface Selector<T> {
+  /**
+   * Move the k smallest values in an array to its front, in sorted order.
+   *
+   * @param values
+   *   an array to select from.
+   * @param k
+   *   the number of values to select.
+   *
+   * @throws IndexOutOfBoundsException
+   *   if k &lt; 0 or k &gt; values.length.
+   *
+   * @post
+   *   For all i, 0 &lt; i &lt; k,
+   *     order.compare(values[i-1], values[i]) &lt;= 0
+   * @post
+   *   For all i and j, 0 &lt;= i &lt; k &lt;= j &lt; values.length,
+   *     order.compare(values[i], values[j]) &lt;= 0
+   */
+  public void select(T[] values, int k);
+
+  /**
+   * Find the k smallest values produced by an iterator, using memory for
+   * only about k values at a time.
+   *
+   * @param values
+   *   the values to select from.
+   * @param k
+   *   the number of values to select.
+   *
+   * @return the k smallest values, in sorted order, or all of the values in
+   *   sorted order if there are fewer than k.
+   *
+   * @throws IllegalArgumentException
+   *   if k &lt; 0.
+   */
+  public List<T> select(Iterator<? extends T> values, int k);
+} // interface Selector<T>
@@ -0,0 +1,103 @@
+package edu.grinnell.csc207.sorting;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Java Flight Recorder event for one call to sort, so that the time
+ * spent sorting shows up in recordings next to GC pauses and allocation.
+ * The event records the sorter, the type of the elements and how many
+ * there were; JFR records when the sort started and how long it took.
+ *
+ * <p>Sorters start an event with start, which neither allocates nor
+ * records anything when the event is not enabled, and end it with finish.
+ * Each public sort method records one event. InstrumentedSorter,
+ * KeyCachingSorter and ExternalSorter record none of their own, since they
+ * hand each sort to another sorter, which records it. ByteBufferSorter and
+ * BatchSorter do not record their own sorts either.
+ *
+ * @author David William Stroud
+ */
+@Name("edu.grinnell.csc207.sorting.Sort")
+@Label("Sort")
+@Category({"Sorting"})
+@Description("A call to sort an array or a slice of one")
+final class SortEvent extends Event {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /**
+   * An event that is never committed, which is asked whether the event is
+   * enabled so that sorts do not allocate an event when it is not.
+   */
+  private static final SortEvent PROBE = new SortEvent();
+
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * The simple name of the sorter's class.
+   */
+  @Label("Algorithm")
+  String algorithm;
+
+  /**
+   * The simple name of the type of the elements.
+   */
+  @Label("Element Type")
+  String elementType;
+
+  /**
+   * The number of elements sorted.
+   */
+  @Label("Size")
+  int size;
+
+  // +----------------+----------------------------------------------
+  // | Static Methods |
+  // +----------------+
+
+  /**
+   * Start timing a sort, if the event is enabled.
+   *
+   * @return the started event, or null if the event is not enabled.
+   */
+  static SortEvent start() {
+    if (!PROBE.isEnabled()) {
+      return null;
+    } // if
+    SortEvent event = new SortEvent();
+    event.begin();
+    return event;
+  } // start()
+
+  // +---------+-----------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Finish timing a sort and commit the event, unless it was too short
+   * for the recording's threshold.
+   *
+   * @param sorter
+   *   The sorter that sorted.
+   * @param elements
+   *   The type of the elements.
+   * @param count
+   *   The number of elements sorted.
+   */
+  void finish(Object sorter, Class<?> elements, int count) {
+    this.end();
+    if (this.shouldCommit()) {
+      this.algorithm = sorter.getClass().getSimpleName();
+      this.elementType = elements.getSimpleName();
+      this.size = count;
+      this.commit();
+    } // if
+  } // finish(Object, Class, int)
+} // class SortEvent
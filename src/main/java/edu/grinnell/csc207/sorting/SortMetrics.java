@@ -0,0 +1,294 @@
+package edu.grinnell.csc207.sorting;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Counters of the work sorters do: comparisons, element moves, recursion
+ * depth, fallbacks to insertion sort and heapsort, and time. The counters
+ * are LongAdders, so many threads can sort with the same metrics without
+ * contending for one memory location.
+ *
+ * <p>StroudDavidSort, Quicksorter and MergeSorter count their moves, depth
+ * and fallbacks only when they have been given metrics, which
+ * InstrumentedSorter does; otherwise the cost is one null check per
+ * partition or merge. Moves made by a heapsort fallback are not counted.
+ *
+ * <p>Metrics can be registered with the platform MBean server, so that
+ * they can be watched with jconsole or any other JMX client.
+ *
+ * @author David William Stroud
+ */
+public class SortMetrics implements SortMetricsMBean {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /**
+   * The JMX domain under which metrics are registered.
+   */
+  static final String DOMAIN = "edu.grinnell.csc207.sorting";
+
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * The number of sorts.
+   */
+  final LongAdder sorts = new LongAdder();
+
+  /**
+   * The number of elements sorted.
+   */
+  final LongAdder elements = new LongAdder();
+
+  /**
+   * The number of comparisons.
+   */
+  final LongAdder comparisons = new LongAdder();
+
+  /**
+   * The number of element moves.
+   */
+  final LongAdder moves = new LongAdder();
+
+  /**
+   * The deepest recursion.
+   */
+  final LongAccumulator maxDepth = new LongAccumulator(Math::max, 0);
+
+  /**
+   * The number of insertion-sort fallbacks.
+   */
+  final LongAdder insertionSorts = new LongAdder();
+
+  /**
+   * The number of heapsort fallbacks.
+   */
+  final LongAdder heapsorts = new LongAdder();
+
+  /**
+   * The time spent sorting, in nanoseconds.
+   */
+  final LongAdder nanos = new LongAdder();
+
+  /**
+   * The name under which these metrics are registered, or null if they
+   * are not registered.
+   */
+  private ObjectName registered;
+
+  // +-------+-------------------------------------------------------
+  // | Hooks |
+  // +-------+
+
+  /**
+   * Record one sort.
+   *
+   * @param size
+   *   The number of elements sorted.
+   * @param time
+   *   The time the sort took, in nanoseconds.
+   */
+  void sorted(int size, long time) {
+    this.sorts.increment();
+    this.elements.add(size);
+    this.nanos.add(time);
+  } // sorted(int, long)
+
+  /**
+   * Record some element moves.
+   *
+   * @param count
+   *   The number of elements written.
+   */
+  void moved(long count) {
+    this.moves.add(count);
+  } // moved(long)
+
+  /**
+   * Record that a sort recursed to some depth.
+   *
+   * @param depth
+   *   The depth, where the whole slice is at depth 1.
+   */
+  void reached(int depth) {
+    this.maxDepth.accumulate(depth);
+  } // reached(int)
+
+  // +-------------+------------------------------------------------
+  // | JMX Methods |
+  // +-------------+
+
+  /**
+   * Get the number of sorts.
+   *
+   * @return the number of calls to sort.
+   */
+  @Override
+  public long getSorts() {
+    return this.sorts.sum();
+  } // getSorts()
+
+  /**
+   * Get the number of elements sorted.
+   *
+   * @return the total size of the arrays or slices sorted.
+   */
+  @Override
+  public long getElements() {
+    return this.elements.sum();
+  } // getElements()
+
+  /**
+   * Get the number of comparisons.
+   *
+   * @return the number of calls to the comparator.
+   */
+  @Override
+  public long getComparisons() {
+    return this.comparisons.sum();
+  } // getComparisons()
+
+  /**
+   * Get the number of element moves.
+   *
+   * @return the number of times an element was written into an array.
+   */
+  @Override
+  public long getMoves() {
+    return this.moves.sum();
+  } // getMoves()
+
+  /**
+   * Get the deepest level of partitioning or merging reached by any sort.
+   *
+   * @return the maximum recursion depth.
+   */
+  @Override
+  public long getMaxDepth() {
+    return this.maxDepth.get();
+  } // getMaxDepth()
+
+  /**
+   * Get the number of slices sorted by insertion sort.
+   *
+   * @return the number of insertion-sort fallbacks.
+   */
+  @Override
+  public long getInsertionSorts() {
+    return this.insertionSorts.sum();
+  } // getInsertionSorts()
+
+  /**
+   * Get the number of slices heapsorted because partitioning kept coming
+   * out lopsided.
+   *
+   * @return the number of heapsort fallbacks.
+   */
+  @Override
+  public long getHeapsorts() {
+    return this.heapsorts.sum();
+  } // getHeapsorts()
+
+  /**
+   * Get the time spent sorting.
+   *
+   * @return the total time, in nanoseconds.
+   */
+  @Override
+  public long getElapsedNanos() {
+    return this.nanos.sum();
+  } // getElapsedNanos()
+
+  /**
+   * Get the average time of a sort.
+   *
+   * @return the mean time per sort, in nanoseconds, or 0 if there have
+   *   been no sorts.
+   */
+  @Override
+  public double getMeanNanos() {
+    long count = this.sorts.sum();
+    return (count == 0) ? 0 : (double) this.nanos.sum() / count;
+  } // getMeanNanos()
+
+  /**
+   * Set every counter back to zero. Counts made while the reset is under
+   * way may or may not survive it.
+   */
+  @Override
+  public void reset() {
+    this.sorts.reset();
+    this.elements.reset();
+    this.comparisons.reset();
+    this.moves.reset();
+    this.maxDepth.reset();
+    this.insertionSorts.reset();
+    this.heapsorts.reset();
+    this.nanos.reset();
+  } // reset()
+
+  // +---------+-----------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Register these metrics with the platform MBean server.
+   *
+   * @param name
+   *   The name that distinguishes these metrics from others, such as the
+   *   name of the sorter.
+   *
+   * @return the name under which the metrics were registered.
+   *
+   * @throws JMException
+   *   If the metrics cannot be registered, for example because other
+   *   metrics are already registered under the same name.
+   * @throws IllegalStateException
+   *   If these metrics are already registered.
+   */
+  public synchronized ObjectName register(String name) throws JMException {
+    if (this.registered != null) {
+      throw new IllegalStateException("already registered as " + this.registered);
+    } // if
+    ObjectName objectName =
+        new ObjectName(DOMAIN + ":type=SortMetrics,name=" + ObjectName.quote(name));
+    ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+    this.registered = objectName;
+    return objectName;
+  } // register(String)
+
+  /**
+   * Remove these metrics from the platform MBean server. Metrics that are
+   * not registered are left alone.
+   *
+   * @throws JMException
+   *   If the metrics cannot be unregistered.
+   */
+  public synchronized void unregister() throws JMException {
+    if (this.registered != null) {
+      ManagementFactory.getPlatformMBeanServer().unregisterMBean(this.registered);
+      this.registered = null;
+    } // if
+  } // unregister()
+
+  /**
+   * Summarize the counters on one line.
+   *
+   * @return a summary of the counters.
+   */
+  @Override
+  public String toString() {
+    return String.format("%d sorts of %d elements: %d comparisons, %d moves, max depth %d, "
+        + "%d insertion sorts, %d heapsorts, %d ns",
+        this.getSorts(), this.getElements(), this.getComparisons(), this.getMoves(),
+        this.getMaxDepth(), this.getInsertionSorts(), this.getHeapsorts(),
+        this.getElapsedNanos());
+  } // toString()
+} // class SortMetrics
@@ -0,0 +1,79 @@
+package edu.grinnell.csc207.sorting;
+
+/**
+ * The management interface of SortMetrics, through which JMX clients such
+ * as jconsole read the counters.
+ *
+ * @author David William Stroud
+ */
+public interface SortMetricsMBean {
+  /**
+   * Get the number of sorts.
+   *
+   * @return the number of calls to sort.
+   */
+  long getSorts();
+
+  /**
+   * Get the number of elements sorted.
+   *
+   * @return the total size of the arrays or slices sorted.
+   */
+  long getElements();
+
+  /**
+   * Get the number of comparisons.
+   *
+   * @return the number of calls to the comparator.
+   */
+  long getComparisons();
+
+  /**
+   * Get the number of element moves.
+   *
+   * @return the number of times an element was written into an array.
+   */
+  long getMoves();
+
+  /**
+   * Get the deepest level of partitioning or merging reached by any sort.
+   *
+   * @return the maximum recursion depth.
+   */
+  long getMaxDepth();
+
+  /**
+   * Get the number of slices sorted by insertion sort.
+   *
+   * @return the number of insertion-sort fallbacks.
+   */
+  long getInsertionSorts();
+
+  /**
+   * Get the number of slices heapsorted because partitioning kept coming
+   * out lopsided.
+   *
+   * @return the number of heapsort fallbacks.
+   */
+  long getHeapsorts();
+
+  /**
+   * Get the time spent sorting.
+   *
+   * @return the total time, in nanoseconds.
+   */
+  long getElapsedNanos();
+
+  /**
+   * Get the average time of a sort.
+   *
+   * @return the mean time per sort, in nanoseconds, or 0 if there have
+   *   been no sorts.
+   */
+  double getMeanNanos();
+
+  /**
+   * Set every counter back to zero.
+   */
+  void reset();
+} // interface SortMetricsMBean
@@ -0,0 +1,111 @@
+package edu.grinnell.csc207.sorting;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Java Flight Recorder event for one partition or merge pass over a large
+ * slice, which shows where the time inside a long sort goes. Passes over
+ * fewer than MIN_SIZE elements are never recorded, since there are far too
+ * many of them and each takes too little time to matter.
+ *
+ * <p>The event is disabled unless a recording enables it, with a custom .jfc
+ * file or with Recording.enable("edu.grinnell.csc207.sorting.SortPass").
+ *
+ * @author David William Stroud
+ */
+@Name("edu.grinnell.csc207.sorting.SortPass")
+@Label("Sort Pass")
+@Category({"Sorting"})
+@Description("A partition or merge pass over a large slice during a sort")
+@Enabled(false)
+final class SortPassEvent extends Event {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /**
+   * The smallest slice whose passes are recorded.
+   */
+  static final int MIN_SIZE = 1 << 16;
+
+  /**
+   * An event that is never committed, which is asked whether the event is
+   * enabled so that passes do not allocate an event when it is not.
+   */
+  private static final SortPassEvent PROBE = new SortPassEvent();
+
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * The simple name of the sorter's class.
+   */
+  @Label("Algorithm")
+  String algorithm;
+
+  /**
+   * The kind of pass, partition or merge.
+   */
+  @Label("Phase")
+  String phase;
+
+  /**
+   * The number of elements in the slice.
+   */
+  @Label("Size")
+  int size;
+
+  // +----------------+----------------------------------------------
+  // | Static Methods |
+  // +----------------+
+
+  /**
+   * Start timing a pass, if the slice is large enough and the event is
+   * enabled.
+   *
+   * @param count
+   *   The number of elements in the slice.
+   *
+   * @return the started event, or null if the pass is not recorded.
+   */
+  static SortPassEvent start(int count) {
+    if (count < MIN_SIZE) {
+      return null;
+    } // if
+    if (!PROBE.isEnabled()) {
+      return null;
+    } // if
+    SortPassEvent event = new SortPassEvent();
+    event.size = count;
+    event.begin();
+    return event;
+  } // start(int)
+
+  // +---------+-----------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Finish timing a pass and commit the event, unless it was too short
+   * for the recording's threshold.
+   *
+   * @param sorter
+   *   The sorter that made the pass.
+   * @param kind
+   *   The kind of pass, partition or merge.
+   */
+  void finish(Object sorter, String kind) {
+    this.end();
+    if (this.shouldCommit()) {
+      this.algorithm = sorter.getClass().getSimpleName();
+      this.phase = kind;
+      this.commit();
+    } // if
+  } // finish(Object, String)
+} // class SortPassEvent
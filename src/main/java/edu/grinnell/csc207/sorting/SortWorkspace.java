@@ -0,0 +1,259 @@
+package edu.grinnell.csc207.sorting;
+
+import java.util.Arrays;
+
+/**
+ * Scratch space that sorters can reuse from one sort to the next, so that
+ * sorting in a loop does not keep the garbage collector busy. A workspace
+ * holds a growable array of each kind a sorter might need and a pair of
+ * ints for partition results.
+ *
+ * <p>Each thread has a workspace of its own, which sorters get with
+ * acquire and give back with release. A caller that wants to control the
+ * memory itself can instead make a workspace and pass it to a sorter that
+ * accepts one. A workspace must only be used by one sort at a time. The
+ * parallel sorters take their scratch space from the calling thread's
+ * workspace and share it with their workers while the caller waits.
+ *
+ * <p>Some per-sort arrays deliberately do not come from a workspace. The
+ * keys that RadixSorter's key sorters, its double sort, PackedKeySorter
+ * and KeyCachingSorter compute are sorted by a primitive sorter whose own
+ * scratch space is the workspace's array of the same kind, so the keys
+ * cannot share it. ByteBufferSorter's buffers hold bytes, which a
+ * workspace does not, and are only as long as one record.
+ *
+ * @author David William Stroud
+ */
+public class SortWorkspace {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /**
+   * The smallest array a workspace allocates, so that a run of tiny sorts
+   * does not grow the arrays one element at a time.
+   */
+  private static final int MIN_CAPACITY = 16;
+
+  /**
+   * The largest array a thread's workspace keeps between sorts. Sorts
+   * larger than this allocate their own scratch space, which costs little
+   * next to the sort itself, and idle threads do not hold on to it.
+   */
+  private static final int MAX_RETAINED = 1 << 20;
+
+  /**
+   * Each thread's workspace.
+   */
+  private static final ThreadLocal<SortWorkspace> LOCAL =
+      ThreadLocal.withInitial(SortWorkspace::new);
+
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * Scratch space for objects.
+   */
+  private Object[] objects = new Object[0];
+
+  /**
+   * The number of elements of objects that may hold references from the
+   * current sort.
+   */
+  private int objectsUsed;
+
+  /**
+   * Scratch space for ints.
+   */
+  private int[] ints = new int[0];
+
+  /**
+   * Scratch space for longs.
+   */
+  private long[] longs = new long[0];
+
+  /**
+   * Scratch space for doubles.
+   */
+  private double[] doubles = new double[0];
+
+  /**
+   * Room for the two bounds of a partition.
+   */
+  private final int[] bounds = new int[2];
+
+  /**
+   * Whether this workspace has been acquired and not yet released.
+   */
+  private boolean inUse;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create an empty workspace. Its arrays grow as they are needed.
+   */
+  public SortWorkspace() {
+  } // SortWorkspace()
+
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Find how large to make an array that must hold some number of
+   * elements. Arrays grow by at least half, so a workspace used for sorts
+   * of slowly growing sizes is only reallocated a few times.
+   *
+   * @param current The current length.
+   * @param size The number of elements needed.
+   * @return the new length.
+   */
+  private static int grow(int current, int size) {
+    int wanted = Math.max(current + (current >> 1), SortWorkspace.MIN_CAPACITY);
+    // The sum may overflow for huge arrays, in which case we take what we need.
+    return (wanted < size || wanted < 0) ? size : wanted;
+  } // grow(int, int)
+
+  // +----------------+----------------------------------------------
+  // | Static Methods |
+  // +----------------+
+
+  /**
+   * Get a workspace for the current thread. This is the thread's own
+   * workspace unless that is already in use, as it is when a comparator
+   * itself sorts something, in which case it is a new one.
+   *
+   * @return a workspace, which should be given back with release.
+   */
+  public static SortWorkspace acquire() {
+    SortWorkspace workspace = SortWorkspace.LOCAL.get();
+    if (workspace.inUse) {
+      workspace = new SortWorkspace();
+    } // if
+    workspace.inUse = true;
+    return workspace;
+  } // acquire()
+
+  // +---------+-----------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Give back a workspace from acquire. Any objects left in the scratch
+   * space are cleared, so that the workspace does not keep them alive, and
+   * arrays too large to be worth keeping are dropped.
+   */
+  public void release() {
+    if (this.objects.length > SortWorkspace.MAX_RETAINED) {
+      this.objects = new Object[0];
+      this.objectsUsed = 0;
+    } else {
+      this.clear();
+    } // if-else
+    if (this.ints.length > SortWorkspace.MAX_RETAINED) {
+      this.ints = new int[0];
+    } // if
+    if (this.longs.length > SortWorkspace.MAX_RETAINED) {
+      this.longs = new long[0];
+    } // if
+    if (this.doubles.length > SortWorkspace.MAX_RETAINED) {
+      this.doubles = new double[0];
+    } // if
+    this.inUse = false;
+  } // release()
+
+  /**
+   * Clear any objects left in the scratch space.
+   */
+  public void clear() {
+    Arrays.fill(this.objects, 0, this.objectsUsed, null);
+    this.objectsUsed = 0;
+  } // clear()
+
+  /**
+   * Get scratch space for objects. The contents are unspecified, and
+   * earlier scratch space from this workspace may be reused.
+   *
+   * @param <T>
+   *   The type of the objects. Since the array is really an Object[], it
+   *   must only be used where T is erased.
+   * @param size
+   *   The number of elements needed.
+   *
+   * @return an array of at least size elements.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T[] objects(int size) {
+    if (this.objects.length < size) {
+      this.objects = new Object[SortWorkspace.grow(this.objects.length, size)];
+    } // if
+    this.objectsUsed = Math.max(this.objectsUsed, size);
+    return (T[]) this.objects;
+  } // objects(int)
+
+  /**
+   * Get scratch space for ints. The contents are unspecified.
+   *
+   * @param size
+   *   The number of elements needed.
+   *
+   * @return an array of at least size elements.
+   */
+  public int[] ints(int size) {
+    if (this.ints.length < size) {
+      this.ints = new int[SortWorkspace.grow(this.ints.length, size)];
+    } // if
+    return this.ints;
+  } // ints(int)
+
+  /**
+   * Get scratch space for longs. The contents are unspecified.
+   *
+   * @param size
+   *   The number of elements needed.
+   *
+   * @return an array of at least size elements.
+   */
+  public long[] longs(int size) {
+    if (this.longs.length < size) {
+      this.longs = new long[SortWorkspace.grow(this.longs.length, size)];
+    } // if
+    return this.longs;
+  } // longs(int)
+
+  /**
+   * Get scratch space for doubles. The contents are unspecified.
+   *
+   * @param size
+   *   The number of elements needed.
+   *
+   * @return an array of at least size elements.
+   */
+  public double[] doubles(int size) {
+    if (this.doubles.length < size) {
+      this.doubles = new double[SortWorkspace.grow(this.doubles.length, size)];
+    } // if
+    return this.doubles;
+  } // doubles(int)
+
+  /**
+   * Get room for the two bounds of a partition.
+   *
+   * @return an array of two elements.
+   */
+  public int[] bounds() {
+    return this.bounds;
+  } // bounds()
+
+  /**
+   * Find how many objects the scratch space can hold without growing.
+   *
+   * @return the capacity.
+   */
+  public int capacity() {
+    return this.objects.length;
+  } // capacity()
+} // class SortWorkspace
@@ -0,0 +1,327 @@
+package edu.grinnell.csc207.sorting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * A collection that many threads can add to at once, and that can hand
+ * back everything added so far in sorted order.
+ *
+ * <p>The buffer is split into stripes, and each thread always adds to the
+ * same stripe, chosen by its id, so threads rarely wait for one another.
+ * When a stripe's buffer fills, the thread that filled it swaps in an
+ * empty buffer and then, without holding the stripe's lock, sorts the full
+ * one into a run.
+ * Taking a snapshot or draining the buffer then only needs to sort the
+ * partly filled buffers and any full ones still being sorted, and merge
+ * the runs with a LoserTreeMerger.
+ *
+ * @param <T>
+ *   The types of values that are stored.
+ *
+ * @author David William Stroud
+ */
+public class SortedIngestBuffer<T> {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /**
+   * The default number of values sorted into each run.
+   */
+  public static final int DEFAULT_RUN_SIZE = 4096;
+
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * The way in which elements are ordered.
+   */
+  Comparator<? super T> order;
+
+  /**
+   * The sorter that turns each full buffer into a run.
+   */
+  Sorter<T> sorter;
+
+  /**
+   * The way to make a buffer of the given size.
+   */
+  IntFunction<T[]> newArray;
+
+  /**
+   * The merger for the runs.
+   */
+  LoserTreeMerger<T> merger;
+
+  /**
+   * The number of values sorted into each run.
+   */
+  int runSize;
+
+  /**
+   * The stripes.
+   */
+  Stripe[] stripes;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a buffer with one stripe per processor, sorting runs with
+   * StroudDavid sort.
+   *
+   * @param comparator
+   *   The order in which values should be returned.
+   */
+  @SuppressWarnings("unchecked")
+  public SortedIngestBuffer(Comparator<? super T> comparator) {
+    // StroudDavidSort works on any array, so the buffers can be Object[].
+    this(comparator, new StroudDavidSort<>(comparator), (size) -> (T[]) new Object[size],
+        Runtime.getRuntime().availableProcessors(), SortedIngestBuffer.DEFAULT_RUN_SIZE);
+  } // SortedIngestBuffer(Comparator)
+
+  /**
+   * Create a buffer with every setting given.
+   *
+   * @param comparator
+   *   The order in which values should be returned.
+   * @param runSorter
+   *   The sorter that turns each full buffer into a run. It must sort by the
+   *   same comparator, and it may be used by several threads at once.
+   * @param bufferMaker
+   *   The way to make a buffer of the given size, such as String[]::new.
+   *   The buffers are passed to runSorter, so they must be arrays of a type
+   *   it accepts.
+   * @param stripeCount
+   *   The number of stripes, which should be about the number of threads
+   *   that add values.
+   * @param valuesPerRun
+   *   The number of values sorted into each run.
+   */
+  @SuppressWarnings("unchecked")
+  public SortedIngestBuffer(Comparator<? super T> comparator, Sorter<T> runSorter,
+      IntFunction<T[]> bufferMaker, int stripeCount, int valuesPerRun) {
+    if (stripeCount < 1) {
+      throw new IllegalArgumentException("stripe count must be positive, not " + stripeCount);
+    } // if
+    if (valuesPerRun < 1) {
+      throw new IllegalArgumentException("run size must be positive, not " + valuesPerRun);
+    } // if
+    this.order = comparator;
+    this.sorter = runSorter;
+    this.newArray = bufferMaker;
+    this.merger = new LoserTreeMerger<>(comparator);
+    this.runSize = valuesPerRun;
+    this.stripes = (Stripe[]) new SortedIngestBuffer<?>.Stripe[stripeCount];
+    for (int i = 0; i < stripeCount; i++) {
+      this.stripes[i] = new Stripe();
+    } // for
+  } // SortedIngestBuffer(Comparator, Sorter, IntFunction, int, int)
+
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Merge sorted runs into one sorted list.
+   *
+   * @param runs The runs.
+   * @return the merged values.
+   */
+  @SuppressWarnings("unchecked")
+  private List<T> merge(List<T[]> runs) {
+    int total = 0;
+    for (T[] run : runs) {
+      total += run.length;
+    } // for
+    T[] merged = (T[]) new Object[total];
+    this.merger.merge(runs, merged, 0);
+    return new ArrayList<>(Arrays.asList(merged));
+  } // merge(List<T[]>)
+
+  // +---------+-----------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Add a value. This may sort the calling thread's buffer, if it fills.
+   *
+   * @param value
+   *   the value to add.
+   */
+  public void add(T value) {
+    // The stripe is chosen from the thread's id rather than remembered in a
+    // ThreadLocal, since a ThreadLocal would keep the buffer alive for as
+    // long as any thread that added to it.
+    int id = (int) (Thread.currentThread().getId() % this.stripes.length);
+    this.stripes[id].add(value);
+  } // add(T)
+
+  /**
+   * Get every value added so far, in sorted order, leaving the buffer
+   * unchanged. Values added while the snapshot is being taken may or may
+   * not be included.
+   *
+   * @return the values, in sorted order.
+   */
+  public List<T> snapshot() {
+    List<T[]> runs = new ArrayList<>();
+    for (Stripe s : this.stripes) {
+      s.collect(runs, false);
+    } // for
+    return this.merge(runs);
+  } // snapshot()
+
+  /**
+   * Remove every value added so far and return them in sorted order. Values
+   * added while the buffer is being drained are either returned or left for
+   * the next drain, never lost.
+   *
+   * @return the values, in sorted order.
+   */
+  public List<T> drain() {
+    List<T[]> runs = new ArrayList<>();
+    for (Stripe s : this.stripes) {
+      s.collect(runs, true);
+    } // for
+    return this.merge(runs);
+  } // drain()
+
+  /**
+   * Count the values in the buffer. Values added while they are being
+   * counted may or may not be included.
+   *
+   * @return the number of values.
+   */
+  public long size() {
+    long size = 0;
+    for (Stripe s : this.stripes) {
+      size += s.size();
+    } // for
+    return size;
+  } // size()
+
+  // +---------------+-----------------------------------------------
+  // | Inner Classes |
+  // +---------------+
+
+  /**
+   * One stripe: a buffer being filled and the runs sorted from earlier
+   * buffers. Each stripe has its own lock.
+   */
+  private class Stripe {
+    /**
+     * The runs sorted from earlier buffers. Runs are never changed once
+     * they are sorted, so they can be shared with snapshots.
+     */
+    private List<T[]> runs = new ArrayList<>();
+
+    /**
+     * The full buffers whose runs are being sorted. They are never changed,
+     * since their runs are sorted in copies, so they can be copied by
+     * snapshots and drains that cannot wait for the runs.
+     */
+    private List<T[]> pending = new ArrayList<>();
+
+    /**
+     * The buffer being filled.
+     */
+    private T[] buffer;
+
+    /**
+     * The number of values in buffer.
+     */
+    private int filled;
+
+    /**
+     * Create an empty stripe.
+     */
+    Stripe() {
+      this.buffer = this.newBuffer();
+    } // Stripe()
+
+    /**
+     * Make an empty buffer.
+     *
+     * @return the buffer.
+     */
+    private T[] newBuffer() {
+      return SortedIngestBuffer.this.newArray.apply(SortedIngestBuffer.this.runSize);
+    } // newBuffer()
+
+    /**
+     * Add a value, sorting the buffer into a run if it fills. The run is
+     * sorted without holding the lock, so other threads need not wait for
+     * it.
+     *
+     * @param value The value.
+     */
+    void add(T value) {
+      T[] full;
+      synchronized (this) {
+        this.buffer[this.filled++] = value;
+        if (this.filled < this.buffer.length) {
+          return;
+        } // if
+        full = this.buffer;
+        this.pending.add(full);
+        this.buffer = this.newBuffer();
+        this.filled = 0;
+      } // synchronized
+      T[] run = full.clone();
+      SortedIngestBuffer.this.sorter.sort(run);
+      synchronized (this) {
+        // If a drain took the buffer while the run was being sorted, the
+        // drain returned its values, so the run is dropped.
+        if (this.pending.remove(full)) {
+          this.runs.add(run);
+        } // if
+      } // synchronized
+    } // add(T)
+
+    /**
+     * Add this stripe's runs to a list, along with sorted copies of the
+     * partly filled buffer and of the full buffers still being sorted.
+     *
+     * @param into The list of runs to add to.
+     * @param remove true to empty the stripe.
+     */
+    void collect(List<T[]> into, boolean remove) {
+      List<T[]> unsorted = new ArrayList<>();
+      synchronized (this) {
+        into.addAll(this.runs);
+        for (T[] full : this.pending) {
+          unsorted.add(full.clone());
+        } // for
+        unsorted.add(Arrays.copyOf(this.buffer, this.filled));
+        if (remove) {
+          this.runs = new ArrayList<>();
+          this.pending = new ArrayList<>();
+          Arrays.fill(this.buffer, 0, this.filled, null);
+          this.filled = 0;
+        } // if
+      } // synchronized
+      // The copies are ours, so they can be sorted without holding the lock.
+      for (T[] copy : unsorted) {
+        SortedIngestBuffer.this.sorter.sort(copy);
+        into.add(copy);
+      } // for
+    } // collect(List<T[]>, boolean)
+
+    /**
+     * Count the values in this stripe.
+     *
+     * @return the number of values.
+     */
+    synchronized long size() {
+      return (long) (this.runs.size() + this.pending.size()) * SortedIngestBuffer.this.runSize
+          + this.filled;
+    } // size()
+  } // class Stripe
+} // class SortedIngestBuffer
@@ -1,5 +1,8 @@
 package edu.grinnell.csc207.sorting;
 
+import java.util.Arrays;
+import java.util.Objects;
+
 /**
  * Things that know how to sort arrays of values.
  *
@@ -23,5 +26,33 @@ public interface Sorter<T> {
    *     order.compare(values[i-1], values[i]) &lt;= 0
    */
   public void sort(T[] values);
+
+  /**
+   * Sort part of an array in place, leaving the rest of it alone. Sorters
+   * that can sort a slice directly override this; the default sorts a copy
+   * of the slice and copies it back.
+   *
+   * @param values
+   *   an array, part of which is to be sorted.
+   * @param from
+   *   the first index to sort, inclusive.
+   * @param to
+   *   the last index to sort, exclusive.
+   *
+   * @throws IndexOutOfBoundsException
+   *   if from &lt; 0, from &gt; to, or to &gt; values.length.
+   *
+   * @post
+   *   For all i, from &lt; i &lt; to,
+   *     order.compare(values[i-1], values[i]) &lt;= 0
+   * @post
+   *   The elements outside [from, to) are unchanged.
+   */
+  public default void sort(T[] values, int from, int to) {
+    Objects.checkFromToIndex(from, to, values.length);
+    T[] slice = Arrays.copyOfRange(values, from, to);
+    this.sort(slice);
+    System.arraycopy(slice, 0, values, from, slice.length);
+  } // sort(T[], int, int)
 } // interface Sorter<T>
 
@@ -0,0 +1,340 @@
+package edu.grinnell.csc207.sorting;
+
+import java.util.Objects;
+
+/**
+ * Something that sorts strings, and byte arrays, using three-way radix
+ * Quicksort (multikey Quicksort). Rather than comparing whole strings, each
+ * partitioning step looks at one character of each string, splitting the
+ * slice into strings whose character there is less than, equal to, or
+ * greater than the pivot's. The "equal to" section then moves on to the
+ * next character, so a prefix shared by many strings is examined once per
+ * string instead of once per comparison.
+ *
+ * <p>Strings are sorted in the order of String.compareTo, and byte arrays
+ * in the order of Arrays.compareUnsigned. Small slices are insertion
+ * sorted, starting the comparisons at the character the slice has reached,
+ * and slices whose partitions keep coming out lopsided are heapsorted.
+ *
+ * @author David William Stroud
+ */
+public class StringSorter implements Sorter<String> {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /**
+   * The largest slice that is insertion sorted.
+   */
+  private static final int MAX_FOR_INSERTION_SORT = 12;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a sorter for strings and byte arrays.
+   */
+  public StringSorter() {
+  } // StringSorter()
+
+  // +----------+----------------------------------------------------
+  // | String[] |
+  // +----------+
+
+  /**
+   * Get a character of a string, or -1 past its end, so that a string
+   * comes before every longer string it is a prefix of.
+   *
+   * @param s The string.
+   * @param d The index of the character.
+   * @return the character, or -1.
+   */
+  private static int charAt(String s, int d) {
+    return (d < s.length()) ? s.charAt(d) : -1;
+  } // charAt(String, int)
+
+  /**
+   * Compare two strings that are known to agree before some index.
+   *
+   * @param x One string.
+   * @param y Another string.
+   * @param d The index to start comparing at.
+   * @return a negative number, zero, or a positive number, as x comes
+   *   before, with, or after y.
+   */
+  private static int compareFrom(String x, String y, int d) {
+    int end = Math.min(x.length(), y.length());
+    for (int i = d; i < end; i++) {
+      int difference = x.charAt(i) - y.charAt(i);
+      if (difference != 0) {
+        return difference;
+      } // if
+    } // for
+    return x.length() - y.length();
+  } // compareFrom(String, String, int)
+
+  /**
+   * Sort a slice of strings that agree before some index with insertion
+   * sort.
+   *
+   * @param values The array.
+   * @param start The first index to sort, inclusive.
+   * @param end The last index to sort, exclusive.
+   * @param d The index of the first character that may differ.
+   */
+  private static void insertionSortSlice(String[] values, int start, int end, int d) {
+    for (int i = start + 1; i < end; i++) {
+      String value = values[i];
+      int index = i - 1;
+      while (index >= start && StringSorter.compareFrom(values[index], value, d) > 0) {
+        values[index + 1] = values[index];
+        index--;
+      } // while
+      values[index + 1] = value;
+    } // for
+  } // insertionSortSlice(String[], int, int, int)
+
+  /**
+   * Swap two values in an array.
+   *
+   * @param values The array.
+   * @param i One index.
+   * @param j Another index.
+   */
+  private static void swap(Object[] values, int i, int j) {
+    Object tmp = values[i];
+    values[i] = values[j];
+    values[j] = tmp;
+  } // swap(Object[], int, int)
+
+  /**
+   * Sort a slice of strings that agree before some index. This recurses on
+   * the "less than" and "greater than" sections and loops on the "equal
+   * to" section, so long shared prefixes do not deepen the stack. Only the
+   * recursive calls use up the depth budget, since moving on to the next
+   * character always makes progress.
+   *
+   * @param values The array.
+   * @param start The first index to sort, inclusive.
+   * @param end The last index to sort, exclusive.
+   * @param d The index of the first character that may differ.
+   * @param depth The number of levels of recursion left before falling back on heapsort.
+   */
+  private static void sortSlice(String[] values, int start, int end, int d, int depth) {
+    while (end - start > StringSorter.MAX_FOR_INSERTION_SORT) {
+      if (depth == 0) {
+        int from = d;
+        new HeapSorter<String>((x, y) -> StringSorter.compareFrom(x, y, from))
+            .sortSlice(values, start, end);
+        return;
+      } // if
+
+      // The median of three characters makes a good pivot.
+      int a = StringSorter.charAt(values[start], d);
+      int b = StringSorter.charAt(values[(start + end) >>> 1], d);
+      int c = StringSorter.charAt(values[end - 1], d);
+      int pivot = Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+
+      int startEqual = start;
+      int startGt = end;
+      for (int index = start; index < startGt;) {
+        int ch = StringSorter.charAt(values[index], d);
+        if (ch < pivot) {
+          StringSorter.swap(values, startEqual++, index++);
+        } else if (ch > pivot) {
+          StringSorter.swap(values, index, --startGt);
+        } else {
+          index++;
+        } // if-else
+      } // for
+
+      StringSorter.sortSlice(values, start, startEqual, d, depth - 1);
+      StringSorter.sortSlice(values, startGt, end, d, depth - 1);
+      if (pivot < 0) {
+        // The strings in the middle have all ended, so they are equal.
+        return;
+      } // if
+      start = startEqual;
+      end = startGt;
+      d++;
+    } // while
+    StringSorter.insertionSortSlice(values, start, end, d);
+  } // sortSlice(String[], int, int, int, int)
+
+  /**
+   * Sort an array of strings in place.
+   *
+   * @param values
+   *   an array to sort.
+   *
+   * @post
+   *   For all i, 0 &lt; i &lt; values.length,
+   *     values[i-1].compareTo(values[i]) &lt;= 0
+   */
+  @Override
+  public void sort(String[] values) {
+    this.sort(values, 0, values.length);
+  } // sort(String[])
+
+  /**
+   * Sort part of an array of strings in place, leaving the rest of it alone.
+   *
+   * @param values
+   *   an array, part of which is to be sorted.
+   * @param from
+   *   the first index to sort, inclusive.
+   * @param to
+   *   the last index to sort, exclusive.
+   */
+  @Override
+  public void sort(String[] values, int from, int to) {
+    Objects.checkFromToIndex(from, to, values.length);
+    SortEvent event = SortEvent.start();
+    StringSorter.sortSlice(values, from, to, 0, HeapSorter.depthBudget(to - from));
+    if (event != null) {
+      event.finish(this, String.class, to - from);
+    } // if
+  } // sort(String[], int, int)
+
+  // +----------+----------------------------------------------------
+  // | byte[][] |
+  // +----------+
+
+  /**
+   * Get a byte of an array as an unsigned value, or -1 past its end.
+   *
+   * @param s The array.
+   * @param d The index of the byte.
+   * @return the byte, from 0 to 255, or -1.
+   */
+  private static int byteAt(byte[] s, int d) {
+    return (d < s.length) ? (s[d] & 0xFF) : -1;
+  } // byteAt(byte[], int)
+
+  /**
+   * Compare two byte arrays that are known to agree before some index.
+   *
+   * @param x One array.
+   * @param y Another array.
+   * @param d The index to start comparing at.
+   * @return a negative number, zero, or a positive number, as x comes
+   *   before, with, or after y.
+   */
+  private static int compareFrom(byte[] x, byte[] y, int d) {
+    int end = Math.min(x.length, y.length);
+    for (int i = d; i < end; i++) {
+      int difference = (x[i] & 0xFF) - (y[i] & 0xFF);
+      if (difference != 0) {
+        return difference;
+      } // if
+    } // for
+    return x.length - y.length;
+  } // compareFrom(byte[], byte[], int)
+
+  /**
+   * Sort a slice of byte arrays that agree before some index with insertion
+   * sort.
+   *
+   * @param values The array.
+   * @param start The first index to sort, inclusive.
+   * @param end The last index to sort, exclusive.
+   * @param d The index of the first byte that may differ.
+   */
+  private static void insertionSortSlice(byte[][] values, int start, int end, int d) {
+    for (int i = start + 1; i < end; i++) {
+      byte[] value = values[i];
+      int index = i - 1;
+      while (index >= start && StringSorter.compareFrom(values[index], value, d) > 0) {
+        values[index + 1] = values[index];
+        index--;
+      } // while
+      values[index + 1] = value;
+    } // for
+  } // insertionSortSlice(byte[][], int, int, int)
+
+  /**
+   * Sort a slice of byte arrays that agree before some index, as the
+   * String version does.
+   *
+   * @param values The array.
+   * @param start The first index to sort, inclusive.
+   * @param end The last index to sort, exclusive.
+   * @param d The index of the first byte that may differ.
+   * @param depth The number of levels of recursion left before falling back on heapsort.
+   */
+  private static void sortSlice(byte[][] values, int start, int end, int d, int depth) {
+    while (end - start > StringSorter.MAX_FOR_INSERTION_SORT) {
+      if (depth == 0) {
+        int from = d;
+        new HeapSorter<byte[]>((x, y) -> StringSorter.compareFrom(x, y, from))
+            .sortSlice(values, start, end);
+        return;
+      } // if
+
+      int a = StringSorter.byteAt(values[start], d);
+      int b = StringSorter.byteAt(values[(start + end) >>> 1], d);
+      int c = StringSorter.byteAt(values[end - 1], d);
+      int pivot = Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+
+      int startEqual = start;
+      int startGt = end;
+      for (int index = start; index < startGt;) {
+        int ch = StringSorter.byteAt(values[index], d);
+        if (ch < pivot) {
+          StringSorter.swap(values, startEqual++, index++);
+        } else if (ch > pivot) {
+          StringSorter.swap(values, index, --startGt);
+        } else {
+          index++;
+        } // if-else
+      } // for
+
+      StringSorter.sortSlice(values, start, startEqual, d, depth - 1);
+      StringSorter.sortSlice(values, startGt, end, d, depth - 1);
+      if (pivot < 0) {
+        return;
+      } // if
+      start = startEqual;
+      end = startGt;
+      d++;
+    } // while
+    StringSorter.insertionSortSlice(values, start, end, d);
+  } // sortSlice(byte[][], int, int, int, int)
+
+  /**
+   * Sort an array of byte arrays in place, comparing them as unsigned
+   * bytes, with a shorter array before a longer one it is a prefix of.
+   * Arrays with equal contents may not keep their relative order.
+   *
+   * @param values
+   *   an array to sort.
+   *
+   * @post
+   *   For all i, 0 &lt; i &lt; values.length,
+   *     Arrays.compareUnsigned(values[i-1], values[i]) &lt;= 0
+   */
+  public void sort(byte[][] values) {
+    this.sort(values, 0, values.length);
+  } // sort(byte[][])
+
+  /**
+   * Sort part of an array of byte arrays in place, leaving the rest of it
+   * alone.
+   *
+   * @param values
+   *   an array, part of which is to be sorted.
+   * @param from
+   *   the first index to sort, inclusive.
+   * @param to
+   *   the last index to sort, exclusive.
+   */
+  public void sort(byte[][] values, int from, int to) {
+    Objects.checkFromToIndex(from, to, values.length);
+    SortEvent event = SortEvent.start();
+    StringSorter.sortSlice(values, from, to, 0, HeapSorter.depthBudget(to - from));
+    if (event != null) {
+      event.finish(this, byte[].class, to - from);
+    } // if
+  } // sort(byte[][], int, int)
+} // class StringSorter
@@ -0,0 +1,160 @@
+package edu.grinnell.csc207.sorting;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+/**
+ * Something that selects the smallest values of an array with quickselect,
+ * using StroudDavid sort's partition step, and the smallest values of a
+ * stream with a bounded heap.
+ *
+ * <p>Quickselect partitions the array as StroudDavid sort would, but only
+ * keeps working on the section that holds the k-th smallest value, so it
+ * takes O(n) time on average. The k selected values are then sorted, for
+ * O(n + k log k) in all. Like StroudDavidSort, it gives up on partitioning
+ * after too many lopsided partitions and sorts what is left instead.
+ *
+ * @param <T>
+ *   The types of values that are selected.
+ *
+ * @author David William Stroud
+ */
+public class StroudDavidSelector<T> implements Selector<T> {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /**
+   * The most values for which the heap makes room before any have been
+   * read. Callers may pass a huge k to mean "all of them", so the heap
+   * grows as values arrive rather than being sized for k.
+   */
+  private static final int INITIAL_CAPACITY = 16;
+
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * The way in which elements are ordered.
+   */
+  Comparator<? super T> order;
+
+  /**
+   * The sorter whose partition step we use, and which sorts the selected values.
+   */
+  StroudDavidSort<T> sorter;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a selector using a particular comparator.
+   *
+   * @param comparator
+   *   The order in which the selected elements should be ordered.
+   */
+  public StroudDavidSelector(Comparator<? super T> comparator) {
+    this.order = comparator;
+    this.sorter = new StroudDavidSort<>(comparator);
+  } // StroudDavidSelector(Comparator)
+
+  // +---------+-----------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Move the k smallest values in an array to its front, in sorted order.
+   *
+   * @param values
+   *   an array to select from.
+   * @param k
+   *   the number of values to select.
+   */
+  @Override
+  public void select(T[] values, int k) {
+    Objects.checkFromToIndex(0, k, values.length);
+    if (k == 0) {
+      return;
+    } // if
+
+    int start = 0;
+    int end = values.length;
+    int depth = HeapSorter.depthBudget(end);
+    int[] bounds = new int[2];
+    // Invariant: everything before start belongs before position k, and
+    // everything from end on belongs after it.
+    while (start < k && k < end) {
+      if (depth == 0) {
+        // The partitions keep coming out lopsided, so we just sort the rest.
+        this.sorter.sort(values, start, end);
+        break;
+      } // if
+      depth--;
+      if (!this.sorter.partitionSlice(values, start, end, bounds)) {
+        // The slice was small enough to be sorted outright.
+        break;
+      } // if
+      if (k <= bounds[0]) {
+        end = bounds[0];
+      } else if (k >= bounds[1]) {
+        start = bounds[1];
+      } else {
+        // Position k - 1 holds a copy of the pivot, so the k smallest
+        // values are already at the front.
+        break;
+      } // if-else
+    } // while
+
+    this.sorter.sort(values, 0, k);
+  } // select(T[], int)
+
+  /**
+   * Find the k smallest values produced by an iterator. This keeps the k
+   * smallest values seen so far in a heap with the largest on top, so each
+   * value takes O(log k) time and there are never more than k values in
+   * memory, or as many as the iterator produces if that is fewer.
+   *
+   * @param values
+   *   the values to select from.
+   * @param k
+   *   the number of values to select.
+   *
+   * @return the k smallest values, in sorted order.
+   */
+  @Override
+  public List<T> select(Iterator<? extends T> values, int k) {
+    if (k < 0) {
+      throw new IllegalArgumentException("k must not be negative, not " + k);
+    } // if
+    if (k == 0) {
+      return new ArrayList<>();
+    } // if
+
+    PriorityQueue<T> largestOnTop = new PriorityQueue<>(
+        Math.min(k, StroudDavidSelector.INITIAL_CAPACITY), Collections.reverseOrder(this.order));
+    while (values.hasNext()) {
+      T value = values.next();
+      if (largestOnTop.size() < k) {
+        largestOnTop.add(value);
+      } else if (this.order.compare(value, largestOnTop.peek()) < 0) {
+        largestOnTop.poll();
+        largestOnTop.add(value);
+      } // if-else
+    } // while
+
+    // Polling gives the largest first, so we fill the list from the back.
+    List<T> result = new ArrayList<>(largestOnTop.size());
+    result.addAll(Collections.nCopies(largestOnTop.size(), null));
+    for (int i = result.size() - 1; i >= 0; i--) {
+      result.set(i, largestOnTop.poll());
+    } // for
+    return result;
+  } // select(Iterator, int)
+} // class StroudDavidSelector
@@ -1,6 +1,7 @@
 package edu.grinnell.csc207.sorting;
 
 import java.util.Comparator;
+import java.util.Objects;
 
 /**
  * This class implements a sorting algorithm mostly based on quicksort,
@@ -17,6 +18,16 @@ public class StroudDavidSort<T> implements Sorter<T> {
    */
   private final Comparator<? super T> order;
 
+  /**
+   * The Sorter used for slices whose partitions keep coming out lopsided.
+   */
+  private final HeapSorter<T> fallback;
+
+  /**
+   * Where to count the work done, or null if it is not counted.
+   */
+  SortMetrics metrics;
+
   /**
    * This integer represents the minimum length of an array required to apply any heuristics.
    */
@@ -36,6 +47,7 @@ public class StroudDavidSort<T> implements Sorter<T> {
    */
   public StroudDavidSort(Comparator<? super T> comparator) {
     this.order = comparator;
+    this.fallback = new HeapSorter<>(comparator);
   } // StroudDavidSort(Comparator<? super T>)
 
   /**
@@ -46,45 +58,59 @@ public class StroudDavidSort<T> implements Sorter<T> {
    * @param end    The last index to sort, exclusive.
    */
   private void insertionSortSlice(T[] values, int start, int end) {
+    int shifts = 0;
     // We can start at index start + 1, since the first iteration of insertion sort will do nothing.
     for (int unprocessedStart = start + 1; unprocessedStart < end; unprocessedStart++) {
       T value = values[unprocessedStart];
-      for (int index = unprocessedStart - 1; index >= 0; index--) {
+      for (int index = unprocessedStart - 1; index >= start; index--) {
         if (this.order.compare(value, values[index]) >= 0) {
           break;
         } // if
         values[index + 1] = values[index];
         values[index] = value;
+        shifts++;
       } // for
     } // for
+    SortMetrics counts = this.metrics;
+    if (counts != null) {
+      counts.insertionSorts.increment();
+      counts.moved(2L * shifts);
+    } // if
   } // insertionSortSlice(T[], int, int)
 
   /**
-   * Sorts a slice of an array in place using StroudDavid sort.
+   * Partitions a slice of an array around a pivot using StroudDavid sort's heuristics.
+   * Small or probably-sorted slices are sorted directly instead of being partitioned.
    *
    * @param values The full array to sort.
-   * @param start  The first index to sort, inclusive.
-   * @param end    The last index to sort, exclusive.
+   * @param start  The first index to partition, inclusive.
+   * @param end    The last index to partition, exclusive.
+   * @param bounds An array of at least two elements. If the slice is partitioned, this
+   *               receives the start of the "equal to" section and the start of the
+   *               "greater than" section.
+   * @return true if the slice was partitioned and its "less than" and "greater than"
+   *         sections still need to be sorted, and false if the slice is already sorted.
    */
-  private void sortSlice(T[] values, int start, int end) {
+  boolean partitionSlice(T[] values, int start, int end, int[] bounds) {
     Comparator<? super T> thisOrder = this.order;
 
     int size = end - start;
     if (size == 2) {
       // Optimization: this sort can be done with a single call to .compare.
-      if (thisOrder.compare(values[start], values[--end]) <= 0) {
-        return;
-      } else {
+      if (thisOrder.compare(values[start], values[--end]) > 0) {
         T value = values[end];
         values[end] = values[start];
         values[start] = value;
-        return;
+        if (this.metrics != null) {
+          this.metrics.moved(2);
+        } // if
       } // if
+      return false;
     } // if
     if (size < 2) {
       // Optimization: this slice is already sorted, since it
       // is either one element or two.
-      return;
+      return false;
     } // if
 
     T lowPivot = values[start];
@@ -112,15 +138,21 @@ public class StroudDavidSort<T> implements Sorter<T> {
             // Heuristic: the array is very probably sorted. Fall back to insertion sort, but only
             // if the array is small enough.
             this.insertionSortSlice(values, start, end);
-            return;
+            return false;
           } // if
         } // if
         pivot = midPivot;
+      } else if (thisOrder.compare(midPivot, highPivot) >= 0) {
+        // Heuristic: the pivots are in descending order, so the slice may be
+        // reversed. The middle one is their median.
+        pivot = midPivot;
       } else {
-        pivot = lowPivot;
+        // The middle pivot is the smallest, so the median is the smaller of the others.
+        pivot = (thisOrder.compare(lowPivot, highPivot) <= 0) ? lowPivot : highPivot;
       } // if-else
     } // if-else
 
+    SortPassEvent pass = SortPassEvent.start(size);
     int startEqual = start;
     int startGt = end;
     for (int index = start; index < startGt;) {
@@ -138,10 +170,60 @@ public class StroudDavidSort<T> implements Sorter<T> {
         index++;
       } // if-else
     } // for
+    if (pass != null) {
+      pass.finish(this, "partition");
+    } // if
 
-    this.sortSlice(values, start, startEqual);
-    this.sortSlice(values, startGt, end);
-  } // sortSlice(T[], int, int)
+    bounds[0] = startEqual;
+    bounds[1] = startGt;
+    if (this.metrics != null) {
+      // Every value that is not equal to the pivot was swapped once.
+      this.metrics.moved(2L * ((startEqual - start) + (end - startGt)));
+    } // if
+    return true;
+  } // partitionSlice(T[], int, int, int[])
+
+  /**
+   * Sorts a slice of an array in place using StroudDavid sort. To keep the stack
+   * shallow, this recurses on the smaller section and loops on the larger one.
+   * If the partitions are so lopsided that the depth budget runs out, the rest
+   * of the slice is heapsorted, so the sort never takes more than O(n log n) time.
+   *
+   * @param values The full array to sort.
+   * @param start  The first index to sort, inclusive.
+   * @param end    The last index to sort, exclusive.
+   * @param depth  The number of partitioning levels left before falling back on heapsort.
+   * @param level  The number of partitioning levels above this slice, which is only
+   *               used when counting the work done.
+   * @param bounds Scratch space for partitionSlice. Its contents are overwritten.
+   */
+  void sortSlice(T[] values, int start, int end, int depth, int level, int[] bounds) {
+    SortMetrics counts = this.metrics;
+    while (depth > 0 && this.partitionSlice(values, start, end, bounds)) {
+      depth--;
+      level++;
+      if (counts != null) {
+        counts.reached(level);
+      } // if
+      // The recursive call overwrites bounds, so we remember them first.
+      int startEqual = bounds[0];
+      int startGt = bounds[1];
+      if ((startEqual - start) < (end - startGt)) {
+        this.sortSlice(values, start, startEqual, depth, level, bounds);
+        start = startGt;
+      } else {
+        this.sortSlice(values, startGt, end, depth, level, bounds);
+        end = startEqual;
+      } // if-else
+    } // while
+
+    if (depth == 0) {
+      if (counts != null) {
+        counts.heapsorts.increment();
+      } // if
+      this.fallback.sortSlice(values, start, end);
+    } // if
+  } // sortSlice(T[], int, int, int, int, int[])
 
   /**
    * Sort an array in place using StroudDavid sort.
@@ -154,6 +236,48 @@ public class StroudDavidSort<T> implements Sorter<T> {
    */
   @Override
   public void sort(T[] values) {
-    this.sortSlice(values, 0, values.length);
+    this.sort(values, 0, values.length);
   } // sort(T[])
+
+  /**
+   * Sort part of an array in place using StroudDavid sort, leaving the rest of it alone.
+   *
+   * @param values
+   *   an array, part of which is to be sorted.
+   * @param from
+   *   the first index to sort, inclusive.
+   * @param to
+   *   the last index to sort, exclusive.
+   */
+  @Override
+  public void sort(T[] values, int from, int to) {
+    SortWorkspace workspace = SortWorkspace.acquire();
+    try {
+      this.sort(values, from, to, workspace);
+    } finally {
+      workspace.release();
+    } // try/finally
+  } // sort(T[], int, int)
+
+  /**
+   * Sort part of an array in place using StroudDavid sort, keeping the
+   * partition bounds in a workspace.
+   *
+   * @param values
+   *   an array, part of which is to be sorted.
+   * @param from
+   *   the first index to sort, inclusive.
+   * @param to
+   *   the last index to sort, exclusive.
+   * @param workspace
+   *   where to find scratch space.
+   */
+  public void sort(T[] values, int from, int to, SortWorkspace workspace) {
+    Objects.checkFromToIndex(from, to, values.length);
+    SortEvent event = SortEvent.start();
+    this.sortSlice(values, from, to, HeapSorter.depthBudget(to - from), 0, workspace.bounds());
+    if (event != null) {
+      event.finish(this, values.getClass().getComponentType(), to - from);
+    } // if
+  } // sort(T[], int, int, SortWorkspace)
 } // class StroudDavidSort<T>
@@ -1,6 +1,7 @@
 package edu.grinnell.csc207.util;
 
 import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * Utilities for working with arrays.
@@ -52,11 +53,28 @@ public class ArrayUtils {
    *   The array.
    */
   public static <T> void permute(T[] values) {
-    for (int i = 0; i < values.length; i++) {
-      swap(values, i, rand.nextInt(values.length));
-    } // for
+    permute(values, rand);
   } // permute(T[])
 
+  /**
+   * Randomly permute elements in an array with a particular source of
+   * randomness, so that a seeded source gives the same permutation every
+   * time. This is the Fisher-Yates shuffle, so every permutation is
+   * equally likely.
+   *
+   * @param <T>
+   *   The type of elements stored in the array.
+   * @param values
+   *   The array.
+   * @param random
+   *   The source of randomness.
+   */
+  public static <T> void permute(T[] values, RandomGenerator random) {
+    for (int i = values.length - 1; i > 0; i--) {
+      swap(values, i, random.nextInt(i + 1));
+    } // for
+  } // permute(T[], RandomGenerator)
+
   /**
    * Convert a subset of an array to a string. Intended mostly for debug
    * printing in which we need to keep track of parts of an array.
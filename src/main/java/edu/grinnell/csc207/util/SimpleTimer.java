@@ -1,25 +1,41 @@
 package edu.grinnell.csc207.util;
 
 /**
- * A simple timer.
+ * A simple timer. The timer counts in nanoseconds, using System.nanoTime,
+ * so that even very short sorts can be measured; elapsed and stop round to
+ * milliseconds for those who only care about long ones.
  *
  * @author Samuel A. Rebelsky
  */
 public class SimpleTimer {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /**
+   * The number of nanoseconds in a millisecond.
+   */
+  static final long NANOS_PER_MILLI = 1_000_000;
+
   // +--------+------------------------------------------------------
   // | Fields |
   // +--------+
 
   /**
-   * The time the timer started.
+   * The time the timer started, in the units of System.nanoTime.
    */
   long start;
 
   /**
-   * The total elapsed time.
+   * The total elapsed time, in nanoseconds.
    */
   long elapsed = 0;
 
+  /**
+   * Whether the timer is running, rather than stopped.
+   */
+  boolean running;
+
   // +--------------+------------------------------------------------
   // | Constructors |
   // +--------------+
@@ -42,9 +58,22 @@ public class SimpleTimer {
    *   the timer started.
    */
   public long elapsed() {
-    return this.elapsed + System.currentTimeMillis() - this.start;
+    return this.elapsedNanos() / NANOS_PER_MILLI;
   } // elapsed()
 
+  /**
+   * Determine how much time has elapsed, to the nanosecond.
+   *
+   * @return The number of nanoseconds that have ellapsed since
+   *   the timer started.
+   */
+  public long elapsedNanos() {
+    if (!this.running) {
+      return this.elapsed;
+    } // if
+    return this.elapsed + System.nanoTime() - this.start;
+  } // elapsedNanos()
+
   /**
    * Stop the timer.
    *
@@ -52,15 +81,26 @@ public class SimpleTimer {
    *   the timer started.
    */
   public long stop() {
-    this.elapsed = this.elapsed();
-    this.start = 0;
-    return this.elapsed;
+    return this.stopNanos() / NANOS_PER_MILLI;
   } // stop()
 
   /**
-   * Restart the timer.
+   * Stop the timer.
+   *
+   * @return The number of nanoseconds that have ellapsed since
+   *   the timer started.
+   */
+  public long stopNanos() {
+    this.elapsed = this.elapsedNanos();
+    this.running = false;
+    return this.elapsed;
+  } // stopNanos()
+
+  /**
+   * Restart the timer, adding to the time already elapsed.
    */
   public void restart() {
-    start = System.currentTimeMillis();
+    this.start = System.nanoTime();
+    this.running = true;
   } // restart()
 } // class SimpleTimer
@@ -0,0 +1,273 @@
+package edu.grinnell.csc207.util;
+
+import java.util.Arrays;
+
+/**
+ * A record of repeated timings, in nanoseconds, that reports their
+ * distribution: the minimum, median, 90th and 99th percentiles, maximum
+ * and standard deviation, along with the cost per element sorted. One
+ * timing says little about a sort that takes a few microseconds, but the
+ * distribution of many says a great deal.
+ *
+ * @author David William Stroud
+ */
+public class TimingStats {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /**
+   * The number of samples there is room for at first.
+   */
+  static final int INITIAL_CAPACITY = 16;
+
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * The samples, in the order they were recorded. Only the first count
+   * are used.
+   */
+  long[] samples;
+
+  /**
+   * The number of samples.
+   */
+  int count;
+
+  /**
+   * The samples in increasing order, or null if samples have been
+   * recorded since they were last sorted.
+   */
+  long[] sorted;
+
+  /**
+   * The sum of the samples.
+   */
+  long totalNanos;
+
+  /**
+   * The number of elements sorted in all the samples.
+   */
+  long totalElements;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a record with no samples.
+   */
+  public TimingStats() {
+    this.samples = new long[INITIAL_CAPACITY];
+    this.count = 0;
+    this.sorted = null;
+    this.totalNanos = 0;
+    this.totalElements = 0;
+  } // TimingStats()
+
+  // +---------+-----------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Record one timing.
+   *
+   * @param nanos
+   *   The time taken, in nanoseconds.
+   */
+  public void record(long nanos) {
+    this.record(nanos, 0);
+  } // record(long)
+
+  /**
+   * Record one timing of a sort of some number of elements.
+   *
+   * @param nanos
+   *   The time taken, in nanoseconds.
+   * @param elements
+   *   The number of elements sorted.
+   */
+  public void record(long nanos, long elements) {
+    if (this.count == this.samples.length) {
+      this.samples = Arrays.copyOf(this.samples, this.count * 2);
+    } // if
+    this.samples[this.count++] = nanos;
+    this.sorted = null;
+    this.totalNanos += nanos;
+    this.totalElements += elements;
+  } // record(long, long)
+
+  /**
+   * Determine how many timings have been recorded.
+   *
+   * @return the number of timings.
+   */
+  public int count() {
+    return this.count;
+  } // count()
+
+  /**
+   * Determine the sum of the timings.
+   *
+   * @return the total time, in nanoseconds.
+   */
+  public long total() {
+    return this.totalNanos;
+  } // total()
+
+  /**
+   * Find the shortest timing.
+   *
+   * @return the shortest time, in nanoseconds.
+   *
+   * @throws IllegalStateException
+   *   If no timings have been recorded.
+   */
+  public long min() {
+    return this.percentile(0);
+  } // min()
+
+  /**
+   * Find the median timing.
+   *
+   * @return the median time, in nanoseconds.
+   *
+   * @throws IllegalStateException
+   *   If no timings have been recorded.
+   */
+  public long median() {
+    return this.percentile(50);
+  } // median()
+
+  /**
+   * Find the longest timing.
+   *
+   * @return the longest time, in nanoseconds.
+   *
+   * @throws IllegalStateException
+   *   If no timings have been recorded.
+   */
+  public long max() {
+    return this.percentile(100);
+  } // max()
+
+  /**
+   * Find the timing at a percentile, using the nearest-rank method, so
+   * that the result is always one of the timings.
+   *
+   * @param p
+   *   The percentile, from 0 to 100.
+   *
+   * @return the smallest timing that is at least as large as p percent of
+   *   the timings, in nanoseconds.
+   *
+   * @throws IllegalArgumentException
+   *   If p is not between 0 and 100.
+   * @throws IllegalStateException
+   *   If no timings have been recorded.
+   */
+  public long percentile(double p) {
+    if (!(p >= 0 && p <= 100)) {
+      throw new IllegalArgumentException("percentile " + p + " is not between 0 and 100");
+    } // if
+    if (this.count == 0) {
+      throw new IllegalStateException("no timings have been recorded");
+    } // if
+    if (this.sorted == null) {
+      this.sorted = Arrays.copyOf(this.samples, this.count);
+      Arrays.sort(this.sorted);
+    } // if
+    int rank = (int) Math.ceil(p / 100 * this.count);
+    return this.sorted[Math.max(rank - 1, 0)];
+  } // percentile(double)
+
+  /**
+   * Find the mean of the timings.
+   *
+   * @return the mean time, in nanoseconds, or NaN if no timings have been
+   *   recorded.
+   */
+  public double mean() {
+    return (double) this.totalNanos / this.count;
+  } // mean()
+
+  /**
+   * Find the standard deviation of the timings.
+   *
+   * @return the population standard deviation, in nanoseconds, or NaN if
+   *   no timings have been recorded.
+   */
+  public double stddev() {
+    double mean = this.mean();
+    double sum = 0;
+    for (int i = 0; i < this.count; i++) {
+      double diff = this.samples[i] - mean;
+      sum += diff * diff;
+    } // for
+    return Math.sqrt(sum / this.count);
+  } // stddev()
+
+  /**
+   * Find the cost of sorting each element, over all the timings that were
+   * recorded with a number of elements.
+   *
+   * @return the total time divided by the total number of elements, in
+   *   nanoseconds, or NaN if no elements were recorded.
+   */
+  public double nanosPerElement() {
+    return (this.totalElements == 0)
+        ? Double.NaN
+        : (double) this.totalNanos / this.totalElements;
+  } // nanosPerElement()
+
+  /**
+   * Summarize the timings on one line.
+   *
+   * @return a summary of the distribution of the timings.
+   */
+  @Override
+  public String toString() {
+    if (this.count == 0) {
+      return "no timings";
+    } // if
+    StringBuilder summary = new StringBuilder();
+    summary.append("min ").append(format(this.min()));
+    summary.append(", median ").append(format(this.median()));
+    summary.append(", p90 ").append(format(this.percentile(90)));
+    summary.append(", p99 ").append(format(this.percentile(99)));
+    summary.append(", max ").append(format(this.max()));
+    summary.append(", stddev ").append(format(this.stddev()));
+    if (this.totalElements > 0) {
+      summary.append(String.format(", %.2fns/element", this.nanosPerElement()));
+    } // if
+    summary.append(" (").append(this.count).append(" samples)");
+    return summary.toString();
+  } // toString()
+
+  // +----------------+----------------------------------------------
+  // | Static Methods |
+  // +----------------+
+
+  /**
+   * Format a time in the most readable unit.
+   *
+   * @param nanos
+   *   The time, in nanoseconds.
+   *
+   * @return the time in nanoseconds, microseconds, milliseconds or
+   *   seconds, with the unit.
+   */
+  public static String format(double nanos) {
+    if (nanos < 1e3) {
+      return String.format("%.0fns", nanos);
+    } else if (nanos < 1e6) {
+      return String.format("%.2fus", nanos / 1e3);
+    } else if (nanos < 1e9) {
+      return String.format("%.2fms", nanos / 1e6);
+    } else {
+      return String.format("%.2fs", nanos / 1e9);
+    } // if-else
+  } // format(double)
+} // class TimingStats
@@ -0,0 +1,74 @@
+package edu.grinnell.csc207.workloads;
+
+/**
+ * The shapes of input a WorkloadGenerator produces. Each shape is described
+ * by the int keys it gives an array of a given size; the keys of position
+ * i depend only on the seed, the size and i, so every experiment that asks
+ * for the same workload sorts the same data.
+ *
+ * @author David William Stroud
+ */
+public enum Workload {
+  /**
+   * Uniformly random keys over the whole range of int.
+   */
+  RANDOM,
+
+  /**
+   * The keys 0, 1, 2, ..., in order.
+   */
+  SORTED,
+
+  /**
+   * The keys size - 1, size - 2, ..., 0.
+   */
+  REVERSE,
+
+  /**
+   * Ascending runs of SAWTOOTH_RUN keys, each starting again from 0, as
+   * when several sorted files are concatenated.
+   */
+  SAWTOOTH,
+
+  /**
+   * Keys that rise to the middle of the array and fall again.
+   */
+  ORGAN_PIPE,
+
+  /**
+   * Keys drawn from 1 to size with probability proportional to 1 / k, so
+   * that a few keys are duplicated very many times and most appear once
+   * or not at all, as in word counts or web traffic.
+   */
+  ZIPF,
+
+  /**
+   * Random keys with only FEW_DISTINCT_VALUES distinct values.
+   */
+  FEW_DISTINCT,
+
+  /**
+   * Keys in order except that each is off by up to PERTURBATION, so that
+   * no key is more than PERTURBATION places from where it belongs.
+   */
+  PERTURBED;
+
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /**
+   * The length of each run of SAWTOOTH.
+   */
+  public static final int SAWTOOTH_RUN = 1024;
+
+  /**
+   * The number of distinct keys of FEW_DISTINCT.
+   */
+  public static final int FEW_DISTINCT_VALUES = 16;
+
+  /**
+   * How far a key of PERTURBED may be from its place.
+   */
+  public static final int PERTURBATION = 16;
+} // enum Workload
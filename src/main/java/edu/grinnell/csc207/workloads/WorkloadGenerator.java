@@ -0,0 +1,381 @@
+package edu.grinnell.csc207.workloads;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Something that makes the arrays experiments and benchmarks sort. The
+ * arrays are divided into chunks of CHUNK elements, and each chunk draws
+ * its random numbers from a generator seeded by the seed and the chunk's
+ * index alone. A generator therefore makes the same array every time it
+ * is asked for the same workload and size, whether the chunks are filled
+ * one after another or in parallel, and arrays of ints, longs, doubles and
+ * Integers made from the same workload hold the same keys.
+ *
+ * <p>Arrays of more than PARALLEL_THRESHOLD elements are filled by a
+ * ForkJoinPool, so that even arrays of a hundred million elements take
+ * moments rather than minutes to make.
+ *
+ * @author David William Stroud
+ */
+public class WorkloadGenerator {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /**
+   * The number of elements that share one random-number generator.
+   */
+  static final int CHUNK = 1 << 16;
+
+  /**
+   * The smallest array that is filled in parallel.
+   */
+  public static final int PARALLEL_THRESHOLD = 4 * CHUNK;
+
+  /**
+   * The most chunks one task fills, reusing one array for their keys.
+   */
+  static final int TASK_CHUNKS = 8;
+
+  /**
+   * The increment of the Weyl sequence that spreads the chunks' seeds.
+   */
+  private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * The seed from which every chunk's seed is derived.
+   */
+  long seed;
+
+  /**
+   * The pool that fills large arrays.
+   */
+  ForkJoinPool pool;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a generator that fills large arrays in the common pool.
+   *
+   * @param seed
+   *   The seed from which all the arrays are made.
+   */
+  public WorkloadGenerator(long seed) {
+    this(seed, ForkJoinPool.commonPool());
+  } // WorkloadGenerator(long)
+
+  /**
+   * Create a generator that fills large arrays in a particular pool.
+   *
+   * @param seed
+   *   The seed from which all the arrays are made.
+   * @param pool
+   *   The pool that fills large arrays.
+   */
+  public WorkloadGenerator(long seed, ForkJoinPool pool) {
+    this.seed = seed;
+    this.pool = pool;
+  } // WorkloadGenerator(long, ForkJoinPool)
+
+  // +---------+-----------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Make an array of ints.
+   *
+   * @param shape
+   *   The workload.
+   * @param size
+   *   The number of elements.
+   *
+   * @return the array.
+   */
+  public int[] ints(Workload shape, int size) {
+    int[] values = new int[size];
+    this.generate(shape, size, (keys, from, count) ->
+        System.arraycopy(keys, 0, values, from, count));
+    return values;
+  } // ints(Workload, int)
+
+  /**
+   * Make an array of longs with the same keys as ints.
+   *
+   * @param shape
+   *   The workload.
+   * @param size
+   *   The number of elements.
+   *
+   * @return the array.
+   */
+  public long[] longs(Workload shape, int size) {
+    long[] values = new long[size];
+    this.generate(shape, size, (keys, from, count) -> {
+      for (int i = 0; i < count; i++) {
+        values[from + i] = keys[i];
+      } // for
+    });
+    return values;
+  } // longs(Workload, int)
+
+  /**
+   * Make an array of doubles with the same keys as ints.
+   *
+   * @param shape
+   *   The workload.
+   * @param size
+   *   The number of elements.
+   *
+   * @return the array.
+   */
+  public double[] doubles(Workload shape, int size) {
+    double[] values = new double[size];
+    this.generate(shape, size, (keys, from, count) -> {
+      for (int i = 0; i < count; i++) {
+        values[from + i] = keys[i];
+      } // for
+    });
+    return values;
+  } // doubles(Workload, int)
+
+  /**
+   * Make an array of Integers with the same keys as ints.
+   *
+   * @param shape
+   *   The workload.
+   * @param size
+   *   The number of elements.
+   *
+   * @return the array.
+   */
+  public Integer[] integers(Workload shape, int size) {
+    Integer[] values = new Integer[size];
+    this.generate(shape, size, (keys, from, count) -> {
+      for (int i = 0; i < count; i++) {
+        values[from + i] = keys[i];
+      } // for
+    });
+    return values;
+  } // integers(Workload, int)
+
+  /**
+   * Make the keys of every chunk of an array and hand them to a sink,
+   * in parallel if the array is large.
+   *
+   * @param shape
+   *   The workload.
+   * @param size
+   *   The number of elements.
+   * @param sink
+   *   Where the keys of each chunk go. It may be called from several
+   *   threads at once, but never twice for the same elements.
+   *
+   * @throws IllegalArgumentException
+   *   If size is negative.
+   */
+  void generate(Workload shape, int size, Sink sink) {
+    if (size < 0) {
+      throw new IllegalArgumentException("negative size " + size);
+    } // if
+    int chunks = (int) (((long) size + CHUNK - 1) / CHUNK);
+    if (size < PARALLEL_THRESHOLD) {
+      int[] keys = new int[Math.min(size, CHUNK)];
+      for (int chunk = 0; chunk < chunks; chunk++) {
+        this.fillChunk(shape, size, chunk, keys, sink);
+      } // for
+    } else {
+      this.pool.invoke(new ChunkTask(shape, size, 0, chunks, sink));
+    } // if-else
+  } // generate(Workload, int, Sink)
+
+  /**
+   * Make the keys of one chunk and hand them to a sink.
+   *
+   * @param shape
+   *   The workload.
+   * @param size
+   *   The number of elements in the whole array.
+   * @param chunk
+   *   The index of the chunk.
+   * @param keys
+   *   Space for the keys, of at least the chunk's size.
+   * @param sink
+   *   Where the keys go.
+   */
+  void fillChunk(Workload shape, int size, int chunk, int[] keys, Sink sink) {
+    SplittableRandom random = new SplittableRandom(chunkSeed(this.seed, chunk));
+    int from = chunk * CHUNK;
+    int count = Math.min(CHUNK, size - from);
+    switch (shape) {
+      case RANDOM:
+        for (int i = 0; i < count; i++) {
+          keys[i] = random.nextInt();
+        } // for
+        break;
+      case SORTED:
+        for (int i = 0; i < count; i++) {
+          keys[i] = from + i;
+        } // for
+        break;
+      case REVERSE:
+        for (int i = 0; i < count; i++) {
+          keys[i] = size - 1 - (from + i);
+        } // for
+        break;
+      case SAWTOOTH:
+        for (int i = 0; i < count; i++) {
+          keys[i] = (from + i) % Workload.SAWTOOTH_RUN;
+        } // for
+        break;
+      case ORGAN_PIPE:
+        for (int i = 0; i < count; i++) {
+          keys[i] = Math.min(from + i, size - 1 - (from + i));
+        } // for
+        break;
+      case ZIPF:
+        // Inverting the continuous power law with exponent 1 gives
+        // (size + 1)^u for a uniform u; its floor is close to Zipf.
+        double logRange = Math.log(size + 1.0);
+        for (int i = 0; i < count; i++) {
+          keys[i] = Math.min((int) Math.exp(random.nextDouble() * logRange), size);
+        } // for
+        break;
+      case FEW_DISTINCT:
+        for (int i = 0; i < count; i++) {
+          keys[i] = random.nextInt(Workload.FEW_DISTINCT_VALUES);
+        } // for
+        break;
+      case PERTURBED:
+        for (int i = 0; i < count; i++) {
+          keys[i] = from + i + random.nextInt(Workload.PERTURBATION);
+        } // for
+        break;
+      default:
+        throw new IllegalArgumentException("unknown workload " + shape);
+    } // switch
+    sink.store(keys, from, count);
+  } // fillChunk(Workload, int, int, int[], Sink)
+
+  // +----------------+----------------------------------------------
+  // | Static Methods |
+  // +----------------+
+
+  /**
+   * Find the seed of one chunk, by mixing the chunk's place in a Weyl
+   * sequence as SplittableRandom does. Neighboring chunks get unrelated
+   * seeds, so their random numbers do not overlap.
+   *
+   * @param seed
+   *   The generator's seed.
+   * @param chunk
+   *   The index of the chunk.
+   *
+   * @return the chunk's seed.
+   */
+  static long chunkSeed(long seed, int chunk) {
+    long z = seed + (chunk + 1) * GOLDEN_GAMMA;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  } // chunkSeed(long, int)
+
+  // +---------------+-----------------------------------------------
+  // | Inner Classes |
+  // +---------------+
+
+  /**
+   * Where the keys of each chunk go.
+   */
+  interface Sink {
+    /**
+     * Store the keys of one chunk.
+     *
+     * @param keys
+     *   The keys, starting at index 0.
+     * @param from
+     *   The index in the array of the first key.
+     * @param count
+     *   The number of keys.
+     */
+    void store(int[] keys, int from, int count);
+  } // interface Sink
+
+  /**
+   * A task that fills a range of chunks.
+   */
+  private class ChunkTask extends RecursiveAction {
+    /**
+     * The version of the serialized form.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The workload.
+     */
+    private final Workload shape;
+
+    /**
+     * The number of elements in the whole array.
+     */
+    private final int size;
+
+    /**
+     * The first chunk to fill, inclusive.
+     */
+    private final int first;
+
+    /**
+     * The last chunk to fill, exclusive.
+     */
+    private final int last;
+
+    /**
+     * Where the keys go.
+     */
+    private final Sink sink;
+
+    /**
+     * Create a task that fills a range of chunks.
+     *
+     * @param shape The workload.
+     * @param size  The number of elements in the whole array.
+     * @param first The first chunk to fill, inclusive.
+     * @param last  The last chunk to fill, exclusive.
+     * @param sink  Where the keys go.
+     */
+    ChunkTask(Workload shape, int size, int first, int last, Sink sink) {
+      this.shape = shape;
+      this.size = size;
+      this.first = first;
+      this.last = last;
+      this.sink = sink;
+    } // ChunkTask(Workload, int, int, int, Sink)
+
+    /**
+     * Fill the chunks, splitting the range in half until it is at most
+     * TASK_CHUNKS chunks.
+     */
+    @Override
+    protected void compute() {
+      if (this.last - this.first <= TASK_CHUNKS) {
+        int[] keys = new int[CHUNK];
+        for (int chunk = this.first; chunk < this.last; chunk++) {
+          WorkloadGenerator.this.fillChunk(this.shape, this.size, chunk, keys, this.sink);
+        } // for
+        return;
+      } // if
+      int middle = (this.first + this.last) >>> 1;
+      RecursiveAction.invokeAll(
+          new ChunkTask(this.shape, this.size, this.first, middle, this.sink),
+          new ChunkTask(this.shape, this.size, middle, this.last, this.sink));
+    } // compute()
+  } // class ChunkTask
+} // class WorkloadGenerator
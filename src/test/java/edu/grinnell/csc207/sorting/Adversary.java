@@ -0,0 +1,116 @@
+package edu.grinnell.csc207.sorting;
+
+import java.util.Comparator;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * M. D. McIlroy's "killer adversary" for Quicksort. The comparator decides
+ * the values of the elements lazily, as the sort compares them, in a way
+ * that makes almost any Quicksort pick a bad pivot at every level.
+ *
+ * @author David William Stroud
+ */
+public class Adversary implements Comparator<Integer> {
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * The values decided so far, indexed by element. Undecided elements
+   * have the value gas.
+   */
+  int[] val;
+
+  /**
+   * The value of elements that have not been decided yet; larger than
+   * any decided value.
+   */
+  int gas;
+
+  /**
+   * The number of elements decided so far.
+   */
+  int solid = 0;
+
+  /**
+   * The undecided element that is probably the current pivot.
+   */
+  int candidate = 0;
+
+  /**
+   * The number of comparisons made so far.
+   */
+  long comparisons = 0;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create an adversary for arrays of a particular size.
+   *
+   * @param size The number of elements.
+   */
+  Adversary(int size) {
+    this.val = new int[size];
+    this.gas = size;
+    for (int i = 0; i < size; i++) {
+      this.val[i] = this.gas;
+    } // for
+  } // Adversary(int)
+
+  // +---------+-----------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Compare two elements, deciding their values if needed.
+   *
+   * @param x One element.
+   * @param y Another element.
+   *
+   * @return the comparison of their (possibly newly decided) values.
+   */
+  @Override
+  public int compare(Integer x, Integer y) {
+    this.comparisons++;
+    if (this.val[x] == this.gas && this.val[y] == this.gas) {
+      if (x == this.candidate) {
+        this.val[x] = this.solid++;
+      } else {
+        this.val[y] = this.solid++;
+      } // if-else
+    } // if
+    if (this.val[x] == this.gas) {
+      this.candidate = x;
+    } else if (this.val[y] == this.gas) {
+      this.candidate = y;
+    } // if-else
+    return Integer.compare(this.val[x], this.val[y]);
+  } // compare(Integer, Integer)
+
+  /**
+   * Sort an array against the adversary and make sure that the sort is both
+   * correct and far from quadratic.
+   *
+   * @param make Creates the sorter to test from a comparator.
+   */
+  static void assertNotQuadratic(Function<Comparator<Integer>, Sorter<Integer>> make) {
+    int size = 10000;
+    Adversary adversary = new Adversary(size);
+    Integer[] values = new Integer[size];
+    for (int i = 0; i < size; i++) {
+      values[i] = i;
+    } // for
+    make.apply(adversary).sort(values);
+
+    for (int i = 1; i < size; i++) {
+      assertTrue(adversary.val[values[i - 1]] <= adversary.val[values[i]], "not sorted at " + i);
+    } // for
+    long limit = 20L * size * (Integer.SIZE - Integer.numberOfLeadingZeros(size));
+    assertTrue(adversary.comparisons < limit,
+        adversary.comparisons + " comparisons is more than " + limit);
+  } // assertNotQuadratic(Function)
+} // class Adversary
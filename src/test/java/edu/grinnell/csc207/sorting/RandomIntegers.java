@@ -0,0 +1,39 @@
+package edu.grinnell.csc207.sorting;
+
+import java.util.Random;
+
+/**
+ * Arrays of random Integers for tests. The same size always gives the
+ * same values, so a failing test fails the same way every time.
+ *
+ * @author David William Stroud
+ */
+public class RandomIntegers {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /**
+   * The seed for every array.
+   */
+  static final long SEED = 207;
+
+  // +----------------+----------------------------------------------
+  // | Static Methods |
+  // +----------------+
+
+  /**
+   * Make an array of random Integers drawn from every int.
+   *
+   * @param size The number of Integers.
+   * @return the array.
+   */
+  static Integer[] of(int size) {
+    Random random = new Random(RandomIntegers.SEED);
+    Integer[] values = new Integer[size];
+    for (int i = 0; i < size; i++) {
+      values[i] = random.nextInt();
+    } // for
+    return values;
+  } // of(int)
+} // class RandomIntegers
@@ -0,0 +1,114 @@
+package edu.grinnell.csc207.sorting;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of our BatchSorter.
+ *
+ * @author David William Stroud
+ */
+public class TestBatchSorter {
+  /**
+   * A batch sorter with a small grain, so that even modest batches are
+   * split into many tasks.
+   */
+  static final BatchSorter<Integer> SORTER =
+      new BatchSorter<>(Integer::compareTo, new ForkJoinPool(4), 64);
+
+  /**
+   * Make a batch of random arrays with a mix of small and large sizes.
+   *
+   * @param random The source of randomness.
+   * @param count The number of arrays.
+   * @return the arrays.
+   */
+  static Integer[][] randomBatch(Random random, int count) {
+    Integer[][] batch = new Integer[count][];
+    for (int i = 0; i < count; i++) {
+      int size = (i % 10 == 0) ? random.nextInt(500) : random.nextInt(40);
+      batch[i] = new Integer[size];
+      for (int j = 0; j < size; j++) {
+        batch[i][j] = random.nextInt(100);
+      } // for
+    } // for
+    return batch;
+  } // randomBatch(Random, int)
+
+  /**
+   * Ensure that every array in a batch is sorted.
+   */
+  @Test
+  public void testArrays() {
+    Integer[][] batch = randomBatch(new Random(207), 2000);
+    Integer[][] expected = new Integer[batch.length][];
+    for (int i = 0; i < batch.length; i++) {
+      expected[i] = batch[i].clone();
+      Arrays.sort(expected[i]);
+    } // for
+    SORTER.sort(batch);
+    for (int i = 0; i < batch.length; i++) {
+      assertArrayEquals(expected[i], batch[i], "array " + i);
+    } // for
+  } // testArrays()
+
+  /**
+   * Ensure that adjacent ranges of one array are each sorted.
+   */
+  @Test
+  public void testOffsets() {
+    Integer[][] batch = randomBatch(new Random(161), 1000);
+    int[] offsets = new int[batch.length + 1];
+    for (int i = 0; i < batch.length; i++) {
+      offsets[i + 1] = offsets[i] + batch[i].length;
+    } // for
+    Integer[] values = new Integer[offsets[batch.length]];
+    Integer[] expected = new Integer[values.length];
+    for (int i = 0; i < batch.length; i++) {
+      System.arraycopy(batch[i], 0, values, offsets[i], batch[i].length);
+      Arrays.sort(batch[i]);
+      System.arraycopy(batch[i], 0, expected, offsets[i], batch[i].length);
+    } // for
+    SORTER.sort(values, offsets);
+    assertArrayEquals(expected, values);
+  } // testOffsets()
+
+  /**
+   * Ensure that the values outside the ranges are left alone.
+   */
+  @Test
+  public void testRanges() {
+    Integer[] values = new Integer[] {9, 8, 7, 6, 5, 4, 3, 2, 1, 0};
+    SORTER.sort(values, new int[] {7, 1}, new int[] {10, 4});
+    assertArrayEquals(new Integer[] {9, 6, 7, 8, 5, 4, 3, 0, 1, 2}, values);
+  } // testRanges()
+
+  /**
+   * Ensure that ranges that do not fit are rejected.
+   */
+  @Test
+  public void testBadRanges() {
+    Integer[] values = new Integer[5];
+    assertThrows(IndexOutOfBoundsException.class,
+        () -> SORTER.sort(values, new int[] {0}, new int[] {6}));
+    assertThrows(IllegalArgumentException.class,
+        () -> SORTER.sort(values, new int[] {0, 1}, new int[] {1}));
+  } // testBadRanges()
+
+  /**
+   * Ensure that the small-array kernel is stable.
+   */
+  @Test
+  public void testStable() {
+    String[] values = new String[] {"b1", "a1", "b2", "a2", "c1", "a3", "b3"};
+    new BatchSorter<String>(Comparator.comparing((s) -> s.charAt(0)))
+        .sort(new String[][] {values});
+    assertArrayEquals(new String[] {"a1", "a2", "a3", "b1", "b2", "b3", "c1"}, values);
+  } // testStable()
+} // class TestBatchSorter
@@ -0,0 +1,155 @@
+package edu.grinnell.csc207.sorting;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of our ByteBufferSorter.
+ *
+ * @author David William Stroud
+ */
+public class TestByteBufferSorter {
+  /**
+   * The seed for our random records, so that failures can be reproduced.
+   */
+  static final long SEED = 207;
+
+  /**
+   * The number of bytes in each test record.
+   */
+  static final int RECORD = 16;
+
+  /**
+   * The offset of the key in each test record.
+   */
+  static final int OFFSET = 2;
+
+  /**
+   * The width of the key in each test record, which is not a multiple of eight.
+   */
+  static final int WIDTH = 11;
+
+  /**
+   * Make some random records.
+   *
+   * @param count The number of records.
+   * @param distinct The number of different values each key byte may take.
+   * @return the records.
+   */
+  static byte[][] randomRecords(int count, int distinct) {
+    Random random = new Random(SEED);
+    byte[][] records = new byte[count][RECORD];
+    for (byte[] record : records) {
+      random.nextBytes(record);
+      for (int i = OFFSET; i < OFFSET + WIDTH; i++) {
+        record[i] = (byte) (Byte.toUnsignedInt(record[i]) % distinct * (256 / distinct));
+      } // for
+    } // for
+    return records;
+  } // randomRecords(int, int)
+
+  /**
+   * Sort records in a direct buffer and compare the result to a stable
+   * sort of the records as arrays. The keys of each sort must match, and
+   * the records must be the same.
+   *
+   * @param records The records to sort.
+   */
+  static void assertSorts(byte[][] records) {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(records.length * RECORD);
+    // The byte order must not matter.
+    buffer.order(ByteOrder.LITTLE_ENDIAN);
+    for (byte[] record : records) {
+      buffer.put(record);
+    } // for
+    buffer.flip();
+    new ByteBufferSorter(RECORD, OFFSET, WIDTH).sort(buffer);
+    assertEquals(0, buffer.position());
+    assertEquals(ByteOrder.LITTLE_ENDIAN, buffer.order());
+
+    Comparator<byte[]> byKey = (x, y) ->
+        Arrays.compareUnsigned(x, OFFSET, OFFSET + WIDTH, y, OFFSET, OFFSET + WIDTH);
+    byte[][] actual = new byte[records.length][RECORD];
+    for (byte[] record : actual) {
+      buffer.get(record);
+    } // for
+    for (int i = 1; i < actual.length; i++) {
+      assertEquals(true, byKey.compare(actual[i - 1], actual[i]) <= 0, "unsorted at " + i);
+    } // for
+
+    // Sorting both by the whole record shows that no bytes were lost.
+    byte[][] expected = records.clone();
+    Arrays.sort(expected, Arrays::compareUnsigned);
+    Arrays.sort(actual, Arrays::compareUnsigned);
+    assertArrayEquals(expected, actual);
+  } // assertSorts(byte[][])
+
+  /**
+   * Ensure that random records are sorted.
+   */
+  @Test
+  public void testRandom() {
+    for (int size : new int[] {0, 1, 2, 3, 14, 19, 100, 5000}) {
+      assertSorts(randomRecords(size, 256));
+    } // for
+  } // testRandom()
+
+  /**
+   * Ensure that records with many equal keys are sorted.
+   */
+  @Test
+  public void testFewDistinct() {
+    assertSorts(randomRecords(5000, 2));
+  } // testFewDistinct()
+
+  /**
+   * Ensure that records already in order, or in reverse order, are sorted.
+   */
+  @Test
+  public void testOrdered() {
+    byte[][] records = randomRecords(3000, 256);
+    Arrays.sort(records, (x, y) ->
+        Arrays.compareUnsigned(x, OFFSET, OFFSET + WIDTH, y, OFFSET, OFFSET + WIDTH));
+    assertSorts(records);
+    for (int i = 0; i < records.length / 2; i++) {
+      byte[] tmp = records[i];
+      records[i] = records[records.length - 1 - i];
+      records[records.length - 1 - i] = tmp;
+    } // for
+    assertSorts(records);
+  } // testOrdered()
+
+  /**
+   * Ensure that only the records between the position and the limit, or in
+   * the given range, are sorted.
+   */
+  @Test
+  public void testRange() {
+    ByteBuffer buffer = ByteBuffer.allocate(6 * 4);
+    for (int value : new int[] {9, 8, 7, 6, 5, 4}) {
+      buffer.putShort((short) 0).put((byte) 0).put((byte) value);
+    } // for
+    ByteBufferSorter sorter = new ByteBufferSorter(4, 3, 1);
+    buffer.position(4).limit(20);
+    sorter.sort(buffer);
+    buffer.clear();
+    int[] keys = new int[6];
+    for (int i = 0; i < keys.length; i++) {
+      keys[i] = buffer.get(4 * i + 3);
+    } // for
+    assertArrayEquals(new int[] {9, 5, 6, 7, 8, 4}, keys);
+
+    sorter.sort(buffer, 0, 2);
+    assertEquals(5, buffer.get(3));
+    assertEquals(9, buffer.get(7));
+    assertThrows(IllegalArgumentException.class, () -> sorter.sort(buffer.limit(23)));
+  } // testRange()
+} // class TestByteBufferSorter
@@ -0,0 +1,26 @@
+package edu.grinnell.csc207.sorting;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of our DualPivotQuicksorter.
+ */
+public class TestDualPivotQuicksorter extends TestSorter {
+  /**
+   * Set up the sorters.
+   */
+  @BeforeAll
+  static void setup() {
+    stringSorter = new DualPivotQuicksorter<String>((x, y) -> x.compareTo(y));
+    intSorter = new DualPivotQuicksorter<Integer>((x, y) -> x.compareTo(y));
+  } // setup()
+
+  /**
+   * Ensure that an adversarial comparator cannot make the sort quadratic.
+   */
+  @Test
+  public void testAdversary() {
+    Adversary.assertNotQuadratic((order) -> new DualPivotQuicksorter<>(order));
+  } // testAdversary()
+} // class TestDualPivotQuicksorter
@@ -0,0 +1,311 @@
+package edu.grinnell.csc207.sorting;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests of our ExternalSorter.
+ *
+ * @author David William Stroud
+ */
+public class TestExternalSorter {
+  /**
+   * The seed for our random arrays, so that failures can be reproduced.
+   */
+  static final long SEED = 207;
+
+  /**
+   * A codec for integers.
+   */
+  static final RecordCodec<Integer> INTS = new RecordCodec<Integer>() {
+    @Override
+    public void write(Integer value, DataOutput out) throws IOException {
+      out.writeInt(value);
+    } // write(Integer, DataOutput)
+
+    @Override
+    public Integer read(DataInput in) throws IOException {
+      return in.readInt();
+    } // read(DataInput)
+  };
+
+  /**
+   * A codec for pairs of integers.
+   */
+  static final RecordCodec<int[]> PAIRS = new RecordCodec<int[]>() {
+    @Override
+    public void write(int[] value, DataOutput out) throws IOException {
+      out.writeInt(value[0]);
+      out.writeInt(value[1]);
+    } // write(int[], DataOutput)
+
+    @Override
+    public int[] read(DataInput in) throws IOException {
+      return new int[] {in.readInt(), in.readInt()};
+    } // read(DataInput)
+  };
+
+  /**
+   * A codec for strings.
+   */
+  static final RecordCodec<String> STRINGS = new RecordCodec<String>() {
+    @Override
+    public void write(String value, DataOutput out) throws IOException {
+      out.writeUTF(value);
+    } // write(String, DataOutput)
+
+    @Override
+    public String read(DataInput in) throws IOException {
+      return in.readUTF();
+    } // read(DataInput)
+  };
+
+  /**
+   * A directory for the runs, which should be empty after each sort.
+   */
+  @TempDir
+  Path tempDir;
+
+  /**
+   * Ensure that no runs were left behind.
+   *
+   * @throws IOException if the directory cannot be listed.
+   */
+  void assertNoRunsLeft() throws IOException {
+    try (Stream<Path> files = Files.list(this.tempDir)) {
+      assertEquals(0, files.count(), "temporary files left behind");
+    } // try
+  } // assertNoRunsLeft()
+
+  /**
+   * Ensure that values from an iterator are sorted on the calling thread.
+   *
+   * @throws IOException if a run cannot be written.
+   */
+  @Test
+  public void testSequential() throws IOException {
+    Integer[] values = RandomIntegers.of(10000);
+    ExternalSorter<Integer> sorter = new ExternalSorter<>(Comparator.naturalOrder(),
+        new StroudDavidSort<>(Comparator.naturalOrder()), Integer[]::new, INTS, 700, null, 1,
+        this.tempDir);
+    List<Integer> sorted = new ArrayList<>();
+    sorter.sort(Arrays.asList(values).iterator(), sorted::add);
+
+    Integer[] expected = values.clone();
+    Arrays.sort(expected);
+    assertArrayEquals(expected, sorted.toArray(new Integer[0]));
+    this.assertNoRunsLeft();
+  } // testSequential()
+
+  /**
+   * Ensure that chunks can be sorted by a sorter for one particular type,
+   * which cannot sort an Object[].
+   *
+   * @throws IOException if a run cannot be written.
+   */
+  @Test
+  public void testTypedChunkSorter() throws IOException {
+    Random random = new Random(SEED);
+    String[] values = new String[3000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = Integer.toString(random.nextInt(100000), 36);
+    } // for
+    ExternalSorter<String> sorter = new ExternalSorter<>(Comparator.naturalOrder(),
+        new StringSorter(), String[]::new, STRINGS, 250, null, 1, this.tempDir);
+    List<String> sorted = new ArrayList<>();
+    sorter.sort(Arrays.asList(values).iterator(), sorted::add);
+
+    String[] expected = values.clone();
+    Arrays.sort(expected);
+    assertArrayEquals(expected, sorted.toArray(new String[0]));
+    this.assertNoRunsLeft();
+  } // testTypedChunkSorter()
+
+  /**
+   * Ensure that runs made in parallel, and more runs than can be merged at
+   * once, still give a stable sort.
+   *
+   * @throws IOException if a run cannot be written.
+   */
+  @Test
+  public void testParallelStable() throws IOException {
+    int size = 20000;
+    List<int[]> values = new ArrayList<>();
+    Random random = new Random(SEED);
+    for (int i = 0; i < size; i++) {
+      values.add(new int[] {random.nextInt(17), i});
+    } // for
+    Comparator<int[]> byKey = (x, y) -> Integer.compare(x[0], y[0]);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      // 20000 / 100 = 200 runs, which is more than MAX_FAN_IN.
+      ExternalSorter<int[]> sorter = new ExternalSorter<>(byKey, new NaturalMergeSorter<>(byKey),
+          int[][]::new, PAIRS, 100, executor, 3, this.tempDir);
+      List<int[]> sorted = new ArrayList<>();
+      sorter.sort(values.iterator(), sorted::add);
+
+      assertEquals(size, sorted.size());
+      for (int i = 1; i < size; i++) {
+        int[] prev = sorted.get(i - 1);
+        int[] cur = sorted.get(i);
+        if (prev[0] == cur[0]) {
+          assertEquals(-1, Integer.compare(prev[1], cur[1]), "unstable at " + i);
+        } else {
+          assertEquals(-1, Integer.compare(prev[0], cur[0]), "unsorted at " + i);
+        } // if-else
+      } // for
+    } finally {
+      executor.shutdown();
+    } // try/finally
+    this.assertNoRunsLeft();
+  } // testParallelStable()
+
+  /**
+   * Ensure that a file can be sorted onto itself.
+   *
+   * @throws IOException if a file cannot be read or written.
+   */
+  @Test
+  public void testFile() throws IOException {
+    Integer[] values = RandomIntegers.of(5000);
+    Path data = Files.createTempFile("external", ".dat");
+    try {
+      try (DataOutputStream out = ExternalSorter.openOutput(data)) {
+        for (Integer value : values) {
+          out.writeInt(value);
+        } // for
+      } // try
+
+      new ExternalSorter<Integer>(Comparator.naturalOrder(), new StroudDavidSort<>(
+          Comparator.naturalOrder()), Integer[]::new, INTS, 256, null, 1, this.tempDir)
+          .sort(data, data);
+
+      Integer[] expected = values.clone();
+      Arrays.sort(expected);
+      Integer[] actual = new Integer[values.length];
+      try (DataInputStream in = ExternalSorter.openInput(data)) {
+        for (int i = 0; i < actual.length; i++) {
+          actual[i] = in.readInt();
+        } // for
+        assertEquals(-1, in.read());
+      } // try
+      assertArrayEquals(expected, actual);
+    } finally {
+      Files.deleteIfExists(data);
+    } // try/finally
+    this.assertNoRunsLeft();
+  } // testFile()
+
+  /**
+   * Ensure that sorting nothing gives nothing.
+   *
+   * @throws IOException if a run cannot be written.
+   */
+  @Test
+  public void testEmpty() throws IOException {
+    List<Integer> sorted = new ArrayList<>();
+    new ExternalSorter<Integer>(Comparator.naturalOrder(), INTS, 10)
+        .sort(Collections.<Integer>emptyIterator(), sorted::add);
+    assertEquals(0, sorted.size());
+  } // testEmpty()
+
+  /**
+   * Ensure that the merge holds no more records than the budget of
+   * parallelRuns * chunkSize, and merges as many runs at once as it can.
+   */
+  @Test
+  public void testMergeBudget() {
+    int[][] settings = { {10, 1}, {100, 3}, {1000, 1}, {5000, 4}, {1 << 20, 2} };
+    for (int[] setting : settings) {
+      ExternalSorter<Integer> sorter = new ExternalSorter<>(Comparator.naturalOrder(),
+          new StroudDavidSort<>(Comparator.naturalOrder()), Integer[]::new, INTS, setting[0],
+          null, setting[1], this.tempDir);
+      long budget = (long) setting[0] * setting[1];
+      long held = (long) sorter.fanIn * ExternalSorter.BLOCKS_PER_READER * sorter.blockSize;
+      assertTrue(held <= budget, () -> "merge holds " + held + " records of " + budget);
+      assertTrue(sorter.fanIn >= 2 && sorter.fanIn <= ExternalSorter.MAX_FAN_IN);
+    } // for
+    ExternalSorter<Integer> large = new ExternalSorter<>(Comparator.naturalOrder(), INTS, 1 << 20);
+    assertEquals(ExternalSorter.MAX_FAN_IN, large.fanIn);
+  } // testMergeBudget()
+
+  /**
+   * Ensure that when one chunk fails, a chunk that is still being sorted
+   * does not leave its run behind after the sort gives up.
+   *
+   * @throws IOException if the directory cannot be listed.
+   * @throws InterruptedException if the test is interrupted.
+   */
+  @Test
+  public void testFailureCleansUp() throws IOException, InterruptedException {
+    // Writing -1 fails; sorting the chunk that holds -2 takes a while, even
+    // if the sorting thread is interrupted, as a long sort would.
+    RecordCodec<Integer> failing = new RecordCodec<Integer>() {
+      @Override
+      public void write(Integer value, DataOutput out) throws IOException {
+        if (value == -1) {
+          throw new IOException("cannot write -1");
+        } // if
+        out.writeInt(value);
+      } // write(Integer, DataOutput)
+
+      @Override
+      public Integer read(DataInput in) throws IOException {
+        return in.readInt();
+      } // read(DataInput)
+    };
+    AtomicBoolean paused = new AtomicBoolean();
+    Comparator<Integer> slowOrder = (x, y) -> {
+      if ((x == -2 || y == -2) && !paused.getAndSet(true)) {
+        long deadline = System.nanoTime() + 300_000_000L;
+        while (System.nanoTime() < deadline) {
+          try {
+            Thread.sleep(10);
+          } catch (InterruptedException e) {
+            // Keep going.
+          } // try/catch
+        } // while
+      } // if
+      return Integer.compare(x, y);
+    };
+    List<Integer> values = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      values.add((i == 3) ? -1 : (i == 13) ? -2 : i);
+    } // for
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      ExternalSorter<Integer> sorter = new ExternalSorter<>(Comparator.naturalOrder(),
+          new StroudDavidSort<>(slowOrder), Integer[]::new, failing, 10, executor, 2,
+          this.tempDir);
+      assertThrows(IOException.class, () -> sorter.sort(values.iterator(), (value) -> { }));
+    } finally {
+      executor.shutdown();
+      executor.awaitTermination(10, TimeUnit.SECONDS);
+    } // try/finally
+    this.assertNoRunsLeft();
+  } // testFailureCleansUp()
+} // class TestExternalSorter
@@ -0,0 +1,18 @@
+package edu.grinnell.csc207.sorting;
+
+import org.junit.jupiter.api.BeforeAll;
+
+/**
+ * Tests of our HeapSorter.
+ */
+public class TestHeapSorter extends TestSorter {
+  /**
+   * Set up the sorters.
+   */
+  @BeforeAll
+  static void setup() {
+    stringSorter = new HeapSorter<String>((x, y) -> x.compareTo(y));
+    intSorter = new HeapSorter<Integer>((x, y) -> x.compareTo(y));
+  } // setup()
+
+} // class TestHeapSorter
@@ -0,0 +1,143 @@
+package edu.grinnell.csc207.sorting;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of our InstrumentedSorter and the SortMetrics it keeps.
+ *
+ * @author David William Stroud
+ */
+public class TestInstrumentedSorter extends TestSorter {
+  /**
+   * Set up the sorters.
+   */
+  @BeforeAll
+  static void setup() {
+    stringSorter = new InstrumentedSorter<String>((x, y) -> x.compareTo(y), StroudDavidSort::new);
+    intSorter = new InstrumentedSorter<Integer>((x, y) -> x.compareTo(y), Quicksorter::new);
+  } // setup()
+
+  /**
+   * Ensure that the comparisons counted are the comparisons made.
+   */
+  @Test
+  public void testComparisons() {
+    long[] made = new long[1];
+    Comparator<Integer> counted = (x, y) -> {
+      made[0]++;
+      return x.compareTo(y);
+    };
+    for (InstrumentedSorter<Integer> sorter : List.of(
+        new InstrumentedSorter<>(counted, StroudDavidSort::new),
+        new InstrumentedSorter<>(counted, Quicksorter::new),
+        new InstrumentedSorter<>(counted, MergeSorter::new),
+        new InstrumentedSorter<>(counted, HeapSorter::new))) {
+      made[0] = 0;
+      Integer[] values = RandomIntegers.of(10000);
+      sorter.sort(values);
+      assertSorted(values);
+      SortMetrics metrics = sorter.metrics();
+      assertEquals(made[0], metrics.getComparisons(), sorter.toString());
+      assertEquals(1, metrics.getSorts());
+      assertEquals(10000, metrics.getElements());
+      assertTrue(metrics.getElapsedNanos() > 0);
+    } // for
+  } // testComparisons()
+
+  /**
+   * Ensure that the moves and depth of merge sort are what they must be.
+   */
+  @Test
+  public void testMergeSorterCounts() {
+    InstrumentedSorter<Integer> sorter =
+        new InstrumentedSorter<>(Integer::compareTo, MergeSorter::new);
+    sorter.sort(RandomIntegers.of(1024));
+    // Ten levels of merges, each writing every element, and one copy.
+    assertEquals(11 * 1024, sorter.metrics().getMoves());
+    assertEquals(10, sorter.metrics().getMaxDepth());
+  } // testMergeSorterCounts()
+
+  /**
+   * Ensure that quicksort's depth and moves are counted, and that the
+   * depth never exceeds the budget.
+   */
+  @Test
+  public void testQuicksorterCounts() {
+    InstrumentedSorter<Integer> sorter =
+        new InstrumentedSorter<>(Integer::compareTo, Quicksorter::new);
+    sorter.sort(RandomIntegers.of(10000));
+    SortMetrics metrics = sorter.metrics();
+    assertTrue(metrics.getMoves() > 0);
+    assertTrue(metrics.getMaxDepth() >= 14, "depth " + metrics.getMaxDepth());
+    assertTrue(metrics.getMaxDepth() <= HeapSorter.depthBudget(10000),
+        "depth " + metrics.getMaxDepth());
+
+    // Already-sorted input makes StroudDavidSort fall back on insertion sort.
+    InstrumentedSorter<Integer> sds =
+        new InstrumentedSorter<>(Integer::compareTo, StroudDavidSort::new);
+    Integer[] sorted = RandomIntegers.of(10000);
+    Arrays.sort(sorted);
+    sds.sort(sorted);
+    assertTrue(sds.metrics().getInsertionSorts() > 0);
+  } // testQuicksorterCounts()
+
+  /**
+   * Ensure that sorters that are not instrumented count nothing, even when
+   * an instrumented sorter of the same class is in use.
+   */
+  @Test
+  public void testUninstrumented() {
+    Quicksorter<Integer> plain = new Quicksorter<>(Integer::compareTo);
+    InstrumentedSorter<Integer> sorter =
+        new InstrumentedSorter<>(Integer::compareTo, Quicksorter::new);
+    plain.sort(RandomIntegers.of(1000));
+    assertEquals(null, plain.metrics);
+    assertEquals(0, sorter.metrics().getSorts());
+  } // testUninstrumented()
+
+  /**
+   * Ensure that metrics can be read through JMX, reset and unregistered.
+   *
+   * @throws Exception if JMX fails.
+   */
+  @Test
+  public void testJmx() throws Exception {
+    InstrumentedSorter<Integer> sorter =
+        new InstrumentedSorter<>(Integer::compareTo, MergeSorter::new);
+    sorter.sort(RandomIntegers.of(100));
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    ObjectName name = sorter.metrics().register("TestInstrumentedSorter");
+    try {
+      assertEquals(1L, server.getAttribute(name, "Sorts"));
+      assertEquals(100L, server.getAttribute(name, "Elements"));
+      server.invoke(name, "reset", null, null);
+      assertEquals(0L, server.getAttribute(name, "Comparisons"));
+    } finally {
+      sorter.metrics().unregister();
+    } // try/finally
+    assertFalse(server.isRegistered(name));
+  } // testJmx()
+
+  /**
+   * Ensure that an array is in order.
+   *
+   * @param values The array.
+   */
+  static void assertSorted(Integer[] values) {
+    for (int i = 1; i < values.length; i++) {
+      assertTrue(values[i - 1] <= values[i], "unsorted at " + i);
+    } // for
+  } // assertSorted(Integer[])
+} // class TestInstrumentedSorter
@@ -0,0 +1,135 @@
+package edu.grinnell.csc207.sorting;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of our KeyCachingSorter.
+ */
+public class TestKeyCachingSorter extends TestSorter {
+  /**
+   * Set up the sorters.
+   */
+  @BeforeAll
+  static void setup() {
+    stringSorter = new KeyCachingSorter<String, String>(Function.identity(),
+        String::compareTo, StroudDavidSort::new);
+    intSorter = KeyCachingSorter.byIntKey(Integer::intValue);
+  } // setup()
+
+  /**
+   * Ensure that each key is computed exactly once per element.
+   */
+  @Test
+  public void testKeysComputedOnce() {
+    AtomicInteger calls = new AtomicInteger();
+    Sorter<String> sorter = new KeyCachingSorter<String, Integer>((s) -> {
+      calls.incrementAndGet();
+      return Integer.parseInt(s);
+    }, Integer::compare);
+
+    String[] values = new String[1000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = Integer.toString((i * 577) % values.length);
+    } // for
+    sorter.sort(values);
+
+    assertEquals(values.length, calls.get());
+    for (int i = 0; i < values.length; i++) {
+      assertEquals(Integer.toString(i), values[i]);
+    } // for
+  } // testKeysComputedOnce()
+
+  /**
+   * Ensure that the primitive-key sorters order elements by key and keep
+   * elements with equal keys in their original order.
+   */
+  @Test
+  public void testPrimitiveKeys() {
+    String[] values = new String[2000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = ((i * 37) % 101 - 50) + ":" + i;
+    } // for
+    Function<String, Integer> prefix = (s) -> Integer.parseInt(s.substring(0, s.indexOf(':')));
+    String[] expected = values.clone();
+    // Arrays.sort on objects is stable.
+    Arrays.sort(expected, Comparator.comparing(prefix));
+
+    String[] byInt = values.clone();
+    KeyCachingSorter.<String>byIntKey(prefix::apply).sort(byInt);
+    assertArrayEquals(expected, byInt);
+
+    String[] byIntQuick = values.clone();
+    KeyCachingSorter.<String>byIntKey(prefix::apply, new PrimitiveQuicksorter()).sort(byIntQuick);
+    assertArrayEquals(expected, byIntQuick);
+
+    String[] byLong = values.clone();
+    KeyCachingSorter.<String>byLongKey(prefix::apply).sort(byLong);
+    assertArrayEquals(expected, byLong);
+
+    String[] byDouble = values.clone();
+    KeyCachingSorter.<String>byDoubleKey((s) -> prefix.apply(s) / 4.0).sort(byDouble);
+    assertArrayEquals(expected, byDouble);
+  } // testPrimitiveKeys()
+
+  /**
+   * Ensure that elements whose keys are in descending order, a common
+   * input, are sorted by the default sorters and by the packed-key sorter.
+   */
+  @Test
+  public void testReverseKeys() {
+    Integer[] values = new Integer[20000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = values.length - i;
+    } // for
+    Integer[] expected = values.clone();
+    Arrays.sort(expected);
+
+    Integer[] byInt = values.clone();
+    KeyCachingSorter.<Integer>byIntKey(Integer::intValue).sort(byInt);
+    assertArrayEquals(expected, byInt);
+
+    Integer[] byIntPacked = values.clone();
+    KeyCachingSorter.<Integer>byIntKey(Integer::intValue, new PrimitiveStroudDavidSort())
+        .sort(byIntPacked);
+    assertArrayEquals(expected, byIntPacked);
+
+    Integer[] byLong = values.clone();
+    KeyCachingSorter.<Integer>byLongKey(Integer::longValue).sort(byLong);
+    assertArrayEquals(expected, byLong);
+
+    Integer[] byDouble = values.clone();
+    KeyCachingSorter.<Integer>byDoubleKey(Integer::doubleValue).sort(byDouble);
+    assertArrayEquals(expected, byDouble);
+  } // testReverseKeys()
+
+  /**
+   * Ensure that the primitive-key sorters sort part of an array and leave
+   * the rest of it alone.
+   */
+  @Test
+  public void testPrimitiveKeySubrange() {
+    Integer[] original = new Integer[1000];
+    for (int i = 0; i < original.length; i++) {
+      original[i] = (i * 577) % original.length - 500;
+    } // for
+    Integer[] expected = original.clone();
+    Arrays.sort(expected, 137, 811);
+
+    Integer[] byIntPacked = original.clone();
+    KeyCachingSorter.<Integer>byIntKey(Integer::intValue, new PrimitiveQuicksorter())
+        .sort(byIntPacked, 137, 811);
+    assertArrayEquals(expected, byIntPacked);
+
+    Integer[] byDouble = original.clone();
+    KeyCachingSorter.<Integer>byDoubleKey(Integer::doubleValue).sort(byDouble, 137, 811);
+    assertArrayEquals(expected, byDouble);
+  } // testPrimitiveKeySubrange()
+} // class TestKeyCachingSorter
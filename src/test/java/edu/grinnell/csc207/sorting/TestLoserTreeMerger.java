@@ -0,0 +1,142 @@
+package edu.grinnell.csc207.sorting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of our LoserTreeMerger.
+ *
+ * @author David William Stroud
+ */
+public class TestLoserTreeMerger {
+  /**
+   * The seed for our random runs, so that failures can be reproduced.
+   */
+  static final long SEED = 207;
+
+  /**
+   * Make some sorted runs of random sizes, some of them empty.
+   *
+   * @param k The number of runs.
+   * @param random The source of randomness.
+   * @return the runs.
+   */
+  static Integer[][] randomRuns(int k, Random random) {
+    Integer[][] runs = new Integer[k][];
+    for (int i = 0; i < k; i++) {
+      runs[i] = new Integer[random.nextInt(4) == 0 ? 0 : random.nextInt(200)];
+      for (int j = 0; j < runs[i].length; j++) {
+        runs[i][j] = random.nextInt(1000);
+      } // for
+      Arrays.sort(runs[i]);
+    } // for
+    return runs;
+  } // randomRuns(int, Random)
+
+  /**
+   * Ensure that merging arrays and iterators gives the same result as
+   * sorting everything.
+   */
+  @Test
+  public void testRandom() {
+    Random random = new Random(SEED);
+    LoserTreeMerger<Integer> merger = new LoserTreeMerger<>(Comparator.naturalOrder());
+    for (int k : new int[] {0, 1, 2, 3, 5, 8, 13, 64, 100}) {
+      Integer[][] runs = randomRuns(k, random);
+      Integer[] expected = Arrays.stream(runs).flatMap(Arrays::stream).sorted()
+          .toArray(Integer[]::new);
+
+      assertArrayEquals(expected, merger.merge(runs), "arrays, k = " + k);
+
+      List<Iterator<Integer>> iterators = new ArrayList<>();
+      for (Integer[] run : runs) {
+        iterators.add(Arrays.asList(run).iterator());
+      } // for
+      List<Integer> streamed = new ArrayList<>();
+      merger.merge(iterators, streamed::add);
+      assertEquals(Arrays.asList(expected), streamed, "iterators, k = " + k);
+    } // for
+  } // testRandom()
+
+  /**
+   * Ensure that equal values come out in run order.
+   */
+  @Test
+  public void testStable() {
+    // Each value is {key, run}.
+    int[][][] runs = new int[7][][];
+    Random random = new Random(SEED);
+    for (int i = 0; i < runs.length; i++) {
+      runs[i] = new int[100][];
+      for (int j = 0; j < runs[i].length; j++) {
+        runs[i][j] = new int[] {random.nextInt(5), i};
+      } // for
+      Arrays.sort(runs[i], Comparator.comparingInt((int[] x) -> x[0]));
+    } // for
+    int[][] merged = new LoserTreeMerger<int[]>(Comparator.comparingInt((int[] x) -> x[0]))
+        .merge(runs);
+    assertEquals(700, merged.length);
+    for (int i = 1; i < merged.length; i++) {
+      assertTrue(merged[i - 1][0] < merged[i][0]
+          || (merged[i - 1][0] == merged[i][0] && merged[i - 1][1] <= merged[i][1]),
+          "out of order at " + i);
+    } // for
+  } // testStable()
+
+  /**
+   * Ensure that a merge of k runs makes about log2 k comparisons per value.
+   */
+  @Test
+  public void testComparisons() {
+    int k = 16;
+    int perRun = 1000;
+    Random random = new Random(SEED);
+    Integer[][] runs = new Integer[k][perRun];
+    for (Integer[] run : runs) {
+      for (int j = 0; j < perRun; j++) {
+        run[j] = random.nextInt();
+      } // for
+      Arrays.sort(run);
+    } // for
+    long[] comparisons = new long[1];
+    new LoserTreeMerger<Integer>((x, y) -> {
+      comparisons[0]++;
+      return x.compareTo(y);
+    }).merge(runs);
+    // log2 16 = 4 comparisons per value, plus building the tree.
+    assertTrue(comparisons[0] <= 4L * k * perRun + k, comparisons[0] + " comparisons");
+  } // testComparisons()
+
+  /**
+   * Ensure that merging into an array respects the starting index and the
+   * type of the runs, and that a lazy merge ends properly.
+   */
+  @Test
+  public void testOutput() {
+    LoserTreeMerger<String> merger = new LoserTreeMerger<>(Comparator.naturalOrder());
+    String[] merged = merger.merge(new String[][] {{"b", "d"}, {"a", "c", "e"}});
+    assertEquals(String[].class, merged.getClass());
+    assertArrayEquals(new String[] {"a", "b", "c", "d", "e"}, merged);
+
+    String[] output = {"x", "x", "x", "x"};
+    merger.merge(List.<String[]>of(new String[] {"q"}, new String[] {"p"}), output, 1);
+    assertArrayEquals(new String[] {"x", "p", "q", "x"}, output);
+    assertThrows(IndexOutOfBoundsException.class,
+        () -> merger.merge(List.<String[]>of(new String[] {"q", "r"}), output, 3));
+
+    Iterator<String> lazy = merger.merge(List.of(List.of("m").iterator()));
+    assertEquals("m", lazy.next());
+    assertFalse(lazy.hasNext());
+  } // testOutput()
+} // class TestLoserTreeMerger
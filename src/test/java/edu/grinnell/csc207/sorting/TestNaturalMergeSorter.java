@@ -0,0 +1,92 @@
+package edu.grinnell.csc207.sorting;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of our NaturalMergeSorter.
+ */
+public class TestNaturalMergeSorter extends TestSorter {
+  /**
+   * Set up the sorters.
+   */
+  @BeforeAll
+  static void setup() {
+    stringSorter = new NaturalMergeSorter<String>((x, y) -> x.compareTo(y));
+    intSorter = new NaturalMergeSorter<Integer>((x, y) -> x.compareTo(y));
+  } // setup()
+
+  /**
+   * Ensure that arrays made of many ascending and descending runs, with a
+   * few values out of place, are sorted correctly.
+   */
+  @Test
+  public void testRuns() {
+    Random rng = new Random(207);
+    for (int round = 0; round < 20; round++) {
+      Integer[] values = new Integer[1000 + rng.nextInt(20000)];
+      int at = 0;
+      while (at < values.length) {
+        int length = Math.min(values.length - at, 1 + rng.nextInt(300));
+        int first = rng.nextInt(1000);
+        boolean descending = rng.nextBoolean();
+        for (int i = 0; i < length; i++) {
+          values[at + i] = descending ? first - i / 3 : first + i / 3;
+        } // for
+        at += length;
+      } // while
+      for (int i = 0; i < values.length / 100; i++) {
+        values[rng.nextInt(values.length)] = rng.nextInt(1000);
+      } // for
+      Integer[] expected = values.clone();
+      Arrays.sort(expected);
+      this.assertSorts(expected, values, intSorter);
+    } // for
+  } // testRuns()
+
+  /**
+   * Ensure that equal elements keep their original relative order.
+   */
+  @Test
+  public void testStability() {
+    Integer[] values = new Integer[10007];
+    for (int i = 0; i < values.length; i++) {
+      // Since 4099 and 10007 are coprime, this is a permutation of 0 .. 10006.
+      values[i] = (i * 4099) % values.length;
+    } // for
+    int[] positions = new int[values.length];
+    for (int i = 0; i < values.length; i++) {
+      positions[values[i]] = i;
+    } // for
+
+    // Only the last digit matters, so there are many equal elements.
+    new NaturalMergeSorter<Integer>((x, y) -> Integer.compare(x % 10, y % 10)).sort(values);
+
+    for (int i = 1; i < values.length; i++) {
+      assertTrue((values[i - 1] % 10) <= (values[i] % 10), "not sorted at " + i);
+      if ((values[i - 1] % 10) == (values[i] % 10)) {
+        assertTrue(positions[values[i - 1]] < positions[values[i]], "not stable at " + i);
+      } // if
+    } // for
+  } // testStability()
+
+  /**
+   * Ensure that a long strictly descending array is simply reversed.
+   */
+  @Test
+  public void testDescending() {
+    Integer[] values = new Integer[5000];
+    Integer[] expected = new Integer[values.length];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = values.length - i;
+      expected[i] = i + 1;
+    } // for
+    intSorter.sort(values);
+    assertArrayEquals(expected, values);
+  } // testDescending()
+} // class TestNaturalMergeSorter
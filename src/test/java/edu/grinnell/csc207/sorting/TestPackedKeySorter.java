@@ -0,0 +1,182 @@
+package edu.grinnell.csc207.sorting;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of our PackedKeySorter.
+ *
+ * @author David William Stroud
+ */
+public class TestPackedKeySorter {
+  /**
+   * The status of an order.
+   */
+  enum Status {
+    /** Not yet shipped. */
+    OPEN,
+    /** On its way. */
+    SHIPPED,
+    /** Arrived. */
+    DELIVERED
+  } // enum Status
+
+  /**
+   * A record with several small fields.
+   *
+   * @param status The order's status.
+   * @param priority The order's priority, from -5 to 5.
+   * @param customer The customer number, below 2^20.
+   * @param serial The serial number, below 2^40.
+   */
+  record Order(Status status, int priority, int customer, long serial) {
+  } // record Order
+
+  /**
+   * Make some random orders with many duplicate fields.
+   *
+   * @param size The number of orders.
+   * @return the orders.
+   */
+  static Order[] randomOrders(int size) {
+    Random random = new Random(207);
+    Order[] orders = new Order[size];
+    for (int i = 0; i < size; i++) {
+      orders[i] = new Order(Status.values()[random.nextInt(3)], random.nextInt(11) - 5,
+          random.nextInt(50), random.nextInt(1 << 20) * (long) random.nextInt(1 << 20));
+    } // for
+    return orders;
+  } // randomOrders(int)
+
+  /**
+   * Check that a sorter agrees with a stable sort by its comparator.
+   *
+   * @param builder The builder for the sorter.
+   */
+  static void checkAgainstComparator(PackedKeySorter.Builder<Order> builder) {
+    Order[] orders = randomOrders(5000);
+    Order[] expected = orders.clone();
+    Arrays.sort(expected, builder.comparator());
+    builder.build().sort(orders);
+    assertArrayEquals(expected, orders);
+  } // checkAgainstComparator(PackedKeySorter.Builder<Order>)
+
+  /**
+   * Ensure that fields that fit in one long are sorted like the equivalent
+   * comparator.
+   */
+  @Test
+  public void testOneWord() {
+    checkAgainstComparator(new PackedKeySorter.Builder<Order>()
+        .ascendingEnum(Order::status, Status.class)
+        .descending(Order::priority, -5, 5)
+        .ascending(Order::customer, 20));
+  } // testOneWord()
+
+  /**
+   * Ensure that fields that need two longs are sorted like the equivalent
+   * comparator.
+   */
+  @Test
+  public void testTwoWords() {
+    checkAgainstComparator(new PackedKeySorter.Builder<Order>()
+        .descendingEnum(Order::status, Status.class)
+        .ascending(Order::serial, 40)
+        .ascending(Order::priority, -5, 5)
+        .descending(Order::customer, 30));
+  } // testTwoWords()
+
+  /**
+   * Ensure that the sorter agrees with a hand-written comparator chain.
+   */
+  @Test
+  public void testMatchesComparing() {
+    Order[] orders = randomOrders(2000);
+    Order[] expected = orders.clone();
+    Arrays.sort(expected, Comparator.comparing(Order::status)
+        .thenComparing(Order::priority, Comparator.reverseOrder())
+        .thenComparingInt(Order::customer));
+    new PackedKeySorter.Builder<Order>()
+        .ascendingEnum(Order::status, Status.class)
+        .descending(Order::priority, -5, 5)
+        .ascending(Order::customer, 0, (1 << 20) - 1)
+        .build()
+        .sort(orders);
+    assertArrayEquals(expected, orders);
+  } // testMatchesComparing()
+
+  /**
+   * Ensure that fields that do not fit are rejected.
+   */
+  @Test
+  public void testOutOfRange() {
+    Sorter<Order> sorter = new PackedKeySorter.Builder<Order>()
+        .ascending(Order::priority, 0, 5)
+        .build();
+    Order[] orders = new Order[] {new Order(Status.OPEN, -1, 0, 0)};
+    assertThrows(IllegalArgumentException.class, () -> sorter.sort(orders));
+    assertThrows(IllegalArgumentException.class,
+        () -> new PackedKeySorter.Builder<Order>().ascending(Order::priority, 65));
+    assertThrows(IllegalStateException.class,
+        () -> new PackedKeySorter.Builder<Order>().build());
+  } // testOutOfRange()
+
+  /**
+   * Ensure that a field that does not fit in a more significant long leaves
+   * the array as it was, even though the less significant long is fine.
+   */
+  @Test
+  public void testOutOfRangeLeavesArray() {
+    Sorter<Order> sorter = new PackedKeySorter.Builder<Order>()
+        .ascending(Order::priority, 0, 5)
+        .ascending(Order::serial, 64)
+        .build();
+    Order[] orders = new Order[1000];
+    for (int i = 0; i < orders.length; i++) {
+      orders[i] = new Order(Status.OPEN, i % 6, 0, orders.length - i);
+    } // for
+    orders[orders.length / 2] = new Order(Status.OPEN, -1, 0, 0);
+    Order[] original = orders.clone();
+    assertThrows(IllegalArgumentException.class, () -> sorter.sort(orders));
+    assertArrayEquals(original, orders);
+  } // testOutOfRangeLeavesArray()
+
+  /**
+   * Ensure that 64-bit fields, which take negative values as well, are
+   * sorted like the comparator in both directions.
+   */
+  @Test
+  public void testSixtyFourBits() {
+    checkAgainstComparator(new PackedKeySorter.Builder<Order>()
+        .ascending((order) -> order.serial() - (1L << 39), 64)
+        .ascending(Order::customer, 20));
+    checkAgainstComparator(new PackedKeySorter.Builder<Order>()
+        .descending((order) -> order.serial() - (1L << 39), 64)
+        .ascending(Order::customer, 20));
+    checkAgainstComparator(new PackedKeySorter.Builder<Order>()
+        .ascending(Order::priority, Long.MIN_VALUE, Long.MAX_VALUE));
+  } // testSixtyFourBits()
+
+  /**
+   * Ensure that sorting part of an array, by fields that need two longs,
+   * sorts that part and leaves the rest alone.
+   */
+  @Test
+  public void testSubrange() {
+    PackedKeySorter.Builder<Order> builder = new PackedKeySorter.Builder<Order>()
+        .descendingEnum(Order::status, Status.class)
+        .ascending(Order::serial, 40)
+        .ascending(Order::priority, -5, 5)
+        .descending(Order::customer, 30);
+    Order[] orders = randomOrders(3000);
+    Order[] expected = orders.clone();
+    Arrays.sort(expected, 700, 2100, builder.comparator());
+    builder.build().sort(orders, 700, 2100);
+    assertArrayEquals(expected, orders);
+  } // testSubrange()
+} // class TestPackedKeySorter
@@ -0,0 +1,79 @@
+package edu.grinnell.csc207.sorting;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of our ParallelMergeSorter.
+ */
+public class TestParallelMergeSorter extends TestSorter {
+  /**
+   * The pool used by the sorters under test.
+   */
+  static ForkJoinPool pool;
+
+  /**
+   * Set up the sorters. We use a small cutoff so that even the modest test
+   * arrays are sorted and merged in parallel.
+   */
+  @BeforeAll
+  static void setup() {
+    pool = new ForkJoinPool(4);
+    stringSorter = new ParallelMergeSorter<String>((x, y) -> x.compareTo(y), pool, 8);
+    intSorter = new ParallelMergeSorter<Integer>((x, y) -> x.compareTo(y), pool, 8);
+  } // setup()
+
+  /**
+   * Ensure that equal elements keep their original relative order, even when
+   * the merges are split across tasks.
+   */
+  @Test
+  public void testStability() {
+    Integer[] values = new Integer[10007];
+    for (int i = 0; i < values.length; i++) {
+      // Since 4099 and 10007 are coprime, this is a permutation of 0 .. 10006.
+      values[i] = (i * 4099) % values.length;
+    } // for
+    int[] positions = new int[values.length];
+    for (int i = 0; i < values.length; i++) {
+      positions[values[i]] = i;
+    } // for
+
+    // Only the last digit matters, so there are many equal elements.
+    new ParallelMergeSorter<Integer>((x, y) -> Integer.compare(x % 10, y % 10), pool, 8)
+        .sort(values);
+
+    for (int i = 1; i < values.length; i++) {
+      assertTrue((values[i - 1] % 10) <= (values[i] % 10), "not sorted at " + i);
+      if ((values[i - 1] % 10) == (values[i] % 10)) {
+        assertTrue(positions[values[i - 1]] < positions[values[i]], "not stable at " + i);
+      } // if
+    } // for
+  } // testStability()
+
+  /**
+   * Ensure that the smallest allowed cutoff, at which merges are split all
+   * the way down to single values, still terminates and sorts correctly.
+   */
+  @Test
+  public void testSmallestCutoff() {
+    ParallelMergeSorter<Integer> sorter =
+        new ParallelMergeSorter<Integer>((x, y) -> Integer.compare(x % 10, y % 10), pool, 2);
+    for (int size = 0; size < 300; size += 7) {
+      Integer[] values = new Integer[size];
+      for (int i = 0; i < size; i++) {
+        values[i] = (i * 37) % (size + 1);
+      } // for
+      Integer[] expected = values.clone();
+      // Arrays.sort on objects is stable, so it gives the only right answer.
+      Arrays.sort(expected, (x, y) -> Integer.compare(x % 10, y % 10));
+      sorter.sort(values);
+      assertArrayEquals(expected, values, "size " + size);
+    } // for
+  } // testSmallestCutoff()
+} // class TestParallelMergeSorter
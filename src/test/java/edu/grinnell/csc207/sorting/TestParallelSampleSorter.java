@@ -0,0 +1,21 @@
+package edu.grinnell.csc207.sorting;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.BeforeAll;
+
+/**
+ * Tests of our ParallelSampleSorter.
+ */
+public class TestParallelSampleSorter extends TestSorter {
+  /**
+   * Set up the sorters. We use a small cutoff so that even the modest test
+   * arrays are sample sorted.
+   */
+  @BeforeAll
+  static void setup() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    stringSorter = new ParallelSampleSorter<>(String::compareTo, pool, 8);
+    intSorter = new ParallelSampleSorter<>(Integer::compareTo, pool, 8);
+  } // setup()
+} // class TestParallelSampleSorter
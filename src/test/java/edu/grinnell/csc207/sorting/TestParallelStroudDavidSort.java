@@ -0,0 +1,51 @@
+package edu.grinnell.csc207.sorting;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of our ParallelStroudDavidSort.
+ */
+public class TestParallelStroudDavidSort extends TestSorter {
+  /**
+   * The pool in which the sorters run.
+   */
+  static ForkJoinPool pool;
+
+  /**
+   * A pool of one thread, in which the adversary's sorts run.
+   */
+  static ForkJoinPool single;
+
+  /**
+   * Set up the sorters. We use a small cutoff so that even the modest test
+   * arrays are split into parallel tasks.
+   */
+  @BeforeAll
+  static void setup() {
+    pool = new ForkJoinPool(4);
+    single = new ForkJoinPool(1);
+    stringSorter = new ParallelStroudDavidSort<>(String::compareTo, pool, 8);
+    intSorter = new ParallelStroudDavidSort<>(Integer::compareTo, pool, 8);
+  } // setup()
+
+  /**
+   * Shut down the pools.
+   */
+  @AfterAll
+  static void teardown() {
+    pool.shutdown();
+    single.shutdown();
+  } // teardown()
+
+  /**
+   * Ensure that an adversarial comparator cannot make the sort quadratic.
+   */
+  @Test
+  public void testAdversary() {
+    Adversary.assertNotQuadratic((order) -> new ParallelStroudDavidSort<>(order, single, 64));
+  } // testAdversary()
+} // class TestParallelStroudDavidSort
@@ -0,0 +1,62 @@
+package edu.grinnell.csc207.sorting;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of our PdqSorter.
+ */
+public class TestPdqSorter extends TestSorter {
+  /**
+   * Set up the sorters.
+   */
+  @BeforeAll
+  static void setup() {
+    stringSorter = new PdqSorter<String>((x, y) -> x.compareTo(y));
+    intSorter = new PdqSorter<Integer>((x, y) -> x.compareTo(y));
+  } // setup()
+
+  /**
+   * Ensure that the input shapes that SortTools.compete uses are sorted correctly.
+   */
+  @Test
+  public void testPatterns() {
+    Random rng = new Random(207);
+    Integer[] sorted = new Integer[3000];
+    sorted[0] = 0;
+    for (int i = 1; i < sorted.length; i++) {
+      sorted[i] = sorted[i - 1] + rng.nextInt(3);
+    } // for
+
+    Integer[] reversed = new Integer[sorted.length];
+    Integer[] organPipe = new Integer[sorted.length];
+    for (int i = 0; i < sorted.length; i++) {
+      reversed[i] = sorted[sorted.length - 1 - i];
+      // Even-indexed values going up, then odd-indexed values coming back down.
+      organPipe[i] = (i < sorted.length / 2) ? sorted[2 * i] : sorted[2 * (sorted.length - i) - 1];
+    } // for
+    Integer[] slightlyRandomized = sorted.clone();
+    for (int i = 0; i < sorted.length / 10; i++) {
+      int j = rng.nextInt(sorted.length);
+      int k = rng.nextInt(sorted.length);
+      Integer tmp = slightlyRandomized[j];
+      slightlyRandomized[j] = slightlyRandomized[k];
+      slightlyRandomized[k] = tmp;
+    } // for
+
+    this.assertSorts(sorted, sorted.clone(), intSorter);
+    this.assertSorts(sorted, reversed, intSorter);
+    this.assertSorts(sorted, organPipe, intSorter);
+    this.assertSorts(sorted, slightlyRandomized, intSorter);
+  } // testPatterns()
+
+  /**
+   * Ensure that an adversarial comparator cannot make the sort quadratic.
+   */
+  @Test
+  public void testAdversary() {
+    Adversary.assertNotQuadratic((order) -> new PdqSorter<>(order));
+  } // testAdversary()
+} // class TestPdqSorter
@@ -0,0 +1,19 @@
+package edu.grinnell.csc207.sorting;
+
+import org.junit.jupiter.api.BeforeAll;
+
+/**
+ * Tests of our PrimitiveHeapSorter.
+ */
+public class TestPrimitiveHeapSorter extends TestPrimitiveSorter {
+  /**
+   * Set up the sorters.
+   */
+  @BeforeAll
+  static void setup() {
+    PrimitiveHeapSorter sorter = new PrimitiveHeapSorter();
+    intSorter = sorter;
+    longSorter = sorter;
+    doubleSorter = sorter;
+  } // setup()
+} // class TestPrimitiveHeapSorter
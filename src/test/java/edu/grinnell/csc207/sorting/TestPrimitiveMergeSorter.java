@@ -0,0 +1,19 @@
+package edu.grinnell.csc207.sorting;
+
+import org.junit.jupiter.api.BeforeAll;
+
+/**
+ * Tests of our PrimitiveMergeSorter.
+ */
+public class TestPrimitiveMergeSorter extends TestPrimitiveSorter {
+  /**
+   * Set up the sorters.
+   */
+  @BeforeAll
+  static void setup() {
+    PrimitiveMergeSorter sorter = new PrimitiveMergeSorter();
+    intSorter = sorter;
+    longSorter = sorter;
+    doubleSorter = sorter;
+  } // setup()
+} // class TestPrimitiveMergeSorter
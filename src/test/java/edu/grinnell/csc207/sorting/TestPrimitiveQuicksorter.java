@@ -0,0 +1,19 @@
+package edu.grinnell.csc207.sorting;
+
+import org.junit.jupiter.api.BeforeAll;
+
+/**
+ * Tests of our PrimitiveQuicksorter.
+ */
+public class TestPrimitiveQuicksorter extends TestPrimitiveSorter {
+  /**
+   * Set up the sorters.
+   */
+  @BeforeAll
+  static void setup() {
+    PrimitiveQuicksorter sorter = new PrimitiveQuicksorter();
+    intSorter = sorter;
+    longSorter = sorter;
+    doubleSorter = sorter;
+  } // setup()
+} // class TestPrimitiveQuicksorter
@@ -0,0 +1,194 @@
+package edu.grinnell.csc207.sorting;
+
+import edu.grinnell.csc207.workloads.Workload;
+import edu.grinnell.csc207.workloads.WorkloadGenerator;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of primitive sorters. Please do not use this class directly.
+ * Rather, you should subclass it and initialize intSorter, longSorter
+ * and doubleSorter in a static @BeforeAll method.
+ *
+ * @author David William Stroud
+ */
+public class TestPrimitiveSorter {
+
+  // +---------+-----------------------------------------------------
+  // | Globals |
+  // +---------+
+
+  /**
+   * The sorter we use to sort arrays of ints.
+   */
+  static IntSorter intSorter = null;
+
+  /**
+   * The sorter we use to sort arrays of longs.
+   */
+  static LongSorter longSorter = null;
+
+  /**
+   * The sorter we use to sort arrays of doubles.
+   */
+  static DoubleSorter doubleSorter = null;
+
+  /**
+   * The seed for our random arrays, so that failures can be reproduced.
+   */
+  static final long SEED = 207;
+
+  /**
+   * The size of the large arrays, which is enough to overflow the stack
+   * of a sorter that recurses once per element.
+   */
+  static final int LARGE = 1 << 20;
+
+  // +-----------+---------------------------------------------------
+  // | Utilities |
+  // +-----------+
+
+  /**
+   * Sort a copy of an array with intSorter and compare it to Arrays.sort.
+   *
+   * @param values The array to sort.
+   */
+  void assertSorts(int[] values) {
+    int[] expected = values.clone();
+    Arrays.sort(expected);
+    int[] actual = values.clone();
+    intSorter.sort(actual);
+    assertArrayEquals(expected, actual, () -> "sort(" + Arrays.toString(values) + ")");
+  } // assertSorts(int[])
+
+  /**
+   * Sort a copy of an array with longSorter and compare it to Arrays.sort.
+   *
+   * @param values The array to sort.
+   */
+  void assertSorts(long[] values) {
+    long[] expected = values.clone();
+    Arrays.sort(expected);
+    long[] actual = values.clone();
+    longSorter.sort(actual);
+    assertArrayEquals(expected, actual, () -> "sort(" + Arrays.toString(values) + ")");
+  } // assertSorts(long[])
+
+  /**
+   * Sort a copy of an array with doubleSorter and compare it to Arrays.sort.
+   *
+   * @param values The array to sort.
+   */
+  void assertSorts(double[] values) {
+    double[] expected = values.clone();
+    Arrays.sort(expected);
+    double[] actual = values.clone();
+    doubleSorter.sort(actual);
+    assertArrayEquals(expected, actual, () -> "sort(" + Arrays.toString(values) + ")");
+  } // assertSorts(double[])
+
+  // +-------+-------------------------------------------------------
+  // | Tests |
+  // +-------+
+
+  /**
+   * Ensure that tiny arrays are sorted without issues.
+   */
+  @Test
+  public void testTiny() {
+    this.assertSorts(new int[] {});
+    this.assertSorts(new int[] {5});
+    this.assertSorts(new int[] {5, -5});
+    this.assertSorts(new long[] {});
+    this.assertSorts(new long[] {Long.MAX_VALUE, Long.MIN_VALUE});
+    this.assertSorts(new double[] {});
+    this.assertSorts(new double[] {0.5, -0.5});
+  } // testTiny()
+
+  /**
+   * Ensure that random arrays of many sizes are sorted correctly.
+   */
+  @Test
+  public void testRandom() {
+    Random rng = new Random(SEED);
+    for (int size = 1; size < 5000; size = size * 3 + 1) {
+      this.assertSorts(rng.ints(size).toArray());
+      this.assertSorts(rng.longs(size).toArray());
+      this.assertSorts(rng.doubles(size, -1000, 1000).toArray());
+    } // for
+  } // testRandom()
+
+  /**
+   * Ensure that arrays with few distinct values are sorted correctly.
+   */
+  @Test
+  public void testDuplicates() {
+    Random rng = new Random(SEED);
+    this.assertSorts(rng.ints(2000, -3, 3).toArray());
+    this.assertSorts(rng.longs(2000, -3, 3).toArray());
+    this.assertSorts(rng.ints(2000, -3, 3).asDoubleStream().toArray());
+  } // testDuplicates()
+
+  /**
+   * Ensure that sorted and reverse-sorted arrays are sorted correctly.
+   */
+  @Test
+  public void testOrdered() {
+    int[] ints = new int[1000];
+    for (int i = 0; i < ints.length; i++) {
+      ints[i] = i / 2;
+    } // for
+    this.assertSorts(ints);
+    for (int i = 0; i < ints.length; i++) {
+      ints[i] = -i;
+    } // for
+    this.assertSorts(ints);
+  } // testOrdered()
+
+  /**
+   * Ensure that a large reverse-sorted array is sorted correctly.
+   */
+  @Test
+  public void testLargeReverse() {
+    WorkloadGenerator workloads = new WorkloadGenerator(SEED);
+    this.assertSorts(workloads.ints(Workload.REVERSE, LARGE));
+    this.assertSorts(workloads.longs(Workload.REVERSE, LARGE));
+    this.assertSorts(workloads.doubles(Workload.REVERSE, LARGE));
+  } // testLargeReverse()
+
+  /**
+   * Ensure that a large organ-pipe array, which drives a Quicksort that
+   * pivots on the middle element to its worst case, is sorted correctly.
+   */
+  @Test
+  public void testLargeOrganPipe() {
+    WorkloadGenerator workloads = new WorkloadGenerator(SEED);
+    this.assertSorts(workloads.ints(Workload.ORGAN_PIPE, LARGE));
+    this.assertSorts(workloads.longs(Workload.ORGAN_PIPE, LARGE));
+    this.assertSorts(workloads.doubles(Workload.ORGAN_PIPE, LARGE));
+  } // testLargeOrganPipe()
+
+  /**
+   * Ensure that extreme values and the special doubles are ordered like
+   * Arrays.sort orders them.
+   */
+  @Test
+  public void testExtremes() {
+    this.assertSorts(new int[] {Integer.MAX_VALUE, 0, Integer.MIN_VALUE, -1, 1,
+        Integer.MIN_VALUE, Integer.MAX_VALUE});
+    this.assertSorts(new long[] {Long.MAX_VALUE, 0, Long.MIN_VALUE, -1, 1,
+        Long.MIN_VALUE, Long.MAX_VALUE});
+    Random rng = new Random(SEED);
+    double[] specials = {Double.NaN, -0.0, 0.0, Double.NEGATIVE_INFINITY,
+        Double.POSITIVE_INFINITY, Double.MIN_VALUE, -Double.MAX_VALUE, 1.0};
+    double[] doubles = new double[500];
+    for (int i = 0; i < doubles.length; i++) {
+      doubles[i] = specials[rng.nextInt(specials.length)];
+    } // for
+    this.assertSorts(doubles);
+  } // testExtremes()
+} // class TestPrimitiveSorter
@@ -0,0 +1,19 @@
+package edu.grinnell.csc207.sorting;
+
+import org.junit.jupiter.api.BeforeAll;
+
+/**
+ * Tests of our PrimitiveStroudDavidSort.
+ */
+public class TestPrimitiveStroudDavidSort extends TestPrimitiveSorter {
+  /**
+   * Set up the sorters.
+   */
+  @BeforeAll
+  static void setup() {
+    PrimitiveStroudDavidSort sorter = new PrimitiveStroudDavidSort();
+    intSorter = sorter;
+    longSorter = sorter;
+    doubleSorter = sorter;
+  } // setup()
+} // class TestPrimitiveStroudDavidSort
@@ -1,6 +1,7 @@
 package edu.grinnell.csc207.sorting;
 
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
 
 /**
  * Tests of our Quicksorter.
@@ -15,4 +16,11 @@ public class TestQuicksorter extends TestSorter {
     intSorter = new Quicksorter<Integer>((x,y) -> x.compareTo(y));
   } // setup()
 
+  /**
+   * Ensure that an adversarial comparator cannot make the sort quadratic.
+   */
+  @Test
+  public void testAdversary() {
+    Adversary.assertNotQuadratic((order) -> new Quicksorter<>(order));
+  } // testAdversary()
 } // class TestQuicksorter
@@ -0,0 +1,88 @@
+package edu.grinnell.csc207.sorting;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of our RadixSorter.
+ */
+public class TestRadixSorter extends TestPrimitiveSorter {
+  /**
+   * The pool used by the sorters under test.
+   */
+  static ForkJoinPool pool;
+
+  /**
+   * Set up the sorters. We use a small threshold so that the larger test
+   * arrays are sorted in parallel and the smaller ones sequentially.
+   */
+  @BeforeAll
+  static void setup() {
+    pool = new ForkJoinPool(4);
+    RadixSorter sorter = new RadixSorter(pool, 1024);
+    intSorter = sorter;
+    longSorter = sorter;
+    doubleSorter = sorter;
+  } // setup()
+
+  /**
+   * Ensure that objects are sorted by an int key and that equal keys stay
+   * in their original order.
+   */
+  @Test
+  public void testIntKeyStable() {
+    Random rng = new Random(SEED);
+    Integer[] values = new Integer[5000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = rng.nextInt();
+    } // for
+    // Sorting by the low byte gives many equal keys, with negative keys.
+    Comparator<Integer> byLowByte = Comparator.comparingInt((x) -> (byte) x.intValue());
+    Integer[] expected = values.clone();
+    Arrays.sort(expected, byLowByte);
+    RadixSorter.<Integer>byIntKey((x) -> (byte) x.intValue(), pool, 1024).sort(values);
+    assertArrayEquals(expected, values);
+  } // testIntKeyStable()
+
+  /**
+   * Ensure that objects are sorted by a long key.
+   */
+  @Test
+  public void testLongKey() {
+    Random rng = new Random(SEED);
+    Long[] values = new Long[3000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = rng.nextLong();
+    } // for
+    Long[] expected = values.clone();
+    Arrays.sort(expected);
+    RadixSorter.<Long>byLongKey(Long::longValue, null, 0).sort(values);
+    assertArrayEquals(expected, values);
+  } // testLongKey()
+
+  /**
+   * Ensure that a keyed sorter sorts part of an array by key and leaves the
+   * rest of it alone.
+   */
+  @Test
+  public void testKeyedSubrange() {
+    Random rng = new Random(SEED);
+    Long[] values = new Long[3000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = rng.nextLong();
+    } // for
+    Long[] expected = values.clone();
+    Arrays.sort(expected, 1000, 2500);
+    Sorter<Long> sorter = RadixSorter.<Long>byLongKey(Long::longValue, pool, 1024);
+    sorter.sort(values, 1000, 2500);
+    assertArrayEquals(expected, values);
+    assertThrows(IndexOutOfBoundsException.class, () -> sorter.sort(values, 2500, 1000));
+  } // testKeyedSubrange()
+} // class TestRadixSorter
@@ -0,0 +1,173 @@
+package edu.grinnell.csc207.sorting;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the Flight Recorder events that sorters emit.
+ *
+ * @author David William Stroud
+ */
+public class TestSortEvents {
+  /**
+   * Record some sorts and read back the events of one type.
+   *
+   * @param name The name of the events to read back.
+   * @param sorts What to do while recording.
+   * @return the events.
+   * @throws IOException if the recording cannot be written or read.
+   */
+  static List<RecordedEvent> record(String name, Runnable sorts) throws IOException {
+    Path file = Files.createTempFile("sort", ".jfr");
+    try (Recording recording = new Recording()) {
+      recording.enable(name);
+      recording.start();
+      sorts.run();
+      recording.stop();
+      recording.dump(file);
+      return RecordingFile.readAllEvents(file).stream()
+          .filter((event) -> event.getEventType().getName().equals(name))
+          .collect(Collectors.toList());
+    } finally {
+      Files.deleteIfExists(file);
+    } // try/finally
+  } // record(String, Runnable)
+
+  /**
+   * Ensure that each top-level sort emits one event with its algorithm,
+   * element type and size.
+   *
+   * @throws IOException if the recording cannot be written or read.
+   */
+  @Test
+  public void testSortEvents() throws IOException {
+    List<RecordedEvent> events = record("edu.grinnell.csc207.sorting.Sort", () -> {
+      new StroudDavidSort<Integer>(Integer::compareTo).sort(RandomIntegers.of(1000));
+      new MergeSorter<Integer>(Integer::compareTo).sort(RandomIntegers.of(500), 100, 400);
+      new PrimitiveStroudDavidSort().sort(new long[] {3, 1, 2});
+    });
+    assertEquals(3, events.size());
+    assertEquals("StroudDavidSort", events.get(0).getString("algorithm"));
+    assertEquals("Integer", events.get(0).getString("elementType"));
+    assertEquals(1000, events.get(0).getInt("size"));
+    assertEquals("MergeSorter", events.get(1).getString("algorithm"));
+    assertEquals(300, events.get(1).getInt("size"));
+    assertEquals("long", events.get(2).getString("elementType"));
+  } // testSortEvents()
+
+  /**
+   * Ensure that whole-array sorts, small parallel sorts and parallel sorts
+   * that sort pieces sequentially each emit one event, named for the
+   * sorter that was called.
+   *
+   * @throws IOException if the recording cannot be written or read.
+   */
+  @Test
+  public void testOneEventPerSort() throws IOException {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      List<RecordedEvent> events = record("edu.grinnell.csc207.sorting.Sort", () -> {
+        new DualPivotQuicksorter<Integer>(Integer::compareTo).sort(RandomIntegers.of(1000));
+        new ParallelStroudDavidSort<Integer>(Integer::compareTo, pool, 64)
+            .sort(RandomIntegers.of(10));
+        new ParallelStroudDavidSort<Integer>(Integer::compareTo, pool, 64)
+            .sort(RandomIntegers.of(5000));
+        new ParallelSampleSorter<Integer>(Integer::compareTo, pool, 64)
+            .sort(RandomIntegers.of(10));
+        new ParallelSampleSorter<Integer>(Integer::compareTo, pool, 64)
+            .sort(RandomIntegers.of(5000));
+      });
+      assertEquals(List.of("DualPivotQuicksorter", "ParallelStroudDavidSort",
+          "ParallelStroudDavidSort", "ParallelSampleSorter", "ParallelSampleSorter"),
+          events.stream().map((e) -> e.getString("algorithm")).collect(Collectors.toList()));
+      assertEquals(List.of(1000, 10, 5000, 10, 5000),
+          events.stream().map((e) -> e.getInt("size")).collect(Collectors.toList()));
+    } finally {
+      pool.shutdown();
+    } // try/finally
+  } // testOneEventPerSort()
+
+  /**
+   * Ensure that the simple, primitive, radix, string and key-based sorters
+   * each emit one event per sort, and that a KeyCachingSorter's sort is
+   * recorded once, by the sorter for its keys.
+   *
+   * @throws IOException if the recording cannot be written or read.
+   */
+  @Test
+  public void testEveryAlgorithm() throws IOException {
+    List<RecordedEvent> events = record("edu.grinnell.csc207.sorting.Sort", () -> {
+      new InsertionSorter<Integer>(Integer::compareTo).sort(RandomIntegers.of(10));
+      new SelectionSorter<Integer>(Integer::compareTo).sort(RandomIntegers.of(10));
+      new HeapSorter<Integer>(Integer::compareTo).sort(RandomIntegers.of(10));
+      new NaturalMergeSorter<Integer>(Integer::compareTo).sort(RandomIntegers.of(10));
+      new PrimitiveQuicksorter().sort(new int[] {3, 1, 2});
+      new PrimitiveMergeSorter().sort(new double[] {3, 1, 2});
+      new PrimitiveHeapSorter().sort(new int[] {3, 1, 2});
+      new PrimitiveHeapSorter().sort(new long[] {3, 1, 2});
+      new PrimitiveHeapSorter().sort(new double[] {3, 1, 2});
+      new RadixSorter().sort(new long[] {3, 1, 2});
+      new StringSorter().sort(new String[] {"b", "a"});
+      RadixSorter.<Integer>byIntKey((x) -> x).sort(RandomIntegers.of(10));
+      new PackedKeySorter.Builder<Integer>()
+          .ascending((x) -> x, Integer.MIN_VALUE, Integer.MAX_VALUE).build()
+          .sort(RandomIntegers.of(10));
+      new KeyCachingSorter<Integer, Integer>((x) -> x, Integer::compareTo)
+          .sort(RandomIntegers.of(10));
+    });
+    assertEquals(List.of("InsertionSorter", "SelectionSorter", "HeapSorter",
+        "NaturalMergeSorter", "PrimitiveQuicksorter", "PrimitiveMergeSorter",
+        "PrimitiveHeapSorter", "PrimitiveHeapSorter", "PrimitiveHeapSorter", "RadixSorter",
+        "StringSorter", "RadixSorter", "PackedKeySorter", "NaturalMergeSorter"),
+        events.stream().map((e) -> e.getString("algorithm")).collect(Collectors.toList()));
+    assertEquals(List.of("Integer", "Integer", "Integer", "Integer", "int", "double", "int",
+        "long", "double", "long", "String", "Integer", "Integer", "Keyed"),
+        events.stream().map((e) -> e.getString("elementType")).collect(Collectors.toList()));
+  } // testEveryAlgorithm()
+
+  /**
+   * Ensure that only passes over large slices are recorded.
+   *
+   * @throws IOException if the recording cannot be written or read.
+   */
+  @Test
+  public void testPassEvents() throws IOException {
+    int size = 4 * SortPassEvent.MIN_SIZE;
+    List<RecordedEvent> events = record("edu.grinnell.csc207.sorting.SortPass", () -> {
+      new Quicksorter<Integer>(Integer::compareTo).sort(RandomIntegers.of(size));
+      new MergeSorter<Integer>(Integer::compareTo).sort(RandomIntegers.of(size));
+    });
+    assertFalse(events.isEmpty());
+    for (RecordedEvent event : events) {
+      assertTrue(event.getInt("size") >= SortPassEvent.MIN_SIZE);
+    } // for
+    // Merge sort makes one pass over the whole array, two over its halves
+    // and four over its quarters.
+    assertEquals(7, events.stream().filter((e) -> e.getString("phase").equals("merge")).count());
+    assertTrue(events.stream().anyMatch((e) -> e.getString("algorithm").equals("Quicksorter")
+        && e.getInt("size") == size));
+  } // testPassEvents()
+
+  /**
+   * Ensure that pass events are off unless a recording turns them on.
+   *
+   * @throws IOException if the recording cannot be written or read.
+   */
+  @Test
+  public void testPassEventsDisabledByDefault() throws IOException {
+    assertFalse(new SortPassEvent().isEnabled());
+  } // testPassEventsDisabledByDefault()
+} // class TestSortEvents
@@ -0,0 +1,240 @@
+package edu.grinnell.csc207.sorting;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.IntToLongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of our SortWorkspace, including that the sorters that use it do
+ * not allocate once they are warmed up.
+ *
+ * @author David William Stroud
+ */
+public class TestSortWorkspace {
+  /**
+   * The size of the arrays sorted when measuring allocation.
+   */
+  static final int SIZE = 1000;
+
+  /**
+   * The number of sorts measured.
+   */
+  static final int SORTS = 200;
+
+  /**
+   * Measure the bytes the current thread allocates while sorting copies of
+   * the same values many times, after warming up.
+   *
+   * @param <A> The type of the array sorted.
+   * @param source The values to sort.
+   * @param values An array as long as source, which each sort sorts.
+   * @param size The length of the arrays.
+   * @param sort How to sort values.
+   * @return the number of bytes allocated per sort.
+   */
+  static <A> long bytesPerSort(A source, A values, int size, Consumer<A> sort) {
+    java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    assumeTrue(bean instanceof com.sun.management.ThreadMXBean,
+        "allocation cannot be measured on this JVM");
+    com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+    assumeTrue(threads.isThreadAllocatedMemorySupported()
+        && threads.isThreadAllocatedMemoryEnabled(), "allocation is not measured");
+    long id = Thread.currentThread().getId();
+
+    // Warm up, so that the workspace has grown and the sort is compiled.
+    for (int i = 0; i < SORTS; i++) {
+      System.arraycopy(source, 0, values, 0, size);
+      sort.accept(values);
+    } // for
+
+    long before = threads.getThreadAllocatedBytes(id);
+    for (int i = 0; i < SORTS; i++) {
+      System.arraycopy(source, 0, values, 0, size);
+      sort.accept(values);
+    } // for
+    long after = threads.getThreadAllocatedBytes(id);
+    return (after - before) / SORTS;
+  } // bytesPerSort(A, A, int, Consumer<A>)
+
+  /**
+   * Measure the bytes the current thread allocates per sort of random
+   * Integers, after warming up.
+   *
+   * @param sorter The sorter.
+   * @param size The number of Integers.
+   * @return the number of bytes allocated per sort.
+   */
+  static long bytesPerSort(Sorter<Integer> sorter, int size) {
+    Random random = new Random(207);
+    Integer[] source = new Integer[size];
+    for (int i = 0; i < size; i++) {
+      source[i] = random.nextInt(size);
+    } // for
+    return bytesPerSort(source, new Integer[size], size, sorter::sort);
+  } // bytesPerSort(Sorter<Integer>, int)
+
+  /**
+   * Measure the bytes the current thread allocates per sort of SIZE
+   * random Integers, after warming up.
+   *
+   * @param sorter The sorter.
+   * @return the number of bytes allocated per sort.
+   */
+  static long bytesPerSort(Sorter<Integer> sorter) {
+    return bytesPerSort(sorter, SIZE);
+  } // bytesPerSort(Sorter<Integer>)
+
+  /**
+   * Measure the bytes the current thread allocates per sort of random
+   * ints, after warming up.
+   *
+   * @param sorter The sorter.
+   * @param size The number of ints.
+   * @return the number of bytes allocated per sort.
+   */
+  static long bytesPerSort(IntSorter sorter, int size) {
+    int[] source = new Random(207).ints(size).toArray();
+    return bytesPerSort(source, new int[size], size, sorter::sort);
+  } // bytesPerSort(IntSorter, int)
+
+  /**
+   * Assert that what a sorter allocates per sort does not grow with the
+   * size of its input, so that its scratch space comes from the workspace.
+   * The sorters checked with this still allocate some bookkeeping, such as
+   * tasks, samples or digit counts, on each sort.
+   *
+   * @param bytesPerSort How many bytes a sort of some size allocates.
+   */
+  static void assertNoScratch(IntToLongFunction bytesPerSort) {
+    long small = bytesPerSort.applyAsLong(SIZE);
+    long large = bytesPerSort.applyAsLong(4 * SIZE);
+    assertTrue(large - small < SIZE,
+        "sorts of " + SIZE + " and " + (4 * SIZE) + " values allocate " + small + " and "
+        + large + " bytes");
+  } // assertNoScratch(IntToLongFunction)
+
+  /**
+   * Ensure that merge sort allocates nothing in steady state.
+   */
+  @Test
+  public void testMergeSorterAllocation() {
+    assertEquals(0, bytesPerSort(new MergeSorter<>(Integer::compareTo)));
+  } // testMergeSorterAllocation()
+
+  /**
+   * Ensure that Quicksort allocates nothing in steady state.
+   */
+  @Test
+  public void testQuicksorterAllocation() {
+    assertEquals(0, bytesPerSort(new Quicksorter<>(Integer::compareTo)));
+  } // testQuicksorterAllocation()
+
+  /**
+   * Ensure that StroudDavid sort allocates nothing in steady state.
+   */
+  @Test
+  public void testStroudDavidSortAllocation() {
+    assertEquals(0, bytesPerSort(new StroudDavidSort<>(Integer::compareTo)));
+  } // testStroudDavidSortAllocation()
+
+  /**
+   * Ensure that natural merge sort takes its merge space from the
+   * workspace.
+   */
+  @Test
+  public void testNaturalMergeSorterAllocation() {
+    NaturalMergeSorter<Integer> sorter = new NaturalMergeSorter<>(Integer::compareTo);
+    assertNoScratch((size) -> bytesPerSort(sorter, size));
+  } // testNaturalMergeSorterAllocation()
+
+  /**
+   * Ensure that radix sort takes its scratch keys from the workspace.
+   */
+  @Test
+  public void testRadixSorterAllocation() {
+    RadixSorter sorter = new RadixSorter(null, Integer.MAX_VALUE);
+    assertNoScratch((size) -> bytesPerSort(sorter, size));
+  } // testRadixSorterAllocation()
+
+  /**
+   * Ensure that the parallel sorters take the scratch space that the
+   * calling thread would allocate from its workspace.
+   */
+  @Test
+  public void testParallelSorterAllocation() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      ParallelMergeSorter<Integer> merge = new ParallelMergeSorter<>(Integer::compareTo, pool, 64);
+      assertNoScratch((size) -> bytesPerSort(merge, size));
+      ParallelSampleSorter<Integer> sample =
+          new ParallelSampleSorter<>(Integer::compareTo, pool, 64);
+      assertNoScratch((size) -> bytesPerSort(sample, size));
+    } finally {
+      pool.shutdown();
+    } // try/finally
+  } // testParallelSorterAllocation()
+
+  /**
+   * Ensure that a workspace's scratch space grows as needed and is reused.
+   */
+  @Test
+  public void testGrowth() {
+    SortWorkspace workspace = new SortWorkspace();
+    Object[] small = workspace.objects(10);
+    assertTrue(small.length >= 10);
+    assertSame(small, workspace.objects(5));
+    Object[] large = workspace.objects(1000);
+    assertTrue(large.length >= 1000);
+    assertTrue(workspace.ints(100).length >= 100);
+    assertEquals(2, workspace.bounds().length);
+  } // testGrowth()
+
+  /**
+   * Ensure that releasing a workspace clears the objects left in it.
+   */
+  @Test
+  public void testRelease() {
+    SortWorkspace workspace = SortWorkspace.acquire();
+    Object[] scratch = workspace.objects(3);
+    scratch[0] = "a";
+    scratch[2] = "c";
+    workspace.release();
+    assertNull(scratch[0]);
+    assertNull(scratch[2]);
+    assertSame(workspace, SortWorkspace.acquire());
+    workspace.release();
+  } // testRelease()
+
+  /**
+   * Ensure that a thread acquiring a workspace while its own is in use,
+   * as a comparator that sorts would, gets a different one.
+   */
+  @Test
+  public void testNested() {
+    SortWorkspace outer = SortWorkspace.acquire();
+    SortWorkspace inner = SortWorkspace.acquire();
+    assertNotSame(outer, inner);
+    inner.release();
+    outer.release();
+
+    // And a sort that sorts inside its comparator still works.
+    MergeSorter<Integer> inside = new MergeSorter<>(Integer::compareTo);
+    Integer[] values = new Integer[] {3, 1, 2};
+    new MergeSorter<Integer>((x, y) -> {
+      inside.sort(new Integer[] {y, x});
+      return x.compareTo(y);
+    }).sort(values);
+    assertArrayEquals(new Integer[] {1, 2, 3}, values);
+  } // testNested()
+} // class TestSortWorkspace
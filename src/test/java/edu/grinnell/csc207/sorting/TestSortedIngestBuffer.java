@@ -0,0 +1,268 @@
+package edu.grinnell.csc207.sorting;
+
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of our SortedIngestBuffer.
+ *
+ * @author David William Stroud
+ */
+public class TestSortedIngestBuffer {
+  /**
+   * The number of producer threads.
+   */
+  static final int THREADS = 4;
+
+  /**
+   * The number of values each producer adds.
+   */
+  static final int PER_THREAD = 10000;
+
+  /**
+   * Assert that a list is sorted.
+   *
+   * @param values The list.
+   */
+  static void assertSorted(List<Integer> values) {
+    for (int i = 1; i < values.size(); i++) {
+      assertTrue(values.get(i - 1) <= values.get(i), "unsorted at " + i);
+    } // for
+  } // assertSorted(List<Integer>)
+
+  /**
+   * Start some threads that each add different values to a buffer.
+   *
+   * @param buffer The buffer.
+   * @param start A latch the threads wait on before adding.
+   * @return the threads.
+   */
+  static List<Thread> startProducers(SortedIngestBuffer<Integer> buffer, CountDownLatch start) {
+    List<Thread> producers = new ArrayList<>();
+    for (int t = 0; t < THREADS; t++) {
+      int thread = t;
+      Thread producer = new Thread(() -> {
+        try {
+          start.await();
+        } catch (InterruptedException e) {
+          return;
+        } // try/catch
+        for (int i = 0; i < PER_THREAD; i++) {
+          // Interleave the threads' values, in a scrambled order.
+          buffer.add(((i * 7919) % PER_THREAD) * THREADS + thread);
+        } // for
+      });
+      producer.start();
+      producers.add(producer);
+    } // for
+    return producers;
+  } // startProducers(SortedIngestBuffer<Integer>, CountDownLatch)
+
+  /**
+   * Wrap a sorter so that its first sort signals one latch and then waits
+   * for another.
+   *
+   * @param <T> The type of values sorted.
+   * @param sorter The sorter to wrap.
+   * @param sorting The latch counted down when the first sort starts.
+   * @param release The latch the first sort waits on.
+   * @return the wrapped sorter.
+   */
+  static <T> Sorter<T> slowFirstSort(Sorter<T> sorter, CountDownLatch sorting,
+      CountDownLatch release) {
+    AtomicBoolean first = new AtomicBoolean(true);
+    return (values) -> {
+      if (first.getAndSet(false)) {
+        sorting.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        } // try/catch
+      } // if
+      sorter.sort(values);
+    };
+  } // slowFirstSort(Sorter<T>, CountDownLatch, CountDownLatch)
+
+  /**
+   * Ensure that values from several threads come back sorted, and that
+   * draining empties the buffer.
+   *
+   * @throws InterruptedException if the test is interrupted.
+   */
+  @Test
+  public void testConcurrentAdd() throws InterruptedException {
+    SortedIngestBuffer<Integer> buffer = new SortedIngestBuffer<Integer>(
+        Comparator.naturalOrder(), new StroudDavidSort<>(Comparator.naturalOrder()),
+        Integer[]::new, 3, 1000);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Thread> producers = startProducers(buffer, start);
+    start.countDown();
+    for (Thread producer : producers) {
+      producer.join();
+    } // for
+
+    assertEquals(THREADS * PER_THREAD, buffer.size());
+    List<Integer> snapshot = buffer.snapshot();
+    assertEquals(THREADS * PER_THREAD, snapshot.size());
+    for (int i = 0; i < snapshot.size(); i++) {
+      assertEquals(i, snapshot.get(i));
+    } // for
+    assertEquals(THREADS * PER_THREAD, buffer.size());
+
+    assertEquals(snapshot, buffer.drain());
+    assertEquals(0, buffer.size());
+    assertEquals(0, buffer.drain().size());
+  } // testConcurrentAdd()
+
+  /**
+   * Ensure that runs can be sorted by a sorter for one particular type,
+   * which cannot sort an Object[].
+   */
+  @Test
+  public void testTypedRunSorter() {
+    SortedIngestBuffer<String> buffer = new SortedIngestBuffer<>(Comparator.naturalOrder(),
+        new StringSorter(), String[]::new, 2, 4);
+    List<String> expected = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      String value = Integer.toString((i * 7919) % 50, 36);
+      buffer.add(value);
+      expected.add(value);
+    } // for
+    expected.sort(Comparator.naturalOrder());
+    assertEquals(expected, buffer.snapshot());
+    assertEquals(expected, buffer.drain());
+    assertEquals(0, buffer.size());
+  } // testTypedRunSorter()
+
+  /**
+   * Ensure that draining while threads add values loses nothing, and that
+   * every drain is sorted.
+   *
+   * @throws InterruptedException if the test is interrupted.
+   */
+  @Test
+  public void testDrainWhileAdding() throws InterruptedException {
+    SortedIngestBuffer<Integer> buffer = new SortedIngestBuffer<>(Comparator.naturalOrder());
+    CountDownLatch start = new CountDownLatch(1);
+    List<Thread> producers = startProducers(buffer, start);
+    start.countDown();
+
+    boolean[] seen = new boolean[THREADS * PER_THREAD];
+    int count = 0;
+    boolean running = true;
+    while (running) {
+      running = false;
+      for (Thread producer : producers) {
+        running |= producer.isAlive();
+      } // for
+      List<Integer> drained = buffer.drain();
+      assertSorted(drained);
+      for (int value : drained) {
+        assertTrue(!seen[value], "duplicate " + value);
+        seen[value] = true;
+        count++;
+      } // for
+    } // while
+    assertEquals(seen.length, count);
+  } // testDrainWhileAdding()
+
+  /**
+   * Ensure that sorting a full buffer into a run does not hold up sizes,
+   * snapshots, drains or other values added to the same stripe, and that
+   * a drain taken while the run is being sorted does not lose it.
+   *
+   * @throws InterruptedException if the test is interrupted.
+   */
+  @Test
+  public void testRunSortedOutsideLock() throws InterruptedException {
+    CountDownLatch sorting = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Sorter<Integer> sorter =
+        slowFirstSort(new StroudDavidSort<Integer>(Comparator.naturalOrder()), sorting, release);
+    SortedIngestBuffer<Integer> buffer =
+        new SortedIngestBuffer<>(Comparator.naturalOrder(), sorter, Integer[]::new, 1, 4);
+    Thread producer = new Thread(() -> {
+      for (int value : new int[] {3, 1, 4, 0}) {
+        buffer.add(value);
+      } // for
+    });
+    producer.start();
+    sorting.await();
+
+    try {
+      assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+        assertEquals(4, buffer.size());
+        assertEquals(List.of(0, 1, 3, 4), buffer.snapshot());
+        buffer.add(2);
+        assertEquals(List.of(0, 1, 2, 3, 4), buffer.drain());
+      });
+    } finally {
+      release.countDown();
+      producer.join();
+    } // try/finally
+    assertEquals(0, buffer.size());
+    assertEquals(0, buffer.drain().size());
+  } // testRunSortedOutsideLock()
+
+  /**
+   * Have each thread of a pool add values to a new buffer, and then drop
+   * the buffer.
+   *
+   * @param pool The pool whose threads add the values.
+   * @return a weak reference to the dropped buffer.
+   * @throws Exception if the adds are interrupted or fail.
+   */
+  static WeakReference<SortedIngestBuffer<Integer>> fillAndDrop(ExecutorService pool)
+      throws Exception {
+    SortedIngestBuffer<Integer> buffer =
+        new SortedIngestBuffer<>(Comparator.naturalOrder(),
+            new StroudDavidSort<Integer>(Comparator.naturalOrder()), Integer[]::new, 2, 8);
+    for (int t = 0; t < THREADS; t++) {
+      int thread = t;
+      pool.submit(() -> {
+        for (int i = 0; i < 100; i++) {
+          buffer.add(i * THREADS + thread);
+        } // for
+      }).get();
+    } // for
+    assertEquals(THREADS * 100, buffer.size());
+    return new WeakReference<>(buffer);
+  } // fillAndDrop(ExecutorService)
+
+  /**
+   * Ensure that a buffer that is no longer used can be collected, even
+   * while threads that added to it are still alive.
+   *
+   * @throws Exception if the test is interrupted or a producer fails.
+   */
+  @Test
+  public void testDroppedBufferCollected() throws Exception {
+    ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+    try {
+      WeakReference<SortedIngestBuffer<Integer>> ref = fillAndDrop(pool);
+      for (int i = 0; i < 50 && ref.get() != null; i++) {
+        System.gc();
+        Thread.sleep(20);
+      } // for
+      assertNull(ref.get(), "buffer still reachable after its producers finished");
+    } finally {
+      pool.shutdown();
+      pool.awaitTermination(10, TimeUnit.SECONDS);
+    } // try/finally
+  } // testDroppedBufferCollected()
+} // class TestSortedIngestBuffer
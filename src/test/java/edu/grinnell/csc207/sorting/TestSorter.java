@@ -3,6 +3,7 @@ package edu.grinnell.csc207.sorting;
 import edu.grinnell.csc207.util.ArrayUtils;
 
 import java.util.Arrays;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -180,6 +181,24 @@ public class TestSorter {
     this.assertSorts(sorted, permuted, intSorter);
   } // testVeryLargeArray()
 
+  /**
+   * Ensure that arrays with few distinct values, where pivots and
+   * splitters are often equal, are sorted correctly.
+   */
+  @Test
+  public void testFewDistinct() {
+    Random rng = new Random(207);
+    for (int distinct : new int[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 50}) {
+      Integer[] values = new Integer[5000];
+      for (int i = 0; i < values.length; i++) {
+        values[i] = rng.nextInt(distinct);
+      } // for
+      Integer[] expected = values.clone();
+      Arrays.sort(expected);
+      this.assertSorts(expected, values, intSorter);
+    } // for
+  } // testFewDistinct()
+
   /**
    * Ensure that an array of stringified integers is sorted correctly.
    */
@@ -197,4 +216,42 @@ public class TestSorter {
     } // for
     this.assertSorts(sorted, permuted, stringSorter);
   }
+
+  /**
+   * Ensure that sorting part of an array sorts that part and leaves the rest
+   * of the array alone.
+   */
+  @Test
+  public void testSubrange() {
+    Integer[] original = new Integer[1000];
+    for (int i = 0; i < original.length; i++) {
+      // Since 577 and 1000 are coprime, these are all different.
+      original[i] = (i * 577) % original.length;
+    } // for
+    int[][] ranges = { {137, 811}, {0, 1000}, {0, 10}, {990, 1000}, {500, 501}, {500, 500} };
+    for (int[] range : ranges) {
+      Integer[] values = original.clone();
+      Integer[] expected = original.clone();
+      Arrays.sort(expected, range[0], range[1]);
+      intSorter.sort(values, range[0], range[1]);
+      assertArrayEquals(expected, values,
+          () -> String.format("sort(values, %d, %d)", range[0], range[1]));
+    } // for
+
+    String[] strings = { "foxtrot", "delta", "charlie", "bravo", "alpha" };
+    stringSorter.sort(strings, 1, 4);
+    assertArrayEquals(new String[] {"foxtrot", "bravo", "charlie", "delta", "alpha"}, strings);
+  } // testSubrange()
+
+  /**
+   * Ensure that sorting part of an array rejects ranges outside the array.
+   */
+  @Test
+  public void testSubrangeBounds() {
+    Integer[] values = {3, 1, 2};
+    assertThrows(IndexOutOfBoundsException.class, () -> intSorter.sort(values, -1, 2));
+    assertThrows(IndexOutOfBoundsException.class, () -> intSorter.sort(values, 2, 1));
+    assertThrows(IndexOutOfBoundsException.class, () -> intSorter.sort(values, 0, 4));
+    assertArrayEquals(new Integer[] {3, 1, 2}, values);
+  } // testSubrangeBounds()
 } // class TestSorter
@@ -0,0 +1,117 @@
+package edu.grinnell.csc207.sorting;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of our StringSorter.
+ *
+ * @author David William Stroud
+ */
+public class TestStringSorter {
+  /**
+   * The sorter under test.
+   */
+  static final StringSorter SORTER = new StringSorter();
+
+  /**
+   * Make random strings over a small alphabet, sharing a long prefix and
+   * often being prefixes of one another.
+   *
+   * @param random The source of randomness.
+   * @param count The number of strings.
+   * @param alphabet The characters to use.
+   * @return the strings.
+   */
+  static String[] randomStrings(Random random, int count, String alphabet) {
+    String prefix = "https://www.example.com/";
+    String[] strings = new String[count];
+    for (int i = 0; i < count; i++) {
+      StringBuilder s = new StringBuilder(random.nextBoolean() ? prefix : "");
+      int length = random.nextInt(12);
+      for (int j = 0; j < length; j++) {
+        s.append(alphabet.charAt(random.nextInt(alphabet.length())));
+      } // for
+      strings[i] = s.toString();
+    } // for
+    return strings;
+  } // randomStrings(Random, int, String)
+
+  /**
+   * Ensure that strings are sorted in the order of compareTo.
+   */
+  @Test
+  public void testStrings() {
+    Random random = new Random(207);
+    for (String alphabet : new String[] {"ab", "abcdefghij/.", "aé中😀"}) {
+      String[] values = randomStrings(random, 5000, alphabet);
+      String[] expected = values.clone();
+      Arrays.sort(expected);
+      SORTER.sort(values);
+      assertArrayEquals(expected, values, "alphabet " + alphabet);
+    } // for
+  } // testStrings()
+
+  /**
+   * Ensure that small and empty arrays are sorted.
+   */
+  @Test
+  public void testSmall() {
+    String[] values = new String[] {"b", "", "ab", "a", ""};
+    SORTER.sort(values);
+    assertArrayEquals(new String[] {"", "", "a", "ab", "b"}, values);
+    SORTER.sort(new String[0]);
+  } // testSmall()
+
+  /**
+   * Ensure that many copies of a very long string do not overflow the
+   * stack.
+   */
+  @Test
+  public void testLongEqual() {
+    String longString = "x".repeat(100000);
+    String[] values = new String[100];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = (i % 2 == 0) ? longString : longString + "y";
+    } // for
+    SORTER.sort(values);
+    for (int i = 1; i < values.length; i++) {
+      assertTrue(values[i - 1].compareTo(values[i]) <= 0, "unsorted at " + i);
+    } // for
+  } // testLongEqual()
+
+  /**
+   * Ensure that sorting part of an array leaves the rest alone.
+   */
+  @Test
+  public void testSubrange() {
+    String[] values = new String[] {"z", "c", "b", "a", "y"};
+    SORTER.sort(values, 1, 4);
+    assertArrayEquals(new String[] {"z", "a", "b", "c", "y"}, values);
+  } // testSubrange()
+
+  /**
+   * Ensure that byte arrays are sorted as unsigned bytes.
+   */
+  @Test
+  public void testBytes() {
+    Random random = new Random(161);
+    byte[][] values = new byte[5000][];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = new byte[random.nextInt(8)];
+      for (int j = 0; j < values[i].length; j++) {
+        values[i][j] = (byte) (random.nextBoolean() ? random.nextInt(3) : -random.nextInt(3));
+      } // for
+    } // for
+    byte[][] expected = values.clone();
+    Arrays.sort(expected, Arrays::compareUnsigned);
+    SORTER.sort(values);
+    for (int i = 0; i < values.length; i++) {
+      assertArrayEquals(expected[i], values[i], "at " + i);
+    } // for
+  } // testBytes()
+} // class TestStringSorter
@@ -0,0 +1,135 @@
+package edu.grinnell.csc207.sorting;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of our StroudDavidSelector.
+ *
+ * @author David William Stroud
+ */
+public class TestStroudDavidSelector {
+  /**
+   * The seed for our random arrays, so that failures can be reproduced.
+   */
+  static final long SEED = 207;
+
+  /**
+   * The selector we test.
+   */
+  static final Selector<Integer> SELECTOR =
+      new StroudDavidSelector<>((x, y) -> x.compareTo(y));
+
+  /**
+   * Select from a copy of an array and check the result against a full sort.
+   *
+   * @param values The array to select from.
+   * @param k The number of values to select.
+   */
+  void assertSelects(Integer[] values, int k) {
+    Integer[] sorted = values.clone();
+    Arrays.sort(sorted);
+
+    Integer[] actual = values.clone();
+    SELECTOR.select(actual, k);
+    assertArrayEquals(Arrays.copyOf(sorted, k), Arrays.copyOf(actual, k),
+        () -> "select(" + Arrays.toString(values) + ", " + k + ")");
+    // The rest of the array must hold the rest of the values.
+    Arrays.sort(actual, k, actual.length);
+    assertArrayEquals(sorted, actual);
+
+    List<Integer> streamed = SELECTOR.select(Arrays.asList(values).iterator(), k);
+    assertEquals(Arrays.asList(sorted).subList(0, k), streamed);
+  } // assertSelects(Integer[], int)
+
+  /**
+   * Ensure that we select correctly from random arrays.
+   */
+  @Test
+  public void testRandom() {
+    Random random = new Random(SEED);
+    for (int size : new int[] {0, 1, 2, 3, 10, 19, 100, 1000, 10000}) {
+      Integer[] values = new Integer[size];
+      for (int i = 0; i < size; i++) {
+        values[i] = random.nextInt();
+      } // for
+      for (int k : new int[] {0, 1, size / 10, size / 2, size - 1, size}) {
+        if (k >= 0 && k <= size) {
+          this.assertSelects(values, k);
+        } // if
+      } // for
+    } // for
+  } // testRandom()
+
+  /**
+   * Ensure that we select correctly when there are many equal values.
+   */
+  @Test
+  public void testFewDistinct() {
+    Random random = new Random(SEED);
+    Integer[] values = new Integer[5000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = random.nextInt(4);
+    } // for
+    for (int k = 0; k <= values.length; k += 250) {
+      this.assertSelects(values, k);
+    } // for
+  } // testFewDistinct()
+
+  /**
+   * Ensure that we select correctly from sorted and reversed arrays.
+   */
+  @Test
+  public void testOrdered() {
+    Integer[] values = new Integer[3000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = i;
+    } // for
+    this.assertSelects(values, 100);
+    Collections.reverse(Arrays.asList(values));
+    this.assertSelects(values, 100);
+  } // testOrdered()
+
+  /**
+   * Ensure that we can select the largest values by reversing the order, and
+   * that asking for more values than a stream has gives all of them.
+   */
+  @Test
+  public void testLargest() {
+    Selector<Integer> largest = new StroudDavidSelector<>(Comparator.<Integer>reverseOrder());
+    List<Integer> top = largest.select(Arrays.asList(5, 9, 1, 7, 3).iterator(), 3);
+    assertEquals(Arrays.asList(9, 7, 5), top);
+    List<Integer> all = largest.select(Arrays.asList(5, 9, 1).iterator(), 10);
+    assertEquals(Arrays.asList(9, 5, 1), all);
+  } // testLargest()
+
+  /**
+   * Ensure that asking a short stream for Integer.MAX_VALUE values, to mean
+   * all of them, does not try to make room for that many.
+   */
+  @Test
+  public void testHugeK() {
+    List<Integer> all = SELECTOR.select(Arrays.asList(5, 9, 1, 7).iterator(), Integer.MAX_VALUE);
+    assertEquals(Arrays.asList(1, 5, 7, 9), all);
+  } // testHugeK()
+
+  /**
+   * Ensure that bad values of k are rejected.
+   */
+  @Test
+  public void testBadK() {
+    Integer[] values = {3, 1, 2};
+    assertThrows(IndexOutOfBoundsException.class, () -> SELECTOR.select(values, -1));
+    assertThrows(IndexOutOfBoundsException.class, () -> SELECTOR.select(values, 4));
+    assertThrows(IllegalArgumentException.class,
+        () -> SELECTOR.select(Arrays.asList(values).iterator(), -1));
+  } // testBadK()
+} // class TestStroudDavidSelector
@@ -1,6 +1,8 @@
 package edu.grinnell.csc207.sorting;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
 
 /**
  * Tests of our SelectionSorter.
@@ -14,4 +16,33 @@ public class TestStroudDavidSort extends TestSorter {
     stringSorter = new StroudDavidSort<>(String::compareTo);
     intSorter = new StroudDavidSort<>(Integer::compareTo);
   } // setup()
+
+  /**
+   * Ensure that an adversarial comparator cannot make the sort quadratic.
+   */
+  @Test
+  public void testAdversary() {
+    Adversary.assertNotQuadratic((order) -> new StroudDavidSort<>(order));
+  } // testAdversary()
+
+  /**
+   * Ensure that sorted and reverse-sorted arrays are split evenly, so that
+   * they never fall back on heapsort.
+   */
+  @Test
+  public void testNoHeapsortOnOrderedInput() {
+    int size = 1 << 16;
+    Integer[] sorted = new Integer[size];
+    Integer[] reversed = new Integer[size];
+    for (int i = 0; i < size; i++) {
+      sorted[i] = i;
+      reversed[i] = size - i;
+    } // for
+    for (Integer[] values : new Integer[][] {sorted, reversed}) {
+      InstrumentedSorter<Integer> sorter =
+          new InstrumentedSorter<>(Integer::compareTo, StroudDavidSort::new);
+      sorter.sort(values);
+      assertEquals(0, sorter.metrics().getHeapsorts());
+    } // for
+  } // testNoHeapsortOnOrderedInput()
 } // class TestSelectionSorter
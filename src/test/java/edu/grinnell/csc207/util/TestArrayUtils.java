@@ -0,0 +1,55 @@
+package edu.grinnell.csc207.util;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of our ArrayUtils.
+ *
+ * @author David William Stroud
+ */
+public class TestArrayUtils {
+  /**
+   * Ensure that a seeded permutation is a permutation and is the same
+   * every time.
+   */
+  @Test
+  public void testPermuteSeeded() {
+    Integer[] values = new Integer[1000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = i;
+    } // for
+    Integer[] first = values.clone();
+    Integer[] second = values.clone();
+    ArrayUtils.permute(first, new SplittableRandom(207));
+    ArrayUtils.permute(second, new SplittableRandom(207));
+    assertArrayEquals(first, second);
+    Integer[] sorted = first.clone();
+    Arrays.sort(sorted);
+    assertArrayEquals(values, sorted);
+  } // testPermuteSeeded()
+
+  /**
+   * Ensure that every arrangement of three elements is about equally
+   * likely, which swapping each element with any other does not achieve.
+   */
+  @Test
+  public void testPermuteUniform() {
+    SplittableRandom random = new SplittableRandom(161);
+    int trials = 60000;
+    int[] counts = new int[6];
+    for (int t = 0; t < trials; t++) {
+      Integer[] values = new Integer[] {0, 1, 2};
+      ArrayUtils.permute(values, random);
+      // Number each arrangement by its first two elements.
+      counts[values[0] * 2 + (values[1] > values[2] ? 1 : 0)]++;
+    } // for
+    for (int count : counts) {
+      assertTrue(Math.abs(count - trials / 6) < trials / 60, Arrays.toString(counts));
+    } // for
+  } // testPermuteUniform()
+} // class TestArrayUtils
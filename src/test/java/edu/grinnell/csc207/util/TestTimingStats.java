@@ -0,0 +1,93 @@
+package edu.grinnell.csc207.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of our TimingStats and the nanosecond SimpleTimer.
+ *
+ * @author David William Stroud
+ */
+public class TestTimingStats {
+  /**
+   * Ensure that the percentiles of 1..100, recorded out of order, are
+   * the nearest ranks.
+   */
+  @Test
+  public void testPercentiles() {
+    TimingStats stats = new TimingStats();
+    for (int i = 0; i < 100; i++) {
+      stats.record((i * 37) % 100 + 1);
+    } // for
+    assertEquals(100, stats.count());
+    assertEquals(1, stats.min());
+    assertEquals(50, stats.median());
+    assertEquals(90, stats.percentile(90));
+    assertEquals(99, stats.percentile(99));
+    assertEquals(100, stats.max());
+    assertEquals(5050, stats.total());
+  } // testPercentiles()
+
+  /**
+   * Ensure that the mean, standard deviation and cost per element are
+   * computed over all the samples.
+   */
+  @Test
+  public void testMoments() {
+    TimingStats stats = new TimingStats();
+    stats.record(2, 1);
+    stats.record(4, 1);
+    stats.record(4, 1);
+    stats.record(4, 1);
+    stats.record(5, 1);
+    stats.record(5, 1);
+    stats.record(7, 1);
+    stats.record(9, 1);
+    assertEquals(5.0, stats.mean(), 1e-9);
+    assertEquals(2.0, stats.stddev(), 1e-9);
+    assertEquals(5.0, stats.nanosPerElement(), 1e-9);
+    assertTrue(Double.isNaN(new TimingStats().nanosPerElement()));
+  } // testMoments()
+
+  /**
+   * Ensure that asking for a percentile of nothing, or of something that
+   * is not a percentile, fails.
+   */
+  @Test
+  public void testInvalid() {
+    TimingStats stats = new TimingStats();
+    assertThrows(IllegalStateException.class, () -> stats.median());
+    stats.record(1);
+    assertThrows(IllegalArgumentException.class, () -> stats.percentile(101));
+    assertThrows(IllegalArgumentException.class, () -> stats.percentile(-1));
+  } // testInvalid()
+
+  /**
+   * Ensure that times are formatted in a readable unit.
+   */
+  @Test
+  public void testFormat() {
+    assertEquals("999ns", TimingStats.format(999));
+    assertEquals("1.50us", TimingStats.format(1500));
+    assertEquals("2.25ms", TimingStats.format(2_250_000));
+    assertEquals("3.00s", TimingStats.format(3e9));
+  } // testFormat()
+
+  /**
+   * Ensure that the timer measures time shorter than a millisecond.
+   */
+  @Test
+  public void testTimerResolution() {
+    SimpleTimer timer = new SimpleTimer();
+    int[] values = new int[1000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = values.length - i;
+    } // for
+    java.util.Arrays.sort(values);
+    long nanos = timer.stopNanos();
+    assertTrue(nanos > 0 && nanos < 1_000_000_000, "elapsed " + nanos);
+    assertEquals(nanos / 1_000_000, timer.stop());
+  } // testTimerResolution()
+} // class TestTimingStats
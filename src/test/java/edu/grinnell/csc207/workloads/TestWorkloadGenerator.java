@@ -0,0 +1,125 @@
+package edu.grinnell.csc207.workloads;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of our WorkloadGenerator.
+ *
+ * @author David William Stroud
+ */
+public class TestWorkloadGenerator {
+  /**
+   * A size that is filled in parallel and does not end on a chunk.
+   */
+  static final int LARGE = WorkloadGenerator.PARALLEL_THRESHOLD + 12345;
+
+  /**
+   * Ensure that the same seed always gives the same keys, whatever the
+   * number of threads, and that another seed gives other keys.
+   */
+  @Test
+  public void testReproducible() {
+    ForkJoinPool one = new ForkJoinPool(1);
+    ForkJoinPool four = new ForkJoinPool(4);
+    try {
+      for (Workload shape : Workload.values()) {
+        int[] expected = new WorkloadGenerator(207, one).ints(shape, LARGE);
+        assertArrayEquals(expected, new WorkloadGenerator(207, four).ints(shape, LARGE),
+            shape.toString());
+        assertArrayEquals(expected, new WorkloadGenerator(207).ints(shape, LARGE),
+            shape.toString());
+      } // for
+    } finally {
+      one.shutdown();
+      four.shutdown();
+    } // try/finally
+    assertFalse(Arrays.equals(new WorkloadGenerator(207).ints(Workload.RANDOM, 1000),
+        new WorkloadGenerator(208).ints(Workload.RANDOM, 1000)));
+  } // testReproducible()
+
+  /**
+   * Ensure that arrays of each type hold the same keys.
+   */
+  @Test
+  public void testTypesAgree() {
+    WorkloadGenerator generator = new WorkloadGenerator(161);
+    for (Workload shape : Workload.values()) {
+      int[] ints = generator.ints(shape, LARGE);
+      long[] longs = generator.longs(shape, LARGE);
+      double[] doubles = generator.doubles(shape, LARGE);
+      Integer[] integers = generator.integers(shape, LARGE);
+      for (int i = 0; i < LARGE; i++) {
+        assertEquals(ints[i], longs[i]);
+        assertEquals(ints[i], doubles[i]);
+        assertEquals(ints[i], integers[i]);
+      } // for
+    } // for
+  } // testTypesAgree()
+
+  /**
+   * Ensure that the deterministic shapes are what they say.
+   */
+  @Test
+  public void testShapes() {
+    WorkloadGenerator generator = new WorkloadGenerator(0);
+    int size = 10000;
+    int[] sorted = generator.ints(Workload.SORTED, size);
+    int[] reverse = generator.ints(Workload.REVERSE, size);
+    int[] sawtooth = generator.ints(Workload.SAWTOOTH, size);
+    int[] pipe = generator.ints(Workload.ORGAN_PIPE, size);
+    for (int i = 0; i < size; i++) {
+      assertEquals(i, sorted[i]);
+      assertEquals(size - 1 - i, reverse[i]);
+      assertEquals(i % Workload.SAWTOOTH_RUN, sawtooth[i]);
+      assertEquals(Math.min(i, size - 1 - i), pipe[i]);
+    } // for
+  } // testShapes()
+
+  /**
+   * Ensure that every key of a perturbed array is near its place.
+   */
+  @Test
+  public void testPerturbed() {
+    int[] keys = new WorkloadGenerator(1).ints(Workload.PERTURBED, LARGE);
+    int[] sorted = keys.clone();
+    Arrays.sort(sorted);
+    assertFalse(Arrays.equals(keys, sorted));
+    for (int i = 0; i < LARGE; i++) {
+      int place = Arrays.binarySearch(sorted, keys[i]);
+      assertTrue(Math.abs(place - i) <= Workload.PERTURBATION + 1, "key at " + i);
+    } // for
+  } // testPerturbed()
+
+  /**
+   * Ensure that the duplicated shapes have few distinct keys, and that Zipf
+   * keys are skewed toward the smallest.
+   */
+  @Test
+  public void testDuplicates() {
+    WorkloadGenerator generator = new WorkloadGenerator(2);
+    assertEquals(Workload.FEW_DISTINCT_VALUES,
+        Arrays.stream(generator.ints(Workload.FEW_DISTINCT, LARGE)).distinct().count());
+
+    int[] zipf = generator.ints(Workload.ZIPF, LARGE);
+    long ones = Arrays.stream(zipf).filter((key) -> key == 1).count();
+    long twos = Arrays.stream(zipf).filter((key) -> key == 2).count();
+    assertTrue(Arrays.stream(zipf).allMatch((key) -> key >= 1 && key <= LARGE));
+    assertTrue(ones > twos && twos > 0, ones + " ones and " + twos + " twos");
+    assertTrue(Arrays.stream(zipf).distinct().count() < LARGE / 2);
+  } // testDuplicates()
+
+  /**
+   * Ensure that empty arrays can be made.
+   */
+  @Test
+  public void testEmpty() {
+    assertEquals(0, new WorkloadGenerator(3).integers(Workload.ZIPF, 0).length);
+  } // testEmpty()
+} // class TestWorkloadGenerator